@@ -0,0 +1,43 @@
+package controller.batch;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import utils.calculate.Budget;
+
+/**
+ * Headless evaluation of many expressions with the same engines used by the calculators.
+ */
+public interface BatchEvaluator {
+
+    /**
+     * Evaluates a single record on the calling thread.
+     * @param record the record to evaluate
+     * @return the result of the evaluation, errors included
+     */
+    BatchResult evaluate(BatchRecord record);
+
+    /**
+     * Evaluates a single record on the calling thread, stopping the ADVANCED algorithms when the budget runs out.
+     * @param record the record to evaluate
+     * @param budget the limits of the evaluation
+     * @return the result of the evaluation, errors included
+     */
+    BatchResult evaluate(BatchRecord record, Budget budget);
+
+    /**
+     * Evaluates the records in parallel. Results are handed to the sink on the calling thread, in the same order as the records,
+     * as soon as they are available: only a bounded number of records is in flight at any time.
+     * @param records the records to evaluate
+     * @param sink consumer of the results
+     */
+    void evaluate(Stream<BatchRecord> records, Consumer<BatchResult> sink);
+
+    /**
+     * Same as {@link #evaluate(Stream, Consumer)}, but every line is parsed with {@link BatchRecord#parse(long, String)}
+     * and numbered from 1. Malformed lines produce an error result instead of stopping the batch.
+     * @param lines the lines to parse and evaluate
+     * @param sink consumer of the results
+     */
+    void evaluateLines(Stream<String> lines, Consumer<BatchResult> sink);
+}
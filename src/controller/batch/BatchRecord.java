@@ -0,0 +1,140 @@
+package controller.batch;
+
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+
+/**
+ * A single entry of a batch: the calculator to use, the expression to evaluate and,
+ * for the ADVANCED calculator, the algorithm to run with its parameters. A record with a precision is evaluated in
+ * arbitrary precision instead of floating point.
+ */
+public final class BatchRecord {
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String ALGORITHM_SEPARATOR = ".";
+
+    private final long index;
+    private final Calculator calculator;
+    private final Optional<TypeAlgorithm> algorithm;
+    private final String expression;
+    private final List<String> parameters;
+    private final Optional<MathContext> precision;
+
+    /**
+     * @param index position of the record in its batch, reported back in the result
+     * @param calculator calculator used for the evaluation
+     * @param expression expression in infix notation
+     */
+    public BatchRecord(final long index, final Calculator calculator, final String expression) {
+        this(index, calculator, Optional.empty(), expression, List.of());
+    }
+
+    /**
+     * @param index position of the record in its batch, reported back in the result
+     * @param calculator calculator used for the evaluation
+     * @param algorithm algorithm to run, only meaningful for the ADVANCED calculator
+     * @param expression expression in infix notation
+     * @param parameters parameters of the algorithm (bounds of an integral, point of a limit)
+     */
+    public BatchRecord(final long index, final Calculator calculator, final Optional<TypeAlgorithm> algorithm,
+            final String expression, final List<String> parameters) {
+        this(index, calculator, algorithm, expression, parameters, Optional.empty());
+    }
+
+    private BatchRecord(final long index, final Calculator calculator, final Optional<TypeAlgorithm> algorithm,
+            final String expression, final List<String> parameters, final Optional<MathContext> precision) {
+        this.index = index;
+        this.calculator = calculator;
+        this.algorithm = algorithm;
+        this.expression = expression;
+        this.parameters = List.copyOf(parameters);
+        this.precision = precision;
+    }
+
+    /**
+     * @param mc the precision of the operations
+     * @return the same record, evaluated in arbitrary precision
+     */
+    public BatchRecord withPrecision(final MathContext mc) {
+        return new BatchRecord(this.index, this.calculator, this.algorithm, this.expression, this.parameters, Optional.of(mc));
+    }
+
+    /**
+     * Parses a tab separated line.
+     * The first field is the calculator name, optionally followed by the algorithm for the ADVANCED calculator
+     * (e.g. "ADVANCED.INTEGRATE"), the second is the expression and the remaining ones are the parameters.
+     *
+     * @param index position of the line in its batch
+     * @param line the line to parse
+     * @return the parsed record
+     * @throws CalcException if the calculator or the algorithm doesn't exist or the expression is missing
+     */
+    public static BatchRecord parse(final long index, final String line) throws CalcException {
+        final String[] fields = line.split(FIELD_SEPARATOR);
+        if (fields.length < 2) {
+            throw new CalcException("Missing expression");
+        }
+        final String type = fields[0].trim();
+        final int separator = type.indexOf(ALGORITHM_SEPARATOR);
+        try {
+            final Calculator calculator = Calculator.valueOf(separator < 0 ? type : type.substring(0, separator));
+            final Optional<TypeAlgorithm> algorithm = separator < 0
+                    ? Optional.empty()
+                    : Optional.of(TypeAlgorithm.valueOf(type.substring(separator + 1)));
+            if (algorithm.isPresent() && calculator != Calculator.ADVANCED) {
+                throw new CalcException("Algorithms are only available on the ADVANCED calculator");
+            }
+            return new BatchRecord(index, calculator, algorithm, fields[1], Arrays.asList(fields).subList(2, fields.length));
+        } catch (IllegalArgumentException e) {
+            throw new CalcException("Unknown calculator: " + type);
+        }
+    }
+
+    /**
+     * @return position of the record in its batch
+     */
+    public long getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @return calculator used for the evaluation
+     */
+    public Calculator getCalculator() {
+        return this.calculator;
+    }
+
+    /**
+     * @return algorithm to run, if any
+     */
+    public Optional<TypeAlgorithm> getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * @return expression in infix notation
+     */
+    public String getExpression() {
+        return this.expression;
+    }
+
+    /**
+     * @return parameters of the algorithm
+     */
+    public List<String> getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * @return the precision of the operations, empty for floating point
+     */
+    public Optional<MathContext> getPrecision() {
+        return this.precision;
+    }
+}
@@ -0,0 +1,64 @@
+package controller.batch;
+
+/**
+ * Outcome of the evaluation of a single batch record: either a formatted result or an error message.
+ */
+public final class BatchResult {
+
+    private final long index;
+    private final boolean error;
+    private final String value;
+
+    private BatchResult(final long index, final boolean error, final String value) {
+        this.index = index;
+        this.error = error;
+        this.value = value;
+    }
+
+    /**
+     * @param index position of the record in its batch
+     * @param result formatted result of the evaluation
+     * @return a successful result
+     */
+    public static BatchResult success(final long index, final String result) {
+        return new BatchResult(index, false, result);
+    }
+
+    /**
+     * @param index position of the record in its batch
+     * @param message description of the error
+     * @return a failed result
+     */
+    public static BatchResult failure(final long index, final String message) {
+        return new BatchResult(index, true, message);
+    }
+
+    /**
+     * @return position of the record in its batch
+     */
+    public long getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @return whether the evaluation failed
+     */
+    public boolean isError() {
+        return this.error;
+    }
+
+    /**
+     * @return the formatted result, or the error message if the evaluation failed
+     */
+    public String getValue() {
+        return this.value;
+    }
+
+    /**
+     * @return a tab separated line: index, OK or ERROR, value
+     */
+    @Override
+    public String toString() {
+        return this.index + "\t" + (this.error ? "ERROR" : "OK") + "\t" + this.value;
+    }
+}
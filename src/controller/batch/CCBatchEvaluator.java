@@ -0,0 +1,262 @@
+package controller.batch;
+
+import java.math.MathContext;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
+import controller.calculators.CalculatorController;
+import controller.manager.CCEngine;
+import controller.manager.CCMemoryManager;
+import controller.manager.MemoryManager;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+import utils.NumberFormatter;
+import utils.calculate.Algorithm;
+import utils.calculate.Budget;
+import utils.calculate.Expression;
+import utils.calculate.ExpressionCache;
+
+/**
+ * Batch evaluator backed by {@link CCEngine} for every calculator but ADVANCED, which goes through {@link Expression} and {@link Algorithm}
+ * like {@link controller.calculators.CalculatorAdvancedController} does.
+ * Expressions are split into the same symbols the panels push into the memory manager, so a record evaluates exactly as if it was typed in.
+ * Records with a precision go through {@link CCEngine#calculate(List, MathContext)}; ADVANCED refuses them, since its
+ * parser folds the constants of an expression in floating point.
+ */
+public class CCBatchEvaluator implements BatchEvaluator {
+
+    private static final int RECORDS_PER_THREAD = 64;
+    private static final int MAX_SYMBOL_LENGTH = 32;
+    private static final int ADVANCED_DIGITS = 8;
+    private static final String COMMENT = "#";
+
+    private final int parallelism;
+    private final int window;
+    private final Map<Calculator, CCEngine> engines = new EnumMap<>(Calculator.class);
+    private final Optional<ExpressionCache> cache;
+
+    /**
+     * Creates an evaluator that uses all the available processors.
+     */
+    public CCBatchEvaluator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism number of threads evaluating the records
+     */
+    public CCBatchEvaluator(final int parallelism) {
+        this(parallelism, parallelism * RECORDS_PER_THREAD);
+    }
+
+    /**
+     * @param parallelism number of threads evaluating the records
+     * @param window maximum number of records in flight, which bounds the memory used by a batch
+     */
+    public CCBatchEvaluator(final int parallelism, final int window) {
+        this(parallelism, window, Optional.empty());
+    }
+
+    /**
+     * @param parallelism number of threads evaluating the records
+     * @param window maximum number of records in flight, which bounds the memory used by a batch
+     * @param cache cache of the parsed ADVANCED expressions, shared by integrals, limits and plain evaluations
+     */
+    public CCBatchEvaluator(final int parallelism, final int window, final Optional<ExpressionCache> cache) {
+        if (parallelism < 1 || window < 1) {
+            throw new IllegalArgumentException("Parallelism and window must be positive");
+        }
+        this.parallelism = parallelism;
+        this.window = window;
+        this.cache = cache;
+        for (final Calculator calc : Calculator.values()) {
+            this.engines.put(calc, new CCEngine(calc.getController()));
+        }
+    }
+
+    @Override
+    public BatchResult evaluate(final BatchRecord record) {
+        return this.evaluate(record, Budget.unlimited());
+    }
+
+    @Override
+    public BatchResult evaluate(final BatchRecord record, final Budget budget) {
+        try {
+            budget.check();
+            if (record.getCalculator() == Calculator.ADVANCED) {
+                return BatchResult.success(record.getIndex(), this.evaluateAdvanced(record, budget));
+            }
+            final MemoryManager memory = new CCMemoryManager();
+            memory.readAll(this.split(record.getExpression(), record.getCalculator().getController()));
+            final CCEngine engine = this.engines.get(record.getCalculator());
+            if (record.getPrecision().isPresent()) {
+                return BatchResult.success(record.getIndex(),
+                        engine.calculate(memory.getCurrentState(), record.getPrecision().get()).toString());
+            }
+            return BatchResult.success(record.getIndex(), engine.calculateAndFormat(memory.getCurrentState()));
+        } catch (CalcException | RuntimeException e) {
+            return BatchResult.failure(record.getIndex(), e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+    }
+
+    @Override
+    public void evaluate(final Stream<BatchRecord> records, final Consumer<BatchResult> sink) {
+        this.run(records.map(record -> () -> this.evaluate(record)), sink);
+    }
+
+    @Override
+    public void evaluateLines(final Stream<String> lines, final Consumer<BatchResult> sink) {
+        final AtomicLong lineNumber = new AtomicLong();
+        this.run(lines.map(line -> {
+            final long index = lineNumber.incrementAndGet();
+            return () -> this.evaluateLine(index, line);
+        }), sink);
+    }
+
+    private BatchResult evaluateLine(final long index, final String line) {
+        if (line.isBlank() || line.startsWith(COMMENT)) {
+            return null;
+        }
+        try {
+            return this.evaluate(BatchRecord.parse(index, line));
+        } catch (CalcException e) {
+            return BatchResult.failure(index, e.getMessage());
+        }
+    }
+
+    /**
+     * Submits the tasks keeping at most window of them in flight; results are handed over in submission order.
+     */
+    private void run(final Stream<Callable<BatchResult>> tasks, final Consumer<BatchResult> sink) {
+        final ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+        final Deque<Future<BatchResult>> pending = new ArrayDeque<>();
+        try {
+            tasks.forEachOrdered(task -> {
+                pending.add(executor.submit(task));
+                if (pending.size() >= this.window) {
+                    this.emit(pending.poll(), sink);
+                }
+            });
+            while (!pending.isEmpty()) {
+                this.emit(pending.poll(), sink);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void emit(final Future<BatchResult> future, final Consumer<BatchResult> sink) {
+        try {
+            final BatchResult result = future.get();
+            if (result != null) {
+                sink.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private String evaluateAdvanced(final BatchRecord record, final Budget budget) throws CalcException {
+        final CCEngine engine = this.engines.get(Calculator.ADVANCED);
+        if (record.getPrecision().isPresent()) {
+            throw new CalcException("The ADVANCED calculator has no arbitrary precision");
+        }
+        if (record.getAlgorithm().isEmpty()) {
+            final double value = this.parse(record.getExpression(), false).getResult().getNumericResult(0.0);
+            return NumberFormatter.format(value, ADVANCED_DIGITS, ADVANCED_DIGITS, ADVANCED_DIGITS);
+        }
+        final TypeAlgorithm type = record.getAlgorithm().get();
+        final Algorithm alg = type.createAlg();
+        alg.setEngine(engine);
+        alg.setParameters(record.getParameters());
+        final String result = alg.calculate(type == TypeAlgorithm.DERIVATE
+                ? new Expression(record.getExpression(), engine)
+                : this.parse(record.getExpression(), true), budget);
+        return type == TypeAlgorithm.DERIVATE
+                ? result
+                : NumberFormatter.format(Double.parseDouble(result), ADVANCED_DIGITS, ADVANCED_DIGITS, ADVANCED_DIGITS);
+    }
+
+    private Expression parse(final String expr, final boolean areVariablesAllowed) throws CalcException {
+        if (this.cache.isPresent()) {
+            return this.cache.get().get(expr, areVariablesAllowed);
+        }
+        return new Expression(expr, this.engines.get(Calculator.ADVANCED), areVariablesAllowed);
+    }
+
+    /**
+     * Splits an expression into the symbols the calculator panels would read: operators of the given calculator
+     * (longest match first), parentheses and numbers. Whitespace only separates symbols.
+     */
+    private List<String> split(final String expression, final CalculatorController controller) throws CalcException {
+        final List<String> symbols = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            final char c = expression.charAt(i);
+            final int operatorEnd = this.operatorEnd(expression, i, controller);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (operatorEnd > i) {
+                symbols.add(expression.substring(i, operatorEnd));
+                i = operatorEnd;
+            } else if (c == '(' || c == ')') {
+                symbols.add(String.valueOf(c));
+                i++;
+            } else if (Character.isDigit(c) || c == '.') {
+                final int numberEnd = this.numberEnd(expression, i);
+                symbols.add(expression.substring(i, numberEnd));
+                i = numberEnd;
+            } else {
+                throw new CalcException("Unrecognized symbol: " + c);
+            }
+        }
+        return symbols;
+    }
+
+    private int operatorEnd(final String expression, final int start, final CalculatorController controller) {
+        for (int end = Math.min(expression.length(), start + MAX_SYMBOL_LENGTH); end > start; end--) {
+            final String candidate = expression.substring(start, end);
+            if (controller.isBinaryOperator(candidate) || controller.isUnaryOperator(candidate)) {
+                return end;
+            }
+        }
+        return start;
+    }
+
+    private int numberEnd(final String expression, final int start) {
+        int end = start;
+        while (end < expression.length() && (Character.isDigit(expression.charAt(end)) || expression.charAt(end) == '.')) {
+            end++;
+        }
+        if (end < expression.length() && expression.charAt(end) == 'E') {
+            int exponent = end + 1;
+            if (exponent < expression.length() && (expression.charAt(exponent) == '+' || expression.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < expression.length() && Character.isDigit(expression.charAt(exponent))) {
+                end = exponent;
+                while (end < expression.length() && Character.isDigit(expression.charAt(end))) {
+                    end++;
+                }
+            }
+        }
+        return end;
+    }
+}
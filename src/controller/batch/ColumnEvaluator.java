@@ -0,0 +1,209 @@
+package controller.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import model.programmer.ProgrammerEngine;
+import model.programmer.WordSize;
+
+/**
+ * Headless evaluation of the bitwise operators of the programmer calculator over columns of values, element by element.
+ * A column is a file of 64-bit little-endian values, one after the other with nothing in between. Files are
+ * memory-mapped a window at a time and processed in chunks of a few thousand values, so a column can be larger than the
+ * heap. Values are taken as words of the chosen size, up to 64 bits.
+ * The results are written to a temporary file next to the output, which replaces it at the end: the output can be one
+ * of the input columns, and it is left as it was if the evaluation fails.
+ */
+public final class ColumnEvaluator {
+
+    /**
+     * The byte order of the values in the columns.
+     */
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int CHUNK = 8192;
+    private static final int DEFAULT_WINDOW = 1 << 24;
+
+    private final ProgrammerEngine engine;
+    private final int window;
+
+    /**
+     * Applies the operators on words of the given size, mapping 128 MiB of every file at a time.
+     * @param size the word size, up to 64 bits
+     */
+    public ColumnEvaluator(final WordSize size) {
+        this(size, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param size the word size, up to 64 bits
+     * @param window number of values of every file mapped at a time, which bounds the address space used by a column
+     */
+    public ColumnEvaluator(final WordSize size, final int window) {
+        if (size.isWide()) {
+            throw new IllegalArgumentException("Columns hold words up to " + Long.SIZE + " bits");
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.engine = ProgrammerEngine.of(size);
+        this.window = window;
+    }
+
+    /**
+     * @param op the name of a binary operator, e.g. "xor"
+     * @param first the column of the first operands
+     * @param second the column of the second operands, as long as the first one
+     * @param output the column of the results, replaced if it exists; it can be one of the inputs
+     * @return the number of values written
+     * @throws IOException if a file can't be read or written
+     * @throws IllegalArgumentException if there is no binary operator with this name, or the columns are malformed
+     * @throws ArithmeticException if it divides by zero
+     */
+    public long apply(final String op, final Path first, final Path second, final Path output) throws IOException {
+        checkBinary(op);
+        return this.run(first, second, output, (a, b, result) -> this.engine.applyBinary(op, a, b, result));
+    }
+
+    /**
+     * @param op the name of a binary operator, e.g. "shiftL"
+     * @param first the column of the first operands
+     * @param second the second operand of every value, e.g. the count of a shift
+     * @param output the column of the results, replaced if it exists; it can be one of the inputs
+     * @return the number of values written
+     * @throws IOException if a file can't be read or written
+     * @throws IllegalArgumentException if there is no binary operator with this name, or the column is malformed
+     * @throws ArithmeticException if it divides by zero
+     */
+    public long apply(final String op, final Path first, final long second, final Path output) throws IOException {
+        checkBinary(op);
+        return this.run(first, null, output, (a, b, result) -> this.engine.applyBinary(op, a, second, result));
+    }
+
+    /**
+     * @param op the name of a unary operator, e.g. "not"
+     * @param input the column of the operands
+     * @param output the column of the results, replaced if it exists; it can be one of the inputs
+     * @return the number of values written
+     * @throws IOException if a file can't be read or written
+     * @throws IllegalArgumentException if there is no unary operator with this name, or the column is malformed
+     */
+    public long apply(final String op, final Path input, final Path output) throws IOException {
+        if (!ProgrammerEngine.isUnaryOperator(op)) {
+            throw new IllegalArgumentException("No unary operation " + op);
+        }
+        return this.run(input, null, output, (a, b, result) -> this.engine.applyUnary(op, a, result));
+    }
+
+    private static void checkBinary(final String op) {
+        if (!ProgrammerEngine.isBinaryOperator(op)) {
+            throw new IllegalArgumentException("No binary operation " + op);
+        }
+    }
+
+    /**
+     * Reads a whole column on the heap.
+     * @param file the column
+     * @return its values
+     * @throws IOException if the file can't be read
+     * @throws IllegalArgumentException if the file isn't made of 64-bit values
+     */
+    public static long[] load(final Path file) throws IOException {
+        final byte[] bytes = Files.readAllBytes(file);
+        checkLength(file, bytes.length);
+        final long[] values = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).order(ORDER).asLongBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Writes a column, replacing the file if it exists.
+     * @param file the column
+     * @param values its values
+     * @throws IOException if the file can't be written
+     */
+    public static void save(final Path file, final long[] values) throws IOException {
+        final ByteBuffer bytes = ByteBuffer.allocate(values.length * Long.BYTES).order(ORDER);
+        bytes.asLongBuffer().put(values);
+        Files.write(file, bytes.array());
+    }
+
+    private static void checkLength(final Path file, final long length) {
+        if (length % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Not a column of 64-bit values: " + file);
+        }
+    }
+
+    private long run(final Path first, final Path second, final Path output, final ChunkOperation operation) throws IOException {
+        final Path target = output.toAbsolutePath();
+        final Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            final long count = this.write(first, second, temp, operation);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a window of every file at a time and moves it through the chunks: the operation always sees whole arrays,
+     * shorter only for the last values.
+     */
+    private long write(final Path first, final Path second, final Path output, final ChunkOperation operation) throws IOException {
+        try (FileChannel in = FileChannel.open(first, StandardOpenOption.READ);
+                FileChannel other = second == null ? null : FileChannel.open(second, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long size = in.size();
+            checkLength(first, size);
+            if (other != null && other.size() != size) {
+                throw new IllegalArgumentException("Columns of different lengths");
+            }
+            long[] a = new long[(int) Math.min(CHUNK, size / Long.BYTES)];
+            long[] b = new long[a.length];
+            long[] result = new long[a.length];
+            final long windowBytes = (long) this.window * Long.BYTES;
+            for (long position = 0; position < size; position += windowBytes) {
+                final long length = Math.min(windowBytes, size - position);
+                final LongBuffer inValues = in.map(MapMode.READ_ONLY, position, length).order(ORDER).asLongBuffer();
+                final LongBuffer otherValues = other == null ? null
+                        : other.map(MapMode.READ_ONLY, position, length).order(ORDER).asLongBuffer();
+                final LongBuffer outValues = out.map(MapMode.READ_WRITE, position, length).order(ORDER).asLongBuffer();
+                while (inValues.hasRemaining()) {
+                    if (inValues.remaining() < a.length) {
+                        a = new long[inValues.remaining()];
+                        b = new long[a.length];
+                        result = new long[a.length];
+                    }
+                    inValues.get(a);
+                    if (otherValues != null) {
+                        otherValues.get(b);
+                    }
+                    operation.apply(a, b, result);
+                    outValues.put(result);
+                }
+            }
+            return size / Long.BYTES;
+        }
+    }
+
+    /**
+     * An operator applied to a chunk of every column.
+     */
+    private interface ChunkOperation {
+        void apply(long[] a, long[] b, long[] result);
+    }
+}
@@ -2,12 +2,14 @@ package controller.calculators;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import controller.manager.CCEngine;
 import utils.CalcException;
 import utils.calculate.Algorithm;
+import utils.calculate.Budget;
 import utils.calculate.Expression;
 import utils.calculate.Derivate;
 import utils.calculate.Limit;
@@ -40,20 +42,22 @@ public class CalculatorAdvancedController {
         /**
          * Takes the Algorithm interface as input.
          */
-        DERIVATE(new Derivate()),
+        DERIVATE(Derivate::new),
         /**
          * 
          */
-        INTEGRATE(new Integrator()),
+        INTEGRATE(Integrator::new),
         /**
          * 
          */
-        LIMIT(new Limit());
+        LIMIT(Limit::new);
 
+        private final Supplier<Algorithm> factory;
         private Algorithm alg;
 
-        TypeAlgorithm(final Algorithm alg) {
-            this.alg = alg;
+        TypeAlgorithm(final Supplier<Algorithm> factory) {
+            this.factory = factory;
+            this.alg = factory.get();
         }
 
         /**
@@ -62,6 +66,15 @@ public class CalculatorAdvancedController {
         public Algorithm getAlg() {
             return alg;
         }
+
+        /**
+         * Algorithms keep their parameters between calls, so callers that run outside the GUI
+         * (and possibly on several threads) need their own instance.
+         * @return a new instance of the operation
+         */
+        public Algorithm createAlg() {
+            return factory.get();
+        }
     }
 
     /**
@@ -202,13 +215,22 @@ public class CalculatorAdvancedController {
      * @throws CalcException
      */
     public String calculate() throws CalcException {
+        return this.calculate(Budget.unlimited());
+    }
+
+    /**
+     * @param budget the limits of the calculation
+     * @return calculates the result given the operation
+     * @throws CalcException if the calculation fails or runs out of budget
+     */
+    public String calculate(final Budget budget) throws CalcException {
         final var e = this.controller.getManager().memory().getCurrentState().stream().reduce("", (res, s) -> res + s);
         this.expr.setExpr(e);
         this.previousOp = e;
         this.previousParams = this.params;
         this.previousType = this.type;
         this.op.setParameters(params);
-        String res = this.op.calculate(expr);
+        String res = this.op.calculate(expr, budget);
         if (!this.type.equals(TypeAlgorithm.DERIVATE)) {
             res = NumberFormatter.format(Double.parseDouble(res), 8, 8, 8);
         }
@@ -1,6 +1,7 @@
 package controller.calculators;
 
 import controller.manager.CCManager;
+import model.calculators.OperatorTable;
 import utils.Type;
 
 /**
@@ -54,6 +55,12 @@ public interface CalculatorController {
      */
     boolean isBinaryOperator(String op);
 
+    /**
+     * 
+     * @return the operators of the calculator compiled in a table, for the parsers that look them up many times
+     */
+    OperatorTable getOperatorTable();
+
     /**
      * 
      * @param mng manager of the system
@@ -1,12 +1,8 @@
 package controller.calculators;
 
-import java.util.Map;
-
-
 import controller.manager.CCManager;
 import model.calculators.CalculatorModel;
-import utils.CCBinaryOperator;
-import utils.CCUnaryOperator;
+import model.calculators.OperatorTable;
 import utils.Type;
 
 /**
@@ -31,54 +27,47 @@ public class CalculatorControllerTemplate implements CalculatorController {
         this.model = model;
     }
 
-    /**
-     * 
-     * @return a map containing all the binary operators of the mounted calculator
-     */
-    private Map<String, CCBinaryOperator> getBinaryOperators() {
-        return this.model.getBinaryOpMap();
-    }
-
-    /**
-     * 
-     * @return a map containing all the unary operators of the mounted calculator
-     */
-    private Map<String, CCUnaryOperator> getUnaryOperators() {
-        return this.model.getUnaryOpMap();
+    @Override
+    public OperatorTable getOperatorTable() {
+        return this.model.getOperatorTable();
     }
 
     @Override
     public double applyBinaryOperation(final String op, final Double a, final Double b) {
-        return this.getBinaryOperators().get(op).apply(a, b);
+        final OperatorTable table = this.getOperatorTable();
+        return table.applyBinary(table.id(op), a, b);
     }
 
     @Override
     public int getPrecedence(final String op) {
-        return !this.getBinaryOperators().containsKey(op) 
-                ? this.getUnaryOperators().get(op).getPrecedence() 
-                        : this.getBinaryOperators().get(op).getPrecedence();
+        final OperatorTable table = this.getOperatorTable();
+        return table.precedence(table.id(op));
     }
 
     @Override
     public Type getType(final String op) {
-        return !this.getBinaryOperators().containsKey(op) 
-                ? this.getUnaryOperators().get(op).getType() 
-                        : this.getBinaryOperators().get(op).getType();
+        final OperatorTable table = this.getOperatorTable();
+        return table.type(table.id(op));
     }
 
     @Override
     public double applyUnaryOperation(final String op, final double a) {
-        return this.getUnaryOperators().get(op).apply(a);
+        final OperatorTable table = this.getOperatorTable();
+        return table.applyUnary(table.id(op), a);
     }
 
     @Override
     public boolean isUnaryOperator(final String op) {
-        return this.getUnaryOperators().containsKey(op);
+        final OperatorTable table = this.getOperatorTable();
+        final int id = table.id(op);
+        return id != OperatorTable.NONE && table.isUnary(id);
     }
 
     @Override
     public boolean isBinaryOperator(final String op) {
-        return this.getBinaryOperators().containsKey(op);
+        final OperatorTable table = this.getOperatorTable();
+        final int id = table.id(op);
+        return id != OperatorTable.NONE && table.isBinary(id);
     }
 
     @Override
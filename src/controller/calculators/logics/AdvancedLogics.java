@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.function.Supplier;
 
 import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
+import utils.calculate.Budget;
 
 /**
  * Interface used by the AdvancedCalculatorPanel so it can interact with the model.
@@ -26,6 +27,13 @@ public interface AdvancedLogics {
      */
     String calculate(List<String> params);
 
+    /**
+     * @param params : parameters for the calculation if needed
+     * @param budget : the limits of the calculation
+     * @return the result of the expression, or the message of the {@link utils.calculate.BudgetExceededException} if it ran out of budget
+     */
+    String calculate(List<String> params, Budget budget);
+
     /**
      * @return Is used for retrieving the previous state
      */
@@ -6,6 +6,8 @@ import java.util.function.Supplier;
 import controller.calculators.CalculatorAdvancedController;
 import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
 import utils.CalcException;
+import utils.calculate.Budget;
+import utils.calculate.BudgetExceededException;
 import utils.calculate.ExternData;
 
 /**
@@ -33,13 +35,22 @@ public class AdvancedLogicsImpl implements AdvancedLogics {
 
     @Override
     public String calculate(final List<String> params) {
+        return this.calculate(params, Budget.unlimited());
+    }
+
+    @Override
+    public String calculate(final List<String> params, final Budget budget) {
         boolean isInfinity = false;
         String result;
         boolean isError = false;
         try {
             controller.setParameters(params);
-            result = controller.calculate();
+            result = controller.calculate(budget);
 
+        } catch (BudgetExceededException e) {
+            controller.reset();
+            isError = true;
+            result = e.getMessage();
         } catch (IllegalArgumentException | CalcException e) {
             isError = true;
             result = "Syntax Error";
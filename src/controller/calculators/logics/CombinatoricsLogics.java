@@ -22,7 +22,11 @@ public interface CombinatoricsLogics {
         PARTITIONS("Partitions", "bellNumber"),
         PARTITIONSBIN("Partitions(binary)", "stirlingNumber"),
         FIBONACCI("Fibonacci", "fibonacci"),
-        FIBONACCIBIN("Fibonacci(binary)", "binaryFibonacci");
+        FIBONACCIBIN("Fibonacci(binary)", "binaryFibonacci"),
+        LUCAS("Lucas", "lucas"),
+        TRIBONACCI("Tribonacci", "tribonacci"),
+        INTEGER_PARTITIONS("Integer partitions", "integerPartitions"),
+        INTEGER_PARTITIONSBIN("Integer partitions(binary)", "integerPartitionsParts");
 
         private final String opBtnName;
         private final String opModelName;
@@ -73,4 +77,11 @@ public interface CombinatoricsLogics {
      * @return the String to be displayed(in the upper text)after clicking on the '=' button
      */
     String calculateAction();
+
+    /**
+     * Switches to the modular mode, where integer results are reduced modulo a prime, or back to the normal one.
+     * @param modulus a prime below 2^31, or a blank String for the normal mode
+     * @return whether the modulus has been accepted; if not, the mode doesn't change
+     */
+    boolean setModulus(String modulus);
 }
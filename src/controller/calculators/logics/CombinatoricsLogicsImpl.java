@@ -1,8 +1,14 @@
 package controller.calculators.logics;
 
+import java.math.BigInteger;
+
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.LogCombinatorics;
+import model.combinatorics.ModularCombinatorics;
 import model.manager.EngineModelInterface.Calculator;
 import controller.calculators.CalculatorController;
 import utils.CalcException;
+import utils.NumberFormatter;
 /**
  * 
  *  Implementation of the CombinatoricsLogics interface.
@@ -10,9 +16,13 @@ import utils.CalcException;
  */
 public class CombinatoricsLogicsImpl implements CombinatoricsLogics {
 
+    private static final int MAX_EXACT_DIGITS = 20;
+    private static final int SIGNIFICANT_DIGITS = 15;
+
     private final CalculatorController controller = Calculator.COMBINATORICS.getController();
     private String opString = "";
     private String opFormat = "";
+    private ModularCombinatorics modular;
 
     @Override
     public String numberAction(final String btnText) {
@@ -35,14 +45,32 @@ public class CombinatoricsLogicsImpl implements CombinatoricsLogics {
             this.clearStrings();
             this.controller.getManager().memory().clear();
         }
-        adder += this.opString.isBlank() ? "" : ") =";
+        if (!this.opString.isBlank()) {
+            adder += this.modular == null ? ") =" : ") mod " + this.modular.getModulus() + " =";
+        }
         final String result = this.opFormat + adder;
-        this.controller.getManager().engine().calculate();
+        if (this.modular == null ? !this.calculateExact() && !this.calculateLog() : !this.calculateModular()) {
+            this.controller.getManager().engine().calculate();
+        }
         this.controller.getManager().memory().addResult(this.opString.isBlank() ? "" : result + " " + this.getBufferToString());
         this.clearStrings();
         return result;
     }
 
+    @Override
+    public boolean setModulus(final String modulus) {
+        if (modulus.isBlank()) {
+            this.modular = null;
+            return true;
+        }
+        try {
+            this.modular = ModularCombinatorics.of(Long.parseLong(modulus.strip()));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     @Override
     public String getBufferToString() {
         return this.controller.getManager().memory().getCurrentState().stream().reduce("", (a, b) -> a + b);
@@ -79,6 +107,99 @@ public class CombinatoricsLogicsImpl implements CombinatoricsLogics {
         return this.opFormat + ")";
     }
 
+    /**
+     * Integer operands are computed exactly with {@link ExactCombinatorics}, anything else by the engine.
+     * @return whether the result has been stored in the memory
+     */
+    private boolean calculateExact() {
+        if (!ExactCombinatorics.isSupported(this.opString)) {
+            return false;
+        }
+        final String[] operands = this.getBufferToString().split(this.opString, -1);
+        try {
+            final int n = Integer.parseInt(operands[0]);
+            final BigInteger exact = this.controller.isBinaryOperator(this.opString)
+                    ? ExactCombinatorics.apply(this.opString, n, Integer.parseInt(operands[1]))
+                    : ExactCombinatorics.apply(this.opString, n);
+            final String formatted = NumberFormatter.format(exact, MAX_EXACT_DIGITS, SIGNIFICANT_DIGITS);
+            if (formatted.contains("E")) {
+                this.controller.getManager().memory().setCurrentState(formatted);
+            } else {
+                this.controller.getManager().memory().splitAndSetCurrentState(formatted);
+            }
+            return true;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Integer operands beyond the range of the exact results are computed in the log domain by
+     * {@link LogCombinatorics}, and shown with the digits their logarithm determines.
+     * @return whether the result, or an error, has been stored in the memory
+     */
+    private boolean calculateLog() {
+        if (!LogCombinatorics.isSupported(this.opString)) {
+            return false;
+        }
+        final String[] operands = this.getBufferToString().split(this.opString, -1);
+        try {
+            final double n = Double.parseDouble(operands[0]);
+            final double k = this.controller.isBinaryOperator(this.opString) ? Double.parseDouble(operands[1]) : 0;
+            if (n != Math.rint(n) || k != Math.rint(k)) {
+                return false;
+            }
+            final double logarithm = this.controller.isBinaryOperator(this.opString)
+                    ? LogCombinatorics.apply(this.opString, n, k) : LogCombinatorics.apply(this.opString, n);
+            if (Double.isNaN(logarithm)) {
+                return false;
+            }
+            final String formatted = NumberFormatter.formatLog(logarithm,
+                    LogCombinatorics.isApproximate(this.opString) ? LogCombinatorics.APPROXIMATE_DIGITS : SIGNIFICANT_DIGITS);
+            if (formatted.contains("E")) {
+                this.controller.getManager().memory().setCurrentState(formatted);
+            } else {
+                this.controller.getManager().memory().splitAndSetCurrentState(formatted);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        } catch (CalcException e) {
+            this.controller.getManager().memory().setErrorState("Out of range");
+        }
+        return true;
+    }
+
+    /**
+     * Operations with a modular version take operands of any size, the others are computed exactly and reduced.
+     * @return whether the result, or an error, has been stored in the memory
+     */
+    private boolean calculateModular() {
+        if (this.opString.isBlank()) {
+            return false;
+        }
+        final String[] operands = this.getBufferToString().split(this.opString, -1);
+        final boolean binary = this.controller.isBinaryOperator(this.opString);
+        try {
+            final long n = Long.parseLong(operands[0]);
+            final long k = binary ? Long.parseLong(operands[1]) : 0;
+            final long result;
+            if (ModularCombinatorics.isSupported(this.opString)) {
+                result = binary ? this.modular.apply(this.opString, n, k) : this.modular.apply(this.opString, n);
+            } else {
+                final BigInteger exact = binary
+                        ? ExactCombinatorics.apply(this.opString, Math.toIntExact(n), Math.toIntExact(k))
+                        : ExactCombinatorics.apply(this.opString, Math.toIntExact(n));
+                result = exact.mod(BigInteger.valueOf(this.modular.getModulus())).longValue();
+            }
+            this.controller.getManager().memory().splitAndSetCurrentState(Long.toString(result));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            this.controller.getManager().memory().setErrorState("Syntax Error");
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            this.controller.getManager().memory().setErrorState("Out of range");
+        }
+        return true;
+    }
+
     private String getFormattedString() throws CalcException {
         if (!this.opFormat.isBlank()) {
             if (!this.opString.isBlank() && this.controller.isBinaryOperator(this.opString)) {
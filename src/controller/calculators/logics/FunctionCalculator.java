@@ -1,6 +1,9 @@
 package controller.calculators.logics;
 
 import java.util.List;
+
+import utils.CalcException;
+import utils.calculate.Budget;
 /**
  * 
  * FunctionCalculator serves the purpose to take a F(x) function and 
@@ -16,6 +19,13 @@ public interface FunctionCalculator {
      * 
      */
     void calculate(String eq);
+    /**
+     * 
+     * @param eq is the equation which will be calculated, like {@link #calculate(String)}.
+     * @param budget is checked at every sample and receives the progress of the sampling.
+     * @throws CalcException if the sampling runs out of budget, in which case the results are cleared.
+     */
+    void calculate(String eq, Budget budget) throws CalcException;
     /**
      * 
      * @return a the list containing the results (in order).
@@ -4,8 +4,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import controller.calculators.CalculatorController;
+import controller.manager.CCEngine;
+import controller.manager.CCMemoryManager;
+import controller.manager.MemoryManager;
 import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+import utils.calculate.Budget;
+import utils.calculate.BudgetExceededException;
 import utils.calculate.Tokenizer;
 /**
  * 
@@ -23,14 +28,14 @@ public class FunctionCalculatorImpl implements FunctionCalculator {
      * RANGE is the limit from which we take the lesser x and the greater x.
      */
     public static final double RANGE = 100;
-    private final CalculatorController controller;
+    private final CCEngine engine;
     private final List<Double> results;
     /**
      * 
      */
     public FunctionCalculatorImpl() {
         this.results = new ArrayList<>();
-        this.controller = Calculator.GRAPHIC.getController();
+        this.engine = new CCEngine(Calculator.GRAPHIC.getController());
     }
     /**
      * 
@@ -38,23 +43,42 @@ public class FunctionCalculatorImpl implements FunctionCalculator {
      * 
      */
     public void calculate(final String eq) {
+        try {
+            this.calculate(eq, Budget.unlimited());
+        } catch (CalcException e) {
+            this.results.clear();
+        }
+    }
+    /**
+     * Samples on its own memory and engine instead of the ones of the GRAPHIC calculator, so it can run off the EDT.
+     * Samples that aren't finite, like the logarithm of a negative number, are kept for the grapher to skip; a sample
+     * that can't be calculated clears the results and stops the sampling. The budget only limits the number of samples
+     * and the time.
+     * @param eq the input string representing a function F(x)
+     * @param budget checked at every sample
+     * @throws CalcException if the budget runs out
+     */
+    public void calculate(final String eq, final Budget budget) throws CalcException {
         this.results.clear();
+        final MemoryManager memory = new CCMemoryManager();
         double x = -RANGE;
-        List<String> temp;
-        while (x <= RANGE) {
-            temp = this.replace(eq, x);
-            for (final var s: temp) {
-                    this.controller.getManager().memory().read(s);
+        try {
+            while (x <= RANGE) {
+                budget.evaluation();
+                memory.readAll(this.replace(eq, x));
+                try {
+                    this.results.add(this.engine.calculate(memory.getCurrentState()));
+                } catch (CalcException e) {
+                    x = RANGE;
+                    results.clear();
                 }
-            this.controller.getManager().engine().calculate();
-            try {
-                this.results.add(Double.valueOf(this.controller.getManager().memory().getCurrentState().stream().reduce("", (a, b) -> a + b)));
-            } catch (IllegalArgumentException e) {
-                x = RANGE;
-                results.clear();
+                memory.clear();
+                budget.progress((x + RANGE) / (2 * RANGE));
+                x += FunctionCalculatorImpl.PRECISION;
             }
-            this.controller.getManager().memory().clear();
-            x += FunctionCalculatorImpl.PRECISION;
+        } catch (BudgetExceededException e) {
+            this.results.clear();
+            throw e;
         }
     }
 
@@ -54,7 +54,7 @@ public class OutputFormatterLogicsImpl implements OutputFormatterLogics {
     }
 
     private void setAppearanceMap() {
-        ScientificCalculatorModelFactory.create().getUnaryOpMap().forEach((str, op) -> {
+        ScientificCalculatorModelFactory.get().getUnaryOpMap().forEach((str, op) -> {
             switch (str) {
             case "x²":
                 appearanceMap.put(str, "²");
@@ -70,7 +70,7 @@ public class OutputFormatterLogicsImpl implements OutputFormatterLogics {
                 break;
             }
         });
-        ScientificCalculatorModelFactory.create().getBinaryOpMap().forEach((str, op) -> {
+        ScientificCalculatorModelFactory.get().getBinaryOpMap().forEach((str, op) -> {
             switch (str) {
                 case "test":
                     break;
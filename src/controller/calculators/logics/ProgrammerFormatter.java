@@ -4,20 +4,33 @@ import java.util.List;
 import java.util.Map;
 
 import controller.calculators.CalculatorController;
+import controller.manager.CCEngine;
 import model.calculators.ProgrammerCalculatorModelFactory;
 import model.manager.EngineModelInterface.Calculator;
-import utils.ConversionAlgorithms;
+import model.programmer.BitVector;
+import model.programmer.Operand;
+import model.programmer.ProgrammerEngine;
+import model.programmer.WordSize;
+import utils.CalcException;
 import view.components.CCDisplay;
 /**
  * This class acts as an intermediate between the ProgrammerCalculatorPanel and CalculatorController's engine.
+ * The expression is kept as it is typed: the tokens before the number being typed are already in decimal, and the
+ * number itself is an {@link Operand} updated at every digit, so nothing is converted again on calculate or on the
+ * updates of the conversion displays.
  */
 public class ProgrammerFormatter implements InputFormatterLogics, OutputFormatterLogics {
+    private static final List<String> ERRORS = List.of("Syntax error", "Parenthesis mismatch", "Division by zero", "Out of range");
     private int conversionBase = 10;
     private final CalculatorController controller;
     private List<String> buffer;
     private final List<String> tokens;
+    /* the tokens before the operand, with the numbers in decimal */
+    private final List<String> expression = new ArrayList<>();
     private String lastNumBuffer = "";
     private final CCDisplay display;
+    private ProgrammerEngine engine = ProgrammerEngine.of(WordSize.QWORD);
+    private Operand operand = new Operand(WordSize.QWORD, this.conversionBase);
     /**
      * @param display
      */
@@ -34,32 +47,69 @@ public class ProgrammerFormatter implements InputFormatterLogics, OutputFormatte
     private void addTokens() {
         tokens.add("(");
         tokens.add(")");
-        ProgrammerCalculatorModelFactory.create().getBinaryOpMap().entrySet().stream().forEach((entry) -> tokens.add(entry.getKey()));
-        ProgrammerCalculatorModelFactory.create().getUnaryOpMap().entrySet().stream().forEach((entry) -> tokens.add(entry.getKey()));
+        ProgrammerCalculatorModelFactory.get().getBinaryOpMap().entrySet().stream().forEach((entry) -> tokens.add(entry.getKey()));
+        ProgrammerCalculatorModelFactory.get().getUnaryOpMap().entrySet().stream().forEach((entry) -> tokens.add(entry.getKey()));
     }
     /**
      * This methods reads from the button pressed.
+     * Digits that would overflow the word are ignored.
      * @param input
      */
     @Override
     public void read(final String input) {
-        if ("not".equals(input)) {
-            this.handleNotInput();
-        } else {
-            if (!this.tokens.contains(input)) {
-                this.lastNumBuffer = this.lastNumBuffer.concat(input);
-            } else {
-                this.lastNumBuffer = "";
+        if (ProgrammerEngine.isUnaryOperator(input)) {
+            this.handleUnaryInput(input);
+            return;
+        }
+        this.removeError();
+        if (!this.tokens.contains(input)) {
+            if (!this.operand.appendDigit(Character.digit(input.charAt(0), Character.MAX_RADIX))) {
+                return;
             }
-            this.buffer.add(input);
-          this.removeError();
+            this.lastNumBuffer = this.lastNumBuffer.concat(input);
+        } else if ("-".equals(input) && this.operand.digits() == 0 && !this.operand.isNegative() && !this.endsOperand()) {
+            this.operand.negate();
+            this.lastNumBuffer = input;
+        } else {
+            this.flushOperand();
+            this.expression.add(input);
+            this.lastNumBuffer = "";
         }
+        this.buffer.add(input);
     }
-    private void handleNotInput() {
+    /**
+     * @return whether the last token closes an operand, so that a "-" after it is a subtraction.
+     */
+    private boolean endsOperand() {
+        if (this.expression.isEmpty()) {
+            return false;
+        }
+        final String last = this.expression.get(this.expression.size() - 1);
+        return ")".equals(last) || !this.tokens.contains(last);
+    }
+    /**
+     * Moves the operand at the end of the expression: its decimal value, or a subtraction if it is only a sign.
+     */
+    private void flushOperand() {
+        if (this.operand.digits() > 0) {
+            this.expression.add(this.operand.toString());
+        } else if (this.operand.isNegative()) {
+            this.expression.add("-");
+        }
+        this.operand.clear();
+    }
+    /**
+     * Unary operators apply to the whole input, which is calculated right away.
+     */
+    private void handleUnaryInput(final String op) {
+        this.removeError();
+        this.flushOperand();
         this.buffer.add(0, "(");
-        this.buffer.add(0, "not");
+        this.buffer.add(0, op);
         this.buffer.add(")");
-        this.removeError();
+        this.expression.add(0, "(");
+        this.expression.add(0, op);
+        this.expression.add(")");
         final String before = this.getBuffer();
         this.updateDisplayUpperText();
         this.calculate();
@@ -77,54 +127,27 @@ public class ProgrammerFormatter implements InputFormatterLogics, OutputFormatte
     public void reset(final int base) {
         this.conversionBase = base;
         this.buffer.clear();
+        this.expression.clear();
+        this.operand = new Operand(this.getWordSize(), base);
         this.controller.getManager().memory().clear();
         this.lastNumBuffer = "";
     }
-    /**
-     * This method searches the buffer "(" ")" and operators and converts every possible alpha-numeric
-     * string to its decimal value.
-     * ["(","F","F","+","0","1",")"]
-     * ["(","255","+","1",")"]
-     * 
-     * @return the new converted list.
-     */
-    private List<String> formatToDecimal() {
-        if (this.conversionBase == 10) {
-            return this.buffer;
-        }
-        String strNumber = "";
-        long intNumber;
-        final List<String> formattedList = new ArrayList<>();
-        for (final var str : this.buffer) {
-            if (!this.tokens.contains(str)) {
-                strNumber = strNumber.concat(str);
-            } else {
-                if (!strNumber.isBlank()) {
-                    intNumber = ConversionAlgorithms.unsignedConversionToDecimal(conversionBase, strNumber);
-                    strNumber = String.valueOf(intNumber);
-                    List.of(strNumber.split("")).stream().forEach((dec) -> formattedList.add(dec));
-                    strNumber = "";
-                }
-                    formattedList.add(str);
-            }
-        }
-        if (!strNumber.isBlank()) {
-            intNumber = ConversionAlgorithms.unsignedConversionToDecimal(conversionBase, strNumber);
-            strNumber = String.valueOf(intNumber);
-            List.of(strNumber.split("")).stream().forEach((dec) -> formattedList.add(dec));
-        }
-        return formattedList;
-    }
     /**
      * This methods deletes the last input.
      */
     @Override
     public void deleteLast() {
-        if ("Syntax error".equals(lastNumBuffer)) {
+        if (ERRORS.contains(lastNumBuffer)) {
             this.reset(conversionBase);
         }
         if (!this.buffer.isEmpty()) {
-            this.buffer.remove(this.buffer.size() - 1);
+            final String last = this.buffer.remove(this.buffer.size() - 1);
+            if (!this.tokens.contains(last) || "-".equals(last) && this.operand.digits() == 0 && this.operand.isNegative()) {
+                this.operand.removeDigit();
+            } else if (!this.expression.isEmpty()) {
+                this.expression.remove(this.expression.size() - 1);
+                this.restoreOperand();
+            }
             final List<String> numbers = new ArrayList<>();
             this.buffer.stream().forEach((str) -> {
                 if (!this.tokens.contains(str)) {
@@ -137,52 +160,88 @@ public class ProgrammerFormatter implements InputFormatterLogics, OutputFormatte
         }
     }
     /**
-     * 
+     * Brings back the number at the end of the expression as the operand being typed, with its digits as they are
+     * shown in the buffer.
+     */
+    private void restoreOperand() {
+        if (!this.endsOperand() || ")".equals(this.expression.get(this.expression.size() - 1))) {
+            return;
+        }
+        this.expression.remove(this.expression.size() - 1);
+        int start = this.buffer.size();
+        while (start > 0 && !this.tokens.contains(this.buffer.get(start - 1))) {
+            start--;
+        }
+        if (start > 0 && "-".equals(this.buffer.get(start - 1)) && !this.endsOperand()) {
+            this.operand.negate();
+        }
+        this.buffer.subList(start, this.buffer.size()).forEach((digit) ->
+                this.operand.appendDigit(Character.digit(digit.charAt(0), Character.MAX_RADIX)));
+    }
+    /**
+     *
      * @return a String containing the current buffer converted to String.
      */
     public String getBuffer() {
         return this.buffer.stream().reduce("", (a, b) -> a + b);
     }
     /**
-     * This methods uses the engine's calculate() to return the result of its buffer.
+     * This methods uses the programmer engine to replace its buffer with the result, in the current base and word size.
      */
     @Override
     public void calculate() {
         if (!this.buffer.isEmpty()) {
             this.removeError();
-            final var temp = this.formatToDecimal();
-            this.controller.getManager().memory().readAll(temp);
-            this.controller.getManager().engine().calculate();
-            this.buffer.clear();
-            if (this.controller.getManager().memory().getCurrentState().stream().reduce("", (a, b) -> a + b).contains("-")) {
-                List.of(this.controller.getManager().memory().getCurrentState().get(0).split("")).stream().forEach((str) -> this.buffer.add(str));
-            } else {
-                this.buffer.addAll(this.controller.getManager().memory().getCurrentState());
+            this.flushOperand();
+            String result;
+            try {
+                final List<String> rpn = new CCEngine(this.controller).parseToRPN(this.expression);
+                final WordSize size = this.getWordSize();
+                this.operand.load(size.isWide() ? this.engine.evaluateBits(rpn)
+                        : BitVector.valueOf(this.engine.evaluate(rpn), size.bits()));
+                result = this.operand.toString(this.conversionBase);
+                this.buffer.clear();
+                List.of(result.split("")).forEach((str) -> this.buffer.add(str));
+            } catch (CalcException e) {
+                result = e.getMessage();
+                this.operand.clear();
+                this.buffer.clear();
+                this.buffer.add(result);
             }
-            this.inverseFormat();
-            this.lastNumBuffer = this.buffer.stream().reduce("", (a, b) -> a + b);
+            this.expression.clear();
+            this.lastNumBuffer = result;
             this.controller.getManager().memory().clear();
         }
     }
+    /**
+     * Changes the word size of the following calculations, clearing the current one like a change of base does.
+     * @param size the new word size.
+     */
+    public void setWordSize(final WordSize size) {
+        this.engine = ProgrammerEngine.of(size);
+        this.reset(this.conversionBase);
+    }
+    /**
+     * @return the word size of the calculations.
+     */
+    public WordSize getWordSize() {
+        return this.engine.wordSize();
+    }
     private void removeError() {
-        this.buffer.remove("Syntax error");
-        this.buffer.remove("Parenthesis mismatch");
-    }
-    private void inverseFormat() {
-        if (this.conversionBase != 10) {
-            final var toChange = new ArrayList<String>();
-            String toConv = "";
-            for (final var num : this.buffer) {
-                if (!this.tokens.contains(num)) {
-                    toConv = toConv.concat(num);
-                } else {
-                    toChange.add(num);
-                }
-            }
-            final var value = ConversionAlgorithms.conversionToStringBase(conversionBase, (long) Double.parseDouble(toConv)).replace("+", "");
-            List.of(value.split("")).forEach((str) -> toChange.add(str));
-            this.buffer = toChange;
-        }
+        this.buffer.removeAll(ERRORS);
+    }
+    /**
+     * @param base the base of the digits
+     * @return the last input value in the given base: signed in base 10, the bits of the word in the others
+     */
+    public String getLastValue(final int base) {
+        return this.operand.toString(base);
+    }
+    /**
+     * @return the last input value on all the bits of the word, like {@link #getLastValue()}
+     */
+    public BitVector getLastBits() {
+        return this.operand.bits();
     }
     /**
      * @return the last input value
@@ -190,24 +249,7 @@ public class ProgrammerFormatter implements InputFormatterLogics, OutputFormatte
      * if input == "A2+F" it will return the conversion of F=>15
      */
     public long getLastValue() {
-        int sign = 1;
-        if (this.lastNumBuffer.contains("-")) {
-            this.lastNumBuffer = this.lastNumBuffer.replace("-", "");
-            sign = -1;
-        }
-        final var value = this.adjust();
-        return sign * value;
-    }
-    private long adjust() {
-        //since the IEEE754 hasn't been implemented I simply round the number
-        if (this.lastNumBuffer.contains(".")) {
-            return Math.round(Double.parseDouble(lastNumBuffer));
-        }
-        try {
-            return ConversionAlgorithms.unsignedConversionToDecimal(conversionBase, lastNumBuffer);
-        } catch (NumberFormatException e) {
-            return 0L;
-        }
+        return this.operand.value();
     }
     @Override
     public void updateDisplay() {
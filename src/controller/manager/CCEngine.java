@@ -1,12 +1,16 @@
 package controller.manager;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
 
 import controller.calculators.CalculatorController;
+import model.calculators.OperatorTable;
 import utils.CalcException;
 import utils.NumberFormatter;
+import utils.Rational;
 import utils.Type;
 
 /**
@@ -15,6 +19,9 @@ import utils.Type;
 public class CCEngine implements EngineInterface {
 
     private static final String SYNTAX_ERROR = "Syntax error";
+    private static final String PARENTHESIS_MISMATCH = "Parenthesis mismatch";
+    /* the id of the open parentheses on the stack of the operators */
+    private static final int OPEN_PARENTHESIS = -2;
     private final CalculatorController calcController;
     private static final String VARIABLE = "x";
 
@@ -34,9 +41,48 @@ public class CCEngine implements EngineInterface {
         return this.evaluateRPN(rpnInput);
     }
 
+    /**
+     * Evaluates an expression in arbitrary precision: the numbers are read exactly as they were typed and every
+     * operation is rounded to the given MathContext.
+     * @param input the expression in infix notation
+     * @param mc the precision of the operations
+     * @return the result of the expression
+     * @throws CalcException if the expression isn't valid, an operator has no arbitrary precision or a result isn't
+     * defined
+     */
+    public BigDecimal calculate(final List<String> input, final MathContext mc) throws CalcException {
+        return this.evaluateRPN(this.parseToRPN(this.unifyTerms(input)), mc);
+    }
+
+    /**
+     * Evaluates an expression exactly, on rational numbers: the numbers are read exactly as they were typed.
+     * @param input the expression in infix notation
+     * @return the result of the expression
+     * @throws CalcException if the expression isn't valid, an operator has no exact result or a result isn't defined
+     */
+    public Rational calculateExact(final List<String> input) throws CalcException {
+        try {
+            return this.evaluateExact(this.parseToRPN(this.unifyTerms(input)));
+        } catch (NumberFormatException e) {
+            throw new CalcException(SYNTAX_ERROR);
+        } catch (ArithmeticException e) {
+            throw new CalcException(e.getMessage());
+        }
+    }
+
+    /**
+     * The expression is evaluated exactly when all of its operators have an exact result, so that sums like
+     * 0.1 + 0.2 - 0.3 give zero, and in floating point otherwise. The exact result is converted to decimal only here.
+     */
     @Override
     public String calculateAndFormat(final List<String> input) throws CalcException {
-        final double result = this.calculate(input);
+        final List<String> rpn = this.parseToRPN(this.unifyTerms(input));
+        double result;
+        try {
+            result = this.evaluateExact(rpn).doubleValue();
+        } catch (ArithmeticException | NumberFormatException e) {
+            result = this.evaluateRPN(rpn);
+        }
         final int maxIntDigits = 10;
         final int maxDecDigits = 10;
         final int decimalThreshold = 5;
@@ -47,60 +93,54 @@ public class CCEngine implements EngineInterface {
     /**
      * Parses an expression in infix notation, stored as a list of strings, to an equivalent expression in reverse polish notation.
      * This method uses the shunting-yard algorithm. The main reference was the pseudocode on the Wikipedia page https://en.wikipedia.org/wiki/Shunting-yard_algorithm.
+     * Every token is looked up once in the operator table of the calculator, and the stack holds the ids of the operators, so
+     * precedence and associativity are read from arrays.
      * @throws CalcException If there is a parenthesis mismatch.
      */
     @Override
     public List<String> parseToRPN(final List<String> infix) throws CalcException {
-
-        final List<String> output = new ArrayList<>();
-        final Stack<String> stack = new Stack<>();
-
-        final var it = infix.iterator();
-        while (it.hasNext()) {
-
-            final String token = it.next();
-            if (isNumber(token) || VARIABLE.equals(token)) {
-                output.add(token);
-            } else if (isUnaryOperator(token)) {
-                stack.add(token);
-            } else if (isBinaryOperator(token)) {
-
-                if (!stack.isEmpty()) {
-                    String o2 = stack.lastElement();
-                    while (!"(".equals(o2) && (precedence(o2) > precedence(token) || precedence(o2) == precedence(token) && type(token) == Type.LEFT)) {
-                        output.add(stack.pop());
-                        if (stack.isEmpty()) {
-                            break;
-                        }
-                        o2 = stack.lastElement();
+        final OperatorTable table = getCalculator().getOperatorTable();
+        final List<String> output = new ArrayList<>(infix.size());
+        final int[] stack = new int[infix.size()];
+        int top = 0;
+
+        for (final String token : infix) {
+            final int id = table.id(token);
+            if (id == OperatorTable.NONE) {
+                if ("(".equals(token)) {
+                    stack[top++] = OPEN_PARENTHESIS;
+                } else if (")".equals(token)) {
+                    while (top > 0 && stack[top - 1] != OPEN_PARENTHESIS) {
+                        output.add(table.symbol(stack[--top]));
                     }
+                    if (top == 0) {
+                        throw new CalcException(PARENTHESIS_MISMATCH);
+                    }
+                    top--;
+                    if (top > 0 && stack[top - 1] != OPEN_PARENTHESIS && table.isUnary(stack[top - 1])) {
+                        output.add(table.symbol(stack[--top]));
+                    }
+                } else if (isNumber(token) || VARIABLE.equals(token)) {
+                    output.add(token);
                 }
-
-                stack.add(token);
-
-            } else if ("(".equals(token)) {
-                stack.add(token);
-            } else if (")".equals(token)) {
-                while (!stack.isEmpty() && !"(".equals(stack.lastElement())) {
-                    output.add(stack.pop());
-                }
-                if (!stack.isEmpty() && "(".equals(stack.lastElement())) {
-                    stack.pop();
-                } else {
-                    throw new CalcException("Parenthesis mismatch");
-                }
-                if (!stack.isEmpty() && isUnaryOperator(stack.lastElement())) {
-                    output.add(stack.pop());
+            } else if (table.isUnary(id)) {
+                stack[top++] = id;
+            } else {
+                final int precedence = table.precedence(id);
+                final boolean left = table.type(id) == Type.LEFT;
+                while (top > 0 && stack[top - 1] != OPEN_PARENTHESIS
+                        && (table.precedence(stack[top - 1]) > precedence || table.precedence(stack[top - 1]) == precedence && left)) {
+                    output.add(table.symbol(stack[--top]));
                 }
+                stack[top++] = id;
             }
-
         }
 
-        while (!stack.isEmpty()) {
-            if ("(".equals(stack.lastElement())) {
-                throw new CalcException("Parenthesis mismatch");
+        while (top > 0) {
+            if (stack[top - 1] == OPEN_PARENTHESIS) {
+                throw new CalcException(PARENTHESIS_MISMATCH);
             }
-            output.add(stack.pop());
+            output.add(table.symbol(stack[--top]));
         }
         return output;
     }
@@ -115,30 +155,29 @@ public class CCEngine implements EngineInterface {
                 currentNumber.add(s);
             } else {
                  if (!currentNumber.isEmpty()) {
-                    double actualNum;
-                    actualNum = convert(currentNumber);
+                    unified.add(convert(currentNumber));
                     currentNumber.clear();
-                    unified.add(String.valueOf(actualNum));
                  }
                 unified.add(s);
             }
         }
 
         if (!currentNumber.isEmpty()) {
-            final double actualNum = convert(currentNumber);
+            unified.add(convert(currentNumber));
             currentNumber.clear();
-            unified.add(String.valueOf(actualNum));
         }
         return unified;
     }
 
-    private double convert(final List<String> currentNumber) throws CalcException {
+    /**
+     * Joins the digits of a number, keeping them as they were typed so that the arbitrary precision evaluation reads
+     * the number exactly.
+     */
+    private String convert(final List<String> currentNumber) throws CalcException {
         if (currentNumber.stream().filter(s -> ".".equals(s)).count() > 1) {
             throw new CalcException(SYNTAX_ERROR);
         }
-        final String num = currentNumber.stream().reduce("", (a, b) -> a + b);
-        return Double.parseDouble(num);
-
+        return String.join("", currentNumber);
     }
 
     /**
@@ -179,6 +218,90 @@ public class CCEngine implements EngineInterface {
         return stack.pop();
     }
 
+    /**
+     * Evaluates the result of an expression in reverse polish notation in arbitrary precision, with the operators of
+     * the table of the calculator.
+     * @param rpn List of string representing the expression to evaluate.
+     * @param mc the precision of the operations
+     * @return the result of the expression.
+     * @throws CalcException If the expression contains too many operands, or an operation fails.
+     */
+    private BigDecimal evaluateRPN(final List<String> rpn, final MathContext mc) throws CalcException {
+        final OperatorTable table = getCalculator().getOperatorTable();
+        final BigDecimal[] stack = new BigDecimal[rpn.size()];
+        int top = 0;
+
+        try {
+            for (final String token : rpn) {
+                final int id = table.id(token);
+                if (id == OperatorTable.NONE) {
+                    if (isNumber(token)) {
+                        stack[top++] = new BigDecimal(token);
+                    }
+                } else if (table.isBinary(id)) {
+                    if (top < 2) {
+                        throw new CalcException(SYNTAX_ERROR);
+                    }
+                    top--;
+                    stack[top - 1] = table.applyBinary(id, stack[top - 1], stack[top], mc);
+                } else {
+                    if (top == 0) {
+                        throw new CalcException(SYNTAX_ERROR);
+                    }
+                    stack[top - 1] = table.applyUnary(id, stack[top - 1], mc);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new CalcException(SYNTAX_ERROR);
+        } catch (ArithmeticException | IllegalArgumentException e) {
+            throw new CalcException(e.getMessage());
+        }
+
+        if (top != 1) {
+            throw new CalcException(SYNTAX_ERROR);
+        }
+        return stack[0].round(mc);
+    }
+
+    /**
+     * Evaluates the result of an expression in reverse polish notation on exact rationals, with the operators of the
+     * table of the calculator.
+     * @param rpn List of string representing the expression to evaluate.
+     * @return the result of the expression.
+     * @throws CalcException If the expression contains too many operands.
+     * @throws ArithmeticException If an operator has no exact result or a result isn't defined.
+     */
+    private Rational evaluateExact(final List<String> rpn) throws CalcException {
+        final OperatorTable table = getCalculator().getOperatorTable();
+        final Rational[] stack = new Rational[rpn.size()];
+        int top = 0;
+
+        for (final String token : rpn) {
+            final int id = table.id(token);
+            if (id == OperatorTable.NONE) {
+                if (isNumber(token)) {
+                    stack[top++] = Rational.parse(token);
+                }
+            } else if (table.isBinary(id)) {
+                if (top < 2) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+                top--;
+                stack[top - 1] = table.applyBinary(id, stack[top - 1], stack[top]);
+            } else {
+                if (top == 0) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+                stack[top - 1] = table.applyUnary(id, stack[top - 1]);
+            }
+        }
+
+        if (top != 1) {
+            throw new CalcException(SYNTAX_ERROR);
+        }
+        return stack[0];
+    }
+
     private CalculatorController getCalculator() {
         return this.calcController;
     }
@@ -199,12 +322,5 @@ public class CCEngine implements EngineInterface {
             return false;
         }
     }
-    private Type type(final String token) {
-        return getCalculator().getType(token);
-    }
-
-    private int precedence(final String token) {
-        return getCalculator().getPrecedence(token);
-    }
 
 }
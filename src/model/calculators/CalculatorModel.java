@@ -22,4 +22,12 @@ public interface CalculatorModel {
      * @return a map containing all the unary operations of this calculator
      */
     Map<String, CCUnaryOperator> getUnaryOpMap();
+
+    /**
+     * 
+     * @return the operators of this calculator compiled in a table, built again at every call unless the model keeps it
+     */
+    default OperatorTable getOperatorTable() {
+        return OperatorTable.of(this);
+    }
 }
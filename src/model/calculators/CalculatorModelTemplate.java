@@ -1,5 +1,6 @@
 package model.calculators;
 
+import java.util.Collections;
 import java.util.HashMap;
 
 import java.util.Map;
@@ -10,12 +11,14 @@ import utils.CCUnaryOperator;
 /**
  * 
  * Implementation of the calculators Model. It contains two HashMaps: one with the binary operations of this calculator and one with the unary ones.
+ * Models are shared between calculators, so the maps can't be modified, and their operator table is compiled once here.
  *
  */
 public final class CalculatorModelTemplate implements CalculatorModel {
 
-    private final Map<String, CCBinaryOperator> binaryOpMap = new HashMap<>();
-    private final Map<String, CCUnaryOperator> unaryOpMap = new HashMap<>();
+    private final Map<String, CCBinaryOperator> binaryOpMap;
+    private final Map<String, CCUnaryOperator> unaryOpMap;
+    private final OperatorTable operatorTable;
 
     /**
      * 
@@ -23,8 +26,9 @@ public final class CalculatorModelTemplate implements CalculatorModel {
      * @param unaryOpMap map containing all the unary operations of this calculator
      */
     public CalculatorModelTemplate(final Map<String, CCBinaryOperator> binaryOpMap, final Map<String, CCUnaryOperator> unaryOpMap) {
-        this.binaryOpMap.putAll(binaryOpMap);
-        this.unaryOpMap.putAll(unaryOpMap);
+        this.binaryOpMap = Collections.unmodifiableMap(new HashMap<>(binaryOpMap));
+        this.unaryOpMap = Collections.unmodifiableMap(new HashMap<>(unaryOpMap));
+        this.operatorTable = new OperatorTable(this.binaryOpMap, this.unaryOpMap);
     }
 
     @Override
@@ -36,4 +40,9 @@ public final class CalculatorModelTemplate implements CalculatorModel {
     public Map<String, CCUnaryOperator> getUnaryOpMap() {
         return this.unaryOpMap;
     }
+
+    @Override
+    public OperatorTable getOperatorTable() {
+        return this.operatorTable;
+    }
 }
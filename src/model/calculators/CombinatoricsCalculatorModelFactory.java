@@ -1,10 +1,16 @@
 package model.calculators;
 
+import java.math.BigInteger;
 import java.util.Map;
 
 import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
 
+import model.combinatorics.Derangements;
+import model.combinatorics.IntegerPartitions;
+import model.combinatorics.LinearRecurrence;
+import model.combinatorics.PartitionTables;
 import utils.CCBinaryOperator;
 import utils.CCUnaryOperator;
 
@@ -15,11 +21,25 @@ import utils.CCUnaryOperator;
  */
 public final class CombinatoricsCalculatorModelFactory {
 
-    private static final double BELL_NUMBER_MAX = 30;
+    /**
+     * Every recurrence of this calculator overflows a double before this index.
+     */
+    private static final int RECURRENCE_MAX_INDEX = 2000;
 
     private CombinatoricsCalculatorModelFactory() {
     }
 
+    /**
+     * @return the model shared by every calculator of this kind, created the first time it's needed
+     */
+    public static CalculatorModel get() {
+        return Holder.MODEL;
+    }
+
+    private static final class Holder {
+        private static final CalculatorModel MODEL = create();
+    }
+
     private static CCBinaryOperator createBinaryFunction(final BinaryOperator<Double> op) {
         return new CCBinaryOperator(op, 0, null);
     }
@@ -38,11 +58,15 @@ public final class CombinatoricsCalculatorModelFactory {
                 "binomialCoefficient", createBinaryFunction((a, b) -> binomialCoefficient(a, b)),
                 "sequencesNumber", createBinaryFunction((n, m) -> sequencesNumber(n, m)),
                 "binaryFibonacci", createBinaryFunction((n, k) -> binaryFibonacci(n, k)),
-                "stirlingNumber", createBinaryFunction((n, k) -> stirlingNumber(n, k)));
+                "stirlingNumber", createBinaryFunction((n, k) -> stirlingNumber(n, k)),
+                "integerPartitionsParts", createBinaryFunction((n, k) -> IntegerPartitions.approximate(n, k)));
         final Map<String, CCUnaryOperator> unaryOpMap = Map.of(
                 "fibonacci", createUnaryFunction((n) -> fibonacci(n)),
                 "derangement", createUnaryFunction((n) -> derangement(n)),
-                "bellNumber", createUnaryFunction((n) -> bellNumber(n)));
+                "bellNumber", createUnaryFunction((n) -> bellNumber(n)),
+                "lucas", createUnaryFunction((n) -> recurrence(LinearRecurrence.LUCAS::term, n)),
+                "tribonacci", createUnaryFunction((n) -> recurrence(LinearRecurrence.TRIBONACCI::term, n)),
+                "integerPartitions", createUnaryFunction((n) -> IntegerPartitions.approximate(n)));
         return new CalculatorModelTemplate(binaryOpMap, unaryOpMap);
     }
 
@@ -100,30 +124,30 @@ public final class CombinatoricsCalculatorModelFactory {
      * @return the Fibonacci number of n which equals the number of sequences of length n with no adjacent '1'
      */
     private static double fibonacci(final double n) {
-        if (n < 1) {
-            return 0;
-        }
-        double result = 0.0;
-        if (n <= 3) {
-            result++;
-        }
-        for (double k = 0; k < n - 2; k++) {
-            result += binaryFibonacci(n - 2, k);
+        return n < 1 ? 0 : recurrence(LinearRecurrence::fibonacci, n);
+    }
+
+    /**
+     * 
+     * @param terms the exact terms of the recurrence
+     * @param n the index of the term
+     * @return the term of index n, infinite when it overflows, NaN if n isn't a natural number
+     */
+    private static double recurrence(final IntFunction<BigInteger> terms, final double n) {
+        if (n < 0 || n != Math.rint(n)) {
+            return Double.NaN;
         }
-        return result;
+        return n > RECURRENCE_MAX_INDEX ? Double.POSITIVE_INFINITY : terms.apply((int) n).doubleValue();
     }
 
     /**
      * 
      * @param n n the cardinality of the set A = {1,2,...,n}
-     * @return the number of sequences where no element is in its own position
+     * @return the number of sequences where no element is in its own position, infinite when it overflows, NaN if n
+     * isn't a natural number
      */
     private static double derangement(final double n) {
-        double result = 0;
-        for (int k = 0; k <= n; k++) {
-            result += Math.pow(-1, k) * fallingFactorial(n, n - k);
-        }
-        return result;
+        return Derangements.approximate(n);
     }
 
     /**
@@ -132,17 +156,7 @@ public final class CombinatoricsCalculatorModelFactory {
      * @return the number of partitions of the set A which equals Bell(n)
      */
     private static double bellNumber(final double n) {
-        if (n > BELL_NUMBER_MAX) {
-            return Double.POSITIVE_INFINITY;
-        }
-        if (n == 0) {
-            return 1;
-        }
-        double result = 0;
-        for (int i = 0; i < n; i++) {
-            result += binomialCoefficient(n - 1, i) * bellNumber(i);
-        }
-        return result;
+        return PartitionTables.bell(n);
     }
 
     /**
@@ -152,13 +166,6 @@ public final class CombinatoricsCalculatorModelFactory {
      * @return the number of partitions of the set A in k blocks which equals Stirling(n, k)
      */
     private static double stirlingNumber(final double n, final double k) {
-        if (k > n) {
-            return 0;
-        }
-        double result = 0;
-        for (double i = 0; i <= k; i++) {
-            result += Math.pow(-1, k - i) * Math.pow(i, n) * binomialCoefficient(k, i);
-        }
-        return result / fallingFactorial(k, k);
+        return PartitionTables.stirling(n, k);
     }
 }
@@ -0,0 +1,38 @@
+package model.calculators;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import utils.CCBinaryOperator;
+import utils.CCUnaryOperator;
+
+/**
+ * Model that asks for the actual one only when its operators are needed, so creating a controller doesn't build its model.
+ * Meant to wrap the shared models of the factories, like {@link StandardCalculatorModelFactory#get()}.
+ */
+public final class LazyCalculatorModel implements CalculatorModel {
+
+    private final Supplier<CalculatorModel> model;
+
+    /**
+     * @param model supplier of the model, called every time the operators are needed
+     */
+    public LazyCalculatorModel(final Supplier<CalculatorModel> model) {
+        this.model = model;
+    }
+
+    @Override
+    public Map<String, CCBinaryOperator> getBinaryOpMap() {
+        return this.model.get().getBinaryOpMap();
+    }
+
+    @Override
+    public Map<String, CCUnaryOperator> getUnaryOpMap() {
+        return this.model.get().getUnaryOpMap();
+    }
+
+    @Override
+    public OperatorTable getOperatorTable() {
+        return this.model.get().getOperatorTable();
+    }
+}
@@ -0,0 +1,225 @@
+package model.calculators;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.UnaryOperator;
+
+import utils.CCBinaryOperator;
+import utils.CCUnaryOperator;
+import utils.Rational;
+import utils.Type;
+
+/**
+ * The operators of a calculator model compiled in dense arrays: every symbol gets an id, found with a single lookup,
+ * and the precedence, associativity, arity and function of the operator are read at that index.
+ * The binary operators come first; a symbol that is both binary and unary has a single id with both arities, and the
+ * precedence and associativity of the binary operator.
+ * The operators that can be computed in arbitrary precision or exactly also keep their functions on BigDecimal and
+ * on Rational.
+ */
+public final class OperatorTable {
+
+    /**
+     * The id of the symbols that aren't operators.
+     */
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final String[] symbols;
+    private final int[] precedences;
+    private final Type[] types;
+    private final boolean[] unary;
+    private final boolean[] binary;
+    private final DoubleBinaryOperator[] binaryFunctions;
+    private final DoubleUnaryOperator[] unaryFunctions;
+    private final CCBinaryOperator.BigDecimalFunction[] binaryBigDecimalFunctions;
+    private final CCUnaryOperator.BigDecimalFunction[] unaryBigDecimalFunctions;
+    private final BinaryOperator<Rational>[] binaryRationalFunctions;
+    private final UnaryOperator<Rational>[] unaryRationalFunctions;
+
+    /**
+     * @param binaryOpMap the binary operators of a calculator
+     * @param unaryOpMap the unary operators of a calculator
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public OperatorTable(final Map<String, CCBinaryOperator> binaryOpMap, final Map<String, CCUnaryOperator> unaryOpMap) {
+        binaryOpMap.keySet().forEach((symbol) -> this.ids.putIfAbsent(symbol, this.ids.size()));
+        unaryOpMap.keySet().forEach((symbol) -> this.ids.putIfAbsent(symbol, this.ids.size()));
+        final int size = this.ids.size();
+        this.symbols = new String[size];
+        this.precedences = new int[size];
+        this.types = new Type[size];
+        this.unary = new boolean[size];
+        this.binary = new boolean[size];
+        this.binaryFunctions = new DoubleBinaryOperator[size];
+        this.unaryFunctions = new DoubleUnaryOperator[size];
+        this.binaryBigDecimalFunctions = new CCBinaryOperator.BigDecimalFunction[size];
+        this.unaryBigDecimalFunctions = new CCUnaryOperator.BigDecimalFunction[size];
+        this.binaryRationalFunctions = new BinaryOperator[size];
+        this.unaryRationalFunctions = new UnaryOperator[size];
+        unaryOpMap.forEach((symbol, op) -> {
+            final int id = this.ids.get(symbol);
+            this.symbols[id] = symbol;
+            this.precedences[id] = op.getPrecedence();
+            this.types[id] = op.getType();
+            this.unary[id] = true;
+            this.unaryFunctions[id] = op::apply;
+            this.unaryBigDecimalFunctions[id] = op.hasBigDecimal() ? op::apply : null;
+            this.unaryRationalFunctions[id] = op.hasRational() ? op::apply : null;
+        });
+        binaryOpMap.forEach((symbol, op) -> {
+            final int id = this.ids.get(symbol);
+            this.symbols[id] = symbol;
+            this.precedences[id] = op.getPrecedence();
+            this.types[id] = op.getType();
+            this.binary[id] = true;
+            this.binaryFunctions[id] = op::apply;
+            this.binaryBigDecimalFunctions[id] = op.hasBigDecimal() ? op::apply : null;
+            this.binaryRationalFunctions[id] = op.hasRational() ? op::apply : null;
+        });
+    }
+
+    /**
+     * @param model the model of a calculator
+     * @return the table of its operators
+     */
+    public static OperatorTable of(final CalculatorModel model) {
+        return new OperatorTable(model.getBinaryOpMap(), model.getUnaryOpMap());
+    }
+
+    /**
+     * @param symbol a token of an expression
+     * @return the id of the operator, {@link #NONE} if it isn't one
+     */
+    public int id(final String symbol) {
+        final Integer id = this.ids.get(symbol);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * @return the number of operators
+     */
+    public int size() {
+        return this.symbols.length;
+    }
+
+    /**
+     * @param id the id of an operator
+     * @return its symbol
+     */
+    public String symbol(final int id) {
+        return this.symbols[id];
+    }
+
+    /**
+     * @param id the id of an operator
+     * @return its level of precedence
+     */
+    public int precedence(final int id) {
+        return this.precedences[id];
+    }
+
+    /**
+     * @param id the id of an operator
+     * @return its type of association, null if it has none
+     */
+    public Type type(final int id) {
+        return this.types[id];
+    }
+
+    /**
+     * @param id the id of an operator
+     * @return whether it is a unary operator
+     */
+    public boolean isUnary(final int id) {
+        return this.unary[id];
+    }
+
+    /**
+     * @param id the id of an operator
+     * @return whether it is a binary operator
+     */
+    public boolean isBinary(final int id) {
+        return this.binary[id];
+    }
+
+    /**
+     * @param id the id of a binary operator
+     * @param a the first operand
+     * @param b the second operand
+     * @return the result of the operation
+     */
+    public double applyBinary(final int id, final double a, final double b) {
+        return this.binaryFunctions[id].applyAsDouble(a, b);
+    }
+
+    /**
+     * @param id the id of a unary operator
+     * @param a the operand
+     * @return the result of the operation
+     */
+    public double applyUnary(final int id, final double a) {
+        return this.unaryFunctions[id].applyAsDouble(a);
+    }
+
+    /**
+     * @param id the id of a binary operator
+     * @param a the first operand
+     * @param b the second operand
+     * @param mc the precision of the result
+     * @return the result of the operation in arbitrary precision
+     * @throws ArithmeticException if the operator has no arbitrary precision or the result isn't defined
+     */
+    public BigDecimal applyBinary(final int id, final BigDecimal a, final BigDecimal b, final MathContext mc) {
+        if (this.binaryBigDecimalFunctions[id] == null) {
+            throw new ArithmeticException("No arbitrary precision for " + this.symbols[id]);
+        }
+        return this.binaryBigDecimalFunctions[id].apply(a, b, mc);
+    }
+
+    /**
+     * @param id the id of a unary operator
+     * @param a the operand
+     * @param mc the precision of the result
+     * @return the result of the operation in arbitrary precision
+     * @throws ArithmeticException if the operator has no arbitrary precision or the result isn't defined
+     */
+    public BigDecimal applyUnary(final int id, final BigDecimal a, final MathContext mc) {
+        if (this.unaryBigDecimalFunctions[id] == null) {
+            throw new ArithmeticException("No arbitrary precision for " + this.symbols[id]);
+        }
+        return this.unaryBigDecimalFunctions[id].apply(a, mc);
+    }
+
+    /**
+     * @param id the id of a binary operator
+     * @param a the first operand
+     * @param b the second operand
+     * @return the exact result of the operation
+     * @throws ArithmeticException if the operator has no exact result or the result isn't a rational
+     */
+    public Rational applyBinary(final int id, final Rational a, final Rational b) {
+        if (this.binaryRationalFunctions[id] == null) {
+            throw new ArithmeticException("No exact result for " + this.symbols[id]);
+        }
+        return this.binaryRationalFunctions[id].apply(a, b);
+    }
+
+    /**
+     * @param id the id of a unary operator
+     * @param a the operand
+     * @return the exact result of the operation
+     * @throws ArithmeticException if the operator has no exact result or the result isn't a rational
+     */
+    public Rational applyUnary(final int id, final Rational a) {
+        if (this.unaryRationalFunctions[id] == null) {
+            throw new ArithmeticException("No exact result for " + this.symbols[id]);
+        }
+        return this.unaryRationalFunctions[id].apply(a);
+    }
+}
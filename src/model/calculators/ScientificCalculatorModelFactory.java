@@ -1,11 +1,14 @@
 package model.calculators;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.LongStream;
 
+import model.combinatorics.Factorials;
+import utils.BigDecimalMath;
 import utils.CCBinaryOperator;
 import utils.CCUnaryOperator;
+import utils.Rational;
 import utils.Type;
 
 /**
@@ -17,24 +20,38 @@ import utils.Type;
 public final class ScientificCalculatorModelFactory {
     private ScientificCalculatorModelFactory() {
     }
+
+    /**
+     * @return the model shared by every calculator of this kind, created the first time it's needed
+     */
+    public static CalculatorModel get() {
+        return Holder.MODEL;
+    }
+
+    private static final class Holder {
+        private static final CalculatorModel MODEL = create();
+    }
     /**
      * @return a map containing the operator name and a function that applies the before-mentioned operator.
      */
     public static CalculatorModel create() {
-        final Map<String, CCBinaryOperator> binaryOpMap = new HashMap<>(Map.of("log", new CCBinaryOperator((n, b) -> Math.log(n) / Math.log(b), 4, null),
-                     "nthRoot", new CCBinaryOperator((n, i) -> Math.pow(n, 1 / i), 6, Type.RIGHT),
-                     "^", new CCBinaryOperator((n, e) -> Math.pow(n, e), 5, Type.RIGHT)));
-        final Map<String, CCUnaryOperator> unaryOpMap = new HashMap<>(Map.of("ln", new CCUnaryOperator((n) -> Math.log(n), 1, null),
-                     "abs", new CCUnaryOperator((n) -> Math.abs(n), 1, null),
-                     "factorial", new CCUnaryOperator((n) -> (double) LongStream.rangeClosed(1, Math.round(n)).reduce(1, (long n1, long n2) -> n1 * n2), 1, null),
-                     "sin", new CCUnaryOperator((n) -> Math.sin(n), 1, null),
-                     "cos", new CCUnaryOperator((n) -> Math.cos(n), 1, null),
-                     "tan", new CCUnaryOperator((n) -> Math.tan(n), 1, null),
-                     "csc", new CCUnaryOperator((n) -> 1 / Math.sin(n), 1, null),
-                     "sec", new CCUnaryOperator((n) -> 1 / Math.cos(n), 1, null),
-                     "cot", new CCUnaryOperator((n) -> Math.cos(n) / Math.sin(n), 1, null)));
-        binaryOpMap.putAll(StandardCalculatorModelFactory.create().getBinaryOpMap());
-        unaryOpMap.putAll(StandardCalculatorModelFactory.create().getUnaryOpMap());
+        final Map<String, CCBinaryOperator> binaryOpMap = new HashMap<>(Map.of("log", new CCBinaryOperator((n, b) -> Math.log(n) / Math.log(b), BigDecimalMath::log, 4, null),
+                     "nthRoot", new CCBinaryOperator((n, i) -> Math.pow(n, 1 / i),
+                             (n, i, mc) -> BigDecimalMath.pow(n, BigDecimal.ONE.divide(i, mc), mc), 6, Type.RIGHT),
+                     "^", new CCBinaryOperator((n, e) -> Math.pow(n, e), BigDecimalMath::pow, Rational::pow, 5, Type.RIGHT)));
+        final Map<String, CCUnaryOperator> unaryOpMap = new HashMap<>(Map.of("ln", new CCUnaryOperator((n) -> Math.log(n), BigDecimalMath::ln, 1, null),
+                     "abs", new CCUnaryOperator((n) -> Math.abs(n), BigDecimal::abs, (n) -> n.signum() < 0 ? n.negate() : n, 1, null),
+                     "factorial", new CCUnaryOperator((n) -> Factorials.factorial(n),
+                             (n, mc) -> new BigDecimal(Factorials.exact(n.intValueExact()), mc), 1, null),
+                     "sin", new CCUnaryOperator((n) -> Math.sin(n), BigDecimalMath::sin, 1, null),
+                     "cos", new CCUnaryOperator((n) -> Math.cos(n), BigDecimalMath::cos, 1, null),
+                     "tan", new CCUnaryOperator((n) -> Math.tan(n), BigDecimalMath::tan, 1, null),
+                     "csc", new CCUnaryOperator((n) -> 1 / Math.sin(n), (n, mc) -> BigDecimal.ONE.divide(BigDecimalMath.sin(n, mc), mc), 1, null),
+                     "sec", new CCUnaryOperator((n) -> 1 / Math.cos(n), (n, mc) -> BigDecimal.ONE.divide(BigDecimalMath.cos(n, mc), mc), 1, null),
+                     "cot", new CCUnaryOperator((n) -> Math.cos(n) / Math.sin(n), (n, mc) -> BigDecimal.ONE.divide(BigDecimalMath.tan(n, mc), mc), 1, null)));
+        final CalculatorModel standard = StandardCalculatorModelFactory.get();
+        binaryOpMap.putAll(standard.getBinaryOpMap());
+        unaryOpMap.putAll(standard.getUnaryOpMap());
         return new CalculatorModelTemplate(binaryOpMap, unaryOpMap);
     }
 }
@@ -1,8 +1,11 @@
 package model.calculators;
+import java.math.BigDecimal;
 import java.util.Map;
+import utils.BigDecimalMath;
 import utils.CCBinaryOperator;
 import utils.CCUnaryOperator;
 import utils.CalcException;
+import utils.Rational;
 import utils.Type;
 /**
  * This is a static factory for basic operators.
@@ -10,27 +13,39 @@ import utils.Type;
 public final class StandardCalculatorModelFactory {
     private StandardCalculatorModelFactory() {
     }
+
+    /**
+     * @return the model shared by every calculator of this kind, created the first time it's needed
+     */
+    public static CalculatorModel get() {
+        return Holder.MODEL;
+    }
+
+    private static final class Holder {
+        private static final CalculatorModel MODEL = create();
+    }
     /**
      * @return a map containing the operator name and a function that applies the before-mentioned operator.
      */
     public static CalculatorModel create() {
         final Map<String, CCBinaryOperator> binaryOpMap = Map.of(
-                "+", new CCBinaryOperator((n1, n2) -> sum(n1, n2), 2, Type.LEFT),
-                "-", new CCBinaryOperator((n1, n2) -> sub(n1, n2), 2, Type.LEFT),
-                "×", new CCBinaryOperator((n1, n2) -> mult(n1, n2), 3, Type.LEFT),
-                "÷", new CCBinaryOperator((n1, n2) -> div(n1, n2), 3, Type.LEFT),
-                "%", new CCBinaryOperator((n1, n2) -> modulo(n1, n2), 3, Type.LEFT)
+                "+", new CCBinaryOperator((n1, n2) -> sum(n1, n2), BigDecimal::add, Rational::add, 2, Type.LEFT),
+                "-", new CCBinaryOperator((n1, n2) -> sub(n1, n2), BigDecimal::subtract, Rational::subtract, 2, Type.LEFT),
+                "×", new CCBinaryOperator((n1, n2) -> mult(n1, n2), BigDecimal::multiply, Rational::multiply, 3, Type.LEFT),
+                "÷", new CCBinaryOperator((n1, n2) -> div(n1, n2), BigDecimal::divide, Rational::divide, 3, Type.LEFT),
+                "%", new CCBinaryOperator((n1, n2) -> modulo(n1, n2), BigDecimal::remainder, 3, Type.LEFT)
                           );
         final Map<String, CCUnaryOperator> unaryOpMap = Map.of(
-                "1/x", new CCUnaryOperator((n) -> inverse(n), 4, Type.RIGHT),
+                "1/x", new CCUnaryOperator((n) -> inverse(n), (n, mc) -> BigDecimal.ONE.divide(n, mc), Rational::reciprocal,
+                        4, Type.RIGHT),
                 "√", new CCUnaryOperator((n) -> {
                     try {
                         return root(n);
                     } catch (CalcException e) {
                         return Double.POSITIVE_INFINITY;
                     }
-                }, 4, Type.RIGHT),
-                "x²", new CCUnaryOperator((n) -> square(n), 4, Type.RIGHT)
+                }, BigDecimalMath::sqrt, 4, Type.RIGHT),
+                "x²", new CCUnaryOperator((n) -> square(n), (n, mc) -> n.multiply(n, mc), (n) -> n.multiply(n), 4, Type.RIGHT)
                   );
         return new CalculatorModelTemplate(binaryOpMap, unaryOpMap);
     }
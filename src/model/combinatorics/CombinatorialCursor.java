@@ -0,0 +1,208 @@
+package model.combinatorics;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates the objects of a combinatorial space, like the k-subsets of a set, on a single int[] that every step
+ * rewrites in place, in amortized constant time. Objects are numbered by their rank in the order of the enumeration,
+ * and a cursor can jump to any rank, which lets {@link #stream()} split the space by rank among threads.
+ * Instances are created by {@link Enumerators}.
+ */
+public abstract class CombinatorialCursor {
+
+    /**
+     * Below this many objects a stream stops splitting: seeking costs more than enumerating them.
+     */
+    private static final long MIN_SPLIT = 1 << 10;
+
+    private final int[] state;
+    private final int length;
+    /* the state holds an object that next() hasn't returned yet */
+    private boolean positioned;
+    private boolean exhausted;
+
+    /**
+     * @param stateLength size of the array of the state
+     * @param length number of elements of every object, at the start of the array
+     */
+    CombinatorialCursor(final int stateLength, final int length) {
+        this.state = new int[stateLength];
+        this.length = length;
+    }
+
+    /**
+     * Moves to the next object, the first one being the object of rank 0.
+     * @return false if there are no more objects
+     */
+    public final boolean next() {
+        if (this.positioned) {
+            this.positioned = false;
+            return true;
+        }
+        if (this.exhausted || !this.advance()) {
+            this.exhausted = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the current object, in the first {@link #length()} elements of the array; the array is overwritten by
+     * {@link #next()}
+     */
+    public final int[] current() {
+        return this.state;
+    }
+
+    /**
+     * @return the number of elements of every object
+     */
+    public final int length() {
+        return this.length;
+    }
+
+    /**
+     * @return the number of objects, {@link Long#MAX_VALUE} if they are at least as many
+     */
+    public abstract long size();
+
+    /**
+     * @return a stream of copies of all the objects, in the order of the enumeration; when it's parallel, every thread
+     * enumerates its own range of ranks with its own cursor
+     */
+    public final Stream<int[]> stream() {
+        return this.stream(0, this.size());
+    }
+
+    /**
+     * @param from the rank of the first object
+     * @param to the rank after the last object
+     * @return a stream of copies of the objects with rank in [from, to), in the order of the enumeration
+     * @throws IllegalArgumentException if from is negative or above to
+     */
+    public final Stream<int[]> stream(final long from, final long to) {
+        if (from < 0 || from > to) {
+            throw new IllegalArgumentException("Range out of bounds: " + from + ", " + to);
+        }
+        return StreamSupport.stream(new RankSpliterator(this, from, Math.min(to, this.size())), false);
+    }
+
+    /**
+     * Moves the cursor so that the next call to {@link #next()} returns the object of the given rank.
+     * @param rank the rank of the object
+     * @throws IllegalArgumentException if the rank is negative
+     */
+    public final void seek(final long rank) {
+        if (rank < 0) {
+            throw new IllegalArgumentException("Rank out of range: " + rank);
+        }
+        this.exhausted = rank >= this.size();
+        this.positioned = !this.exhausted;
+        if (this.positioned) {
+            this.unrank(rank);
+        }
+    }
+
+    /**
+     * @return the array of the state, for the subclasses
+     */
+    final int[] state() {
+        return this.state;
+    }
+
+    /**
+     * Rewrites the state with the next object.
+     * @return false if the current object is the last one
+     */
+    abstract boolean advance();
+
+    /**
+     * Rewrites the state with the object of the given rank, which is below {@link #size()}. Saturated counts are
+     * still exact for the rank: they are only compared with it when they are bigger.
+     * @param rank the rank of the object
+     */
+    abstract void unrank(long rank);
+
+    /**
+     * @return a new cursor over the same space
+     */
+    abstract CombinatorialCursor copy();
+
+    /**
+     * Spliterator over a range of ranks, which splits it in halves. Each half creates its own cursor the first time it
+     * needs it and moves it to the start of its range.
+     */
+    private static final class RankSpliterator implements Spliterator<int[]> {
+
+        private final CombinatorialCursor prototype;
+        private CombinatorialCursor cursor;
+        private long next;
+        private final long end;
+
+        RankSpliterator(final CombinatorialCursor prototype, final long next, final long end) {
+            this(prototype, null, next, end);
+        }
+
+        private RankSpliterator(final CombinatorialCursor prototype, final CombinatorialCursor cursor, final long next,
+                final long end) {
+            this.prototype = prototype;
+            this.cursor = cursor;
+            this.next = next;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super int[]> action) {
+            if (this.next >= this.end || !this.cursor().next()) {
+                return false;
+            }
+            this.next++;
+            action.accept(Arrays.copyOf(this.cursor.current(), this.cursor.length()));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super int[]> action) {
+            final CombinatorialCursor c = this.cursor();
+            while (this.next < this.end && c.next()) {
+                this.next++;
+                action.accept(Arrays.copyOf(c.current(), c.length()));
+            }
+        }
+
+        private CombinatorialCursor cursor() {
+            if (this.cursor == null) {
+                this.cursor = this.prototype.copy();
+                this.cursor.seek(this.next);
+            }
+            return this.cursor;
+        }
+
+        @Override
+        public Spliterator<int[]> trySplit() {
+            if (this.end - this.next < MIN_SPLIT) {
+                return null;
+            }
+            final long middle = this.next + (this.end - this.next) / 2;
+            final Spliterator<int[]> prefix = new RankSpliterator(this.prototype, this.cursor, this.next, middle);
+            this.cursor = null;
+            this.next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.end - this.next;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE
+                    | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
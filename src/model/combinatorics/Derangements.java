@@ -0,0 +1,102 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Derangements, the permutations without fixed points. Exact values come from a table shared by every caller and grown
+ * on demand with D(n) = (n - 1) (D(n - 1) + D(n - 2)), like {@link PartitionTables}; beyond it D(n) = n! sum (-1)^k / k!
+ * is evaluated by binary splitting. Doubles are the integer closest to n! / e, which D(n) is for every n above 0, with
+ * n! from {@link Factorials}.
+ */
+public final class Derangements {
+
+    /**
+     * Largest n kept in the exact table, about 2 MB of digits.
+     */
+    public static final int MAX_TABLE = 2_048;
+
+    /**
+     * Up to this D(n) is exact in a long, and n! / e in a double could round to a neighbour.
+     */
+    private static final int MAX_LONG = 20;
+
+    private static final Object LOCK = new Object();
+    private static volatile BigInteger[] table = {BigInteger.ONE, BigInteger.ZERO};
+
+    private Derangements() {
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @return the number of permutations of n elements where no element stays in its own position
+     * @throws IllegalArgumentException if n is negative or above {@link ExactCombinatorics#MAX_DERANGEMENTS}
+     */
+    public static BigInteger exact(final int n) {
+        if (n < 0 || n > ExactCombinatorics.MAX_DERANGEMENTS) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+        if (n > MAX_TABLE) {
+            final BigInteger[] pq = split(0, n);
+            return pq[0].add(pq[1]);
+        }
+        BigInteger[] t = table;
+        if (n >= t.length) {
+            t = grow(n);
+        }
+        return t[n];
+    }
+
+    private static BigInteger[] grow(final int n) {
+        synchronized (LOCK) {
+            final BigInteger[] old = table;
+            if (n < old.length) {
+                return old;
+            }
+            final BigInteger[] grown = Arrays.copyOf(old, Math.min(MAX_TABLE + 1, Math.max(n + 1, 2 * old.length)));
+            for (int m = old.length; m < grown.length; m++) {
+                grown[m] = grown[m - 1].add(grown[m - 2]).multiply(BigInteger.valueOf(m - 1));
+            }
+            table = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * For the interval (a, b], Q is the product of a+1..b and P / Q the sum of (-1)^k / ((a+1)...k) for k in (a, b],
+     * so that D(n) = Q(0, n) + P(0, n).
+     */
+    private static BigInteger[] split(final int a, final int b) {
+        if (b - a == 1) {
+            return new BigInteger[] {b % 2 == 0 ? BigInteger.ONE : BigInteger.ONE.negate(), BigInteger.valueOf(b)};
+        }
+        final int m = (a + b) >>> 1;
+        final BigInteger[] left = split(a, m);
+        final BigInteger[] right = split(m, b);
+        return new BigInteger[] {left[0].multiply(right[1]).add(right[0]), left[1].multiply(right[1])};
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @param modulus a prime below 2^31
+     * @return D(n) mod the prime, for any n
+     * @throws IllegalArgumentException if n is negative or the modulus isn't a prime below 2^31
+     */
+    public static long modular(final long n, final long modulus) {
+        return ModularCombinatorics.of(modulus).derangement(n);
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @return D(n) as a double in constant time, infinite when it overflows, NaN if n isn't a natural number
+     */
+    public static double approximate(final double n) {
+        if (n < 0 || n != Math.rint(n)) {
+            return Double.NaN;
+        }
+        if (n <= MAX_LONG) {
+            return exact((int) n).doubleValue();
+        }
+        return Math.rint(Factorials.factorial(n) / Math.E);
+    }
+}
@@ -0,0 +1,496 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+
+/**
+ * Cursors over the classic combinatorial spaces. Every cursor enumerates its objects in amortized constant time per
+ * object, writing them over the previous ones in a single int[], and moves to any rank by unranking, so that its
+ * {@link CombinatorialCursor#stream()} splits by rank among threads. Counts that don't fit in a long saturate at
+ * {@link Long#MAX_VALUE}: cursors still reach every object, seeks and streams the first Long.MAX_VALUE ones.
+ */
+public final class Enumerators {
+
+    /**
+     * Beyond this many elements every count of derangements saturates, since D(22) is above Long.MAX_VALUE.
+     */
+    private static final int MAX_DERANGEMENT_TABLE = 21;
+
+    private Enumerators() {
+    }
+
+    /**
+     * @param n the number of elements of the set
+     * @param k the size of the subsets
+     * @return a cursor over the k-subsets of {0, ..., n - 1}, as increasing arrays, in revolving-door order: each one
+     * differs from the previous one by removing an element and adding another
+     * @throws IllegalArgumentException if n or k are negative
+     */
+    public static CombinatorialCursor subsets(final int n, final int k) {
+        check(n, k);
+        return new Subsets(n, k);
+    }
+
+    /**
+     * @param n the number of elements of the set
+     * @param k the length of the arrangements
+     * @return a cursor over the k-permutations of {0, ..., n - 1}, the sequences of k distinct elements, in
+     * lexicographic order
+     * @throws IllegalArgumentException if n or k are negative
+     */
+    public static CombinatorialCursor dispositions(final int n, final int k) {
+        check(n, k);
+        return new Dispositions(n, k);
+    }
+
+    /**
+     * @param n the number of elements
+     * @return a cursor over the permutations of {0, ..., n - 1} without fixed points, in lexicographic order
+     * @throws IllegalArgumentException if n is negative
+     */
+    public static CombinatorialCursor derangements(final int n) {
+        check(n, 0);
+        return new Derangements(n);
+    }
+
+    /**
+     * @param n the number of symbols
+     * @param length the length of the sequences
+     * @return a cursor over the sequences of the given length on {0, ..., n - 1}, in lexicographic order
+     * @throws IllegalArgumentException if n or the length are negative
+     */
+    public static CombinatorialCursor sequences(final int n, final int length) {
+        check(n, length);
+        return new Sequences(n, length);
+    }
+
+    private static void check(final int n, final int k) {
+        if (n < 0 || k < 0) {
+            throw new IllegalArgumentException("Argument out of range: " + (n < 0 ? n : k));
+        }
+    }
+
+    /**
+     * @return C(n, k), saturated at Long.MAX_VALUE
+     */
+    static long binomial(final int n, final int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        final int m = Math.min(k, n - k);
+        long result = 1;
+        for (int i = 1; i <= m; i++) {
+            /* i / g divides n - m + i, since it is coprime with result / g and divides their product */
+            final long g = gcd(result, i);
+            try {
+                result = Math.multiplyExact(result / g, (n - m + i) / (i / g));
+            } catch (final ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return n (n - 1) ... (n - k + 1), saturated at Long.MAX_VALUE
+     */
+    static long fallingFactorial(final int n, final int k) {
+        long result = 1;
+        for (int i = 0; i < k; i++) {
+            result = saturatedMultiply(result, n - i);
+        }
+        return result;
+    }
+
+    private static long saturatedMultiply(final long a, final long b) {
+        final long high = Math.multiplyHigh(a, b);
+        final long low = a * b;
+        return high != 0 || low < 0 ? Long.MAX_VALUE : low;
+    }
+
+    private static long gcd(final long a, final long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Rearranges the array into the next permutation in lexicographic order.
+     * @return the first changed position, -1 if the array was the last permutation
+     */
+    private static int nextPermutation(final int[] a, final int length) {
+        int i = length - 2;
+        while (i >= 0 && a[i] >= a[i + 1]) {
+            i--;
+        }
+        if (i < 0) {
+            return -1;
+        }
+        int j = length - 1;
+        while (a[j] <= a[i]) {
+            j--;
+        }
+        swap(a, i, j);
+        reverse(a, i + 1, length);
+        return i;
+    }
+
+    private static void reverse(final int[] a, final int from, final int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    private static void swap(final int[] a, final int i, final int j) {
+        final int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Knuth's Algorithm R, which generates the revolving-door Gray code defined by
+     * G(n, k) = G(n - 1, k), then G(n - 1, k - 1) reversed, each with n - 1 added. Unrolling the definition, the rank of
+     * c1 &lt; ... &lt; ck is the sum over i of (-1)^(k-i) (C(ci + 1, i) - 1).
+     */
+    private static final class Subsets extends CombinatorialCursor {
+
+        private final int n;
+        private final int k;
+        private final long size;
+
+        Subsets(final int n, final int k) {
+            super(k, k);
+            this.n = n;
+            this.k = k;
+            this.size = binomial(n, k);
+            this.seek(0);
+        }
+
+        /* the 1-based element c_j of Knuth, with c_(k+1) = n */
+        private int at(final int j) {
+            return j <= this.k ? this.state()[j - 1] : this.n;
+        }
+
+        @Override
+        boolean advance() {
+            final int[] c = this.state();
+            if (this.k == 0) {
+                return false;
+            }
+            final boolean odd = this.k % 2 == 1;
+            if (odd && c[0] + 1 < this.at(2)) {
+                c[0]++;
+                return true;
+            }
+            if (!odd && c[0] > 0) {
+                c[0]--;
+                return true;
+            }
+            /* R4 tries to decrease c_j, R5 to increase it */
+            boolean decrease = odd;
+            for (int j = 2; j <= this.k; j++) {
+                if (decrease && c[j - 1] >= j) {
+                    c[j - 1] = c[j - 2];
+                    c[j - 2] = j - 2;
+                    return true;
+                }
+                if (!decrease && c[j - 1] + 1 < this.at(j + 1)) {
+                    c[j - 2] = c[j - 1];
+                    c[j - 1]++;
+                    return true;
+                }
+                decrease = !decrease;
+            }
+            return false;
+        }
+
+        /**
+         * The largest element ck is the largest m with C(m, k) &lt;= rank, and the rest of the subset has rank
+         * C(ck + 1, k) - 1 - rank among the (k - 1)-subsets.
+         */
+        @Override
+        void unrank(final long rank) {
+            if (this.size == Long.MAX_VALUE) {
+                this.unrank(BigInteger.valueOf(rank));
+                return;
+            }
+            final int[] c = this.state();
+            long r = rank;
+            int high = this.n - 1;
+            for (int t = this.k; t >= 1; t--) {
+                int low = t - 1;
+                while (low < high) {
+                    final int middle = (low + high + 1) >>> 1;
+                    if (binomial(middle, t) <= r) {
+                        low = middle;
+                    } else {
+                        high = middle - 1;
+                    }
+                }
+                c[t - 1] = low;
+                r = binomial(low + 1, t) - 1 - r;
+                high = low - 1;
+            }
+        }
+
+        /**
+         * The same with exact binomials, for sizes that don't fit in a long: the reflected ranks may not fit either.
+         */
+        private void unrank(final BigInteger rank) {
+            final int[] c = this.state();
+            BigInteger r = rank;
+            int high = this.n - 1;
+            for (int t = this.k; t >= 1; t--) {
+                int low = t - 1;
+                while (low < high) {
+                    final int middle = (low + high + 1) >>> 1;
+                    if (Ranking.binomial(middle, t).compareTo(r) <= 0) {
+                        low = middle;
+                    } else {
+                        high = middle - 1;
+                    }
+                }
+                c[t - 1] = low;
+                r = Ranking.binomial(low + 1, t).subtract(BigInteger.ONE).subtract(r);
+                high = low - 1;
+            }
+        }
+
+        @Override
+        public long size() {
+            return this.size;
+        }
+
+        @Override
+        CombinatorialCursor copy() {
+            return new Subsets(this.n, this.k);
+        }
+    }
+
+    /**
+     * The state holds the arrangement followed by the unused elements in increasing order, so the next arrangement
+     * usually just swaps the last element with the next bigger unused one; otherwise it is the next permutation of the
+     * whole array with the unused elements in decreasing order.
+     */
+    private static final class Dispositions extends CombinatorialCursor {
+
+        private final int n;
+        private final int k;
+        private final long size;
+        /* position of the smallest unused element bigger than the last one, -1 if unknown */
+        private int bigger = -1;
+
+        Dispositions(final int n, final int k) {
+            super(Math.max(n, k), k);
+            this.n = n;
+            this.k = k;
+            this.size = k > n ? 0 : fallingFactorial(n, k);
+            this.seek(0);
+        }
+
+        @Override
+        boolean advance() {
+            final int[] a = this.state();
+            if (this.k == 0) {
+                return false;
+            }
+            if (this.bigger < 0) {
+                final int last = a[this.k - 1];
+                int low = this.k;
+                int high = this.n;
+                while (low < high) {
+                    final int middle = (low + high) >>> 1;
+                    if (a[middle] > last) {
+                        high = middle;
+                    } else {
+                        low = middle + 1;
+                    }
+                }
+                this.bigger = low;
+            }
+            if (this.bigger < this.n) {
+                /* the swapped out element lands just before the next bigger one */
+                swap(a, this.k - 1, this.bigger++);
+                return true;
+            }
+            this.bigger = -1;
+            reverse(a, this.k, this.n);
+            return nextPermutation(a, this.n) >= 0;
+        }
+
+        /**
+         * Each position is a digit in the mixed radix of the falling factorials: the element at position i is the
+         * (rank / (n - i - 1)...(n - k + 1))-th smallest unused one.
+         */
+        @Override
+        void unrank(final long rank) {
+            final int[] a = this.state();
+            this.bigger = -1;
+            for (int i = 0; i < this.n; i++) {
+                a[i] = i;
+            }
+            long r = rank;
+            for (int i = 0; i < this.k; i++) {
+                final long radix = fallingFactorial(this.n - i - 1, this.k - i - 1);
+                final int digit = (int) (r / radix);
+                r %= radix;
+                /* moving the chosen element to position i keeps the others in order */
+                final int chosen = a[i + digit];
+                System.arraycopy(a, i, a, i + 1, digit);
+                a[i] = chosen;
+            }
+        }
+
+        @Override
+        public long size() {
+            return this.size;
+        }
+
+        @Override
+        CombinatorialCursor copy() {
+            return new Dispositions(this.n, this.k);
+        }
+    }
+
+    /**
+     * Steps through the permutations in lexicographic order, skipping those with fixed points: when position p is
+     * fixed, the rest of the array is put in decreasing order so that the next permutation changes a position up to p.
+     * The positions before the first changed one were already checked, so every step costs as much as the
+     * permutation step itself, and derangements are about 1/e of the permutations.
+     */
+    private static final class Derangements extends CombinatorialCursor {
+
+        private final int n;
+        /* number of ways to complete a derangement with r free positions, m of which can still take their own value */
+        private final long[][] completions;
+
+        Derangements(final int n) {
+            super(n, n);
+            this.n = n;
+            final int rows = Math.min(n, MAX_DERANGEMENT_TABLE);
+            this.completions = new long[rows + 1][];
+            for (int r = 0; r <= rows; r++) {
+                this.completions[r] = new long[r + 1];
+                this.completions[r][0] = r == 0 ? 1 : saturatedMultiply(this.completions[r - 1][0], r);
+                for (int m = 1; m <= r; m++) {
+                    final long pair = m >= 2 ? saturatedMultiply(m - 1, this.completions[r - 1][m - 2]) : 0;
+                    final long free = saturatedMultiply(r - m, this.completions[r - 1][m - 1]);
+                    this.completions[r][m] = pair + free < 0 ? Long.MAX_VALUE : pair + free;
+                }
+            }
+            this.seek(0);
+        }
+
+        /**
+         * One of the m positions takes the value of another of them, or one of the r - m values no position would
+         * take: f(r, m) = (m - 1) f(r - 1, m - 2) + (r - m) f(r - 1, m - 1), with f(r, 0) = r!.
+         */
+        private long completions(final int r, final int m) {
+            return r < this.completions.length ? this.completions[r][m] : Long.MAX_VALUE;
+        }
+
+        @Override
+        boolean advance() {
+            final int[] a = this.state();
+            int from = nextPermutation(a, this.n);
+            while (from >= 0) {
+                int fixed = from;
+                while (fixed < this.n && a[fixed] != fixed) {
+                    fixed++;
+                }
+                if (fixed == this.n) {
+                    return true;
+                }
+                /* after a permutation step the tail is increasing */
+                reverse(a, fixed + 1, this.n);
+                from = nextPermutation(a, this.n);
+            }
+            return false;
+        }
+
+        @Override
+        void unrank(final long rank) {
+            final int[] a = this.state();
+            final boolean[] used = new boolean[this.n];
+            int conflicts = this.n;
+            long r = rank;
+            for (int i = 0; i < this.n; i++) {
+                for (int v = 0; v < this.n; v++) {
+                    if (used[v] || v == i) {
+                        continue;
+                    }
+                    final int left = conflicts - (used[i] ? 0 : 1) - (v > i ? 1 : 0);
+                    final long count = this.completions(this.n - i - 1, left);
+                    if (r < count) {
+                        a[i] = v;
+                        used[v] = true;
+                        conflicts = left;
+                        break;
+                    }
+                    r -= count;
+                }
+            }
+        }
+
+        @Override
+        public long size() {
+            return this.completions(this.n, this.n);
+        }
+
+        @Override
+        CombinatorialCursor copy() {
+            return new Derangements(this.n);
+        }
+    }
+
+    /**
+     * An odometer: the last position that isn't n - 1 goes up and the following ones go back to 0.
+     */
+    private static final class Sequences extends CombinatorialCursor {
+
+        private final int n;
+        private final long size;
+
+        Sequences(final int n, final int length) {
+            super(length, length);
+            this.n = n;
+            long s = length == 0 ? 1 : n;
+            for (int i = 1; i < length && s > 0; i++) {
+                s = saturatedMultiply(s, n);
+            }
+            this.size = s;
+            this.seek(0);
+        }
+
+        @Override
+        boolean advance() {
+            final int[] a = this.state();
+            int i = a.length - 1;
+            while (i >= 0 && a[i] == this.n - 1) {
+                a[i--] = 0;
+            }
+            if (i < 0) {
+                return false;
+            }
+            a[i]++;
+            return true;
+        }
+
+        @Override
+        void unrank(final long rank) {
+            final int[] a = this.state();
+            long r = rank;
+            for (int i = a.length - 1; i >= 0; i--) {
+                a[i] = (int) (r % this.n);
+                r /= this.n;
+            }
+        }
+
+        @Override
+        public long size() {
+            return this.size;
+        }
+
+        @Override
+        CombinatorialCursor copy() {
+            return new Sequences(this.n, this.length());
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+/**
+ * Exact versions of the operations of {@link model.calculators.CombinatoricsCalculatorModelFactory}.
+ * Big results are built as balanced products of machine-word factors, so that the multiplications are between numbers of
+ * similar size, where {@link BigInteger#multiply(BigInteger)} switches to Karatsuba and Toom-Cook.
+ * Arguments are limited so that a single operation can't run for more than about a second.
+ */
+public final class ExactCombinatorics {
+
+    /**
+     * Largest n accepted by factorials and binomial coefficients.
+     */
+    public static final int MAX_FACTORIAL = 200_000;
+    /**
+     * Largest n accepted by Bell and Stirling numbers.
+     */
+    public static final int MAX_PARTITIONS = 3_000;
+    /**
+     * Largest n accepted by derangements.
+     */
+    public static final int MAX_DERANGEMENTS = MAX_FACTORIAL;
+    /**
+     * Largest number of bits of a power n^m.
+     */
+    public static final long MAX_POWER_BITS = 1L << 22;
+
+    private static final int MULTIPLICATIVE_MAX_K = 64;
+    private static final double BELL_BOUND = 0.792;
+    private static final long[] SMALL_FACTORIALS = {1, 1, 2, 6, 24, 120, 720, 5040, 40_320, 362_880, 3_628_800, 39_916_800,
+        479_001_600, 6_227_020_800L, 87_178_291_200L, 1_307_674_368_000L, 20_922_789_888_000L, 355_687_428_096_000L,
+        6_402_373_705_728_000L, 121_645_100_408_832_000L, 2_432_902_008_176_640_000L};
+
+    private static final Map<String, IntFunction<BigInteger>> UNARY = Map.of(
+            "derangement", ExactCombinatorics::derangement,
+            "bellNumber", ExactCombinatorics::bell,
+            "fibonacci", LinearRecurrence::fibonacci,
+            "lucas", LinearRecurrence.LUCAS::term,
+            "tribonacci", LinearRecurrence.TRIBONACCI::term,
+            "integerPartitions", IntegerPartitions::count);
+    private static final Map<String, BiFunction<Integer, Integer, BigInteger>> BINARY = Map.of(
+            "factorial", ExactCombinatorics::fallingFactorial,
+            "binomialCoefficient", ExactCombinatorics::binomial,
+            "sequencesNumber", ExactCombinatorics::sequences,
+            "binaryFibonacci", ExactCombinatorics::binaryFibonacci,
+            "stirlingNumber", ExactCombinatorics::stirling,
+            "integerPartitionsParts", IntegerPartitions::count);
+
+    private ExactCombinatorics() {
+    }
+
+    /**
+     * @param opName the name of the operation in the combinatorics model
+     * @return whether there is an exact version of the operation
+     */
+    public static boolean isSupported(final String opName) {
+        return UNARY.containsKey(opName) || BINARY.containsKey(opName);
+    }
+
+    /**
+     * @param opName the name of a unary operation in the combinatorics model
+     * @param n the operand
+     * @return the exact result
+     * @throws IllegalArgumentException if the operation isn't supported or the operand is out of its range
+     */
+    public static BigInteger apply(final String opName, final int n) {
+        if (!UNARY.containsKey(opName)) {
+            throw new IllegalArgumentException("No exact unary operation " + opName);
+        }
+        return UNARY.get(opName).apply(n);
+    }
+
+    /**
+     * @param opName the name of a binary operation in the combinatorics model
+     * @param n the first operand
+     * @param k the second operand
+     * @return the exact result
+     * @throws IllegalArgumentException if the operation isn't supported or the operands are out of its range
+     */
+    public static BigInteger apply(final String opName, final int n, final int k) {
+        if (!BINARY.containsKey(opName)) {
+            throw new IllegalArgumentException("No exact binary operation " + opName);
+        }
+        return BINARY.get(opName).apply(n, k);
+    }
+
+    /**
+     * Prime-swing factorial: n! = ((n/2)!)^2 * swing(n), where swing(n) = n! / ((n/2)!)^2 is a product of small prime powers.
+     * @param n the argument
+     * @return n!
+     */
+    public static BigInteger factorial(final int n) {
+        checkRange(n, MAX_FACTORIAL);
+        return factorial(n, Primes.upTo(n));
+    }
+
+    private static BigInteger factorial(final int n, final int[] primes) {
+        if (n < SMALL_FACTORIALS.length) {
+            return BigInteger.valueOf(SMALL_FACTORIALS[n]);
+        }
+        final BigInteger half = factorial(n / 2, primes);
+        return half.multiply(half).multiply(swing(n, primes));
+    }
+
+    /**
+     * The exponent of a prime p in swing(n) is the number of odd terms among n/p, n/p^2, ...
+     * so every factor p^e is at most n.
+     */
+    private static BigInteger swing(final int n, final int[] primes) {
+        final long[] factors = new long[primes.length];
+        int count = 0;
+        for (final int p : primes) {
+            if (p > n) {
+                break;
+            }
+            long power = 1;
+            for (int q = n / p; q > 0; q /= p) {
+                if ((q & 1) == 1) {
+                    power *= p;
+                }
+            }
+            if (power > 1) {
+                factors[count++] = power;
+            }
+        }
+        return Products.of(factors, count);
+    }
+
+    /**
+     * @param n the biggest element of the factorial
+     * @param m the number of factors
+     * @return the falling factorial n(n-1)...(n-m+1), 0 if m > n
+     */
+    public static BigInteger fallingFactorial(final int n, final int m) {
+        checkRange(n, MAX_FACTORIAL);
+        checkRange(m, MAX_FACTORIAL);
+        if (m > n) {
+            return BigInteger.ZERO;
+        }
+        if (m == n) {
+            return factorial(n);
+        }
+        final long[] factors = new long[m];
+        for (int i = 0; i < m; i++) {
+            factors[i] = n - i;
+        }
+        return Products.of(factors, m);
+    }
+
+    /**
+     * Small k use the multiplicative formula, dividing at every step so the partial result stays a binomial coefficient;
+     * bigger ones are built from the factorization given by Kummer's theorem: the exponent of p is the number of carries
+     * when adding k and n-k in base p, and every factor p^e is at most n.
+     * @param n the upper value
+     * @param k the lower value
+     * @return n choose k, 0 if k > n
+     */
+    public static BigInteger binomial(final int n, final int k) {
+        checkRange(n, MAX_FACTORIAL);
+        checkRange(k, MAX_FACTORIAL);
+        if (k > n) {
+            return BigInteger.ZERO;
+        }
+        final int k1 = Math.min(k, n - k);
+        if (k1 <= MULTIPLICATIVE_MAX_K) {
+            BigInteger result = BigInteger.ONE;
+            for (int i = 1; i <= k1; i++) {
+                result = result.multiply(BigInteger.valueOf(n - k1 + i)).divide(BigInteger.valueOf(i));
+            }
+            return result;
+        }
+        final int[] primes = Primes.upTo(n);
+        final long[] factors = new long[primes.length];
+        int count = 0;
+        for (final int p : primes) {
+            if (p > n - k1) {
+                factors[count++] = p;
+                continue;
+            }
+            long power = 1;
+            for (long q = p; q <= n; q *= p) {
+                if (n / q - k1 / q - (n - k1) / q > 0) {
+                    power *= p;
+                }
+            }
+            if (power > 1) {
+                factors[count++] = power;
+            }
+        }
+        return Products.of(factors, count);
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @param m the length of the sequences
+     * @return n^m
+     */
+    public static BigInteger sequences(final int n, final int m) {
+        checkRange(n, Integer.MAX_VALUE);
+        checkRange(m, Integer.MAX_VALUE);
+        if ((64 - Long.numberOfLeadingZeros(n)) * (long) m > MAX_POWER_BITS) {
+            throw new IllegalArgumentException("Result too big");
+        }
+        return BigInteger.valueOf(n).pow(m);
+    }
+
+    /**
+     * @param n the length of the sequence
+     * @param k the number of '1' in the sequence
+     * @return the number of binary sequences of length n with k '1', no two of them adjacent
+     */
+    public static BigInteger binaryFibonacci(final int n, final int k) {
+        checkRange(k, MAX_FACTORIAL);
+        return n - k + 1 < 0 ? BigInteger.ZERO : binomial(n - k + 1, k);
+    }
+
+    /**
+     * Uses S(n, k) = 1/k! * sum (-1)^(k-i) C(k, i) i^n, with the binomial coefficients of row k built incrementally.
+     * @param n the cardinality of the set
+     * @param k the number of blocks
+     * @return the Stirling number of the second kind S(n, k)
+     */
+    public static BigInteger stirling(final int n, final int k) {
+        checkRange(n, MAX_PARTITIONS);
+        checkRange(k, MAX_PARTITIONS);
+        if (k > n) {
+            return BigInteger.ZERO;
+        }
+        if (k == 0) {
+            return n == 0 ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        BigInteger sum = BigInteger.ZERO;
+        BigInteger binomial = BigInteger.ONE;
+        for (int i = 0; i <= k; i++) {
+            final BigInteger term = binomial.multiply(BigInteger.valueOf(i).pow(n));
+            sum = (k - i) % 2 == 0 ? sum.add(term) : sum.subtract(term);
+            binomial = binomial.multiply(BigInteger.valueOf(k - i)).divide(BigInteger.valueOf(i + 1));
+        }
+        return sum.divide(factorial(k));
+    }
+
+    /**
+     * Summing the explicit formula of the Stirling numbers over the number of blocks gives
+     * Bell(n) = sum j^n / j! * D(n-j) / (n-j)!, where D are the derangements. The sum is evaluated modulo enough 31-bit
+     * primes to hold the result, with O(n) word operations each, and the residues are combined with Garner's algorithm:
+     * this avoids the n multiplications of big numbers of the exact sum and the n^2 big additions of the Bell triangle.
+     * @param n the cardinality of the set
+     * @return the number of partitions of a set of n elements
+     */
+    public static BigInteger bell(final int n) {
+        checkRange(n, MAX_PARTITIONS);
+        if (n < 2) {
+            return BigInteger.ONE;
+        }
+        // Bell(n) < (0.792 n / ln(n + 1))^n (Berend and Tassa)
+        final double bits = n * Math.log(BELL_BOUND * n / Math.log(n + 1)) / Math.log(2);
+        final long[] moduli = Primes.below31Bits((int) (bits / (Integer.SIZE - 2)) + 1);
+        final int[] smallestFactor = Primes.smallestFactors(n);
+        final long[] residues = new long[moduli.length];
+        for (int i = 0; i < moduli.length; i++) {
+            residues[i] = bellModulo(n, moduli[i], smallestFactor);
+        }
+        return Primes.garner(residues, moduli);
+    }
+
+    private static long bellModulo(final int n, final long p, final int[] smallestFactor) {
+        final long[] inverseFactorial = new long[n + 1];
+        long factorial = 1;
+        for (int i = 2; i <= n; i++) {
+            factorial = factorial * i % p;
+        }
+        inverseFactorial[n] = Primes.pow(factorial, p - 2, p);
+        for (int i = n; i > 0; i--) {
+            inverseFactorial[i - 1] = inverseFactorial[i] * i % p;
+        }
+        final long[] derangements = new long[n + 1];
+        derangements[0] = 1;
+        for (int i = 1; i <= n; i++) {
+            derangements[i] = (derangements[i - 1] * i + (i % 2 == 0 ? 1 : p - 1)) % p;
+        }
+        final long[] powers = new long[n + 1];
+        powers[1] = 1;
+        long sum = derangements[n - 1] * inverseFactorial[n - 1] % p;
+        for (int j = 2; j <= n; j++) {
+            final int f = smallestFactor[j];
+            powers[j] = f == j ? Primes.pow(j, n, p) : powers[f] * powers[j / f] % p;
+            sum = (sum + powers[j] * inverseFactorial[j] % p * (derangements[n - j] * inverseFactorial[n - j] % p)) % p;
+        }
+        return sum;
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @return the number of permutations of n elements where no element stays in its own position
+     * @see Derangements#exact(int)
+     */
+    public static BigInteger derangement(final int n) {
+        return Derangements.exact(n);
+    }
+
+    private static void checkRange(final int n, final int max) {
+        if (n < 0 || n > max) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+
+/**
+ * Factorials in double precision: the integer ones are looked up in a table of the correctly rounded values up to 170!,
+ * the others come from the Lanczos approximation of Gamma(n + 1). The exact values are in {@link ExactCombinatorics}.
+ */
+public final class Factorials {
+
+    /**
+     * 171! overflows a double.
+     */
+    public static final int MAX_DOUBLE = 170;
+
+    /**
+     * Parameter and coefficients of the Lanczos approximation with 9 terms, good to about 1e-15.
+     */
+    static final double LANCZOS_G = 7;
+    private static final double[] LANCZOS = {0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+        771.32342877765313, -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+        1.5056327351493116e-7};
+    private static final double SQRT_2PI = Math.sqrt(2 * Math.PI);
+    /* Gamma overflows a double beyond this argument */
+    private static final double MAX_GAMMA = 171.62437695630272;
+
+    private static final double[] TABLE = new double[MAX_DOUBLE + 1];
+
+    static {
+        BigInteger factorial = BigInteger.ONE;
+        TABLE[0] = 1;
+        for (int n = 1; n <= MAX_DOUBLE; n++) {
+            factorial = factorial.multiply(BigInteger.valueOf(n));
+            TABLE[n] = factorial.doubleValue();
+        }
+    }
+
+    private Factorials() {
+    }
+
+    /**
+     * @param n the argument
+     * @return n!, Gamma(n + 1) for non-integers, infinite when it overflows, NaN at the poles of Gamma
+     */
+    public static double factorial(final double n) {
+        if (n == Math.rint(n)) {
+            if (n < 0) {
+                return Double.NaN;
+            }
+            return n <= MAX_DOUBLE ? TABLE[(int) n] : Double.POSITIVE_INFINITY;
+        }
+        return gamma(n + 1);
+    }
+
+    /**
+     * @param x the argument
+     * @return Gamma(x), infinite when it overflows, NaN at 0 and the negative integers
+     */
+    public static double gamma(final double x) {
+        if (x == Math.rint(x)) {
+            return x > 0 ? factorial(x - 1) : Double.NaN;
+        }
+        if (Double.isNaN(x)) {
+            return x;
+        }
+        if (x < 0.5) {
+            /* reflection: Gamma(x) Gamma(1 - x) = pi / sin(pi x), zero with its sign when Gamma(1 - x) overflows */
+            return Math.PI / (Math.sin(Math.PI * x) * gamma(1 - x));
+        }
+        if (x > MAX_GAMMA) {
+            /* the halves of the power would overflow while e^-t underflows, and their product be NaN */
+            return Double.POSITIVE_INFINITY;
+        }
+        final double z = x - 1;
+        final double t = z + LANCZOS_G + 0.5;
+        /* t^(z + 1/2) in two halves, since it overflows before Gamma(x) does */
+        final double power = Math.pow(t, 0.5 * (z + 0.5));
+        return SQRT_2PI * power * Math.exp(-t) * power * lanczosSum(z);
+    }
+
+    /**
+     * @param z the argument of Gamma minus one, at least -1/2
+     * @return the series of the Lanczos approximation, so that
+     * Gamma(z + 1) = sqrt(2 pi) t^(z + 1/2) e^-t lanczosSum(z) with t = z + {@link #LANCZOS_G} + 1/2
+     */
+    static double lanczosSum(final double z) {
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) {
+            sum += LANCZOS[i] / (z + i);
+        }
+        return sum;
+    }
+
+    /**
+     * @param n the argument
+     * @return n! exactly
+     * @throws IllegalArgumentException if n is negative or above {@link ExactCombinatorics#MAX_FACTORIAL}
+     */
+    public static BigInteger exact(final int n) {
+        return ExactCombinatorics.factorial(n);
+    }
+}
@@ -0,0 +1,313 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Partitions of an integer n, the ways of writing it as a sum of positive integers regardless of their order.
+ * The exact number p(n) comes from Euler's pentagonal number theorem,
+ * p(n) = sum over k != 0 of (-1)^(k+1) p(n - k(3k-1)/2), with a table shared by every caller and grown on demand like
+ * {@link PartitionTables}; the approximate one comes from the Hardy-Ramanujan-Rademacher series, which converges so fast
+ * that a few terms give every digit of a double. The partitions themselves are enumerated by a {@link Cursor}.
+ */
+public final class IntegerPartitions {
+
+    /**
+     * Largest n of the exact table, which takes about a second to build.
+     */
+    public static final int MAX_EXACT = 30_000;
+    /**
+     * Largest n of the count of partitions into k parts, which takes O(k (n - k)) additions.
+     */
+    public static final int MAX_PARTS = 5_000;
+
+    /**
+     * Below this, the double count comes from the exact table.
+     */
+    private static final int SERIES_MIN = 1_000;
+    private static final double C = Math.PI * Math.sqrt(2.0 / 3.0);
+    private static final double MAX_EXPONENT = 709;
+    private static final double SERIES_EPSILON = 1e-17;
+    private static final int MAX_SERIES_TERMS = 1_000;
+    private static final double MAX_DOUBLE_WORK = 1e8;
+
+    private static final Object LOCK = new Object();
+    private static volatile BigInteger[] table = {BigInteger.ONE};
+
+    private IntegerPartitions() {
+    }
+
+    /**
+     * @param n the integer to partition
+     * @return the number of partitions p(n)
+     * @throws IllegalArgumentException if n is negative or above {@link #MAX_EXACT}
+     */
+    public static BigInteger count(final int n) {
+        if (n < 0 || n > MAX_EXACT) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+        BigInteger[] t = table;
+        if (n >= t.length) {
+            t = grow(n);
+        }
+        return t[n];
+    }
+
+    private static BigInteger[] grow(final int n) {
+        synchronized (LOCK) {
+            final BigInteger[] old = table;
+            if (n < old.length) {
+                return old;
+            }
+            final BigInteger[] grown = Arrays.copyOf(old, Math.min(MAX_EXACT + 1, Math.max(n + 1, 2 * old.length)));
+            for (int m = old.length; m < grown.length; m++) {
+                BigInteger sum = BigInteger.ZERO;
+                for (int k = 1, pentagonal = 1; pentagonal <= m; k++, pentagonal += 3 * k - 2) {
+                    final BigInteger terms = pentagonal + k <= m ? grown[m - pentagonal].add(grown[m - pentagonal - k])
+                            : grown[m - pentagonal];
+                    sum = k % 2 == 1 ? sum.add(terms) : sum.subtract(terms);
+                }
+                grown[m] = sum;
+            }
+            table = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * A partition of n into exactly k parts, minus one from every part, is a partition of n - k into parts of at most k.
+     * @param n the integer to partition
+     * @param k the number of parts
+     * @return the number of partitions of n into exactly k parts
+     * @throws IllegalArgumentException if n or k are negative or n is above {@link #MAX_PARTS}
+     */
+    public static BigInteger count(final int n, final int k) {
+        if (n < 0 || k < 0 || n > MAX_PARTS) {
+            throw new IllegalArgumentException("Argument out of range: " + (n < 0 || n > MAX_PARTS ? n : k));
+        }
+        if (k > n) {
+            return BigInteger.ZERO;
+        }
+        if (k == 0) {
+            return n == 0 ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        final int rest = n - k;
+        final BigInteger[] ways = new BigInteger[rest + 1];
+        Arrays.fill(ways, BigInteger.ZERO);
+        ways[0] = BigInteger.ONE;
+        for (int part = 1; part <= Math.min(k, rest); part++) {
+            for (int m = part; m <= rest; m++) {
+                ways[m] = ways[m].add(ways[m - part]);
+            }
+        }
+        return ways[rest];
+    }
+
+    /**
+     * @param n the integer to partition
+     * @return p(n) as a double, infinite when it overflows, NaN if n isn't a natural number
+     */
+    public static double approximate(final double n) {
+        if (n < 0 || n != Math.rint(n)) {
+            return Double.NaN;
+        }
+        return n <= SERIES_MIN ? count((int) n).doubleValue() : rademacher(n);
+    }
+
+    /**
+     * @param n the integer to partition
+     * @param k the number of parts
+     * @return the number of partitions of n into exactly k parts as a double, infinite when it overflows, NaN if n or k
+     * aren't natural numbers or it would take more than 10^8 additions
+     */
+    public static double approximate(final double n, final double k) {
+        if (n < 0 || k < 0 || n != Math.rint(n) || k != Math.rint(k)) {
+            return Double.NaN;
+        }
+        final double rest = n - k;
+        if (rest < 0 || k == 0) {
+            return rest == 0 ? 1 : 0;
+        }
+        if (k >= rest) {
+            return approximate(rest);
+        }
+        if (n <= MAX_PARTS) {
+            return count((int) n, (int) k).doubleValue();
+        }
+        if (k * rest > MAX_DOUBLE_WORK) {
+            return Double.NaN;
+        }
+        final double[] ways = new double[(int) rest + 1];
+        ways[0] = 1;
+        for (int part = 1; part <= k; part++) {
+            for (int m = part; m <= rest; m++) {
+                ways[m] += ways[m - part];
+            }
+        }
+        return ways[(int) rest];
+    }
+
+    /**
+     * p(n) = 1 / (pi sqrt(2)) sum over k of A_k(n) sqrt(k) d/dn (sinh(C / k sqrt(n - 1/24)) / sqrt(n - 1/24)),
+     * where C = pi sqrt(2/3) and A_k are Kloosterman-type sums of Dedekind sums. Every term is at most k^(3/2) times its
+     * derivative, which decreases with k, so the sum stops as soon as that bound can't change the result.
+     */
+    private static double rademacher(final double n) {
+        final double lambda = Math.sqrt(n - 1.0 / 24);
+        if (C * lambda > MAX_EXPONENT) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double sum = 0;
+        for (int k = 1; k <= MAX_SERIES_TERMS; k++) {
+            final double x = C * lambda / k;
+            final double derivative = (C / k * Math.cosh(x) / lambda - Math.sinh(x) / (lambda * lambda)) / (2 * lambda);
+            if (k > 1 && k * Math.sqrt(k) * Math.abs(derivative) < SERIES_EPSILON * Math.abs(sum)) {
+                break;
+            }
+            sum += kloosterman(k, n) * Math.sqrt(k) * derivative;
+        }
+        return sum / (Math.PI * Math.sqrt(2));
+    }
+
+    /**
+     * A_k(n) = sum over 0 &lt;= h &lt; k coprime with k of cos(pi s(h, k) - 2 pi n h / k).
+     */
+    private static double kloosterman(final int k, final double n) {
+        double sum = 0;
+        for (int h = 0; h < k; h++) {
+            if (gcd(h, k) == 1) {
+                sum += Math.cos(Math.PI * dedekind(h, k) - 2 * Math.PI * (n % k) * h / k);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * s(h, k) = sum over 0 &lt; r &lt; k of (r / k) ((h r / k)), where ((x)) = x - floor(x) - 1/2, or 0 for integers.
+     */
+    private static double dedekind(final int h, final int k) {
+        double sum = 0;
+        for (int r = 1; r < k; r++) {
+            final int hr = (int) ((long) h * r % k);
+            if (hr != 0) {
+                sum += (double) r / k * ((double) hr / k - 0.5);
+            }
+        }
+        return sum;
+    }
+
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * @param n the integer to partition
+     * @return a cursor over the partitions of n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public static Cursor cursor(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+        return new Cursor(n);
+    }
+
+    /**
+     * @param n the integer to partition
+     * @return the partitions of n in reverse lexicographic order, as arrays of non-increasing parts
+     * @throws IllegalArgumentException if n is negative
+     */
+    public static Stream<int[]> stream(final int n) {
+        final Cursor cursor = cursor(n);
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<int[]>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super int[]> action) {
+                if (!cursor.next()) {
+                    return false;
+                }
+                action.accept(Arrays.copyOf(cursor.parts(), cursor.length()));
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Enumerates the partitions of n in reverse lexicographic order with the ZS1 algorithm of Zoghbi and Stojmenovic,
+     * in constant amortized time per partition and without allocating: every partition is written over the previous
+     * one, in the same array.
+     */
+    public static final class Cursor {
+
+        private final int n;
+        private final int[] parts;
+        /* number of parts, and index of the last part bigger than 1 */
+        private int length;
+        private int last;
+        private boolean started;
+
+        private Cursor(final int n) {
+            this.n = n;
+            this.parts = new int[Math.max(n, 1)];
+            Arrays.fill(this.parts, 1);
+        }
+
+        /**
+         * Moves to the next partition, the first one being n itself.
+         * @return false if there are no more partitions
+         */
+        public boolean next() {
+            if (!this.started) {
+                this.started = true;
+                this.parts[0] = this.n;
+                this.length = this.n == 0 ? 0 : 1;
+                this.last = 0;
+                return true;
+            }
+            if (this.length == 0 || this.parts[0] == 1) {
+                return false;
+            }
+            if (this.parts[this.last] == 2) {
+                this.parts[this.last--] = 1;
+                this.length++;
+                return true;
+            }
+            final int r = this.parts[this.last] - 1;
+            int t = this.length - this.last;
+            this.parts[this.last] = r;
+            while (t >= r) {
+                this.parts[++this.last] = r;
+                t -= r;
+            }
+            if (t == 0) {
+                this.length = this.last + 1;
+            } else {
+                this.length = this.last + 2;
+                if (t > 1) {
+                    this.parts[++this.last] = t;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the parts of the current partition, in non-increasing order, in the first {@link #length()} elements
+         * of the array; the array is overwritten by {@link #next()}
+         */
+        public int[] parts() {
+            return this.parts;
+        }
+
+        /**
+         * @return the number of parts of the current partition
+         */
+        public int length() {
+            return this.length;
+        }
+    }
+}
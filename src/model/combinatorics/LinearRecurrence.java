@@ -0,0 +1,154 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Exact terms of linear recurrences with constant coefficients, a(n) = c1 a(n-1) + c2 a(n-2) + ... + ck a(n-k).
+ * The n-th term is computed by raising the k x k companion matrix to the power n - k + 1 by repeated squaring,
+ * so it takes O(k^3 log n) multiplications instead of the n additions of the definition.
+ * Fibonacci numbers have their own fast doubling, which needs only two squarings per bit of n.
+ */
+public final class LinearRecurrence {
+
+    /**
+     * Largest index accepted by {@link #term(int)}, where a matrix power of order 3 takes about a second.
+     */
+    public static final int MAX_INDEX = 1_000_000;
+
+    /**
+     * L(n) = L(n-1) + L(n-2), starting from 2, 1.
+     */
+    public static final LinearRecurrence LUCAS = new LinearRecurrence(new long[] {1, 1}, new long[] {2, 1});
+    /**
+     * T(n) = T(n-1) + T(n-2) + T(n-3), starting from 0, 0, 1.
+     */
+    public static final LinearRecurrence TRIBONACCI = new LinearRecurrence(new long[] {1, 1, 1}, new long[] {0, 0, 1});
+    /**
+     * P(n) = 2 P(n-1) + P(n-2), starting from 0, 1.
+     */
+    public static final LinearRecurrence PELL = new LinearRecurrence(new long[] {2, 1}, new long[] {0, 1});
+
+    /**
+     * log2 of the golden ratio: F(n) has about n times this many bits.
+     */
+    private static final double FIBONACCI_BITS = 0.6943;
+
+    private final BigInteger[] coefficients;
+    private final BigInteger[] initial;
+    private final double bitsPerTerm;
+
+    /**
+     * @param coefficients c1, ..., ck
+     * @param initial the first k terms, a(0), ..., a(k-1)
+     * @throws IllegalArgumentException if there are no coefficients or they are not as many as the initial terms
+     */
+    public LinearRecurrence(final long[] coefficients, final long[] initial) {
+        if (coefficients.length == 0 || coefficients.length != initial.length) {
+            throw new IllegalArgumentException("A recurrence of order k needs k coefficients and k initial terms");
+        }
+        this.coefficients = Arrays.stream(coefficients).mapToObj(BigInteger::valueOf).toArray(BigInteger[]::new);
+        this.initial = Arrays.stream(initial).mapToObj(BigInteger::valueOf).toArray(BigInteger[]::new);
+        /* every root of the characteristic polynomial is at most 1 + max |ci| in absolute value (Cauchy) */
+        final long maxCoefficient = Arrays.stream(coefficients).map(Math::abs).max().getAsLong();
+        this.bitsPerTerm = Math.log1p(maxCoefficient) / Math.log(2);
+    }
+
+    /**
+     * @param n the index of the term
+     * @return a(n)
+     * @throws IllegalArgumentException if n is negative, above {@link #MAX_INDEX} or the term could have more than
+     * {@link ExactCombinatorics#MAX_POWER_BITS} bits
+     */
+    public BigInteger term(final int n) {
+        final int k = this.coefficients.length;
+        if (n < 0 || n > MAX_INDEX || this.bitsPerTerm * n > ExactCombinatorics.MAX_POWER_BITS) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+        if (n < k) {
+            return this.initial[n];
+        }
+        /* the companion matrix maps (a(m), ..., a(m-k+1)) to (a(m+1), ..., a(m-k+2)) */
+        final BigInteger[][] companion = new BigInteger[k][k];
+        for (final BigInteger[] row : companion) {
+            Arrays.fill(row, BigInteger.ZERO);
+        }
+        companion[0] = this.coefficients.clone();
+        for (int i = 1; i < k; i++) {
+            companion[i][i - 1] = BigInteger.ONE;
+        }
+        final BigInteger[][] power = power(companion, n - k + 1);
+        BigInteger result = BigInteger.ZERO;
+        for (int j = 0; j < k; j++) {
+            result = result.add(power[0][j].multiply(this.initial[k - 1 - j]));
+        }
+        return result;
+    }
+
+    /**
+     * Fast doubling with two squarings per bit of n, which are cheaper than products:
+     * F(2m+1) = 4 F(m)^2 - F(m-1)^2 + 2 (-1)^m, F(2m-1) = F(m)^2 + F(m-1)^2 and F(2m) = F(2m+1) - F(2m-1).
+     * @param n the index of the term
+     * @return the Fibonacci number F(n), with F(0) = 0 and F(1) = 1
+     * @throws IllegalArgumentException if n is negative or F(n) would have more than
+     * {@link ExactCombinatorics#MAX_POWER_BITS} bits
+     */
+    public static BigInteger fibonacci(final int n) {
+        if (n < 0 || FIBONACCI_BITS * n > ExactCombinatorics.MAX_POWER_BITS) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+        if (n == 0) {
+            return BigInteger.ZERO;
+        }
+        /* F(m) and F(m-1), where m is made of the bits of n read so far */
+        BigInteger current = BigInteger.ONE;
+        BigInteger previous = BigInteger.ZERO;
+        boolean odd = true;
+        for (int bit = Integer.highestOneBit(n) >> 1; bit > 0; bit >>= 1) {
+            final BigInteger square = current.multiply(current);
+            final BigInteger previousSquare = previous.multiply(previous);
+            final BigInteger next = square.shiftLeft(2).subtract(previousSquare).add(BigInteger.valueOf(odd ? -2 : 2));
+            final BigInteger before = square.add(previousSquare);
+            final BigInteger middle = next.subtract(before);
+            if ((n & bit) == 0) {
+                current = middle;
+                previous = before;
+                odd = false;
+            } else {
+                current = next;
+                previous = middle;
+                odd = true;
+            }
+        }
+        return current;
+    }
+
+    private static BigInteger[][] power(final BigInteger[][] matrix, final int exponent) {
+        BigInteger[][] result = null;
+        BigInteger[][] square = matrix;
+        for (int e = exponent; e > 0; e >>= 1) {
+            if ((e & 1) == 1) {
+                result = result == null ? square : multiply(result, square);
+            }
+            if (e > 1) {
+                square = multiply(square, square);
+            }
+        }
+        return result;
+    }
+
+    private static BigInteger[][] multiply(final BigInteger[][] left, final BigInteger[][] right) {
+        final int k = left.length;
+        final BigInteger[][] product = new BigInteger[k][k];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                BigInteger sum = BigInteger.ZERO;
+                for (int m = 0; m < k; m++) {
+                    sum = sum.add(left[i][m].multiply(right[m][j]));
+                }
+                product[i][j] = sum;
+            }
+        }
+        return product;
+    }
+}
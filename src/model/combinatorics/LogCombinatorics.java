@@ -0,0 +1,350 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * Natural logarithms of combinatorial numbers too big for a double, in constant time. Factorials follow Stirling's
+ * series beyond a table of exact values and the Lanczos approximation for non-integers; binomials subtract the
+ * leading terms of the series analytically, so C(10^9, 10^6) keeps the precision of its logarithm. Stirling and Bell
+ * numbers beyond the double tables come from the saddle point of their generating functions, and the recurrences from
+ * their dominant roots.
+ */
+public final class LogCombinatorics {
+
+    /**
+     * Significant digits of the results of {@link #isApproximate(String)} operations beyond the double tables: the
+     * relative error of their saddle point approximations stays around 10^-6.
+     */
+    public static final int APPROXIMATE_DIGITS = 5;
+
+    /**
+     * Logarithms of factorials below this are computed exactly; above it Stirling's series converges to double
+     * precision.
+     */
+    private static final int TABLE_SIZE = 256;
+    /**
+     * Terms of the recurrences up to this index are exact, the next ones grow by the dominant root.
+     */
+    private static final int EXACT_TERMS = 1000;
+    private static final double LN_2 = Math.log(2);
+    private static final double LN_2PI = Math.log(2 * Math.PI);
+    private static final double LN_PHI = Math.log((1 + Math.sqrt(5)) / 2);
+    private static final double LN_TRIBONACCI = Math.log(tribonacciConstant());
+    private static final double PARTITIONS_C = Math.PI * Math.sqrt(2.0 / 3.0);
+    /* Bernoulli coefficients of Stirling's series: B(2j) / (2j (2j - 1)) */
+    private static final double[] STIRLING_SERIES = {1.0 / 12, -1.0 / 360, 1.0 / 1260, -1.0 / 1680, 1.0 / 1188};
+    private static final int MAX_NEWTON_STEPS = 100;
+    private static final double NEWTON_EPSILON = 1e-15;
+
+    private static final double[] LN_FACTORIALS = new double[TABLE_SIZE];
+
+    static {
+        BigInteger factorial = BigInteger.ONE;
+        for (int n = 1; n < TABLE_SIZE; n++) {
+            factorial = factorial.multiply(BigInteger.valueOf(n));
+            LN_FACTORIALS[n] = ln(factorial);
+        }
+    }
+
+    private static final Map<String, DoubleUnaryOperator> UNARY = Map.of(
+            "derangement", LogCombinatorics::lnDerangement,
+            "bellNumber", LogCombinatorics::lnBell,
+            "fibonacci", n -> lnRecurrence(LinearRecurrence::fibonacci, LN_PHI, n),
+            "lucas", n -> lnRecurrence(LinearRecurrence.LUCAS::term, LN_PHI, n),
+            "tribonacci", n -> lnRecurrence(LinearRecurrence.TRIBONACCI::term, LN_TRIBONACCI, n),
+            "integerPartitions", LogCombinatorics::lnPartitions);
+    private static final Map<String, DoubleBinaryOperator> BINARY = Map.of(
+            "factorial", LogCombinatorics::lnFallingFactorial,
+            "binomialCoefficient", LogCombinatorics::lnBinomial,
+            "sequencesNumber", (n, m) -> isNatural(n) && isNatural(m) ? (m == 0 ? 0 : m * Math.log(n)) : Double.NaN,
+            "binaryFibonacci", (n, k) -> lnBinomial(n - k + 1, k),
+            "stirlingNumber", LogCombinatorics::lnStirling);
+
+    private LogCombinatorics() {
+    }
+
+    /**
+     * @param opName the name of the operation in the combinatorics model
+     * @return whether there is a logarithmic version of the operation
+     */
+    public static boolean isSupported(final String opName) {
+        return UNARY.containsKey(opName) || BINARY.containsKey(opName);
+    }
+
+    /**
+     * @param opName the name of the operation in the combinatorics model
+     * @return whether its logarithm is an asymptotic approximation, good for {@link #APPROXIMATE_DIGITS} digits
+     */
+    public static boolean isApproximate(final String opName) {
+        return "bellNumber".equals(opName) || "stirlingNumber".equals(opName);
+    }
+
+    /**
+     * @param opName the name of a unary operation in the combinatorics model
+     * @param n the operand
+     * @return the natural logarithm of the result, negative infinity if it is 0, NaN if it isn't defined
+     * @throws IllegalArgumentException if the operation isn't supported
+     */
+    public static double apply(final String opName, final double n) {
+        if (!UNARY.containsKey(opName)) {
+            throw new IllegalArgumentException("No logarithmic unary operation " + opName);
+        }
+        return UNARY.get(opName).applyAsDouble(n);
+    }
+
+    /**
+     * @param opName the name of a binary operation in the combinatorics model
+     * @param n the first operand
+     * @param k the second operand
+     * @return the natural logarithm of the result, negative infinity if it is 0, NaN if it isn't defined
+     * @throws IllegalArgumentException if the operation isn't supported
+     */
+    public static double apply(final String opName, final double n, final double k) {
+        if (!BINARY.containsKey(opName)) {
+            throw new IllegalArgumentException("No logarithmic binary operation " + opName);
+        }
+        return BINARY.get(opName).applyAsDouble(n, k);
+    }
+
+    /**
+     * @param x a positive number
+     * @return ln(Gamma(x)), from the Lanczos approximation with g = 7, or Stirling's series for big arguments;
+     * NaN if x isn't positive
+     */
+    public static double lnGamma(final double x) {
+        if (!(x > 0)) {
+            return Double.NaN;
+        }
+        if (x >= TABLE_SIZE) {
+            return lnFactorial(x) - Math.log(x);
+        }
+        if (x < 0.5) {
+            /* reflection: Gamma(x) Gamma(1 - x) = pi / sin(pi x) */
+            return Math.log(Math.PI / Math.sin(Math.PI * x)) - lnGamma(1 - x);
+        }
+        final double z = x - 1;
+        final double t = z + Factorials.LANCZOS_G + 0.5;
+        return 0.5 * LN_2PI + (z + 0.5) * Math.log(t) - t + Math.log(Factorials.lanczosSum(z));
+    }
+
+    /**
+     * @param n a non-negative number
+     * @return ln(n!), ln(Gamma(n + 1)) for non-integers, NaN if n is negative
+     */
+    public static double lnFactorial(final double n) {
+        if (!(n >= 0)) {
+            return Double.NaN;
+        }
+        if (n < TABLE_SIZE) {
+            return n == Math.rint(n) ? LN_FACTORIALS[(int) n] : lnGamma(n + 1);
+        }
+        return stirlingMain(n) + stirlingRest(n);
+    }
+
+    /* n ln n - n + ln(2 pi n) / 2 */
+    private static double stirlingMain(final double n) {
+        return n * Math.log(n) - n + 0.5 * (LN_2PI + Math.log(n));
+    }
+
+    /* ln(n!) minus its leading terms */
+    private static double stirlingRest(final double n) {
+        if (n < TABLE_SIZE) {
+            return lnFactorial(n) - stirlingMain(n);
+        }
+        final double inverseSquare = 1 / (n * n);
+        double sum = 0;
+        for (int j = STIRLING_SERIES.length - 1; j >= 0; j--) {
+            sum = sum * inverseSquare + STIRLING_SERIES[j];
+        }
+        return sum / n;
+    }
+
+    /**
+     * With Stirling's series the leading terms of ln C(n, k) become k ln(n / k) - (n - k) ln(1 - k / n), which loses
+     * no precision to cancellation even when k is tiny next to n.
+     * @param n the upper value
+     * @param k the lower value
+     * @return ln C(n, k), negative infinity if k is above n, NaN if n or k are negative
+     */
+    public static double lnBinomial(final double n, final double k) {
+        if (!(n >= 0 && k >= 0)) {
+            return Double.NaN;
+        }
+        if (k > n) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        final double k1 = Math.min(k, n - k);
+        if (k1 == 0) {
+            return 0;
+        }
+        if (n < TABLE_SIZE) {
+            return lnFactorial(n) - lnFactorial(k1) - lnFactorial(n - k1);
+        }
+        final double rest = n - k1;
+        return k1 * Math.log(n / k1) - rest * Math.log1p(-k1 / n) + 0.5 * (Math.log(n / (k1 * rest)) - LN_2PI)
+                + stirlingRest(n) - stirlingRest(k1) - stirlingRest(rest);
+    }
+
+    /**
+     * @param n the biggest factor
+     * @param m the number of factors
+     * @return ln(n (n - 1) ... (n - m + 1)), negative infinity if m is above n, NaN if n or m are negative
+     */
+    public static double lnFallingFactorial(final double n, final double m) {
+        return lnBinomial(n, m) + lnFactorial(m);
+    }
+
+    /**
+     * D(n) is the integer closest to n! / e for n above 0, and the difference doesn't show in a double beyond 20.
+     * @param n the number of elements
+     * @return ln D(n), negative infinity for n = 1, NaN if n isn't a natural number
+     */
+    public static double lnDerangement(final double n) {
+        if (!isNatural(n)) {
+            return Double.NaN;
+        }
+        return n < TABLE_SIZE ? ln(ExactCombinatorics.derangement((int) n)) : lnFactorial(n) - 1;
+    }
+
+    /**
+     * Beyond the double table, B(n) = n! [z^n] exp(e^z - 1) comes from the saddle point r e^r = n, with the first
+     * correction of the expansion. The exponent phi(t) = exp(e^t) - 1 - n t has derivatives n times the Touchard
+     * polynomials 1 + r, 1 + 3r + r^2, 1 + 7r + 6r^2 + r^3 at the saddle point, and
+     * ln B(n) ~ ln n! + phi - ln(2 pi phi2) / 2 + ln(1 + phi4 / (8 phi2^2) - 5 phi3^2 / (24 phi2^3)).
+     * @param n the cardinality of the set
+     * @return ln Bell(n), NaN if n isn't a natural number
+     */
+    public static double lnBell(final double n) {
+        final double exact = PartitionTables.bell(n);
+        if (Double.isNaN(exact) || !Double.isInfinite(exact)) {
+            return Math.log(exact);
+        }
+        /* Newton on r + ln r = ln n */
+        final double lnN = Math.log(n);
+        double r = lnN;
+        for (int i = 0; i < MAX_NEWTON_STEPS; i++) {
+            final double step = (r + Math.log(r) - lnN) / (1 + 1 / r);
+            r -= step;
+            if (Math.abs(step) <= NEWTON_EPSILON * r) {
+                break;
+            }
+        }
+        final double second = n * (1 + r);
+        final double third = n * (1 + r * (3 + r));
+        final double fourth = n * (1 + r * (7 + r * (6 + r)));
+        return lnFactorial(n) + n / r - 1 - n * Math.log(r) - 0.5 * (LN_2PI + Math.log(second))
+                + Math.log1p(saddleCorrection(second, third, fourth));
+    }
+
+    /**
+     * Beyond the double table, S(n, k) = n! / k! [z^n] (e^z - 1)^k comes from the saddle point r / (1 - e^-r) = n / k,
+     * with the same correction as {@link #lnBell(double)}. With s = e^-r and q = 1 / (1 - s), the derivatives of
+     * phi(t) = k ln(exp(e^t) - 1) - n t at the saddle point are k times
+     * r q - r^2 s q^2,
+     * r q - 3 r^2 s q^2 + r^3 s q^2 + 2 r^3 s^2 q^3 and
+     * r q - 7 r^2 s q^2 + 6 r^3 s q^2 + 12 r^3 s^2 q^3 - r^4 s q^2 - 6 r^4 s^2 q^3 - 6 r^4 s^3 q^4.
+     * @param n the cardinality of the set
+     * @param k the number of blocks
+     * @return ln S(n, k), negative infinity if it is 0, NaN if n or k aren't natural numbers
+     */
+    public static double lnStirling(final double n, final double k) {
+        final double exact = PartitionTables.stirling(n, k);
+        if (Double.isNaN(exact) || !Double.isInfinite(exact)) {
+            return Math.log(exact);
+        }
+        if (k == 1 || k == n) {
+            return 0;
+        }
+        if (k == 2) {
+            /* 2^(n-1) - 1 */
+            return (n - 1) * LN_2;
+        }
+        /* h(r) = r / (1 - e^-r) is convex, so Newton from n / k, above the root, converges monotonically */
+        final double ratio = n / k;
+        double r = ratio;
+        for (int i = 0; i < MAX_NEWTON_STEPS; i++) {
+            final double oneMinus = -Math.expm1(-r);
+            final double step = (r / oneMinus - ratio) * oneMinus * oneMinus / (oneMinus - r * Math.exp(-r));
+            r -= step;
+            if (Math.abs(step) <= NEWTON_EPSILON * r) {
+                break;
+            }
+        }
+        final double s = Math.exp(-r);
+        final double q = 1 / -Math.expm1(-r);
+        /* r s q^2, r s^2 q^3, r s^3 q^4 */
+        final double a = r * s * q * q;
+        final double b = a * s * q;
+        final double c = b * s * q;
+        final double second = k * (r * q - r * a);
+        final double third = k * (r * q + r * a * (r - 3) + 2 * r * r * b);
+        final double fourth = k * (r * q + r * a * (r * (6 - r) - 7) + r * r * b * (12 - 6 * r) - 6 * r * r * r * c);
+        return lnFactorial(n) - lnFactorial(k) + k * (r - Math.log(q)) - n * Math.log(r)
+                - 0.5 * (LN_2PI + Math.log(second)) + Math.log1p(saddleCorrection(second, third, fourth));
+    }
+
+    /* the first correction of the saddle point approximation, from the derivatives of the exponent */
+    private static double saddleCorrection(final double second, final double third, final double fourth) {
+        return fourth / (8 * second * second) - 5 * third * third / (24 * second * second * second);
+    }
+
+    /**
+     * The first term of the Rademacher series, whose relative error is below e^(-pi sqrt(n / 6)):
+     * p(n) ~ e^(C l) (C l - 1) / (4 sqrt(2) pi l^3), with l = sqrt(n - 1/24) and C = pi sqrt(2/3).
+     * @param n the integer to partition
+     * @return ln p(n), NaN if n isn't a natural number
+     */
+    public static double lnPartitions(final double n) {
+        if (!isNatural(n)) {
+            return Double.NaN;
+        }
+        if (n <= IntegerPartitions.MAX_EXACT) {
+            return ln(IntegerPartitions.count((int) n));
+        }
+        final double l = Math.sqrt(n - 1.0 / 24);
+        return PARTITIONS_C * l + Math.log(PARTITIONS_C * l - 1) - Math.log(4 * Math.sqrt(2) * Math.PI) - 3 * Math.log(l);
+    }
+
+    /**
+     * @return the logarithm of an exact term, or of the last exact one times the dominant root to the missing power
+     */
+    private static double lnRecurrence(final IntFunction<BigInteger> terms, final double lnRoot, final double n) {
+        if (!isNatural(n)) {
+            return Double.NaN;
+        }
+        return n <= EXACT_TERMS ? ln(terms.apply((int) n)) : ln(terms.apply(EXACT_TERMS)) + (n - EXACT_TERMS) * lnRoot;
+    }
+
+    /**
+     * @param value a positive integer
+     * @return its natural logarithm, from its 62 leading bits
+     */
+    static double ln(final BigInteger value) {
+        if (value.signum() <= 0) {
+            return value.signum() == 0 ? Double.NEGATIVE_INFINITY : Double.NaN;
+        }
+        final int shift = Math.max(0, value.bitLength() - Long.SIZE + 2);
+        return Math.log(value.shiftRight(shift).doubleValue()) + shift * LN_2;
+    }
+
+    /* the real root of x^3 = x^2 + x + 1 */
+    private static double tribonacciConstant() {
+        double x = 2;
+        for (int i = 0; i < MAX_NEWTON_STEPS; i++) {
+            final double step = (((x - 1) * x - 1) * x - 1) / ((3 * x - 2) * x - 1);
+            x -= step;
+            if (Math.abs(step) <= NEWTON_EPSILON) {
+                break;
+            }
+        }
+        return x;
+    }
+
+    private static boolean isNatural(final double n) {
+        return n >= 0 && n == Math.rint(n);
+    }
+}
@@ -0,0 +1,422 @@
+package model.combinatorics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Combinatorics modulo a prime p below 2^31, for arguments of any size, apart from Stirling numbers S(n, k) with k of
+ * {@link #MAX_TABLE} or more.
+ * Factorials, inverse factorials and derangements are read from tables that grow on demand, like
+ * {@link PartitionTables}, so binomial coefficients and derangements take O(1) after the first query of their size;
+ * binomials with n &gt;= p are reduced to digits below p with Lucas's theorem. Residues beyond the tables are computed
+ * from their last entry, in time linear in the residue: factorials above p / 2 from the one below with Wilson's theorem,
+ * derangements with their recurrence. Products are reduced with Barrett's method, a multiplication by a precomputed
+ * reciprocal instead of a division.
+ * Instances are shared through {@link #of(long)}, so the tables of a modulus are built once.
+ */
+public final class ModularCombinatorics {
+
+    /**
+     * The usual modulus of counting problems.
+     */
+    public static final long DEFAULT_MODULUS = 1_000_000_007;
+    /**
+     * Largest size of the factorial and derangement tables: residues of n beyond it are computed again at every query.
+     */
+    public static final int MAX_TABLE = 1 << 22;
+    /**
+     * Number of rows of the Stirling table; bigger n use the explicit formula, in O(k).
+     */
+    public static final int STIRLING_ROWS = 1 << 10;
+
+    private static final int INITIAL_TABLE = 1 << 10;
+    private static final Set<String> UNARY = Set.of("derangement", "fibonacci");
+    private static final Set<String> BINARY = Set.of("factorial", "binomialCoefficient", "sequencesNumber", "stirlingNumber");
+    private static final Map<Long, ModularCombinatorics> INSTANCES = new ConcurrentHashMap<>();
+
+    private final long modulus;
+    /* floor((2^64 - 1) / p), the reciprocal used by the Barrett reduction */
+    private final long reciprocal;
+    private final Object lock = new Object();
+    private volatile Tables tables;
+    private volatile int[][] stirlingRows = {{1}};
+
+    /**
+     * Residues of n!, 1/n! and D(n) for every n below their length, never modified once published.
+     */
+    private static final class Tables {
+        private final int[] factorials;
+        private final int[] inverseFactorials;
+        private final int[] derangements;
+
+        Tables(final int[] factorials, final int[] inverseFactorials, final int[] derangements) {
+            this.factorials = factorials;
+            this.inverseFactorials = inverseFactorials;
+            this.derangements = derangements;
+        }
+    }
+
+    private ModularCombinatorics(final long modulus) {
+        this.modulus = modulus;
+        this.reciprocal = Long.divideUnsigned(-1L, modulus);
+        this.tables = new Tables(new int[] {1}, new int[] {1}, new int[] {1});
+    }
+
+    /**
+     * @param modulus a prime below 2^31
+     * @return the shared instance for the modulus
+     * @throws IllegalArgumentException if the modulus isn't a prime below 2^31
+     */
+    public static ModularCombinatorics of(final long modulus) {
+        if (modulus < 2 || modulus > Integer.MAX_VALUE || modulus != 2 && (modulus % 2 == 0 || !Primes.isPrime(modulus))) {
+            throw new IllegalArgumentException("The modulus must be a prime below 2^31: " + modulus);
+        }
+        return INSTANCES.computeIfAbsent(modulus, ModularCombinatorics::new);
+    }
+
+    /**
+     * @return the modulus
+     */
+    public long getModulus() {
+        return this.modulus;
+    }
+
+    /**
+     * @param opName the name of the operation in the combinatorics model
+     * @return whether there is a modular version of the operation
+     */
+    public static boolean isSupported(final String opName) {
+        return UNARY.contains(opName) || BINARY.contains(opName);
+    }
+
+    /**
+     * @param opName the name of a unary operation in the combinatorics model
+     * @param n the operand
+     * @return the result modulo p
+     * @throws IllegalArgumentException if the operation isn't supported or the operand is out of its range
+     */
+    public long apply(final String opName, final long n) {
+        switch (opName) {
+        case "derangement":
+            return this.derangement(n);
+        case "fibonacci":
+            return this.fibonacci(n);
+        default:
+            throw new IllegalArgumentException("No modular unary operation " + opName);
+        }
+    }
+
+    /**
+     * @param opName the name of a binary operation in the combinatorics model
+     * @param n the first operand
+     * @param k the second operand
+     * @return the result modulo p
+     * @throws IllegalArgumentException if the operation isn't supported or the operands are out of its range
+     */
+    public long apply(final String opName, final long n, final long k) {
+        switch (opName) {
+        case "factorial":
+            return this.fallingFactorial(n, k);
+        case "binomialCoefficient":
+            return this.binomial(n, k);
+        case "sequencesNumber":
+            return this.pow(n, k);
+        case "stirlingNumber":
+            return this.stirling(n, k);
+        default:
+            throw new IllegalArgumentException("No modular binary operation " + opName);
+        }
+    }
+
+    /**
+     * @param n the argument
+     * @return n! mod p
+     */
+    public long factorial(final long n) {
+        checkRange(n);
+        return n >= this.modulus ? 0 : this.factorialResidue(n);
+    }
+
+    /**
+     * Among m consecutive numbers there is a multiple of p as soon as m exceeds the residue of the biggest one.
+     * @param n the biggest element of the factorial
+     * @param m the number of factors
+     * @return n(n-1)...(n-m+1) mod p
+     */
+    public long fallingFactorial(final long n, final long m) {
+        checkRange(n);
+        checkRange(m);
+        final long r = n % this.modulus;
+        if (m > r) {
+            return m == 0 ? 1 : 0;
+        }
+        if (r < MAX_TABLE) {
+            final Tables t = this.tables(r);
+            return this.multiply(t.factorials[(int) r], t.inverseFactorials[(int) (r - m)]);
+        }
+        if (m <= MAX_TABLE) {
+            return this.product(r, m);
+        }
+        return this.multiply(this.factorialResidue(r), this.inverse(this.factorialResidue(r - m)));
+    }
+
+    /**
+     * Lucas's theorem: C(n, k) is the product of the binomials of the base p digits of n and k.
+     * @param n the upper value
+     * @param k the lower value
+     * @return C(n, k) mod p
+     */
+    public long binomial(final long n, final long k) {
+        checkRange(n);
+        checkRange(k);
+        if (k > n) {
+            return 0;
+        }
+        if (n < this.modulus) {
+            return this.digitBinomial(n, k);
+        }
+        long result = 1;
+        for (long a = n, b = k; a > 0 && result != 0; a /= this.modulus, b /= this.modulus) {
+            result = this.multiply(result, this.digitBinomial(a % this.modulus, b % this.modulus));
+        }
+        return result;
+    }
+
+    private long digitBinomial(final long n, final long k) {
+        if (k > n) {
+            return 0;
+        }
+        final long k1 = Math.min(k, n - k);
+        if (n < MAX_TABLE) {
+            final Tables t = this.tables(n);
+            return this.multiply(this.multiply(t.factorials[(int) n], t.inverseFactorials[(int) k1]),
+                    t.inverseFactorials[(int) (n - k1)]);
+        }
+        if (k1 < MAX_TABLE) {
+            return this.multiply(this.product(n, k1), this.tables(k1).inverseFactorials[(int) k1]);
+        }
+        return this.multiply(this.factorialResidue(n),
+                this.inverse(this.multiply(this.factorialResidue(k1), this.factorialResidue(n - k1))));
+    }
+
+    /**
+     * Since D(n) = n D(n-1) + (-1)^n, the residues restart after p terms: D(n + p) = (-1)^p D(n) mod p.
+     * @param n the cardinality of the set
+     * @return D(n) mod p
+     */
+    public long derangement(final long n) {
+        checkRange(n);
+        final long r = n < this.modulus ? n : n % this.modulus;
+        final long d;
+        if (r < MAX_TABLE) {
+            d = this.tables(r).derangements[(int) r];
+        } else {
+            long last = this.tables(MAX_TABLE - 1).derangements[MAX_TABLE - 1];
+            /* MAX_TABLE is even: two steps at a time, adding 1 and then subtracting it, without a division */
+            long i = MAX_TABLE;
+            for (; i < r; i += 2) {
+                last = this.multiply(last, i) + 1;
+                last = this.multiply(last == this.modulus ? 0 : last, i + 1);
+                last = last == 0 ? this.modulus - 1 : last - 1;
+            }
+            if (i == r) {
+                last = this.multiply(last, i) + 1;
+                last = last == this.modulus ? 0 : last;
+            }
+            d = last;
+        }
+        return this.modulus % 2 == 1 && (n / this.modulus) % 2 == 1 ? (this.modulus - d) % this.modulus : d;
+    }
+
+    /**
+     * Rows up to {@link #STIRLING_ROWS} are kept in a table; beyond it S(n, k) = sum (-1)^(k-i) i^n / (i! (k-i)!),
+     * which needs k &lt; p.
+     * @param n the cardinality of the set
+     * @param k the number of blocks
+     * @return S(n, k) mod p
+     */
+    public long stirling(final long n, final long k) {
+        checkRange(n);
+        checkRange(k);
+        if (k > n) {
+            return 0;
+        }
+        if (n < STIRLING_ROWS) {
+            int[][] rows = this.stirlingRows;
+            if (n >= rows.length) {
+                rows = this.growStirling((int) n);
+            }
+            return rows[(int) n][(int) k];
+        }
+        if (k == 0 || k == n) {
+            return k == n ? 1 : 0;
+        }
+        if (k >= this.modulus || k >= MAX_TABLE) {
+            throw new IllegalArgumentException("Argument out of range: " + k);
+        }
+        final int size = (int) k;
+        final Tables t = this.tables(size);
+        final int[] smallestFactor = Primes.smallestFactors(size);
+        final long[] powers = new long[size + 1];
+        powers[1] = 1;
+        long sum = size % 2 == 1 ? t.inverseFactorials[size - 1] : this.modulus - t.inverseFactorials[size - 1];
+        for (int i = 2; i <= size; i++) {
+            final int f = smallestFactor[i];
+            powers[i] = f == i ? this.pow(i, n) : this.multiply(powers[f], powers[i / f]);
+            final long term = this.multiply(this.multiply(powers[i], t.inverseFactorials[i]), t.inverseFactorials[size - i]);
+            sum += (size - i) % 2 == 0 ? term : this.modulus - term;
+        }
+        return sum % this.modulus;
+    }
+
+    /**
+     * Fast doubling: F(2m) = F(m) (2 F(m+1) - F(m)) and F(2m+1) = F(m)^2 + F(m+1)^2.
+     * @param n the index
+     * @return F(n) mod p
+     */
+    public long fibonacci(final long n) {
+        checkRange(n);
+        long a = 0;
+        long b = 1;
+        for (long bit = Long.highestOneBit(n); bit > 0; bit >>= 1) {
+            final long even = this.multiply(a, (2 * b - a + this.modulus) % this.modulus);
+            final long odd = (this.multiply(a, a) + this.multiply(b, b)) % this.modulus;
+            if ((n & bit) == 0) {
+                a = even;
+                b = odd;
+            } else {
+                a = odd;
+                b = (even + odd) % this.modulus;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * @param base the base
+     * @param exponent the exponent, not negative
+     * @return base^exponent mod p
+     */
+    public long pow(final long base, final long exponent) {
+        checkRange(base);
+        checkRange(exponent);
+        long result = 1;
+        long b = base % this.modulus;
+        for (long e = exponent; e > 0; e >>= 1) {
+            if ((e & 1) == 1) {
+                result = this.multiply(result, b);
+            }
+            b = this.multiply(b, b);
+        }
+        return result;
+    }
+
+    /**
+     * Barrett reduction: the quotient is estimated from the high word of x times the reciprocal, and is short by at most
+     * one, since x is below 2^62.
+     * @param a a residue
+     * @param b a residue
+     * @return a b mod p
+     */
+    private long multiply(final long a, final long b) {
+        final long x = a * b;
+        final long r = x - Math.multiplyHigh(x, this.reciprocal) * this.modulus;
+        return r >= this.modulus ? r - this.modulus : r;
+    }
+
+    /**
+     * @return 1 / a mod p, by Fermat's little theorem
+     */
+    private long inverse(final long a) {
+        return this.pow(a, this.modulus - 2);
+    }
+
+    /**
+     * Wilson's theorem (p - 1)! = -1 gives m! (p - 1 - m)! = (-1)^(m + 1) mod p, so beyond the table at most p / 2
+     * factors are multiplied.
+     * @param m a residue
+     * @return m! mod p
+     */
+    private long factorialResidue(final long m) {
+        if (m < MAX_TABLE) {
+            return this.tables(m).factorials[(int) m];
+        }
+        final long mirror = this.modulus - 1 - m;
+        if (mirror < m) {
+            final long f = this.inverse(this.factorialResidue(mirror));
+            return m % 2 == 1 ? f : this.modulus - f;
+        }
+        return this.multiply(this.tables(MAX_TABLE - 1).factorials[MAX_TABLE - 1], this.product(m, m - MAX_TABLE + 1));
+    }
+
+    /**
+     * @return n(n-1)...(n-m+1) mod p, multiplying the factors
+     */
+    private long product(final long n, final long m) {
+        long result = 1;
+        for (long i = 0; i < m; i++) {
+            result = this.multiply(result, n - i);
+        }
+        return result;
+    }
+
+    private Tables tables(final long n) {
+        final Tables t = this.tables;
+        if (n < t.factorials.length) {
+            return t;
+        }
+        if (n >= MAX_TABLE) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+        synchronized (this.lock) {
+            final Tables old = this.tables;
+            final int from = old.factorials.length;
+            if (n < from) {
+                return old;
+            }
+            final int size = (int) Math.min(Math.min(MAX_TABLE, this.modulus), Math.max(n + 1, Math.max(INITIAL_TABLE, 2L * from)));
+            final int[] factorials = Arrays.copyOf(old.factorials, size);
+            final int[] inverses = Arrays.copyOf(old.inverseFactorials, size);
+            final int[] derangements = Arrays.copyOf(old.derangements, size);
+            for (int i = from; i < size; i++) {
+                factorials[i] = (int) this.multiply(factorials[i - 1], i);
+                derangements[i] = (int) ((this.multiply(derangements[i - 1], i) + (i % 2 == 0 ? 1 : this.modulus - 1)) % this.modulus);
+            }
+            inverses[size - 1] = (int) this.pow(factorials[size - 1], this.modulus - 2);
+            for (int i = size - 1; i > from; i--) {
+                inverses[i - 1] = (int) this.multiply(inverses[i], i);
+            }
+            this.tables = new Tables(factorials, inverses, derangements);
+            return this.tables;
+        }
+    }
+
+    private int[][] growStirling(final int n) {
+        synchronized (this.lock) {
+            final int[][] rows = this.stirlingRows;
+            if (n < rows.length) {
+                return rows;
+            }
+            final int[][] grown = Arrays.copyOf(rows, Math.min(STIRLING_ROWS, Math.max(n + 1, 2 * rows.length)));
+            for (int m = rows.length; m < grown.length; m++) {
+                final int[] previous = grown[m - 1];
+                final int[] row = new int[m + 1];
+                for (int j = 1; j < m; j++) {
+                    row[j] = (int) ((this.multiply(j % this.modulus, previous[j]) + previous[j - 1]) % this.modulus);
+                }
+                row[m] = 1;
+                grown[m] = row;
+            }
+            this.stirlingRows = grown;
+            return grown;
+        }
+    }
+
+    private static void checkRange(final long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package model.combinatorics;
+
+import java.util.Arrays;
+
+/**
+ * Bell numbers and Stirling numbers of the second kind as doubles, read from tables shared by every calculator.
+ * The tables grow on demand, under a lock, by whole rows: the Bell triangle for the Bell numbers and
+ * S(n, k) = k S(n-1, k) + S(n-1, k-1) for the Stirling numbers. Grown tables are published through volatile fields and
+ * never modified afterwards, so values already computed are read without locking.
+ */
+public final class PartitionTables {
+
+    /**
+     * Number of rows of Stirling numbers kept in the table. S(n, 2) = 2^(n-1) - 1 overflows a double above 1025,
+     * so the rows after these are infinite except for their ends.
+     */
+    public static final int STIRLING_ROWS = 1026;
+
+    /**
+     * Beyond the table, S(n, n - j) overflows for every j above this.
+     */
+    private static final int DIAGONAL_MAX = 170;
+
+    private static final Object LOCK = new Object();
+    private static volatile double[] bellNumbers = {1};
+    private static volatile double[][] stirlingRows = {{1}};
+    /* last row of the Bell triangle, it starts with the last Bell number in the table */
+    private static double[] bellRow = {1};
+
+    private PartitionTables() {
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @return Bell(n), infinite when it overflows, NaN if n isn't a natural number
+     */
+    public static double bell(final double n) {
+        if (!isNatural(n)) {
+            return Double.NaN;
+        }
+        double[] table = bellNumbers;
+        if (n >= table.length) {
+            if (Double.isInfinite(table[table.length - 1])) {
+                return Double.POSITIVE_INFINITY;
+            }
+            table = growBell((int) n);
+        }
+        return n < table.length ? table[(int) n] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param n the cardinality of the set
+     * @param k the number of blocks
+     * @return S(n, k), infinite when it overflows, NaN if n or k aren't natural numbers
+     */
+    public static double stirling(final double n, final double k) {
+        if (!isNatural(n) || !isNatural(k)) {
+            return Double.NaN;
+        }
+        if (k > n) {
+            return 0;
+        }
+        if (n < STIRLING_ROWS) {
+            double[][] table = stirlingRows;
+            if (n >= table.length) {
+                table = growStirling((int) n);
+            }
+            return table[(int) n][(int) k];
+        }
+        if (k == 0) {
+            return 0;
+        }
+        return k == 1 ? 1 : stirlingDiagonal(n, (int) Math.min(n - k, DIAGONAL_MAX + 1));
+    }
+
+    private static double[] growBell(final int n) {
+        synchronized (LOCK) {
+            final double[] table = bellNumbers;
+            if (n < table.length) {
+                return table;
+            }
+            final double[] grown = Arrays.copyOf(table, Math.max(n + 1, 2 * table.length));
+            int size = table.length;
+            while (size < grown.length && Double.isFinite(grown[size - 1])) {
+                final double[] row = new double[bellRow.length + 1];
+                row[0] = bellRow[bellRow.length - 1];
+                for (int i = 1; i < row.length; i++) {
+                    row[i] = row[i - 1] + bellRow[i - 1];
+                }
+                bellRow = row;
+                grown[size++] = row[0];
+            }
+            bellNumbers = Arrays.copyOf(grown, size);
+            return bellNumbers;
+        }
+    }
+
+    private static double[][] growStirling(final int n) {
+        synchronized (LOCK) {
+            final double[][] table = stirlingRows;
+            if (n < table.length) {
+                return table;
+            }
+            final double[][] grown = Arrays.copyOf(table, Math.min(STIRLING_ROWS, Math.max(n + 1, 2 * table.length)));
+            for (int m = table.length; m < grown.length; m++) {
+                final double[] previous = grown[m - 1];
+                final double[] row = new double[m + 1];
+                for (int j = 1; j < m; j++) {
+                    row[j] = j * previous[j] + previous[j - 1];
+                }
+                row[m] = 1;
+                grown[m] = row;
+            }
+            stirlingRows = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * S(n, n - j) = sum over i of E(j, i) C(n + j - 1 - i, 2j), with the second-order Eulerian numbers
+     * E(j, i) = (i + 1) E(j - 1, i) + (2j - 1 - i) E(j - 1, i - 1). All the terms are positive, so an overflow gives an
+     * infinite result instead of a wrong one.
+     */
+    private static double stirlingDiagonal(final double n, final int j) {
+        if (j > DIAGONAL_MAX) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double[] eulerian = {1};
+        for (int row = 1; row <= j; row++) {
+            final double[] next = new double[row];
+            for (int i = 0; i < row; i++) {
+                next[i] = (i < eulerian.length ? (i + 1) * eulerian[i] : 0)
+                        + (i > 0 ? (2 * row - 1 - i) * eulerian[i - 1] : 0);
+            }
+            eulerian = next;
+        }
+        double result = 0;
+        for (int i = 0; i < eulerian.length; i++) {
+            result += eulerian[i] * binomial(n + j - 1 - i, 2 * j);
+        }
+        return result;
+    }
+
+    private static double binomial(final double n, final int k) {
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static boolean isNatural(final double n) {
+        return n >= 0 && n == Math.rint(n) && n <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,144 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Sieve of Eratosthenes for the factorizations of {@link ExactCombinatorics}, and the word-sized primes and modular
+ * arithmetic of its multi-modular evaluations.
+ */
+final class Primes {
+
+    private static final long[] WITNESSES = {2, 7, 61};
+
+    private Primes() {
+    }
+
+    /**
+     * @param n the upper bound
+     * @return the primes up to n, in increasing order
+     */
+    static int[] upTo(final int n) {
+        if (n < 2) {
+            return new int[0];
+        }
+        final boolean[] composite = new boolean[n + 1];
+        final int[] primes = new int[n + 1];
+        int count = 0;
+        for (int i = 2; i <= n; i++) {
+            if (!composite[i]) {
+                primes[count++] = i;
+                for (long j = (long) i * i; j <= n; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    /**
+     * @param n the upper bound
+     * @return the smallest prime factor of every number up to n, 0 for 0 and 1
+     */
+    static int[] smallestFactors(final int n) {
+        final int[] factors = new int[n + 1];
+        for (int i = 2; i <= n; i++) {
+            if (factors[i] == 0) {
+                for (int j = i; j <= n; j += i) {
+                    if (factors[j] == 0) {
+                        factors[j] = i;
+                    }
+                }
+            }
+        }
+        return factors;
+    }
+
+    /**
+     * @param count how many primes
+     * @return the biggest count primes below 2^31, so that products of residues fit in a long
+     */
+    static long[] below31Bits(final int count) {
+        final long[] primes = new long[count];
+        int found = 0;
+        for (long candidate = Integer.MAX_VALUE; found < count; candidate -= 2) {
+            if (isPrime(candidate)) {
+                primes[found++] = candidate;
+            }
+        }
+        return primes;
+    }
+
+    /**
+     * Miller-Rabin test, deterministic for the numbers below 2^32 with these witnesses.
+     * @param n an odd number above 2 and below 2^32
+     * @return whether n is prime
+     */
+    static boolean isPrime(final long n) {
+        long d = n - 1;
+        int s = 0;
+        while ((d & 1) == 0) {
+            d >>= 1;
+            s++;
+        }
+        for (final long a : WITNESSES) {
+            if (a % n == 0) {
+                continue;
+            }
+            long x = pow(a, d, n);
+            int i = 1;
+            while (x != 1 && x != n - 1 && i < s) {
+                x = x * x % n;
+                i++;
+            }
+            if (x != 1 && x != n - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param base the base
+     * @param exponent the exponent, not negative
+     * @param modulus a modulus below 2^31
+     * @return base^exponent mod modulus
+     */
+    static long pow(final long base, final long exponent, final long modulus) {
+        long result = 1;
+        long b = base % modulus;
+        for (long e = exponent; e > 0; e >>= 1) {
+            if ((e & 1) == 1) {
+                result = result * b % modulus;
+            }
+            b = b * b % modulus;
+        }
+        return result;
+    }
+
+    /**
+     * Chinese remaindering with Garner's algorithm: the result is built in mixed radix, c0 + c1 p0 + c2 p0 p1 + ...,
+     * where every digit takes one modular inverse.
+     * @param residues the residues of the result
+     * @param moduli distinct primes below 2^31
+     * @return the only number between 0 and the product of the moduli with the given residues
+     */
+    static BigInteger garner(final long[] residues, final long[] moduli) {
+        final long[] digits = new long[moduli.length];
+        for (int i = 0; i < moduli.length; i++) {
+            final long p = moduli[i];
+            long value = 0;
+            long radix = 1;
+            for (int j = 0; j < i; j++) {
+                value = (value + digits[j] * radix) % p;
+                radix = radix * (moduli[j] % p) % p;
+            }
+            digits[i] = (residues[i] - value + p) % p * pow(radix, p - 2, p) % p;
+        }
+        BigInteger result = BigInteger.ZERO;
+        for (int i = moduli.length - 1; i >= 0; i--) {
+            result = result.multiply(BigInteger.valueOf(moduli[i])).add(BigInteger.valueOf(digits[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+
+/**
+ * Product trees: factors are first packed into machine words, then multiplied in a balanced binary tree so that the
+ * operands of every multiplication have similar sizes.
+ */
+final class Products {
+
+    private static final long WORD_LIMIT = Long.MAX_VALUE;
+
+    private Products() {
+    }
+
+    /**
+     * @param factors positive factors, overwritten while packing them
+     * @param count number of factors to use, from the start of the array
+     * @return the product of the factors, 1 if there are none
+     */
+    static BigInteger of(final long[] factors, final int count) {
+        int packed = 0;
+        for (int i = 0; i < count; i++) {
+            if (packed > 0 && factors[packed - 1] <= WORD_LIMIT / factors[i]) {
+                factors[packed - 1] *= factors[i];
+            } else {
+                factors[packed++] = factors[i];
+            }
+        }
+        return packed == 0 ? BigInteger.ONE : of(factors, 0, packed);
+    }
+
+    private static BigInteger of(final long[] factors, final int from, final int to) {
+        if (to - from == 1) {
+            return BigInteger.valueOf(factors[from]);
+        }
+        if (to - from == 2) {
+            return BigInteger.valueOf(factors[from]).multiply(BigInteger.valueOf(factors[from + 1]));
+        }
+        final int mid = (from + to) >>> 1;
+        return of(factors, from, mid).multiply(of(factors, mid, to));
+    }
+}
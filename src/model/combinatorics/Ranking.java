@@ -0,0 +1,394 @@
+package model.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Exact ranking and unranking of combinatorial objects, the bijections between the objects of a space and the integers
+ * from 0 to its size, and uniform sampling built on them. Combinations use the combinatorial number system on binomial
+ * rows shared by every caller, permutations their Lehmer code and derangements the count of the ways to complete a
+ * prefix; the elements still unused are kept in a Fenwick tree, so every step takes logarithmic time.
+ */
+public final class Ranking {
+
+    /**
+     * Largest number of elements of a derangement: ranking one takes O(n^2) additions of n-digit numbers.
+     */
+    public static final int MAX_DERANGEMENT = 2_000;
+
+    /**
+     * Binomials of rows up to this are read from the shared table; bigger ones are computed.
+     */
+    private static final int CACHED_ROWS = 257;
+
+    private static final Object LOCK = new Object();
+    private static volatile BigInteger[][] rows = {{BigInteger.ONE}};
+    /* f(n, m) for m = 0..n, of the last n ranked */
+    private static volatile BigInteger[] completionRow = {BigInteger.ONE};
+
+    private Ranking() {
+    }
+
+    /**
+     * @param n the upper value
+     * @param k the lower value
+     * @return n choose k, 0 if k is negative or above n
+     */
+    static BigInteger binomial(final int n, final int k) {
+        if (k < 0 || k > n) {
+            return BigInteger.ZERO;
+        }
+        if (n > ExactCombinatorics.MAX_FACTORIAL) {
+            final int m = Math.min(k, n - k);
+            BigInteger result = BigInteger.ONE;
+            for (int i = 1; i <= m; i++) {
+                result = result.multiply(BigInteger.valueOf(n - m + i)).divide(BigInteger.valueOf(i));
+            }
+            return result;
+        }
+        if (n >= CACHED_ROWS) {
+            return ExactCombinatorics.binomial(n, k);
+        }
+        BigInteger[][] t = rows;
+        if (n >= t.length) {
+            t = grow(n);
+        }
+        return t[n][k];
+    }
+
+    private static BigInteger[][] grow(final int n) {
+        synchronized (LOCK) {
+            final BigInteger[][] old = rows;
+            if (n < old.length) {
+                return old;
+            }
+            final BigInteger[][] grown = Arrays.copyOf(old, Math.min(CACHED_ROWS, Math.max(n + 1, 2 * old.length)));
+            for (int m = old.length; m < grown.length; m++) {
+                final BigInteger[] row = new BigInteger[m + 1];
+                row[0] = BigInteger.ONE;
+                row[m] = BigInteger.ONE;
+                for (int j = 1; j < m; j++) {
+                    row[j] = grown[m - 1][j - 1].add(grown[m - 1][j]);
+                }
+                grown[m] = row;
+            }
+            rows = grown;
+            return grown;
+        }
+    }
+
+    /**
+     * In the combinatorial number system the subset c1 &lt; ... &lt; ck has rank C(c1, 1) + C(c2, 2) + ... + C(ck, k),
+     * which orders subsets colexicographically, by their largest element first.
+     * @param subset the elements of the subset, in increasing order
+     * @return the rank of the subset among those of the same size
+     * @throws IllegalArgumentException if the elements are negative or not increasing
+     */
+    public static BigInteger rankCombination(final int[] subset) {
+        BigInteger rank = BigInteger.ZERO;
+        for (int i = 0; i < subset.length; i++) {
+            if (subset[i] < 0 || i > 0 && subset[i] <= subset[i - 1]) {
+                throw new IllegalArgumentException("Not an increasing subset: " + Arrays.toString(subset));
+            }
+            rank = rank.add(binomial(subset[i], i + 1));
+        }
+        return rank;
+    }
+
+    /**
+     * Inverts {@link #rankCombination(int[])}: the largest element ck is the largest c with C(c, k) &lt;= rank, and the
+     * others are the subset of rank rank - C(ck, k).
+     * @param n the number of elements of the set
+     * @param k the size of the subset
+     * @param rank the rank of the subset
+     * @return the subset of {0, ..., n - 1} of the given rank, in increasing order
+     * @throws IllegalArgumentException if n or k are negative or the rank is out of range
+     */
+    public static int[] unrankCombination(final int n, final int k, final BigInteger rank) {
+        checkRank(rank, n < 0 || k < 0 ? BigInteger.ZERO : binomial(n, k));
+        final int[] subset = new int[k];
+        BigInteger r = rank;
+        int high = n - 1;
+        for (int i = k; i >= 1; i--) {
+            int low = i - 1;
+            while (low < high) {
+                final int middle = (low + high + 1) >>> 1;
+                if (binomial(middle, i).compareTo(r) <= 0) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            subset[i - 1] = low;
+            r = r.subtract(binomial(low, i));
+            high = low - 1;
+        }
+        return subset;
+    }
+
+    /**
+     * The Lehmer code of a permutation counts, for every position, the smaller elements that follow it; read in the
+     * factorial number system it is the lexicographic rank.
+     * @param permutation a permutation of {0, ..., n - 1}
+     * @return its rank among the permutations of the same length
+     * @throws IllegalArgumentException if the array isn't a permutation
+     */
+    public static BigInteger rankPermutation(final int[] permutation) {
+        final int n = permutation.length;
+        final Unused unused = new Unused(n);
+        BigInteger rank = BigInteger.ZERO;
+        for (int i = 0; i < n; i++) {
+            final int v = permutation[i];
+            if (v < 0 || v >= n || !unused.contains(v)) {
+                throw new IllegalArgumentException("Not a permutation: " + Arrays.toString(permutation));
+            }
+            rank = rank.multiply(BigInteger.valueOf(n - i)).add(BigInteger.valueOf(unused.below(v)));
+            unused.remove(v);
+        }
+        return rank;
+    }
+
+    /**
+     * @param n the number of elements
+     * @param rank the lexicographic rank
+     * @return the permutation of {0, ..., n - 1} of the given rank
+     * @throws IllegalArgumentException if n is negative or the rank is out of range
+     */
+    public static int[] unrankPermutation(final int n, final BigInteger rank) {
+        checkRank(rank, n < 0 ? BigInteger.ZERO : ExactCombinatorics.factorial(n));
+        final int[] code = new int[n];
+        BigInteger r = rank;
+        for (int radix = 1; radix <= n; radix++) {
+            final BigInteger[] qr = r.divideAndRemainder(BigInteger.valueOf(radix));
+            code[n - radix] = qr[1].intValue();
+            r = qr[0];
+        }
+        final Unused unused = new Unused(n);
+        final int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = unused.select(code[i]);
+            unused.remove(permutation[i]);
+        }
+        return permutation;
+    }
+
+    /**
+     * Derangements are ranked lexicographically. Once a prefix is fixed, the ways to complete it only depend on the r
+     * free positions and on how many of them, m, can still take their own value: f(r, m) = f(r, m - 1) - f(r - 1, m - 1)
+     * with f(r, 0) = r!. At every position the candidates smaller than it leave m - 1 or m conflicts, depending on the
+     * position's own value being used, and the bigger ones one less, so each group is skipped with a division.
+     * @param derangement a permutation of {0, ..., n - 1} without fixed points
+     * @return its rank among the derangements of the same length
+     * @throws IllegalArgumentException if the array isn't a derangement or is longer than {@link #MAX_DERANGEMENT}
+     */
+    public static BigInteger rankDerangement(final int[] derangement) {
+        final int n = derangement.length;
+        checkDerangementLength(n);
+        final BigInteger[] f = completions(n);
+        final Unused unused = new Unused(n);
+        BigInteger rank = BigInteger.ZERO;
+        int conflicts = n;
+        for (int i = 0; i < n; i++) {
+            final int v = derangement[i];
+            if (v < 0 || v >= n || v == i || !unused.contains(v)) {
+                throw new IllegalArgumentException("Not a derangement: " + Arrays.toString(derangement));
+            }
+            nextRow(f, n - i);
+            final int own = unused.contains(i) ? 1 : 0;
+            final long lower = unused.below(Math.min(i, v));
+            final long upper = v > i ? unused.below(v) - unused.below(i + 1) : 0;
+            rank = rank.add(f[conflicts - own].multiply(BigInteger.valueOf(lower)));
+            if (upper > 0) {
+                rank = rank.add(f[conflicts - own - 1].multiply(BigInteger.valueOf(upper)));
+            }
+            conflicts -= own + (v > i ? 1 : 0);
+            unused.remove(v);
+        }
+        return rank;
+    }
+
+    /**
+     * @param n the number of elements
+     * @param rank the lexicographic rank
+     * @return the derangement of {0, ..., n - 1} of the given rank
+     * @throws IllegalArgumentException if n is negative or above {@link #MAX_DERANGEMENT}, or the rank is out of range
+     */
+    public static int[] unrankDerangement(final int n, final BigInteger rank) {
+        checkDerangementLength(n);
+        final BigInteger[] f = completions(n);
+        checkRank(rank, f[n]);
+        final Unused unused = new Unused(n);
+        final int[] derangement = new int[n];
+        BigInteger r = rank;
+        int conflicts = n;
+        for (int i = 0; i < n; i++) {
+            nextRow(f, n - i);
+            final int own = unused.contains(i) ? 1 : 0;
+            final int lower = unused.below(i);
+            final BigInteger[] low = r.divideAndRemainder(f[conflicts - own].max(BigInteger.ONE));
+            final int v;
+            if (f[conflicts - own].signum() > 0 && low[0].compareTo(BigInteger.valueOf(lower)) < 0) {
+                v = unused.select(low[0].intValue());
+                r = low[1];
+            } else {
+                r = r.subtract(f[conflicts - own].multiply(BigInteger.valueOf(lower)));
+                final BigInteger[] high = r.divideAndRemainder(f[conflicts - own - 1]);
+                v = unused.select(lower + own + high[0].intValue());
+                r = high[1];
+            }
+            derangement[i] = v;
+            conflicts -= own + (v > i ? 1 : 0);
+            unused.remove(v);
+        }
+        return derangement;
+    }
+
+    private static void checkDerangementLength(final int n) {
+        if (n < 0 || n > MAX_DERANGEMENT) {
+            throw new IllegalArgumentException("Argument out of range: " + n);
+        }
+    }
+
+    /**
+     * @return a copy of the row f(n, m), m = 0..n, built upwards from f(0, 0) = 1 and kept for the next call
+     */
+    private static BigInteger[] completions(final int n) {
+        BigInteger[] row = completionRow;
+        if (row.length != n + 1) {
+            BigInteger factorial = BigInteger.ONE;
+            row = new BigInteger[] {BigInteger.ONE};
+            for (int r = 1; r <= n; r++) {
+                factorial = factorial.multiply(BigInteger.valueOf(r));
+                final BigInteger[] next = new BigInteger[r + 1];
+                next[0] = factorial;
+                for (int m = 1; m <= r; m++) {
+                    next[m] = next[m - 1].subtract(row[m - 1]);
+                }
+                row = next;
+            }
+            completionRow = row;
+        }
+        return row.clone();
+    }
+
+    /**
+     * Turns the row f(r, .) into f(r - 1, .) in place, through f(r - 1, m) = f(r, m) - f(r, m + 1).
+     */
+    private static void nextRow(final BigInteger[] f, final int r) {
+        for (int m = 0; m < r; m++) {
+            f[m] = f[m].subtract(f[m + 1]);
+        }
+    }
+
+    /**
+     * @param n the number of elements of the set
+     * @param k the size of the subset
+     * @param random the source of randomness
+     * @return a k-subset of {0, ..., n - 1} chosen uniformly, in increasing order
+     * @throws IllegalArgumentException if n or k are negative or k is above n
+     */
+    public static int[] randomCombination(final int n, final int k, final Random random) {
+        return unrankCombination(n, k, below(n < 0 || k < 0 ? BigInteger.ZERO : binomial(n, k), random));
+    }
+
+    /**
+     * @param n the number of elements
+     * @param random the source of randomness
+     * @return a permutation of {0, ..., n - 1} chosen uniformly
+     * @throws IllegalArgumentException if n is negative
+     */
+    public static int[] randomPermutation(final int n, final Random random) {
+        return unrankPermutation(n, below(n < 0 ? BigInteger.ZERO : ExactCombinatorics.factorial(n), random));
+    }
+
+    /**
+     * @param n the number of elements
+     * @param random the source of randomness
+     * @return a derangement of {0, ..., n - 1} chosen uniformly
+     * @throws IllegalArgumentException if there are no derangements of n elements or n is above {@link #MAX_DERANGEMENT}
+     */
+    public static int[] randomDerangement(final int n, final Random random) {
+        checkDerangementLength(n);
+        return unrankDerangement(n, below(ExactCombinatorics.derangement(n), random));
+    }
+
+    /**
+     * @return a uniform integer in [0, bound), by rejection of the bits above it
+     */
+    private static BigInteger below(final BigInteger bound, final Random random) {
+        if (bound.signum() <= 0) {
+            throw new IllegalArgumentException("Empty space");
+        }
+        BigInteger r;
+        do {
+            r = new BigInteger(bound.bitLength(), random);
+        } while (r.compareTo(bound) >= 0);
+        return r;
+    }
+
+    private static void checkRank(final BigInteger rank, final BigInteger size) {
+        if (rank.signum() < 0 || rank.compareTo(size) >= 0) {
+            throw new IllegalArgumentException("Rank out of range: " + rank);
+        }
+    }
+
+    /**
+     * The elements of {0, ..., n - 1} not used yet, in a Fenwick tree of counts.
+     */
+    private static final class Unused {
+
+        private final int[] tree;
+        private final boolean[] used;
+
+        Unused(final int n) {
+            this.tree = new int[n + 1];
+            this.used = new boolean[n];
+            for (int i = 1; i <= n; i++) {
+                this.tree[i]++;
+                final int parent = i + (i & -i);
+                if (parent <= n) {
+                    this.tree[parent] += this.tree[i];
+                }
+            }
+        }
+
+        boolean contains(final int v) {
+            return !this.used[v];
+        }
+
+        void remove(final int v) {
+            this.used[v] = true;
+            for (int i = v + 1; i < this.tree.length; i += i & -i) {
+                this.tree[i]--;
+            }
+        }
+
+        /**
+         * @return the number of unused elements below v
+         */
+        int below(final int v) {
+            int count = 0;
+            for (int i = v; i > 0; i -= i & -i) {
+                count += this.tree[i];
+            }
+            return count;
+        }
+
+        /**
+         * @return the unused element with the given number of unused elements below it
+         */
+        int select(final int index) {
+            int position = 0;
+            int rest = index;
+            for (int step = Integer.highestOneBit(Math.max(this.tree.length - 1, 1)); step > 0; step >>= 1) {
+                final int next = position + step;
+                if (next < this.tree.length && this.tree[next] <= rest) {
+                    position = next;
+                    rest -= this.tree[next];
+                }
+            }
+            return position;
+        }
+    }
+}
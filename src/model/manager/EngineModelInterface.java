@@ -1,9 +1,12 @@
 package model.manager;
 
+import java.util.function.Supplier;
+
 import controller.calculators.CalculatorController;
 import controller.calculators.ControllerFactoryImpl;
 import model.calculators.CalculatorModel;
 import model.calculators.CombinatoricsCalculatorModelFactory;
+import model.calculators.LazyCalculatorModel;
 import model.calculators.ProgrammerCalculatorModelFactory;
 import model.calculators.ScientificCalculatorModelFactory;
 import model.calculators.StandardCalculatorModelFactory;
@@ -21,31 +24,34 @@ public interface EngineModelInterface {
         /**
          * Standard calculator. Contains a reference to the standard calculator controller.
          */
-        STANDARD(StandardCalculatorModelFactory.create()), 
+        STANDARD(StandardCalculatorModelFactory::get), 
         /**
          * Scientific calculator. Contains a reference to the scientific calculator controller.
          */
-        SCIENTIFIC(ScientificCalculatorModelFactory.create()), 
+        SCIENTIFIC(ScientificCalculatorModelFactory::get), 
         /**
          * Programmer calculator. Contains a reference to the programmer calculator controller.
          */
-        PROGRAMMER(ProgrammerCalculatorModelFactory.create()),
+        PROGRAMMER(ProgrammerCalculatorModelFactory::get),
         /**
          * Graphic calculator. Contains a reference to the graphic calculator controller.
          */
-        GRAPHIC(ScientificCalculatorModelFactory.create()),
+        GRAPHIC(ScientificCalculatorModelFactory::get),
         /**
          * Combinatorics calculator. Contains a reference to the combinatorics calculator controller.
          */
-        COMBINATORICS(CombinatoricsCalculatorModelFactory.create()),
+        COMBINATORICS(CombinatoricsCalculatorModelFactory::get),
         /**
          * Advanced calculator. Contains a reference to the advanced calculator controller.
          */
-        ADVANCED(ScientificCalculatorModelFactory.create());
+        ADVANCED(ScientificCalculatorModelFactory::get);
 
         private final CalculatorController controller;
-        Calculator(final CalculatorModel model) {
-            this.controller = new ControllerFactoryImpl().createController(model);
+        /**
+         * Models are built the first time one of their operators is needed, and calculators with the same operators share one.
+         */
+        Calculator(final Supplier<CalculatorModel> model) {
+            this.controller = new ControllerFactoryImpl().createController(new LazyCalculatorModel(model));
         }
 
         /**
@@ -0,0 +1,603 @@
+package model.programmer;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * An immutable integer of a fixed number of bits, as wide as needed, with the operations of the programmer calculator
+ * in two's complement. The bits are kept in longs, the lowest first, and every operation works on whole longs at a
+ * time; the bits above the width in the last long are always zero.
+ */
+public final class BitVector {
+
+    private static final int ADDRESS_BITS = 6;
+    private static final int BIT_INDEX_MASK = Long.SIZE - 1;
+    private static final int MIN_BASE = Character.MIN_RADIX;
+    private static final int MAX_BASE = Character.MAX_RADIX;
+
+    private final int width;
+    private final long[] words;
+
+    private BitVector(final int width, final long[] words) {
+        this.width = width;
+        this.words = words;
+        final int rest = width & BIT_INDEX_MASK;
+        if (rest != 0) {
+            words[words.length - 1] &= -1L >>> (Long.SIZE - rest);
+        }
+    }
+
+    private static long[] newWords(final int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive: " + width);
+        }
+        return new long[(width + BIT_INDEX_MASK) >>> ADDRESS_BITS];
+    }
+
+    /**
+     * @param value a long
+     * @param width the number of bits
+     * @return the value, sign-extended or truncated to the width
+     */
+    public static BitVector valueOf(final long value, final int width) {
+        final long[] words = newWords(width);
+        Arrays.fill(words, value < 0 ? -1L : 0L);
+        words[0] = value;
+        return new BitVector(width, words);
+    }
+
+    /**
+     * @param value an integer
+     * @param width the number of bits
+     * @return the low bits of the value in two's complement
+     */
+    public static BitVector valueOf(final BigInteger value, final int width) {
+        final long[] words = newWords(width);
+        for (int i = 0; i < words.length; i++) {
+            words[i] = value.shiftRight(i * Long.SIZE).longValue();
+        }
+        return new BitVector(width, words);
+    }
+
+    /**
+     * @return the number of bits
+     */
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * @return the low 64 bits
+     */
+    public long longValue() {
+        return this.words[0];
+    }
+
+    /**
+     * @param index the index of a bit, 0 for the lowest
+     * @return whether the bit is set
+     */
+    public boolean testBit(final int index) {
+        return (this.words[index >>> ADDRESS_BITS] & 1L << index) != 0;
+    }
+
+    /**
+     * @return whether the top bit is set
+     */
+    public boolean isNegative() {
+        return testBit(this.width - 1);
+    }
+
+    /**
+     * @return the signed value
+     */
+    public BigInteger toBigInteger() {
+        final BigInteger unsigned = toUnsignedBigInteger();
+        return isNegative() ? unsigned.subtract(BigInteger.ONE.shiftLeft(this.width)) : unsigned;
+    }
+
+    /**
+     * @return the bits as a non-negative integer
+     */
+    public BigInteger toUnsignedBigInteger() {
+        final byte[] bytes = new byte[this.words.length * Long.BYTES + 1];
+        for (int i = 0; i < this.words.length; i++) {
+            final long word = this.words[i];
+            for (int b = 0; b < Long.BYTES; b++) {
+                bytes[bytes.length - 1 - i * Long.BYTES - b] = (byte) (word >>> (b * Byte.SIZE));
+            }
+        }
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * @param other a vector of the same width
+     * @return the bitwise and
+     */
+    public BitVector and(final BitVector other) {
+        final long[] result = newWords(checkWidth(other));
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.words[i] & other.words[i];
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param other a vector of the same width
+     * @return the bitwise or
+     */
+    public BitVector or(final BitVector other) {
+        final long[] result = newWords(checkWidth(other));
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.words[i] | other.words[i];
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param other a vector of the same width
+     * @return the bitwise exclusive or
+     */
+    public BitVector xor(final BitVector other) {
+        final long[] result = newWords(checkWidth(other));
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.words[i] ^ other.words[i];
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @return the bitwise complement
+     */
+    public BitVector not() {
+        final long[] result = newWords(this.width);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ~this.words[i];
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param count the number of positions, none left when it is the width or more
+     * @return the bits moved toward the top, with zeros below
+     */
+    public BitVector shiftLeft(final int count) {
+        final long[] result = newWords(this.width);
+        if (count < this.width) {
+            final int wordShift = count >>> ADDRESS_BITS;
+            final int bitShift = count & BIT_INDEX_MASK;
+            for (int i = result.length - 1; i >= wordShift; i--) {
+                long word = this.words[i - wordShift] << bitShift;
+                if (bitShift != 0 && i - wordShift > 0) {
+                    word |= this.words[i - wordShift - 1] >>> (Long.SIZE - bitShift);
+                }
+                result[i] = word;
+            }
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param count the number of positions, only copies of the sign bit left when it is the width or more
+     * @return the bits moved toward the bottom, with copies of the sign bit above
+     */
+    public BitVector shiftRight(final int count) {
+        final int distance = Math.min(count, this.width);
+        final BitVector shifted = shiftRightUnsigned(distance);
+        return isNegative() && distance > 0 ? shifted.or(valueOf(-1L, this.width).shiftLeft(this.width - distance)) : shifted;
+    }
+
+    /**
+     * @param count the number of positions, none left when it is the width or more
+     * @return the bits moved toward the bottom, with zeros above
+     */
+    public BitVector shiftRightUnsigned(final int count) {
+        final long[] result = newWords(this.width);
+        if (count < this.width) {
+            final int wordShift = count >>> ADDRESS_BITS;
+            final int bitShift = count & BIT_INDEX_MASK;
+            for (int i = 0; i + wordShift < result.length; i++) {
+                long word = this.words[i + wordShift] >>> bitShift;
+                if (bitShift != 0 && i + wordShift + 1 < result.length) {
+                    word |= this.words[i + wordShift + 1] << (Long.SIZE - bitShift);
+                }
+                result[i] = word;
+            }
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param count the number of positions, negative to rotate right
+     * @return the bits moved toward the top, the ones leaving the top coming back at the bottom
+     */
+    public BitVector rotateLeft(final long count) {
+        final int distance = (int) Math.floorMod(count, (long) this.width);
+        return distance == 0 ? this : shiftLeft(distance).or(shiftRightUnsigned(this.width - distance));
+    }
+
+    /**
+     * @param count the number of positions, negative to rotate left
+     * @return the bits moved toward the bottom, the ones leaving the bottom coming back at the top
+     */
+    public BitVector rotateRight(final long count) {
+        return rotateLeft(-count);
+    }
+
+    /**
+     * @return the number of set bits
+     */
+    public int bitCount() {
+        int count = 0;
+        for (final long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of zeros above the highest set bit, the width if there is none
+     */
+    public int numberOfLeadingZeros() {
+        final int unused = this.words.length * Long.SIZE - this.width;
+        for (int i = this.words.length - 1; i >= 0; i--) {
+            if (this.words[i] != 0) {
+                return (this.words.length - 1 - i) * Long.SIZE + Long.numberOfLeadingZeros(this.words[i]) - unused;
+            }
+        }
+        return this.width;
+    }
+
+    /**
+     * @return the number of zeros below the lowest set bit, the width if there is none
+     */
+    public int numberOfTrailingZeros() {
+        for (int i = 0; i < this.words.length; i++) {
+            if (this.words[i] != 0) {
+                return i * Long.SIZE + Long.numberOfTrailingZeros(this.words[i]);
+            }
+        }
+        return this.width;
+    }
+
+    /**
+     * @return the bits in reverse order, the lowest one at the top
+     */
+    public BitVector reverse() {
+        final long[] result = newWords(this.width);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Long.reverse(this.words[result.length - 1 - i]);
+        }
+        return reversed(result);
+    }
+
+    /**
+     * @return the bytes in reverse order, the lowest one at the top
+     * @throws IllegalArgumentException if the width isn't made of whole bytes
+     */
+    public BitVector reverseBytes() {
+        if (this.width % Byte.SIZE != 0) {
+            throw new IllegalArgumentException("Width isn't made of bytes: " + this.width);
+        }
+        final long[] result = newWords(this.width);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Long.reverseBytes(this.words[result.length - 1 - i]);
+        }
+        return reversed(result);
+    }
+
+    /**
+     * The words reversed as a whole have the unused bits of the last one at the bottom.
+     */
+    private BitVector reversed(final long[] words) {
+        final int unused = words.length * Long.SIZE - this.width;
+        final BitVector all = new BitVector(words.length * Long.SIZE, words);
+        return new BitVector(this.width, all.shiftRightUnsigned(unused).words);
+    }
+
+    /**
+     * Gathers the bits under the set bits of the mask into the low bits of the result, like Long.compress of Java 19.
+     * @param mask a vector of the same width
+     * @return the selected bits, packed at the bottom
+     */
+    public BitVector compress(final BitVector mask) {
+        final long[] result = newWords(checkWidth(mask));
+        int index = 0;
+        for (int i = 0; i < this.words.length; i++) {
+            for (long m = mask.words[i]; m != 0; m &= m - 1, index++) {
+                if ((this.words[i] & Long.lowestOneBit(m)) != 0) {
+                    result[index >>> ADDRESS_BITS] |= 1L << index;
+                }
+            }
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * Scatters the low bits to the set bits of the mask, like Long.expand of Java 19.
+     * @param mask a vector of the same width
+     * @return the low bits, moved to the set bits of the mask
+     */
+    public BitVector expand(final BitVector mask) {
+        final long[] result = newWords(checkWidth(mask));
+        int index = 0;
+        for (int i = 0; i < result.length; i++) {
+            for (long m = mask.words[i]; m != 0; m &= m - 1, index++) {
+                if (testBit(index)) {
+                    result[i] |= Long.lowestOneBit(m);
+                }
+            }
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param other a vector of the same width
+     * @return the sum, wrapping around
+     */
+    public BitVector add(final BitVector other) {
+        final long[] result = newWords(checkWidth(other));
+        long carry = 0;
+        for (int i = 0; i < result.length; i++) {
+            final long sum = this.words[i] + other.words[i];
+            final long total = sum + carry;
+            carry = Long.compareUnsigned(sum, this.words[i]) < 0 || Long.compareUnsigned(total, sum) < 0 ? 1 : 0;
+            result[i] = total;
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @return the opposite, wrapping around
+     */
+    public BitVector negate() {
+        return not().add(valueOf(1, this.width));
+    }
+
+    /**
+     * @param other a vector of the same width
+     * @return the difference, wrapping around
+     */
+    public BitVector subtract(final BitVector other) {
+        return add(other.negate());
+    }
+
+    /**
+     * The low words of the product of the two's complement bits are the same as for the unsigned ones.
+     * @param other a vector of the same width
+     * @return the product, wrapping around
+     */
+    public BitVector multiply(final BitVector other) {
+        final long[] result = newWords(checkWidth(other));
+        for (int i = 0; i < result.length; i++) {
+            final long a = this.words[i];
+            if (a == 0) {
+                continue;
+            }
+            long carry = 0;
+            for (int j = 0; i + j < result.length; j++) {
+                final long b = other.words[j];
+                final long low = a * b;
+                final long high = Math.multiplyHigh(a, b) + (a >> BIT_INDEX_MASK & b) + (b >> BIT_INDEX_MASK & a);
+                final long partial = result[i + j] + low;
+                long nextCarry = high + (Long.compareUnsigned(partial, low) < 0 ? 1 : 0);
+                final long total = partial + carry;
+                nextCarry += Long.compareUnsigned(total, partial) < 0 ? 1 : 0;
+                result[i + j] = total;
+                carry = nextCarry;
+            }
+        }
+        return new BitVector(this.width, result);
+    }
+
+    /**
+     * @param other a vector of the same width
+     * @return the signed quotient rounded toward zero, wrapping around
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public BitVector divide(final BitVector other) {
+        checkWidth(other);
+        return valueOf(toBigInteger().divide(other.toBigInteger()), this.width);
+    }
+
+    private int checkWidth(final BitVector other) {
+        if (other.width != this.width) {
+            throw new IllegalArgumentException("Different widths: " + this.width + " and " + other.width);
+        }
+        return this.width;
+    }
+
+    /**
+     * @param digits the digits of an integer, with a leading "-" if it is negative
+     * @param base the base of the digits, from 2 to 36
+     * @param width the number of bits
+     * @return the integer in two's complement
+     * @throws NumberFormatException if the digits aren't a number of the base, or it doesn't fit in the width as a
+     * signed or unsigned number
+     */
+    public static BitVector parse(final String digits, final int base, final int width) {
+        checkBase(base);
+        final boolean negative = digits.startsWith("-");
+        final int from = negative ? 1 : 0;
+        if (from == digits.length()) {
+            throw new NumberFormatException("No digits: " + digits);
+        }
+        final BigInteger magnitude = Integer.bitCount(base) == 1
+                ? parsePowerOfTwo(digits, from, Integer.numberOfTrailingZeros(base), width)
+                : new Conversion(base).parse(digits, from, digits.length());
+        if (magnitude.bitLength() > (negative ? width - 1 : width)
+                && !(negative && magnitude.equals(BigInteger.ONE.shiftLeft(width - 1)))) {
+            throw new NumberFormatException("Out of range: " + digits);
+        }
+        return valueOf(negative ? magnitude.negate() : magnitude, width);
+    }
+
+    /**
+     * Every digit of a base 2^k is k bits, placed directly in the words.
+     */
+    private static BigInteger parsePowerOfTwo(final String digits, final int from, final int bitsPerDigit, final int width) {
+        final int length = digits.length() - from;
+        final long[] words = new long[(int) (((long) length * bitsPerDigit + BIT_INDEX_MASK) >>> ADDRESS_BITS)];
+        int bit = 0;
+        for (int i = digits.length() - 1; i >= from; i--, bit += bitsPerDigit) {
+            final long digit = digit(digits.charAt(i), 1 << bitsPerDigit);
+            words[bit >>> ADDRESS_BITS] |= digit << bit;
+            final int spill = (bit & BIT_INDEX_MASK) + bitsPerDigit - Long.SIZE;
+            if (spill > 0) {
+                words[(bit >>> ADDRESS_BITS) + 1] |= digit >>> (bitsPerDigit - spill);
+            }
+        }
+        return new BitVector(words.length * Long.SIZE, words).toUnsignedBigInteger();
+    }
+
+    private static int digit(final char c, final int base) {
+        final int digit = Character.digit(c, base);
+        if (digit < 0) {
+            throw new NumberFormatException("Not a digit of base " + base + ": " + c);
+        }
+        return digit;
+    }
+
+    /**
+     * @param base the base of the digits, from 2 to 36
+     * @return the signed value, with a leading "-" when it is negative
+     */
+    public String toString(final int base) {
+        final BigInteger value = toBigInteger();
+        final String digits = toString(value.abs(), base);
+        return value.signum() < 0 ? "-".concat(digits) : digits;
+    }
+
+    /**
+     * @param base the base of the digits, from 2 to 36
+     * @return the bits as a non-negative number, e.g. FF for -1 on 8 bits in base 16
+     */
+    public String toUnsignedString(final int base) {
+        checkBase(base);
+        if (Integer.bitCount(base) == 1) {
+            return toPowerOfTwoString(Integer.numberOfTrailingZeros(base));
+        }
+        return toString(toUnsignedBigInteger(), base);
+    }
+
+    private String toPowerOfTwoString(final int bitsPerDigit) {
+        final int significant = Math.max(1, this.width - numberOfLeadingZeros());
+        final char[] digits = new char[(significant + bitsPerDigit - 1) / bitsPerDigit];
+        final int mask = (1 << bitsPerDigit) - 1;
+        for (int i = 0; i < digits.length; i++) {
+            final int bit = i * bitsPerDigit;
+            long value = this.words[bit >>> ADDRESS_BITS] >>> bit;
+            if ((bit & BIT_INDEX_MASK) + bitsPerDigit > Long.SIZE && (bit >>> ADDRESS_BITS) + 1 < this.words.length) {
+                value |= this.words[(bit >>> ADDRESS_BITS) + 1] << (Long.SIZE - (bit & BIT_INDEX_MASK));
+            }
+            digits[digits.length - 1 - i] = Character.toUpperCase(Character.forDigit((int) value & mask, 1 << bitsPerDigit));
+        }
+        return new String(digits);
+    }
+
+    private static String toString(final BigInteger nonNegative, final int base) {
+        checkBase(base);
+        return new Conversion(base).format(nonNegative).toUpperCase(Locale.ROOT);
+    }
+
+    private static void checkBase(final int base) {
+        if (base < MIN_BASE || base > MAX_BASE) {
+            throw new IllegalArgumentException("Base out of range: " + base);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof BitVector && ((BitVector) obj).width == this.width && Arrays.equals(((BitVector) obj).words, this.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.width + Arrays.hashCode(this.words);
+    }
+
+    @Override
+    public String toString() {
+        return toString(10);
+    }
+
+    /**
+     * Divide and conquer conversion between digits and integers: the digits split at a power base^(c 2^k), where c
+     * digits fit in a long, so the halves are converted independently and the multiplications and divisions of the big
+     * integers are balanced, subquadratic for big enough numbers.
+     */
+    private static final class Conversion {
+
+        private final int base;
+        /* digits of a long */
+        private final int chunk;
+        /* powers[k] = base^(chunk 2^k) */
+        private BigInteger[] powers;
+
+        Conversion(final int base) {
+            this.base = base;
+            int digits = 0;
+            for (long power = 1; power <= Long.MAX_VALUE / base; power *= base) {
+                digits++;
+            }
+            this.chunk = digits;
+            this.powers = new BigInteger[] {BigInteger.valueOf(base).pow(digits)};
+        }
+
+        private BigInteger power(final int k) {
+            while (k >= this.powers.length) {
+                final BigInteger last = this.powers[this.powers.length - 1];
+                this.powers = Arrays.copyOf(this.powers, this.powers.length + 1);
+                this.powers[this.powers.length - 1] = last.multiply(last);
+            }
+            return this.powers[k];
+        }
+
+        BigInteger parse(final String digits, final int from, final int to) {
+            if (to - from <= this.chunk) {
+                long value = 0;
+                for (int i = from; i < to; i++) {
+                    value = value * this.base + digit(digits.charAt(i), this.base);
+                }
+                return BigInteger.valueOf(value);
+            }
+            /* the low part has chunk 2^k digits, the biggest power of two chunks below the length */
+            int k = 0;
+            while ((long) this.chunk << (k + 1) < to - from) {
+                k++;
+            }
+            final int split = to - (this.chunk << k);
+            return parse(digits, from, split).multiply(power(k)).add(parse(digits, split, to));
+        }
+
+        String format(final BigInteger value) {
+            int k = 0;
+            while (value.compareTo(power(k)) >= 0) {
+                k++;
+            }
+            final StringBuilder sb = new StringBuilder();
+            format(value, k, false, sb);
+            return sb.toString();
+        }
+
+        /* value < power(k), with all of its chunk 2^k digits when padded */
+        private void format(final BigInteger value, final int k, final boolean pad, final StringBuilder sb) {
+            if (k == 0) {
+                final String digits = Long.toString(value.longValue(), this.base);
+                for (int i = pad ? digits.length() : this.chunk; i < this.chunk; i++) {
+                    sb.append('0');
+                }
+                sb.append(digits);
+                return;
+            }
+            final BigInteger[] qr = value.divideAndRemainder(power(k - 1));
+            if (pad || qr[0].signum() != 0) {
+                format(qr[0], k - 1, pad, sb);
+                format(qr[1], k - 1, true, sb);
+            } else {
+                format(qr[1], k - 1, false, sb);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package model.programmer;
+
+import java.util.Arrays;
+
+/**
+ * The binary floating point formats of IEEE 754, to look at the bits of a number: the sign, the biased exponent and the
+ * mantissa without its hidden bit. Bits are kept in the low bits of a long, as the raw patterns of
+ * {@link Double#doubleToRawLongBits(double)} and {@link Float#floatToRawIntBits(float)}, so NaN payloads are kept too.
+ * Fields are written with one character array for a whole number, or a whole list of them, never with a string per bit.
+ */
+public enum FloatFormat {
+    /**
+     * binary32, the float of Java.
+     */
+    SINGLE(Float.SIZE, 8),
+    /**
+     * binary64, the double of Java.
+     */
+    DOUBLE(Double.SIZE, 11);
+
+    private final int bits;
+    private final int exponentBits;
+    private final int mantissaBits;
+
+    FloatFormat(final int bits, final int exponentBits) {
+        this.bits = bits;
+        this.exponentBits = exponentBits;
+        this.mantissaBits = bits - 1 - exponentBits;
+    }
+
+    /**
+     * @return the number of bits of the format
+     */
+    public int bits() {
+        return this.bits;
+    }
+
+    /**
+     * @return the number of bits of the exponent
+     */
+    public int exponentBits() {
+        return this.exponentBits;
+    }
+
+    /**
+     * @return the number of bits of the mantissa, without the hidden one
+     */
+    public int mantissaBits() {
+        return this.mantissaBits;
+    }
+
+    /**
+     * @return the value added to the exponent in the bits
+     */
+    public int bias() {
+        return (1 << (this.exponentBits - 1)) - 1;
+    }
+
+    /**
+     * @param value a number, rounded to the nearest float for the single format
+     * @return its bits
+     */
+    public long toBits(final double value) {
+        return this == SINGLE ? Float.floatToRawIntBits((float) value) & 0xFFFF_FFFFL : Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * @param pattern the bits of a number, only the low ones of the format are read
+     * @return the number
+     */
+    public double toValue(final long pattern) {
+        return this == SINGLE ? Float.intBitsToFloat((int) pattern) : Double.longBitsToDouble(pattern);
+    }
+
+    /**
+     * @param pattern the bits of a number
+     * @return 1 if it is negative, 0 otherwise
+     */
+    public int sign(final long pattern) {
+        return (int) (pattern >>> (this.bits - 1)) & 1;
+    }
+
+    /**
+     * @param pattern the bits of a number
+     * @return the exponent as it is in the bits, with the bias
+     */
+    public int exponent(final long pattern) {
+        return (int) (pattern >>> this.mantissaBits) & ((1 << this.exponentBits) - 1);
+    }
+
+    /**
+     * @param pattern the bits of a number
+     * @return the bits of the mantissa
+     */
+    public long mantissa(final long pattern) {
+        return pattern & ((1L << this.mantissaBits) - 1);
+    }
+
+    /**
+     * @param sign 1 for a negative number
+     * @param exponent the exponent with the bias
+     * @param mantissa the bits of the mantissa
+     * @return the bits of the number with these fields, the extra high bits of each field are dropped
+     */
+    public long compose(final int sign, final int exponent, final long mantissa) {
+        return ((long) (sign & 1) << (this.bits - 1)) | ((long) exponent & ((1L << this.exponentBits) - 1)) << this.mantissaBits
+                | mantissa(mantissa);
+    }
+
+    /**
+     * @param pattern the bits of a number
+     * @param index the bit to change, 0 for the lowest bit of the mantissa
+     * @return the bits with the given one flipped
+     * @throws IllegalArgumentException if the index is not a bit of the format
+     */
+    public long flipBit(final long pattern, final int index) {
+        if (index < 0 || index >= this.bits) {
+            throw new IllegalArgumentException("Bit out of range: " + index);
+        }
+        return pattern ^ 1L << index;
+    }
+
+    /**
+     * @param pattern the bits of a number
+     * @return "Zero", "Subnormal", "Normal", "Infinity" or "NaN"
+     */
+    public String classify(final long pattern) {
+        final int exponent = exponent(pattern);
+        if (exponent == 0) {
+            return mantissa(pattern) == 0 ? "Zero" : "Subnormal";
+        }
+        if (exponent == (1 << this.exponentBits) - 1) {
+            return mantissa(pattern) == 0 ? "Infinity" : "NaN";
+        }
+        return "Normal";
+    }
+
+    /**
+     * @param values numbers
+     * @return their bits, in the same order
+     */
+    public long[] toBits(final double[] values) {
+        final long[] patterns = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            patterns[i] = toBits(values[i]);
+        }
+        return patterns;
+    }
+
+    /**
+     * @param patterns the bits of numbers
+     * @return the numbers, in the same order
+     */
+    public double[] toValues(final long[] patterns) {
+        final double[] values = new double[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            values[i] = toValue(patterns[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Converts a whole list of numbers with a single call.
+     * @param values decimal numbers separated by whitespace or commas, e.g. "0.1, -2.5e3 NaN"
+     * @return their bits, in the same order
+     * @throws NumberFormatException if one of them isn't a number
+     */
+    public long[] parse(final CharSequence values) {
+        long[] patterns = new long[16];
+        int count = 0;
+        int i = 0;
+        final int length = values.length();
+        while (i < length) {
+            while (i < length && isSeparator(values.charAt(i))) {
+                i++;
+            }
+            final int start = i;
+            while (i < length && !isSeparator(values.charAt(i))) {
+                i++;
+            }
+            if (start < i) {
+                if (count == patterns.length) {
+                    patterns = Arrays.copyOf(patterns, 2 * count);
+                }
+                patterns[count++] = toBits(Double.parseDouble(values.subSequence(start, i).toString()));
+            }
+        }
+        return Arrays.copyOf(patterns, count);
+    }
+
+    private static boolean isSeparator(final char c) {
+        return c == ',' || Character.isWhitespace(c);
+    }
+
+    /**
+     * @param pattern the bits of a number
+     * @return the sign, exponent and mantissa fields in binary, separated by spaces, e.g. "0 01111111 000...0" for 1 in
+     * the single format
+     */
+    public String toFields(final long pattern) {
+        final char[] line = new char[this.bits + 2];
+        writeFields(pattern, line);
+        return new String(line);
+    }
+
+    /**
+     * @param patterns the bits of numbers
+     * @return the fields of every number like {@link #toFields(long)}, one per line
+     */
+    public String toFields(final long[] patterns) {
+        final char[] line = new char[this.bits + 2];
+        final StringBuilder sb = new StringBuilder(patterns.length * (line.length + 1));
+        for (int i = 0; i < patterns.length; i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            writeFields(patterns[i], line);
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the bits from the top one, with a space after the sign and after the exponent.
+     */
+    private void writeFields(final long pattern, final char[] line) {
+        int pos = 0;
+        for (int bit = this.bits - 1; bit >= 0; bit--) {
+            line[pos++] = (char) ('0' + (int) (pattern >>> bit & 1));
+            if (bit == this.bits - 1 || bit == this.mantissaBits) {
+                line[pos++] = ' ';
+            }
+        }
+    }
+}
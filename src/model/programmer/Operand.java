@@ -0,0 +1,170 @@
+package model.programmer;
+
+import java.math.BigInteger;
+
+import utils.ConversionAlgorithms;
+
+/**
+ * The number being typed in the programmer calculator. Every digit updates its value as value * base + digit, so it is
+ * never parsed again, and its digits in any base come from the value in time linear in the word size. Digits that
+ * would take the number beyond the bits of the word are refused. Words up to 64 bits keep the value in a long, wider
+ * ones in a big integer.
+ */
+public final class Operand {
+
+    private static final int DECIMAL = 10;
+
+    private final WordSize size;
+    private final int base;
+    private boolean negative;
+    private int digits;
+    private long magnitude;
+    private BigInteger wideMagnitude = BigInteger.ZERO;
+
+    /**
+     * @param size the word size of the number
+     * @param base the base of the digits typed, from 2 to 36
+     */
+    public Operand(final WordSize size, final int base) {
+        if (base < Character.MIN_RADIX || base > Character.MAX_RADIX) {
+            throw new IllegalArgumentException("Base out of range: " + base);
+        }
+        this.size = size;
+        this.base = base;
+    }
+
+    /**
+     * @param digit the value of the next digit
+     * @return whether the digit was taken, false if it isn't a digit of the base or the number would overflow the word
+     */
+    public boolean appendDigit(final int digit) {
+        if (digit < 0 || digit >= this.base) {
+            return false;
+        }
+        if (this.size.isWide()) {
+            final BigInteger next = this.wideMagnitude.multiply(BigInteger.valueOf(this.base)).add(BigInteger.valueOf(digit));
+            if (next.bitLength() > this.size.bits()) {
+                return false;
+            }
+            this.wideMagnitude = next;
+        } else {
+            if (Long.compareUnsigned(this.magnitude, Long.divideUnsigned(this.size.mask() - digit, this.base)) > 0) {
+                return false;
+            }
+            this.magnitude = this.magnitude * this.base + digit;
+        }
+        this.digits++;
+        return true;
+    }
+
+    /**
+     * Removes the last digit, or the sign when there are no digits.
+     */
+    public void removeDigit() {
+        if (this.digits == 0) {
+            this.negative = false;
+            return;
+        }
+        this.digits--;
+        if (this.size.isWide()) {
+            this.wideMagnitude = this.wideMagnitude.divide(BigInteger.valueOf(this.base));
+        } else {
+            this.magnitude = Long.divideUnsigned(this.magnitude, this.base);
+        }
+    }
+
+    /**
+     * Puts a minus sign before the digits.
+     */
+    public void negate() {
+        this.negative = true;
+    }
+
+    /**
+     * Removes the digits and the sign.
+     */
+    public void clear() {
+        this.negative = false;
+        this.digits = 0;
+        this.magnitude = 0;
+        this.wideMagnitude = BigInteger.ZERO;
+    }
+
+    /**
+     * Replaces the number with a result: signed in base 10, the bits of the word otherwise, as it is shown.
+     * @param value the new value, as wide as the word
+     */
+    public void load(final BitVector value) {
+        clear();
+        if (this.base == DECIMAL && value.isNegative()) {
+            this.negative = true;
+            this.wideMagnitude = value.toBigInteger().negate();
+        } else {
+            this.wideMagnitude = value.toUnsignedBigInteger();
+        }
+        this.magnitude = this.wideMagnitude.longValue();
+        this.digits = this.wideMagnitude.signum() == 0 ? 1 : this.wideMagnitude.toString(this.base).length();
+        if (!this.size.isWide()) {
+            this.wideMagnitude = BigInteger.ZERO;
+        }
+    }
+
+    /**
+     * @return the number of digits typed
+     */
+    public int digits() {
+        return this.digits;
+    }
+
+    /**
+     * @return whether there is a minus sign
+     */
+    public boolean isNegative() {
+        return this.negative;
+    }
+
+    /**
+     * @return the value in the word, its low 64 bits for the wide words
+     */
+    public long value() {
+        if (this.size.isWide()) {
+            return bits().longValue();
+        }
+        return this.size.normalize(this.negative ? -this.magnitude : this.magnitude);
+    }
+
+    /**
+     * @return the value on all the bits of the word
+     */
+    public BitVector bits() {
+        if (this.size.isWide()) {
+            return BitVector.valueOf(this.negative ? this.wideMagnitude.negate() : this.wideMagnitude, this.size.bits());
+        }
+        return BitVector.valueOf(value(), this.size.bits());
+    }
+
+    /**
+     * @param target the base of the digits, from 2 to 36
+     * @return the value signed in base 10, otherwise the digits of the bits of the word
+     */
+    public String toString(final int target) {
+        if (this.size.isWide()) {
+            final BitVector bits = bits();
+            return target == DECIMAL ? bits.toString(target) : bits.toUnsignedString(target);
+        }
+        final long value = value();
+        if (target == DECIMAL) {
+            return value < 0 ? "-".concat(ConversionAlgorithms.unsignedConversionToStringBase(DECIMAL, -value))
+                    : ConversionAlgorithms.unsignedConversionToStringBase(DECIMAL, value);
+        }
+        return ConversionAlgorithms.unsignedConversionToStringBase(target, this.size.unsigned(value));
+    }
+
+    /**
+     * @return the value as a decimal number for the engine, signed
+     */
+    @Override
+    public String toString() {
+        return toString(DECIMAL);
+    }
+}
@@ -0,0 +1,527 @@
+package model.programmer;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import utils.CalcException;
+import utils.ConversionAlgorithms;
+
+/**
+ * Integer arithmetic of the programmer calculator on primitive longs, in two's complement on a word of the chosen
+ * size: every result wraps around like the machine would do. Expressions in reverse polish notation are evaluated on
+ * a long stack, so neither strings nor boxed values are created for the intermediate results. Words wider than a long
+ * are evaluated the same way on {@link BitVector}s.
+ * The bit-field operators (counts of bits, reversals) are the methods of Long that the JIT compiler replaces with a
+ * single instruction where the processor has one.
+ */
+public final class ProgrammerEngine {
+
+    private static final String SYNTAX_ERROR = "Syntax error";
+    private static final String DIVISION_BY_ZERO = "Division by zero";
+    private static final int DECIMAL = 10;
+    private static final Set<String> BINARY = Set.of("and", "or", "xor", "nand", "nor", "shiftL", "shiftR", "roL", "roR",
+            "+", "-", "×", "÷", "pext", "pdep");
+    private static final Set<String> UNARY = Set.of("not", "popcnt", "clz", "ctz", "parity", "bitRev", "byteSwap");
+    private static final Map<WordSize, ProgrammerEngine> ENGINES = new EnumMap<>(WordSize.class);
+
+    static {
+        for (final WordSize size : WordSize.values()) {
+            ENGINES.put(size, new ProgrammerEngine(size));
+        }
+    }
+
+    private final WordSize size;
+
+    private ProgrammerEngine(final WordSize size) {
+        this.size = size;
+    }
+
+    /**
+     * @param size the word size
+     * @return the engine working on words of the given size
+     */
+    public static ProgrammerEngine of(final WordSize size) {
+        return ENGINES.get(size);
+    }
+
+    /**
+     * @return the word size of this engine
+     */
+    public WordSize wordSize() {
+        return this.size;
+    }
+
+    /**
+     * @param op the name of an operator
+     * @return whether the engine has a binary operator with this name
+     */
+    public static boolean isBinaryOperator(final String op) {
+        return BINARY.contains(op);
+    }
+
+    /**
+     * @param op the name of an operator
+     * @return whether the engine has a unary operator with this name
+     */
+    public static boolean isUnaryOperator(final String op) {
+        return UNARY.contains(op);
+    }
+
+    /**
+     * @param op the name of the operator
+     * @param a the first operand
+     * @param b the second operand
+     * @return the result of the operation, as a value of the word
+     * @throws ArithmeticException if it divides by zero
+     * @throws IllegalArgumentException if there is no binary operator with this name
+     */
+    public long applyBinary(final String op, final long a, final long b) {
+        final long x = this.size.normalize(a);
+        final long y = this.size.normalize(b);
+        switch (op) {
+        case "and":
+            return x & y;
+        case "or":
+            return x | y;
+        case "xor":
+            return x ^ y;
+        case "nand":
+            return ~(x & y);
+        case "nor":
+            return ~(x | y);
+        case "shiftL":
+            return shiftL(x, y);
+        case "shiftR":
+            return shiftR(x, y);
+        case "roL":
+            return rotateLeft(x, y);
+        case "roR":
+            return rotateLeft(x, -y);
+        case "+":
+            return this.size.normalize(x + y);
+        case "-":
+            return this.size.normalize(x - y);
+        case "×":
+            return this.size.normalize(x * y);
+        case "÷":
+            return this.size.normalize(x / y);
+        case "pext":
+            return extract(x, this.size.unsigned(y));
+        case "pdep":
+            return deposit(x, this.size.unsigned(y));
+        default:
+            throw new IllegalArgumentException("No binary operation " + op);
+        }
+    }
+
+    /**
+     * @param op the name of the operator
+     * @param a the operand
+     * @return the result of the operation, as a value of the word
+     * @throws IllegalArgumentException if there is no unary operator with this name
+     */
+    public long applyUnary(final String op, final long a) {
+        final long x = this.size.normalize(a);
+        /* the bits of a long above the word, moved below it by the reversals */
+        final int unused = Long.SIZE - this.size.bits();
+        switch (op) {
+        case "not":
+            return ~x;
+        case "popcnt":
+            return Long.bitCount(this.size.unsigned(x));
+        case "clz":
+            return Long.numberOfLeadingZeros(this.size.unsigned(x)) - unused;
+        case "ctz":
+            return Math.min(Long.numberOfTrailingZeros(x), this.size.bits());
+        case "parity":
+            return Long.bitCount(this.size.unsigned(x)) & 1;
+        case "bitRev":
+            return Long.reverse(x) >> unused;
+        case "byteSwap":
+            return Long.reverseBytes(x) >> unused;
+        default:
+            throw new IllegalArgumentException("No unary operation " + op);
+        }
+    }
+
+    /**
+     * Gathers the bits of the value under the set bits of the mask into the low bits of the result, like the pext
+     * instruction. Long.compress does the same from Java 19: here the loop runs once per set bit of the mask.
+     */
+    private long extract(final long x, final long mask) {
+        long result = 0;
+        int index = 0;
+        for (long m = mask; m != 0; m &= m - 1, index++) {
+            if ((x & Long.lowestOneBit(m)) != 0) {
+                result |= 1L << index;
+            }
+        }
+        return this.size.normalize(result);
+    }
+
+    /**
+     * Scatters the low bits of the value to the set bits of the mask, like the pdep instruction and Long.expand.
+     */
+    private long deposit(final long x, final long mask) {
+        long result = 0;
+        long bit = 1;
+        for (long m = mask; m != 0; m &= m - 1, bit <<= 1) {
+            if ((x & bit) != 0) {
+                result |= Long.lowestOneBit(m);
+            }
+        }
+        return this.size.normalize(result);
+    }
+
+    /**
+     * Shifts beyond the word leave no bit, as the hardware shifts of a whole register do.
+     */
+    private long shiftL(final long x, final long count) {
+        return count < 0 || count >= this.size.bits() ? 0 : this.size.normalize(x << count);
+    }
+
+    private long shiftR(final long x, final long count) {
+        return count < 0 || count >= this.size.bits() ? x >> (Long.SIZE - 1) : x >> count;
+    }
+
+    private long rotateLeft(final long x, final long count) {
+        final int bits = this.size.bits();
+        final int distance = (int) Math.floorMod(count, (long) bits);
+        if (bits == Long.SIZE) {
+            return Long.rotateLeft(x, distance);
+        }
+        final long unsigned = this.size.unsigned(x);
+        return this.size.normalize(unsigned << distance | unsigned >>> (bits - distance));
+    }
+
+    /**
+     * @param op the name of the operator
+     * @param a the first operand
+     * @param b the second operand, of the same width
+     * @return the result of the operation
+     * @throws ArithmeticException if it divides by zero
+     * @throws IllegalArgumentException if there is no binary operator with this name
+     */
+    public BitVector applyBinary(final String op, final BitVector a, final BitVector b) {
+        switch (op) {
+        case "and":
+            return a.and(b);
+        case "or":
+            return a.or(b);
+        case "xor":
+            return a.xor(b);
+        case "nand":
+            return a.and(b).not();
+        case "nor":
+            return a.or(b).not();
+        case "shiftL":
+            return a.shiftLeft(shiftCount(b));
+        case "shiftR":
+            return a.shiftRight(shiftCount(b));
+        case "roL":
+            return a.rotateLeft(rotation(b));
+        case "roR":
+            return a.rotateRight(rotation(b));
+        case "+":
+            return a.add(b);
+        case "-":
+            return a.subtract(b);
+        case "×":
+            return a.multiply(b);
+        case "÷":
+            return a.divide(b);
+        case "pext":
+            return a.compress(b);
+        case "pdep":
+            return a.expand(b);
+        default:
+            throw new IllegalArgumentException("No binary operation " + op);
+        }
+    }
+
+    /**
+     * @param op the name of the operator
+     * @param a the operand
+     * @return the result of the operation
+     * @throws IllegalArgumentException if there is no unary operator with this name
+     */
+    public BitVector applyUnary(final String op, final BitVector a) {
+        switch (op) {
+        case "not":
+            return a.not();
+        case "popcnt":
+            return BitVector.valueOf(a.bitCount(), a.width());
+        case "clz":
+            return BitVector.valueOf(a.numberOfLeadingZeros(), a.width());
+        case "ctz":
+            return BitVector.valueOf(a.numberOfTrailingZeros(), a.width());
+        case "parity":
+            return BitVector.valueOf(a.bitCount() & 1, a.width());
+        case "bitRev":
+            return a.reverse();
+        case "byteSwap":
+            return a.reverseBytes();
+        default:
+            throw new IllegalArgumentException("No unary operation " + op);
+        }
+    }
+
+    /**
+     * Applies the operator to every pair of elements of the columns, like {@link #applyBinary(String, long, long)}.
+     * The operator is chosen once for the whole columns, and the bitwise ones run in plain loops over the elements that
+     * the JIT compiler turns into vector instructions where the hardware has them.
+     * @param op the name of the operator
+     * @param a the first operands
+     * @param b the second operands
+     * @param result where the results are written, it can be one of the operands
+     * @throws ArithmeticException if it divides by zero
+     * @throws IllegalArgumentException if there is no binary operator with this name, the columns have different
+     * lengths or the word is wider than a long
+     */
+    public void applyBinary(final String op, final long[] a, final long[] b, final long[] result) {
+        checkColumns(a, result);
+        checkColumns(b, result);
+        /* the low bits of the bitwise operations depend only on the low bits of the operands */
+        final int s = Long.SIZE - this.size.bits();
+        switch (op) {
+        case "and":
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (a[i] & b[i]) << s >> s;
+            }
+            return;
+        case "or":
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (a[i] | b[i]) << s >> s;
+            }
+            return;
+        case "xor":
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (a[i] ^ b[i]) << s >> s;
+            }
+            return;
+        case "nand":
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ~(a[i] & b[i]) << s >> s;
+            }
+            return;
+        case "nor":
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ~(a[i] | b[i]) << s >> s;
+            }
+            return;
+        default:
+            for (int i = 0; i < result.length; i++) {
+                result[i] = applyBinary(op, a[i], b[i]);
+            }
+        }
+    }
+
+    /**
+     * Applies the operator to every element of the column with the same second operand, e.g. to shift all of them by
+     * the same count.
+     * @param op the name of the operator
+     * @param a the first operands
+     * @param b the second operand of every element
+     * @param result where the results are written, it can be the first operands
+     * @throws ArithmeticException if it divides by zero
+     * @throws IllegalArgumentException if there is no binary operator with this name, the columns have different
+     * lengths or the word is wider than a long
+     */
+    public void applyBinary(final String op, final long[] a, final long b, final long[] result) {
+        checkColumns(a, result);
+        final int bits = this.size.bits();
+        final int s = Long.SIZE - bits;
+        final long count = this.size.normalize(b);
+        switch (op) {
+        case "shiftL":
+            if (count < 0 || count >= bits) {
+                Arrays.fill(result, 0);
+                return;
+            }
+            for (int i = 0; i < result.length; i++) {
+                result[i] = a[i] << count << s >> s;
+            }
+            return;
+        case "shiftR":
+            final long shift = count < 0 || count >= bits ? Long.SIZE - 1 : count;
+            for (int i = 0; i < result.length; i++) {
+                result[i] = a[i] << s >> s >> shift;
+            }
+            return;
+        case "roL":
+        case "roR":
+            rotateLeft(a, "roL".equals(op) ? count : -count, result);
+            return;
+        default:
+            final long[] column = new long[a.length];
+            Arrays.fill(column, b);
+            applyBinary(op, a, column, result);
+        }
+    }
+
+    private void rotateLeft(final long[] a, final long count, final long[] result) {
+        final int bits = this.size.bits();
+        final int distance = (int) Math.floorMod(count, (long) bits);
+        if (bits == Long.SIZE) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Long.rotateLeft(a[i], distance);
+            }
+            return;
+        }
+        final int s = Long.SIZE - bits;
+        final long mask = this.size.mask();
+        for (int i = 0; i < result.length; i++) {
+            final long unsigned = a[i] & mask;
+            result[i] = (unsigned << distance | unsigned >>> (bits - distance)) << s >> s;
+        }
+    }
+
+    /**
+     * Applies the operator to every element of the column, like {@link #applyUnary(String, long)}.
+     * @param op the name of the operator
+     * @param a the operands
+     * @param result where the results are written, it can be the operands
+     * @throws IllegalArgumentException if there is no unary operator with this name, the columns have different
+     * lengths or the word is wider than a long
+     */
+    public void applyUnary(final String op, final long[] a, final long[] result) {
+        checkColumns(a, result);
+        if ("not".equals(op)) {
+            final int s = Long.SIZE - this.size.bits();
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ~a[i] << s >> s;
+            }
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = applyUnary(op, a[i]);
+        }
+    }
+
+    private void checkColumns(final long[] column, final long[] result) {
+        if (this.size.isWide()) {
+            throw new IllegalArgumentException("Columns hold words up to " + Long.SIZE + " bits");
+        }
+        if (column.length != result.length) {
+            throw new IllegalArgumentException("Columns of different lengths");
+        }
+    }
+
+    /**
+     * Negative counts shift every bit out, like the ones beyond the word.
+     */
+    private static int shiftCount(final BitVector count) {
+        return count.isNegative() || count.width() - count.numberOfLeadingZeros() >= Integer.SIZE ? Integer.MAX_VALUE
+                : (int) count.longValue();
+    }
+
+    private static long rotation(final BitVector count) {
+        return count.toBigInteger().mod(BigInteger.valueOf(count.width())).longValue();
+    }
+
+    /**
+     * @param rpn an expression in reverse polish notation, whose numbers are decimal integers, signed or unsigned
+     * @param base the base of the result, from 2 to 36
+     * @return the value of the expression in the word: signed in base 10, the unsigned bits of the word otherwise
+     * @throws CalcException if the expression is malformed or divides by zero
+     */
+    public String evaluate(final List<String> rpn, final int base) throws CalcException {
+        if (this.size.isWide()) {
+            final BitVector result = evaluateBits(rpn);
+            return base == DECIMAL ? result.toString(base) : result.toUnsignedString(base);
+        }
+        final long result = evaluate(rpn);
+        if (base == DECIMAL) {
+            return String.valueOf(result);
+        }
+        return ConversionAlgorithms.unsignedConversionToStringBase(base, this.size.unsigned(result));
+    }
+
+    /**
+     * @param rpn an expression in reverse polish notation, whose numbers are decimal integers, signed or unsigned
+     * @return the value of the expression in the word, as wide as the word
+     * @throws CalcException if the expression is malformed or divides by zero
+     */
+    public BitVector evaluateBits(final List<String> rpn) throws CalcException {
+        final BitVector[] stack = new BitVector[rpn.size()];
+        int top = 0;
+        for (final String token : rpn) {
+            if (isBinaryOperator(token)) {
+                if (top < 2) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+                top--;
+                try {
+                    stack[top - 1] = applyBinary(token, stack[top - 1], stack[top]);
+                } catch (final ArithmeticException e) {
+                    throw new CalcException(DIVISION_BY_ZERO);
+                }
+            } else if (isUnaryOperator(token)) {
+                if (top < 1) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+                stack[top - 1] = applyUnary(token, stack[top - 1]);
+            } else {
+                try {
+                    stack[top++] = BitVector.parse(token, DECIMAL, this.size.bits());
+                } catch (final NumberFormatException e) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+            }
+        }
+        if (top != 1) {
+            throw new CalcException(SYNTAX_ERROR);
+        }
+        return stack[0];
+    }
+
+    /**
+     * @param rpn an expression in reverse polish notation, whose numbers are decimal integers, signed or up to 2^64 - 1
+     * @return the value of the expression in the word, its low 64 bits for the wide words
+     * @throws CalcException if the expression is malformed or divides by zero
+     */
+    public long evaluate(final List<String> rpn) throws CalcException {
+        if (this.size.isWide()) {
+            return evaluateBits(rpn).longValue();
+        }
+        final long[] stack = new long[rpn.size()];
+        int top = 0;
+        for (final String token : rpn) {
+            if (isBinaryOperator(token)) {
+                if (top < 2) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+                top--;
+                try {
+                    stack[top - 1] = applyBinary(token, stack[top - 1], stack[top]);
+                } catch (final ArithmeticException e) {
+                    throw new CalcException(DIVISION_BY_ZERO);
+                }
+            } else if (isUnaryOperator(token)) {
+                if (top < 1) {
+                    throw new CalcException(SYNTAX_ERROR);
+                }
+                stack[top - 1] = applyUnary(token, stack[top - 1]);
+            } else {
+                stack[top++] = this.size.normalize(parse(token));
+            }
+        }
+        if (top != 1) {
+            throw new CalcException(SYNTAX_ERROR);
+        }
+        return stack[0];
+    }
+
+    private static long parse(final String token) throws CalcException {
+        try {
+            return token.startsWith("-") ? ConversionAlgorithms.conversionToDecimal(DECIMAL, token)
+                    : ConversionAlgorithms.unsignedConversionToDecimal(DECIMAL, token);
+        } catch (final NumberFormatException e) {
+            throw new CalcException(SYNTAX_ERROR);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package model.programmer;
+
+/**
+ * The word sizes of the programmer calculator. Values of a word up to 64 bits are kept in a long as their two's
+ * complement signed value, sign-extended from the top bit of the word; wider ones are {@link BitVector}s.
+ */
+public enum WordSize {
+
+    /**
+     * 8 bits.
+     */
+    BYTE(8),
+    /**
+     * 16 bits.
+     */
+    WORD(16),
+    /**
+     * 32 bits.
+     */
+    DWORD(32),
+    /**
+     * 64 bits, the default.
+     */
+    QWORD(64),
+    /**
+     * 128 bits.
+     */
+    DQWORD(128),
+    /**
+     * 256 bits.
+     */
+    QQWORD(256);
+
+    private final int bits;
+    private final long mask;
+
+    WordSize(final int bits) {
+        this.bits = bits;
+        this.mask = bits < Long.SIZE ? -1L >>> (Long.SIZE - bits) : -1L;
+    }
+
+    /**
+     * @return the number of bits of the word
+     */
+    public int bits() {
+        return this.bits;
+    }
+
+    /**
+     * @return whether the values of the word don't fit in a long
+     */
+    public boolean isWide() {
+        return this.bits > Long.SIZE;
+    }
+
+    /**
+     * @return a long with the bits of the word set, all of them for the wide words
+     */
+    public long mask() {
+        return this.mask;
+    }
+
+    /**
+     * @param value any long
+     * @return the signed value of the low bits of the given one in this word, the same value for the wide words
+     */
+    public long normalize(final long value) {
+        if (this.bits >= Long.SIZE) {
+            return value;
+        }
+        final int shift = Long.SIZE - this.bits;
+        return value << shift >> shift;
+    }
+
+    /**
+     * @param value a value of this word, up to 64 bits
+     * @return the bits of the value as an unsigned number, e.g. 255 for -1 in a byte
+     */
+    public long unsigned(final long value) {
+        return value & this.mask;
+    }
+
+    /**
+     * @return the next word size, from the smallest after the biggest
+     */
+    public WordSize next() {
+        final WordSize[] sizes = values();
+        return sizes[(ordinal() + 1) % sizes.length];
+    }
+}
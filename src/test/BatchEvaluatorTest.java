@@ -0,0 +1,84 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import controller.batch.BatchEvaluator;
+import controller.batch.BatchRecord;
+import controller.batch.BatchResult;
+import controller.batch.CCBatchEvaluator;
+import model.manager.EngineModelInterface.Calculator;
+
+/**
+ * Test class for the headless batch evaluation.
+ */
+public class BatchEvaluatorTest {
+
+    private final BatchEvaluator evaluator = new CCBatchEvaluator(2, 4);
+
+    /**
+     * Records are evaluated with the engine of their calculator.
+     */
+    @org.junit.Test
+    public void testSingleRecords() {
+        assertEquals("14", this.evaluator.evaluate(new BatchRecord(1, Calculator.STANDARD, "2+3×4")).getValue());
+        assertEquals("4", this.evaluator.evaluate(new BatchRecord(2, Calculator.STANDARD, "-2×(3-5)")).getValue());
+        assertEquals("8", this.evaluator.evaluate(new BatchRecord(3, Calculator.PROGRAMMER, "12 and 10")).getValue());
+        assertEquals("44", this.evaluator.evaluate(new BatchRecord(4, Calculator.COMBINATORICS, "5 derangement")).getValue());
+        assertTrue(this.evaluator.evaluate(new BatchRecord(5, Calculator.STANDARD, "(1+2")).isError());
+    }
+
+    /**
+     * Records with a precision are evaluated in arbitrary precision, except on the ADVANCED calculator.
+     */
+    @org.junit.Test
+    public void testPrecision() {
+        final MathContext mc = new MathContext(30);
+        assertEquals("0.333333333333333333333333333333",
+                this.evaluator.evaluate(new BatchRecord(1, Calculator.STANDARD, "1÷3").withPrecision(mc)).getValue());
+        assertEquals("1.41421356237309504880168872421",
+                this.evaluator.evaluate(new BatchRecord(2, Calculator.SCIENTIFIC, "√(2)").withPrecision(mc)).getValue());
+        assertTrue(this.evaluator.evaluate(new BatchRecord(3, Calculator.PROGRAMMER, "12 and 10").withPrecision(mc)).isError());
+        assertTrue(this.evaluator.evaluate(new BatchRecord(4, Calculator.ADVANCED, "1÷3").withPrecision(mc)).isError());
+    }
+
+    /**
+     * Lines are parsed, ADVANCED records run their algorithm and results keep the input order.
+     */
+    @org.junit.Test
+    public void testLines() {
+        final List<BatchResult> results = new ArrayList<>();
+        this.evaluator.evaluateLines(Stream.of(
+                "SCIENTIFIC\t2^10",
+                "# comment",
+                "ADVANCED.DERIVATE\tsin(x)",
+                "ADVANCED.INTEGRATE\t2\t0\t3",
+                "UNKNOWN\t1"), results::add);
+        assertEquals(4, results.size());
+        assertEquals("1\tOK\t1024", results.get(0).toString());
+        assertEquals("cos(x)", results.get(1).getValue());
+        assertEquals("6", results.get(2).getValue());
+        assertEquals(5, results.get(3).getIndex());
+        assertTrue(results.get(3).isError());
+    }
+
+    /**
+     * More records than the window still come back in order.
+     */
+    @org.junit.Test
+    public void testOrder() {
+        final List<BatchResult> results = new ArrayList<>();
+        this.evaluator.evaluate(LongStream.range(0, 100).mapToObj(i -> new BatchRecord(i, Calculator.STANDARD, i + "+1")), results::add);
+        assertEquals(100, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(String.valueOf(i + 1), results.get(i).getValue());
+        }
+    }
+}
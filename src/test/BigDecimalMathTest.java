@@ -0,0 +1,101 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+
+import controller.manager.CCEngine;
+import model.manager.EngineModelInterface.Calculator;
+import utils.BigDecimalMath;
+import utils.CalcException;
+import utils.ast.Operation;
+import utils.ast.OperationsFactory;
+
+/**
+ * Test class for the arbitrary precision functions and evaluations.
+ */
+public class BigDecimalMathTest {
+
+    private static final MathContext MC = new MathContext(50);
+
+    private static BigDecimal num(final String value) {
+        return new BigDecimal(value);
+    }
+
+    /**
+     * The constants and the functions are correct to every digit of the precision.
+     */
+    @org.junit.Test
+    public void functionsTest() {
+        assertEquals(num("3.1415926535897932384626433832795028841971693993751"), BigDecimalMath.pi(MC));
+        assertEquals(num("2.7182818284590452353602874713526624977572470937000"), BigDecimalMath.e(MC));
+        assertEquals(num("0.69314718055994530941723212145817656807550013436026"), BigDecimalMath.ln2(MC));
+        assertEquals(num("1.4142135623730950488016887242096980785696718753769"), BigDecimalMath.sqrt(num("2"), MC));
+        assertEquals(BigDecimalMath.e(MC), BigDecimalMath.exp(BigDecimal.ONE, MC));
+        assertEquals(num("-690.77552789821370520539743640530926228033044658863"), BigDecimalMath.ln(num("1E-300"), MC));
+        assertEquals(num("2.3025850929940456840179914546843642076011014886288"), BigDecimalMath.ln(BigDecimal.TEN, MC));
+        assertEquals(num("230258506.99681947540775346145044496607574594126178"), BigDecimalMath.ln(num("1E99999999"), MC));
+        assertEquals(num("-4605170185.9880913680359829093687284152022029772575"), BigDecimalMath.ln(num("1E-2000000000"), MC));
+        assertEquals(num("2302582.7904089526899723074366929095232368938875273"), BigDecimalMath.ln(num("1E999999"), MC));
+        assertEquals(num("-1.0000000000000000000000000000000000000000000000000E-50"),
+                BigDecimalMath.ln(num("0." + "9".repeat(50)), MC));
+        assertEquals(num("-1.0000000000000000000000000000000000000000500000000E-40"),
+                BigDecimalMath.ln(BigDecimal.ONE.subtract(num("1E-40")), MC));
+        assertEquals(num("1.9700711140170469938888793522433231253169379853238E+434"),
+                BigDecimalMath.exp(num("1000"), MC));
+        assertEquals(num("-0.98999249660044545727157279473126130239367909661559"), BigDecimalMath.cos(num("-3"), MC));
+        assertEquals(num("-0.50636564110975879365655761045978543206503272129066"), BigDecimalMath.sin(num("100"), MC));
+        assertEquals(num("5.8209749445923078164062862089986280348253421170680E-51"), BigDecimalMath.sin(BigDecimalMath.pi(MC), MC));
+        assertEquals(num("-21236151030692384854558538473739128298113204417314"),
+                BigDecimalMath.tan(BigDecimalMath.pi(MC).divide(num("2"), MC), MC));
+        assertEquals(num("0.52359877559829887307710723054658381403286156656252"), BigDecimalMath.asin(num("0.5"), MC));
+        assertEquals(BigDecimalMath.pi(MC), BigDecimalMath.acos(num("-1"), MC));
+        assertEquals(BigDecimalMath.pi(MC).divide(num("4"), MC), BigDecimalMath.atan(BigDecimal.ONE, MC));
+        assertEquals(num("0.125"), BigDecimalMath.pow(num("2"), num("-3"), MC));
+        assertEquals(BigDecimalMath.sqrt(num("2"), MC), BigDecimalMath.pow(num("2"), num("0.5"), MC));
+        assertEquals(num("3"), BigDecimalMath.log(num("1000"), num("10"), MC).round(new MathContext(40)).stripTrailingZeros());
+        assertThrows(ArithmeticException.class, () -> BigDecimalMath.ln(BigDecimal.ZERO, MC));
+        assertThrows(ArithmeticException.class, () -> BigDecimalMath.sqrt(num("-1"), MC));
+        assertThrows(ArithmeticException.class, () -> BigDecimalMath.pow(num("-2"), num("0.5"), MC));
+        assertThrows(IllegalArgumentException.class, () -> BigDecimalMath.exp(BigDecimal.ONE, MathContext.UNLIMITED));
+    }
+
+    /**
+     * A higher precision than the cached one computes the constants again, a lower one rounds them.
+     */
+    @org.junit.Test
+    public void cacheTest() {
+        final String pi = BigDecimalMath.pi(new MathContext(1000)).toString();
+        assertEquals("3.14159", pi.substring(0, 7));
+        assertEquals("216420199", pi.substring(pi.length() - 9));
+        assertEquals(num("3.14"), BigDecimalMath.pi(new MathContext(3)));
+    }
+
+    /**
+     * The engine and the expression trees evaluate in arbitrary precision.
+     */
+    @org.junit.Test
+    public void evaluationTest() throws CalcException {
+        final MathContext mc = new MathContext(60);
+        final CCEngine engine = new CCEngine(Calculator.SCIENTIFIC.getController());
+        assertEquals(BigDecimal.ONE.divide(num("3"), mc), engine.calculate(List.of("1", "÷", "3"), mc));
+        assertEquals(num("0.3"), engine.calculate(List.of("0", ".", "1", "+", "0", ".", "2"), mc));
+        assertEquals(BigDecimalMath.sqrt(num("2"), mc), engine.calculate(List.of("√", "(", "2", ")"), mc));
+        assertEquals(num("120"), engine.calculate(List.of("factorial", "(", "5", ")"), mc));
+        assertEquals(num("1024"), engine.calculate(List.of("2", "^", "1", "0"), mc));
+        assertThrows(CalcException.class, () -> engine.calculate(List.of("1", "÷", "0"), mc));
+        assertThrows(CalcException.class, () -> engine.calculate(List.of("ln", "(", "0", ")"), mc));
+        final CCEngine programmer = new CCEngine(Calculator.PROGRAMMER.getController());
+        assertThrows(CalcException.class, () -> programmer.calculate(List.of("1", "and", "3"), mc));
+        final Operation sinSquared = OperationsFactory.pow(OperationsFactory.sin(OperationsFactory.simpleVar()),
+                OperationsFactory.constant("2"));
+        final Operation one = OperationsFactory.addition(sinSquared,
+                OperationsFactory.pow(OperationsFactory.cos(OperationsFactory.simpleVar()), OperationsFactory.constant("2")));
+        assertEquals(BigDecimal.ONE, one.getNumericResult(num("0.7"), MC).round(new MathContext(45)).stripTrailingZeros());
+        assertEquals(BigDecimalMath.pi(MC).negate(),
+                OperationsFactory.negate(OperationsFactory.pi()).getNumericResult(BigDecimal.ZERO, MC));
+    }
+}
@@ -0,0 +1,159 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import model.programmer.BitVector;
+import model.programmer.ProgrammerEngine;
+import model.programmer.WordSize;
+import utils.CalcException;
+
+/**
+ * Test class for the bit vectors of the wide words, against the same operations on big integers.
+ */
+public class BitVectorTest {
+
+    private static final int[] WIDTHS = {1, 7, 64, 65, 100, 128, 200, 256, 1000};
+
+    private static BigInteger wrap(final BigInteger value, final int width) {
+        final BigInteger modulus = BigInteger.ONE.shiftLeft(width);
+        final BigInteger unsigned = value.mod(modulus);
+        return unsigned.testBit(width - 1) ? unsigned.subtract(modulus) : unsigned;
+    }
+
+    /**
+     * Bitwise operations, shifts, rotations, counts and arithmetic wrap around the width like the big integers do
+     * modulo 2^width.
+     */
+    @org.junit.Test
+    public void operationsTest() {
+        final Random random = new Random(42);
+        for (final int width : WIDTHS) {
+            for (int test = 0; test < 50; test++) {
+                final BigInteger x = wrap(new BigInteger(width + 10, random), width);
+                final BigInteger y = wrap(new BigInteger(width + 10, random), width);
+                final BitVector a = BitVector.valueOf(x, width);
+                final BitVector b = BitVector.valueOf(y, width);
+                final int count = random.nextInt(width + 2);
+                assertEquals(x, a.toBigInteger());
+                assertEquals(x.and(y), a.and(b).toBigInteger());
+                assertEquals(x.or(y), a.or(b).toBigInteger());
+                assertEquals(x.xor(y), a.xor(b).toBigInteger());
+                assertEquals(x.not(), a.not().toBigInteger());
+                assertEquals(wrap(x.shiftLeft(count), width), a.shiftLeft(count).toBigInteger());
+                assertEquals(x.shiftRight(count), a.shiftRight(count).toBigInteger());
+                final BigInteger unsigned = a.toUnsignedBigInteger();
+                final int distance = count % width;
+                assertEquals(wrap(unsigned.shiftLeft(distance).or(unsigned.shiftRight(width - distance)), width),
+                        a.rotateLeft(count).toBigInteger());
+                assertEquals(a, a.rotateLeft(count).rotateRight(count));
+                assertEquals(unsigned.bitCount(), a.bitCount());
+                assertEquals(width - unsigned.bitLength(), a.numberOfLeadingZeros());
+                assertEquals(x.signum() == 0 ? width : x.getLowestSetBit(), a.numberOfTrailingZeros());
+                assertEquals(wrap(x.add(y), width), a.add(b).toBigInteger());
+                assertEquals(wrap(x.subtract(y), width), a.subtract(b).toBigInteger());
+                assertEquals(wrap(x.multiply(y), width), a.multiply(b).toBigInteger());
+                if (y.signum() != 0) {
+                    assertEquals(wrap(x.divide(y), width), a.divide(b).toBigInteger());
+                }
+            }
+        }
+        assertEquals(-1L, BitVector.valueOf(-1L, 128).shiftRight(500).longValue());
+    }
+
+    /**
+     * Conversions to and from digits agree with the big integers in every base.
+     */
+    @org.junit.Test
+    public void conversionTest() {
+        final Random random = new Random(7);
+        for (final int width : WIDTHS) {
+            for (int base = Character.MIN_RADIX; base <= Character.MAX_RADIX; base++) {
+                final BigInteger x = wrap(new BigInteger(width, random), width);
+                final BitVector a = BitVector.valueOf(x, width);
+                final String signed = x.toString(base).toUpperCase(Locale.ROOT);
+                final String unsigned = a.toUnsignedBigInteger().toString(base).toUpperCase(Locale.ROOT);
+                assertEquals(signed, a.toString(base));
+                assertEquals(unsigned, a.toUnsignedString(base));
+                assertEquals(a, BitVector.parse(signed, base, width));
+                assertEquals(a, BitVector.parse(unsigned.toLowerCase(Locale.ROOT), base, width));
+            }
+        }
+        final String digits = "9".repeat(5000);
+        assertEquals(new BigInteger(digits), BitVector.parse(digits, 10, 20_000).toBigInteger());
+        assertEquals(digits, BitVector.parse(digits, 10, 20_000).toString(10));
+        assertEquals("0", BitVector.valueOf(0, 300).toUnsignedString(16));
+        assertThrows(NumberFormatException.class, () -> BitVector.parse("1" + "0".repeat(128), 2, 128));
+        assertThrows(NumberFormatException.class, () -> BitVector.parse("12G", 16, 128));
+        assertEquals(BitVector.valueOf(BigInteger.ONE.shiftLeft(127).negate(), 128),
+                BitVector.parse("-1" + "0".repeat(127), 2, 128));
+    }
+
+    /**
+     * The programmer engine evaluates the wide words on bit vectors.
+     */
+    @org.junit.Test
+    public void engineTest() throws CalcException {
+        final ProgrammerEngine dqword = ProgrammerEngine.of(WordSize.DQWORD);
+        final String max = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE).toString();
+        assertEquals("-1", dqword.evaluate(List.of(max), 10));
+        assertEquals("F".repeat(32), dqword.evaluate(List.of("-1"), 16));
+        assertEquals("1" + "0".repeat(100), dqword.evaluate(List.of("1", "100", "shiftL"), 2));
+        assertEquals(BigInteger.ONE.shiftLeft(127).negate().toString(),
+                dqword.evaluate(List.of("1", "1", "roR"), 10));
+        assertEquals(BigInteger.TEN.pow(30).toString(), dqword.evaluate(List.of("1000000000000000", "1000000000000000", "×"), 10));
+        assertEquals("0", ProgrammerEngine.of(WordSize.QQWORD).evaluate(List.of("5", "not", "5", "and"), 10));
+        assertThrows(CalcException.class, () -> dqword.evaluate(List.of("1", "0", "÷"), 10));
+    }
+
+    /**
+     * Reversals, packing and counts of the bit fields agree with the same operations on single bits.
+     */
+    @org.junit.Test
+    public void bitFieldTest() {
+        final Random random = new Random(11);
+        for (final int width : new int[] {8, 64, 72, 128, 256}) {
+            final BigInteger x = new BigInteger(width, random);
+            final BigInteger mask = new BigInteger(width, random);
+            final BitVector a = BitVector.valueOf(x, width);
+            final BitVector m = BitVector.valueOf(mask, width);
+            BigInteger reversed = BigInteger.ZERO;
+            BigInteger swapped = BigInteger.ZERO;
+            BigInteger compressed = BigInteger.ZERO;
+            BigInteger expanded = BigInteger.ZERO;
+            int index = 0;
+            for (int i = 0; i < width; i++) {
+                if (x.testBit(i)) {
+                    reversed = reversed.setBit(width - 1 - i);
+                    swapped = swapped.setBit((width / 8 - 1 - i / 8) * 8 + i % 8);
+                }
+                if (mask.testBit(i)) {
+                    if (x.testBit(i)) {
+                        compressed = compressed.setBit(index);
+                    }
+                    if (x.testBit(index)) {
+                        expanded = expanded.setBit(i);
+                    }
+                    index++;
+                }
+            }
+            assertEquals(reversed, a.reverse().toUnsignedBigInteger());
+            assertEquals(swapped, a.reverseBytes().toUnsignedBigInteger());
+            assertEquals(compressed, a.compress(m).toUnsignedBigInteger());
+            assertEquals(expanded, a.expand(m).toUnsignedBigInteger());
+            assertEquals(a, a.reverse().reverse());
+        }
+        final ProgrammerEngine dqword = ProgrammerEngine.of(WordSize.DQWORD);
+        final BitVector one = BitVector.valueOf(1, 128);
+        assertEquals(BitVector.valueOf(127, 128), dqword.applyUnary("clz", one));
+        assertEquals(BitVector.valueOf(128, 128), dqword.applyUnary("popcnt", one.negate()));
+        assertEquals(BitVector.valueOf(BigInteger.ONE.shiftLeft(127), 128), dqword.applyUnary("bitRev", one));
+        assertEquals(BitVector.valueOf(BigInteger.ONE.shiftLeft(120), 128), dqword.applyUnary("byteSwap", one));
+        assertThrows(IllegalArgumentException.class, () -> BitVector.valueOf(1, 7).reverseBytes());
+    }
+}
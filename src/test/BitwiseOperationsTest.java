@@ -1,8 +1,15 @@
 package test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
 import model.calculators.CalculatorModel;
 import model.calculators.ProgrammerCalculatorModelFactory;
+import model.programmer.ProgrammerEngine;
+import model.programmer.WordSize;
+import utils.CalcException;
 import utils.ConversionAlgorithms;
 /**
  * 
@@ -12,6 +19,7 @@ import utils.ConversionAlgorithms;
 public class BitwiseOperationsTest {
     final private static double TOLERANCE = 0.01;
     final private CalculatorModel calculator = ProgrammerCalculatorModelFactory.create();
+    final private CalculatorModel byteCalculator = ProgrammerCalculatorModelFactory.create(WordSize.BYTE);
     private String addLeadingZerosToByte(String stringBits) {
         //1100 = -4 0100 = 4        1.0000.0100 = -4 0.0000.0100 = 4
         final var sign = stringBits.charAt(0);
@@ -30,15 +38,17 @@ public class BitwiseOperationsTest {
         assertTrue("-00000100".equals(this.addLeadingZerosToByte(ConversionAlgorithms.conversionToStringBase(2, -4))));
     }
     /**
-     * Test for "not" operation.
+     * Test for "not" operation, in two's complement.
      */
     @org.junit.Test
     public void testNot() {
         final var op = this.calculator.getUnaryOpMap().get("not");
-        assertEquals("-11111011", ConversionAlgorithms.conversionToStringBase(2, (long) op.apply(-4.0)));
-        assertEquals("+11111011", ConversionAlgorithms.conversionToStringBase(2, (long) op.apply(4.0)));
-        assertEquals("+11111111", ConversionAlgorithms.conversionToStringBase(2, (long) op.apply(0.0)));
-
+        assertEquals(3, op.apply(-4.0), TOLERANCE);
+        assertEquals(-5, op.apply(4.0), TOLERANCE);
+        assertEquals(-1, op.apply(0.0), TOLERANCE);
+        final var byteOp = this.byteCalculator.getUnaryOpMap().get("not");
+        assertEquals("11111011", Long.toBinaryString(WordSize.BYTE.unsigned((long) byteOp.apply(4.0))));
+        assertEquals("11111111", Long.toBinaryString(WordSize.BYTE.unsigned((long) byteOp.apply(0.0))));
     }
     /**
      * Test for "and" operation.
@@ -78,9 +88,9 @@ public class BitwiseOperationsTest {
         assertEquals(0.0, op.apply(32.0, 32.0), TOLERANCE);
         //(100001 33 xor 100000 32) = 000001 1
         assertEquals(1.0, op.apply(33.0, 32.0), TOLERANCE);
-        //(11111 31 xor 11100000 0) = 11111111 255
+        //(11111 31 xor 1...100000 -32) = 1...111111 -1
         final var not = this.calculator.getUnaryOpMap().get("not");
-        assertEquals(255.0, op.apply(31.0, not.apply(31)), TOLERANCE); 
+        assertEquals(-1, op.apply(31.0, not.apply(31)), TOLERANCE);
     }
     @org.junit.Test
     public void testShiftL() {
@@ -106,29 +116,82 @@ public class BitwiseOperationsTest {
     }
     @org.junit.Test
     public void testroR() {
-        final var op = this.calculator.getBinaryOpMap().get("roR");
-
-        assertEquals(-64 - 32 - 1, op.apply(-11, 3), TOLERANCE);
+        final var op = this.byteCalculator.getBinaryOpMap().get("roR");
+        //11110101 -11 = 10111110 -66
+        assertEquals(-66, op.apply(-11, 3), TOLERANCE);
         assertEquals(-11, op.apply(-11, 0), TOLERANCE);
-        // -1011,1 = - (1)(101) = -13 
-        assertEquals(-128 - 4 - 1, op.apply(-11, 1), TOLERANCE);
-        assertEquals(-128 - 4 - 1, op.apply(-11, 9), TOLERANCE);
+        //11110101 -11 = 11111010 -6
+        assertEquals(-6, op.apply(-11, 1), TOLERANCE);
+        assertEquals(-6, op.apply(-11, 9), TOLERANCE);
+        assertEquals(Long.rotateRight(-11, 3), ProgrammerEngine.of(WordSize.QWORD).applyBinary("roR", -11, 3));
     }
     @org.junit.Test
     public void testroL() {
         final var op = this.calculator.getBinaryOpMap().get("roL");
         assertEquals(88, op.apply(11, 3), TOLERANCE);
+        //00001011 11 = 01100001 97 in a byte
+        assertEquals(97, this.byteCalculator.getBinaryOpMap().get("roL").apply(11, 5), TOLERANCE);
     }
     @org.junit.Test
     public void testNor() {
         final var op = this.calculator.getBinaryOpMap().get("nor");
-        //10111 or 01111 = 11111 = (111)00000
-        assertEquals(128 + 64 + 32, op.apply(23,15) , TOLERANCE);
+        //10111 or 01111 = 11111 = 1...1(111)00000
+        assertEquals(-32, op.apply(23, 15), TOLERANCE);
+        assertEquals(128 + 64 + 32, WordSize.BYTE.unsigned((long) op.apply(23, 15)));
     }
     @org.junit.Test
     public void testNand() {
         final var op = this.calculator.getBinaryOpMap().get("nand");
-        //10111 and 01111 = 00111 (111)11000
-        assertEquals(255 - 7, op.apply(23, 15), TOLERANCE);
+        //10111 and 01111 = 00111 1...1(111)11000
+        assertEquals(-8, op.apply(23, 15), TOLERANCE);
+        assertEquals(255 - 7, WordSize.BYTE.unsigned((long) op.apply(23, 15)));
+    }
+    /**
+     * The engine is exact over 64 bits and wraps around the word like the hardware.
+     */
+    @org.junit.Test
+    public void testEngine() throws CalcException {
+        final var qword = ProgrammerEngine.of(WordSize.QWORD);
+        assertEquals(-1L, qword.evaluate(List.of("18446744073709551615")));
+        assertEquals(Long.MIN_VALUE, qword.evaluate(List.of("9223372036854775807", "1", "+")));
+        assertEquals(0x7FFF_FFFF_FFFF_FFFEL, qword.evaluate(List.of("9223372036854775807", "2", "×")) + Long.MIN_VALUE);
+        assertEquals(-3L, qword.evaluate(List.of("-7", "2", "÷")));
+        assertEquals(0L, qword.applyBinary("shiftL", 1, 64));
+        assertEquals(-1L, qword.applyBinary("shiftR", -8, 70));
+        final var word = ProgrammerEngine.of(WordSize.WORD);
+        assertEquals(Short.MIN_VALUE, word.evaluate(List.of("32767", "1", "+")));
+        assertEquals(0x1234, word.applyBinary("roL", 0x3412, 8));
+        assertEquals(-2L, ProgrammerEngine.of(WordSize.DWORD).applyBinary("shiftL", Integer.MAX_VALUE, 1));
+        assertEquals(-128L, ProgrammerEngine.of(WordSize.BYTE).evaluate(List.of("-128", "-1", "÷")));
+        assertThrows(CalcException.class, () -> qword.evaluate(List.of("1", "0", "÷")));
+        assertThrows(CalcException.class, () -> qword.evaluate(List.of("1", "and")));
+    }
+    /**
+     * Bit-field operators count and move the bits of the word, not the ones of the long.
+     */
+    @org.junit.Test
+    public void testBitFields() throws CalcException {
+        final var qword = ProgrammerEngine.of(WordSize.QWORD);
+        final var byteEngine = ProgrammerEngine.of(WordSize.BYTE);
+        assertEquals(64L, qword.applyUnary("popcnt", -1));
+        assertEquals(8L, byteEngine.applyUnary("popcnt", -1));
+        assertEquals(63L, qword.applyUnary("clz", 1));
+        assertEquals(7L, byteEngine.applyUnary("clz", 1));
+        assertEquals(8L, byteEngine.applyUnary("clz", 0));
+        assertEquals(8L, byteEngine.applyUnary("ctz", 0));
+        assertEquals(64L, qword.applyUnary("ctz", 0));
+        assertEquals(3L, qword.applyUnary("ctz", 40));
+        assertEquals(1L, qword.applyUnary("parity", 7));
+        assertEquals(0L, byteEngine.applyUnary("parity", -1));
+        assertEquals(Long.MIN_VALUE, qword.applyUnary("bitRev", 1));
+        assertEquals(-128L, byteEngine.applyUnary("bitRev", 1));
+        assertEquals(0x3412L, ProgrammerEngine.of(WordSize.WORD).applyUnary("byteSwap", 0x1234));
+        assertEquals(0x78563412L, ProgrammerEngine.of(WordSize.DWORD).applyUnary("byteSwap", 0x12345678));
+        assertEquals(0b1011L, qword.applyBinary("pext", 0b1_0100_0001, 0b1_1100_0001));
+        assertEquals(0b1_0100_0001L, qword.applyBinary("pdep", 0b1011, 0b1_1100_0001));
+        assertEquals(-1L, byteEngine.applyBinary("pdep", -1, 0xFF));
+        assertEquals(6L, qword.evaluate(List.of("12345", "popcnt")));
+        assertEquals(3.0, this.calculator.getUnaryOpMap().get("popcnt").apply(7.0), TOLERANCE);
+        assertEquals(3.0, this.calculator.getBinaryOpMap().get("pext").apply(6.0, 6.0), TOLERANCE);
     }
 }
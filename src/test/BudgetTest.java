@@ -0,0 +1,83 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import controller.calculators.logics.FunctionCalculator;
+import controller.calculators.logics.FunctionCalculatorImpl;
+import controller.manager.CCEngine;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+import utils.calculate.Budget;
+import utils.calculate.BudgetExceededException;
+import utils.calculate.CancellationToken;
+import utils.calculate.Expression;
+import utils.calculate.Integrator;
+import utils.calculate.Limit;
+
+/**
+ * Test class for the budgeted execution of the algorithms.
+ */
+public class BudgetTest {
+
+    private final CCEngine engine = new CCEngine(Calculator.ADVANCED.getController());
+
+    private Integrator integrator() throws CalcException {
+        final Integrator integrator = new Integrator();
+        integrator.setEngine(this.engine);
+        integrator.setParameters(List.of("0", "1"));
+        return integrator;
+    }
+
+    /**
+     * The algorithms stop as soon as one of the limits is reached.
+     */
+    @org.junit.Test
+    public void testLimits() throws CalcException {
+        final Expression expr = new Expression("x^2", this.engine, true);
+        assertEquals(BudgetExceededException.TOO_MANY_EVALUATIONS, assertThrows(BudgetExceededException.class,
+            () -> this.integrator().calculate(expr, new Budget(Duration.ofMinutes(1), 10, new CancellationToken()))).getMessage());
+        assertEquals(BudgetExceededException.TIMEOUT, assertThrows(BudgetExceededException.class,
+            () -> this.integrator().calculate(expr, new Budget(Duration.ZERO.minusMillis(1), Long.MAX_VALUE, new CancellationToken()))).getMessage());
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+        final Limit limit = new Limit();
+        limit.setEngine(this.engine);
+        limit.setParameters(List.of("0"));
+        assertEquals(BudgetExceededException.CANCELLED, assertThrows(BudgetExceededException.class,
+            () -> limit.calculate(expr, new Budget(Duration.ofMinutes(1), Long.MAX_VALUE, token))).getMessage());
+    }
+
+    /**
+     * Within the budget the results don't change, and progress reaches the end.
+     */
+    @org.junit.Test
+    public void testProgress() throws CalcException {
+        final Expression expr = new Expression("x^2", this.engine, true);
+        final double[] progress = new double[1];
+        final Budget budget = Budget.unlimited().withProgress(p -> progress[0] = p);
+        assertEquals(this.integrator().calculate(expr), this.integrator().calculate(expr, budget));
+        assertTrue(progress[0] > 0.99);
+        assertEquals(499, budget.getEvaluations());
+    }
+
+    /**
+     * The sampler keeps the samples that aren't finite, and clears its results when it runs out of budget.
+     */
+    @org.junit.Test
+    public void testSampler() throws CalcException {
+        final FunctionCalculator calc = new FunctionCalculatorImpl();
+        calc.calculate("x×2", Budget.unlimited());
+        assertEquals(20_001, calc.getResults().size(), 1);
+        calc.calculate("ln(x)", Budget.unlimited());
+        assertEquals(20_001, calc.getResults().size(), 1);
+        assertTrue(Double.isNaN(calc.getResults().get(0)));
+        assertTrue(Double.isFinite(calc.getResults().get(calc.getResults().size() - 1)));
+        assertThrows(BudgetExceededException.class, () -> calc.calculate("x×2", new Budget(Duration.ofMinutes(1), 100, new CancellationToken())));
+        assertTrue(calc.getResults().isEmpty());
+    }
+}
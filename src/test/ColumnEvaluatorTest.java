@@ -0,0 +1,106 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import controller.batch.ColumnEvaluator;
+import model.programmer.ProgrammerEngine;
+import model.programmer.WordSize;
+
+/**
+ * Test class for the bitwise operators over columns of values.
+ */
+public class ColumnEvaluatorTest {
+
+    private static final String[] OPERATORS = {"and", "or", "xor", "nand", "nor", "shiftL", "shiftR", "roL", "roR", "+", "-", "×"};
+    private static final WordSize[] SIZES = {WordSize.BYTE, WordSize.WORD, WordSize.DWORD, WordSize.QWORD};
+
+    /**
+     * Operators over columns give the same values as over single elements, with a second column or a constant.
+     */
+    @org.junit.Test
+    public void engineTest() {
+        final Random random = new Random(3);
+        final long[] a = random.longs(100).toArray();
+        final long[] b = random.longs(100).toArray();
+        final long[] counts = random.longs(100, -3, 70).toArray();
+        for (final WordSize size : SIZES) {
+            final ProgrammerEngine engine = ProgrammerEngine.of(size);
+            for (final String op : OPERATORS) {
+                final long[] second = op.startsWith("shift") || op.startsWith("ro") ? counts : b;
+                final long[] result = new long[a.length];
+                engine.applyBinary(op, a, second, result);
+                for (int i = 0; i < a.length; i++) {
+                    assertEquals(engine.applyBinary(op, a[i], second[i]), result[i]);
+                }
+                for (final long constant : new long[] {-1, 0, 3, size.bits() - 1, size.bits(), 1000}) {
+                    engine.applyBinary(op, a, constant, result);
+                    for (int i = 0; i < a.length; i++) {
+                        assertEquals(engine.applyBinary(op, a[i], constant), result[i]);
+                    }
+                }
+            }
+            final long[] result = a.clone();
+            engine.applyUnary("not", result, result);
+            for (int i = 0; i < a.length; i++) {
+                assertEquals(engine.applyUnary("not", a[i]), result[i]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> ProgrammerEngine.of(WordSize.DQWORD).applyUnary("not", a, a));
+        assertThrows(IllegalArgumentException.class, () -> ProgrammerEngine.of(WordSize.QWORD).applyBinary("and", a, new long[1], a));
+    }
+
+    /**
+     * Columns are streamed through windows smaller than the files, and the last chunk is shorter than the others.
+     * The output can be an input, and it is kept when the evaluation fails.
+     */
+    @org.junit.Test
+    public void fileTest() throws IOException {
+        final Path dir = Files.createTempDirectory("columns");
+        final Path first = dir.resolve("first.bin");
+        final Path second = dir.resolve("second.bin");
+        final Path output = dir.resolve("output.bin");
+        try {
+            final Random random = new Random(5);
+            final long[] a = random.longs(20_011).toArray();
+            final long[] b = random.longs(20_011).toArray();
+            ColumnEvaluator.save(first, a);
+            ColumnEvaluator.save(second, b);
+            assertArrayEquals(a, ColumnEvaluator.load(first));
+            final ColumnEvaluator evaluator = new ColumnEvaluator(WordSize.DWORD, 10_000);
+            final ProgrammerEngine engine = ProgrammerEngine.of(WordSize.DWORD);
+            assertEquals(a.length, evaluator.apply("xor", first, second, output));
+            final long[] expected = new long[a.length];
+            engine.applyBinary("xor", a, b, expected);
+            assertArrayEquals(expected, ColumnEvaluator.load(output));
+            evaluator.apply("roL", first, 5, output);
+            engine.applyBinary("roL", a, 5, expected);
+            assertArrayEquals(expected, ColumnEvaluator.load(output));
+            evaluator.apply("not", first, output);
+            engine.applyUnary("not", a, expected);
+            assertArrayEquals(expected, ColumnEvaluator.load(output));
+            ColumnEvaluator.save(output, a);
+            assertEquals(a.length, evaluator.apply("xor", output, second, output));
+            engine.applyBinary("xor", a, b, expected);
+            assertArrayEquals(expected, ColumnEvaluator.load(output));
+            ColumnEvaluator.save(second, new long[3]);
+            assertThrows(IllegalArgumentException.class, () -> evaluator.apply("and", first, second, output));
+            assertArrayEquals(expected, ColumnEvaluator.load(output));
+            assertThrows(IllegalArgumentException.class, () -> evaluator.apply("not", first, second, output));
+            Files.write(second, new byte[5]);
+            assertThrows(IllegalArgumentException.class, () -> evaluator.apply("not", second, output));
+            Files.write(second, new byte[0]);
+            assertEquals(0, evaluator.apply("not", second, output));
+        } finally {
+            for (final Path file : new Path[] {first, second, output, dir}) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
 
 import model.calculators.CalculatorModel;
 import model.calculators.CombinatoricsCalculatorModelFactory;
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.PartitionTables;
 
 /**
  * 
@@ -85,4 +90,44 @@ public class CombinatoricsOperationTest {
         assertEquals(1, op.apply(300, 1), 0);
         assertEquals(7_770, op.apply(9, 4), 0);
     }
+
+    /**
+     * Method that test the "Lucas" and "Tribonacci" operations.
+     */
+    @org.junit.Test
+    public void recurrencesTest() {
+        final var lucas = this.calculator.getUnaryOpMap().get("lucas");
+        assertEquals(2.0, lucas.apply(0.0), 0);
+        assertEquals(15_127.0, lucas.apply(20.0), 0);
+        final var tribonacci = this.calculator.getUnaryOpMap().get("tribonacci");
+        assertEquals(274.0, tribonacci.apply(12.0), 0);
+        assertEquals(Double.POSITIVE_INFINITY, tribonacci.apply(5000.0), 0);
+        assertEquals(Double.POSITIVE_INFINITY, this.calculator.getUnaryOpMap().get("fibonacci").apply(1500.0), 0);
+        assertTrue(Double.isNaN(lucas.apply(2.5)));
+    }
+
+    /**
+     * The shared tables match the exact values, overflow to infinity and can be grown by many threads at once.
+     */
+    @org.junit.Test
+    public void partitionTablesTest() {
+        for (final int n : new int[] {0, 30, 100, 218}) {
+            final double exact = ExactCombinatorics.bell(n).doubleValue();
+            assertEquals(exact, PartitionTables.bell(n), exact * 1e-12);
+        }
+        assertEquals(Double.POSITIVE_INFINITY, PartitionTables.bell(219), 0);
+        assertEquals(Double.POSITIVE_INFINITY, PartitionTables.bell(5000), 0);
+        assertTrue(Double.isNaN(PartitionTables.bell(2.5)));
+        for (final int[] nk : new int[][] {{1000, 500}, {1025, 2}, {2000, 1999}, {2000, 1990}, {3000, 2900}}) {
+            final double exact = ExactCombinatorics.stirling(nk[0], nk[1]).doubleValue();
+            assertEquals(exact, PartitionTables.stirling(nk[0], nk[1]), exact * 1e-12);
+        }
+        assertEquals(Double.POSITIVE_INFINITY, PartitionTables.stirling(1026, 2), 0);
+        assertEquals(1_000_000_000 * 999_999_999.0 / 2, PartitionTables.stirling(1e9, 1e9 - 1), 0);
+        assertEquals(0, PartitionTables.stirling(1e9, 0), 0);
+        final double[] parallel = IntStream.range(0, 2000).parallel().mapToDouble(n -> PartitionTables.stirling(n % 1000, n % 37)).toArray();
+        for (int n = 0; n < parallel.length; n++) {
+            assertEquals(PartitionTables.stirling(n % 1000, n % 37), parallel[n], 0);
+        }
+    }
 }
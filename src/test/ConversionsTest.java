@@ -1,6 +1,10 @@
 package test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+
 import utils.ConversionAlgorithms;
 /**
  * This class tests conversions.
@@ -63,5 +67,42 @@ public class ConversionsTest {
        assertTrue(63==ConversionAlgorithms.unsignedConversionToDecimal(8, "77"));
        assertTrue(255==ConversionAlgorithms.unsignedConversionToDecimal(16, "FF"));
     }
+    /**
+     * Test for conversions over the full 64 bit range, in every base.
+     */
+    @org.junit.Test
+    public void fullRange() {
+        final long[] values = {0, 1, -1, 35, Long.MAX_VALUE, Long.MIN_VALUE, 0x8000_0000_0000_0001L, -1_000_000_007L};
+        for (int base = 2; base <= 36; base++) {
+            for (final long value : values) {
+                final String unsigned = Long.toUnsignedString(value, base).toUpperCase();
+                assertEquals(unsigned, ConversionAlgorithms.unsignedConversionToStringBase(base, value));
+                assertEquals(value, ConversionAlgorithms.unsignedConversionToDecimal(base, unsigned));
+                assertEquals(value, ConversionAlgorithms.unsignedConversionToDecimal(base, unsigned.toLowerCase()));
+                final String signed = ConversionAlgorithms.conversionToStringBase(base, value);
+                assertEquals((value < 0 ? "" : "+") + Long.toString(value, base).toUpperCase(), signed);
+                assertEquals(value, ConversionAlgorithms.conversionToDecimal(base, signed));
+            }
+        }
+        assertEquals("-1000000000000000000000000000000000000000000000000000000000000000",
+                ConversionAlgorithms.conversionToStringBase(2, Long.MIN_VALUE));
+        assertEquals(-1L, ConversionAlgorithms.unsignedConversionToDecimal(10, "18446744073709551615"));
+        assertThrows(NumberFormatException.class, () -> ConversionAlgorithms.unsignedConversionToDecimal(10, "18446744073709551616"));
+        assertThrows(NumberFormatException.class, () -> ConversionAlgorithms.conversionToDecimal(10, "+9223372036854775808"));
+        assertThrows(NumberFormatException.class, () -> ConversionAlgorithms.unsignedConversionToDecimal(8, "78"));
+        assertThrows(NumberFormatException.class, () -> ConversionAlgorithms.unsignedConversionToDecimal(16, ""));
+    }
+    /**
+     * Test for the conversions of many values with one call.
+     */
+    @org.junit.Test
+    public void bulk() {
+        assertArrayEquals(new long[] {255, 1, -1, 0}, ConversionAlgorithms.bulkConversionToDecimal(16, " ff,1\nFFFFFFFFFFFFFFFF  0 "));
+        assertArrayEquals(new long[0], ConversionAlgorithms.bulkConversionToDecimal(2, " , "));
+        final long[] values = new java.util.Random(1).longs(1000).toArray();
+        final String digits = ConversionAlgorithms.bulkConversionToStringBase(7, values);
+        assertArrayEquals(values, ConversionAlgorithms.bulkConversionToDecimal(7, digits));
+        assertEquals("11 0 FFFFFFFFFFFFFFFF", ConversionAlgorithms.bulkConversionToStringBase(16, new long[] {17, 0, -1}));
+    }
 
 }
@@ -0,0 +1,49 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import model.combinatorics.Derangements;
+
+/**
+ * Test class for the derangement tables, their modular variant and the double precision shortcut.
+ */
+public class DerangementsTest {
+
+    /**
+     * The table follows D(n) = n D(n - 1) + (-1)^n, and the binary splitting continues it past its end.
+     */
+    @org.junit.Test
+    public void exactTest() {
+        BigInteger derangement = BigInteger.ONE;
+        assertEquals(derangement, Derangements.exact(0));
+        for (int n = 1; n <= Derangements.MAX_TABLE + 3; n++) {
+            derangement = derangement.multiply(BigInteger.valueOf(n)).add(n % 2 == 0 ? BigInteger.ONE : BigInteger.ONE.negate());
+            assertEquals(derangement, Derangements.exact(n));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Derangements.exact(-1));
+        final long p = 1_000_000_007;
+        for (final int n : new int[] {0, 1, 7, 500, Derangements.MAX_TABLE + 1}) {
+            assertEquals(Derangements.exact(n).mod(BigInteger.valueOf(p)).longValue(), Derangements.modular(n, p));
+        }
+    }
+
+    /**
+     * The rounded n! / e is as accurate as the double of the exact value.
+     */
+    @org.junit.Test
+    public void approximateTest() {
+        assertEquals(44, Derangements.approximate(5), 0);
+        assertEquals(0, Derangements.approximate(1), 0);
+        for (int n = 0; n <= 170; n++) {
+            final double exact = Derangements.exact(n).doubleValue();
+            assertEquals(exact, Derangements.approximate(n), 2 * Math.ulp(exact));
+        }
+        assertEquals(Double.POSITIVE_INFINITY, Derangements.approximate(171), 0);
+        assertTrue(Double.isNaN(Derangements.approximate(2.5)));
+        assertTrue(Double.isNaN(Derangements.approximate(-1)));
+    }
+}
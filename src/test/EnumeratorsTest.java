@@ -0,0 +1,133 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import model.combinatorics.CombinatorialCursor;
+import model.combinatorics.Enumerators;
+import model.combinatorics.ExactCombinatorics;
+
+/**
+ * Test class for the cursors over subsets, dispositions, derangements and sequences, and their parallel streams.
+ */
+public class EnumeratorsTest {
+
+    private static List<int[]> enumerate(final CombinatorialCursor cursor) {
+        final int[] array = cursor.current();
+        final List<int[]> objects = new ArrayList<>();
+        while (cursor.next()) {
+            objects.add(Arrays.copyOf(cursor.current(), cursor.length()));
+        }
+        assertSame(array, cursor.current());
+        assertFalse(cursor.next());
+        return objects;
+    }
+
+    private static List<String> strings(final List<int[]> objects) {
+        return objects.stream().map(Arrays::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * A parallel stream splits the space by rank, so it must find the same objects in the same order as the cursor.
+     */
+    private static void assertParallel(final CombinatorialCursor cursor, final List<int[]> objects) {
+        assertTrue(objects.size() > 1 << 11);
+        assertEquals(strings(objects), cursor.stream().parallel().map(Arrays::toString).collect(Collectors.toList()));
+    }
+
+    /**
+     * Subsets come in revolving-door order, each one swapping a single element of the previous one.
+     */
+    @org.junit.Test
+    public void subsetsTest() {
+        for (int n = 0; n <= 10; n++) {
+            for (int k = 0; k <= n + 1; k++) {
+                final List<int[]> subsets = enumerate(Enumerators.subsets(n, k));
+                assertEquals(ExactCombinatorics.binomial(n, k).longValue(), subsets.size());
+                assertEquals(subsets.size(), new HashSet<>(strings(subsets)).size());
+                for (int i = 0; i < subsets.size(); i++) {
+                    final int[] s = subsets.get(i);
+                    for (int j = 1; j < k; j++) {
+                        assertTrue(s[j - 1] < s[j]);
+                    }
+                    if (i > 0) {
+                        final Set<Integer> changed = Arrays.stream(s).boxed().collect(Collectors.toSet());
+                        Arrays.stream(subsets.get(i - 1)).forEach(e -> changed.remove(e));
+                        assertEquals(1, changed.size());
+                    }
+                }
+            }
+        }
+        assertEquals(List.of("[0, 1]", "[1, 2]", "[0, 2]", "[2, 3]", "[1, 3]", "[0, 3]"), strings(enumerate(Enumerators.subsets(4, 2))));
+        assertParallel(Enumerators.subsets(14, 7), enumerate(Enumerators.subsets(14, 7)));
+        assertParallel(Enumerators.subsets(30, 3), enumerate(Enumerators.subsets(30, 3)));
+    }
+
+    /**
+     * Dispositions and sequences come in lexicographic order, and derangements have no fixed points.
+     */
+    @org.junit.Test
+    public void lexicographicTest() {
+        for (int n = 0; n <= 7; n++) {
+            for (int k = 0; k <= n + 1; k++) {
+                final List<int[]> dispositions = enumerate(Enumerators.dispositions(n, k));
+                assertEquals(ExactCombinatorics.fallingFactorial(n, k).longValue(), dispositions.size());
+                assertIncreasing(dispositions);
+                dispositions.forEach(d -> assertEquals(d.length, Arrays.stream(d).distinct().count()));
+                final List<int[]> sequences = enumerate(Enumerators.sequences(n, k));
+                assertEquals(ExactCombinatorics.sequences(n, k).longValue(), sequences.size());
+                assertIncreasing(sequences);
+            }
+            final List<int[]> derangements = enumerate(Enumerators.derangements(n));
+            assertEquals(ExactCombinatorics.derangement(n).longValue(), derangements.size());
+            assertIncreasing(derangements);
+            for (final int[] d : derangements) {
+                for (int i = 0; i < n; i++) {
+                    assertTrue(d[i] != i);
+                }
+            }
+        }
+        assertParallel(Enumerators.dispositions(8, 5), enumerate(Enumerators.dispositions(8, 5)));
+        assertParallel(Enumerators.dispositions(3000, 1), enumerate(Enumerators.dispositions(3000, 1)));
+        assertParallel(Enumerators.derangements(9), enumerate(Enumerators.derangements(9)));
+        assertParallel(Enumerators.sequences(4, 7), enumerate(Enumerators.sequences(4, 7)));
+    }
+
+    private static void assertIncreasing(final List<int[]> objects) {
+        for (int i = 1; i < objects.size(); i++) {
+            assertTrue(Arrays.compare(objects.get(i - 1), objects.get(i)) < 0);
+        }
+    }
+
+    /**
+     * Spaces too big to count still enumerate from the start, and bad arguments are rejected.
+     */
+    @org.junit.Test
+    public void saturationTest() {
+        assertEquals(Long.MAX_VALUE, Enumerators.subsets(200, 100).size());
+        assertEquals(Long.MAX_VALUE, Enumerators.sequences(2, 70).size());
+        assertEquals(Long.MAX_VALUE, Enumerators.derangements(30).size());
+        assertEquals(Long.MAX_VALUE, Enumerators.dispositions(30, 30).size());
+        assertEquals(1000, Enumerators.derangements(40).stream().parallel().limit(1000).filter(d -> {
+            for (int i = 0; i < d.length; i++) {
+                if (d[i] == i) {
+                    return false;
+                }
+            }
+            return true;
+        }).count());
+        assertEquals("[0, 1, 2, 3, 4]", Arrays.toString(Enumerators.subsets(200, 5).stream().findFirst().get()));
+        assertThrows(IllegalArgumentException.class, () -> Enumerators.subsets(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> Enumerators.sequences(3, -2));
+    }
+}
@@ -0,0 +1,143 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigInteger;
+
+import controller.calculators.logics.CombinatoricsLogics;
+import controller.calculators.logics.CombinatoricsLogicsImpl;
+import controller.manager.CCManager;
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.LinearRecurrence;
+import model.manager.EngineModelInterface.Calculator;
+import utils.NumberFormatter;
+
+/**
+ * Test class for the exact combinatorics operations.
+ */
+public class ExactCombinatoricsTest {
+
+    private static BigInteger naiveFactorial(final int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * Factorials and binomial coefficients match the definitions, on both sides of the algorithm thresholds.
+     */
+    @org.junit.Test
+    public void factorialsTest() {
+        assertEquals(BigInteger.ONE, ExactCombinatorics.factorial(0));
+        assertEquals(BigInteger.valueOf(2_432_902_008_176_640_000L), ExactCombinatorics.factorial(20));
+        assertEquals(naiveFactorial(3000), ExactCombinatorics.factorial(3000));
+        assertEquals(BigInteger.valueOf(336), ExactCombinatorics.fallingFactorial(8, 3));
+        assertEquals(BigInteger.ZERO, ExactCombinatorics.fallingFactorial(2, 4));
+        for (final int k : new int[] {0, 1, 64, 65, 1000, 1999, 2000}) {
+            assertEquals(naiveFactorial(2000).divide(naiveFactorial(k).multiply(naiveFactorial(2000 - k))),
+                    ExactCombinatorics.binomial(2000, k));
+        }
+        assertEquals(BigInteger.ZERO, ExactCombinatorics.binomial(5, 7));
+        assertEquals(BigInteger.valueOf(3).pow(100), ExactCombinatorics.sequences(3, 100));
+        assertEquals(BigInteger.valueOf(6), ExactCombinatorics.binaryFibonacci(5, 2));
+    }
+
+    /**
+     * Partitions and derangements match the known values and the recurrences.
+     */
+    @org.junit.Test
+    public void partitionsTest() {
+        assertEquals(BigInteger.valueOf(115_975), ExactCombinatorics.bell(10));
+        assertEquals(BigInteger.ONE, ExactCombinatorics.bell(0));
+        assertEquals(BigInteger.valueOf(9330), ExactCombinatorics.stirling(10, 3));
+        assertEquals(BigInteger.ONE, ExactCombinatorics.stirling(0, 0));
+        assertEquals(BigInteger.valueOf(1_334_961), ExactCombinatorics.derangement(10));
+        BigInteger derangement = BigInteger.ONE;
+        for (int n = 1; n <= 300; n++) {
+            derangement = derangement.multiply(BigInteger.valueOf(n)).add(n % 2 == 0 ? BigInteger.ONE : BigInteger.ONE.negate());
+            assertEquals(derangement, ExactCombinatorics.derangement(n));
+        }
+        BigInteger[] row = {BigInteger.ONE};
+        for (int n = 1; n <= 300; n++) {
+            final BigInteger[] next = new BigInteger[n + 1];
+            next[0] = row[n - 1];
+            for (int i = 1; i <= n; i++) {
+                next[i] = next[i - 1].add(row[i - 1]);
+            }
+            row = next;
+            assertEquals(row[0], ExactCombinatorics.bell(n));
+        }
+        BigInteger bell = BigInteger.ZERO;
+        for (int k = 0; k <= 300; k++) {
+            bell = bell.add(ExactCombinatorics.stirling(300, k));
+        }
+        assertEquals(ExactCombinatorics.bell(300), bell);
+        assertThrows(IllegalArgumentException.class, () -> ExactCombinatorics.bell(ExactCombinatorics.MAX_PARTITIONS + 1));
+        assertThrows(IllegalArgumentException.class, () -> ExactCombinatorics.apply("stirlingNumber", 3));
+    }
+
+    /**
+     * Fast doubling and matrix powers match the iterated definitions.
+     */
+    @org.junit.Test
+    public void recurrencesTest() {
+        final BigInteger[] fibonacci = new BigInteger[1001];
+        fibonacci[0] = BigInteger.ZERO;
+        fibonacci[1] = BigInteger.ONE;
+        for (int n = 2; n <= 1000; n++) {
+            fibonacci[n] = fibonacci[n - 1].add(fibonacci[n - 2]);
+        }
+        for (int n = 0; n <= 1000; n++) {
+            assertEquals(fibonacci[n], LinearRecurrence.fibonacci(n));
+        }
+        for (final int n : new int[] {1, 2, 10, 999}) {
+            assertEquals(fibonacci[n - 1].add(fibonacci[n + 1]), LinearRecurrence.LUCAS.term(n));
+        }
+        assertEquals(BigInteger.valueOf(2), LinearRecurrence.LUCAS.term(0));
+        assertEquals(BigInteger.valueOf(985), LinearRecurrence.PELL.term(9));
+        final LinearRecurrence order4 = new LinearRecurrence(new long[] {3, 0, -2, 5}, new long[] {1, -1, 4, 7});
+        final BigInteger[] terms = {BigInteger.ONE, BigInteger.valueOf(-1), BigInteger.valueOf(4), BigInteger.valueOf(7)};
+        for (int n = 4; n <= 200; n++) {
+            final BigInteger next = BigInteger.valueOf(3).multiply(terms[3]).subtract(BigInteger.TWO.multiply(terms[1]))
+                    .add(BigInteger.valueOf(5).multiply(terms[0]));
+            System.arraycopy(terms, 1, terms, 0, 3);
+            terms[3] = next;
+            assertEquals(next, order4.term(n));
+        }
+        assertEquals(BigInteger.valueOf(274), ExactCombinatorics.apply("tribonacci", 12));
+        assertThrows(IllegalArgumentException.class, () -> LinearRecurrence.fibonacci(-1));
+        assertThrows(IllegalArgumentException.class, () -> LinearRecurrence.TRIBONACCI.term(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new LinearRecurrence(new long[] {1, 1}, new long[] {1}));
+    }
+
+    /**
+     * Big results are shown in exponential notation, integer operands are calculated exactly by the calculator.
+     */
+    @org.junit.Test
+    public void formatTest() {
+        assertEquals("0", NumberFormatter.format(BigInteger.ZERO, 20, 15));
+        assertEquals("-12345", NumberFormatter.format(BigInteger.valueOf(-12_345), 20, 15));
+        assertEquals("-1.23E4", NumberFormatter.format(BigInteger.valueOf(-12_345), 3, 3));
+        assertEquals("1E11", NumberFormatter.format(BigInteger.TEN.pow(11), 10, 5));
+        assertEquals("4.02387260077094E2567", NumberFormatter.format(ExactCombinatorics.factorial(1000), 20, 15));
+        final CCManager manager = new CCManager();
+        manager.engine().mount(Calculator.COMBINATORICS);
+        final CombinatoricsLogics logics = new CombinatoricsLogicsImpl();
+        logics.numberAction("2");
+        logics.numberAction("5");
+        logics.operationAction("D", "derangement");
+        logics.calculateAction();
+        assertEquals("5.70625528263347E24", logics.getBufferToString());
+        manager.memory().clear();
+        logics.numberAction("6");
+        logics.numberAction("0");
+        logics.operationAction("C", "binomialCoefficient");
+        logics.numberAction("3");
+        logics.numberAction("0");
+        logics.calculateAction();
+        assertEquals("118264581564861424", logics.getBufferToString());
+    }
+}
@@ -0,0 +1,46 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.Factorials;
+
+/**
+ * Test class for the factorials in double precision and the Gamma function.
+ */
+public class FactorialsTest {
+
+    /**
+     * The table holds the correctly rounded factorials, and Gamma agrees with them at the integers.
+     */
+    @org.junit.Test
+    public void tableTest() {
+        for (int n = 0; n <= Factorials.MAX_DOUBLE; n++) {
+            final double exact = ExactCombinatorics.factorial(n).doubleValue();
+            assertEquals(exact, Factorials.factorial(n), 0);
+            assertEquals(exact, Factorials.gamma(n + 1), 0);
+        }
+        assertEquals(ExactCombinatorics.factorial(300), Factorials.exact(300));
+    }
+
+    /**
+     * Non-integers follow the Lanczos approximation, with the reflection below one half and no early overflow.
+     */
+    @org.junit.Test
+    public void gammaTest() {
+        assertEquals(Math.sqrt(Math.PI), Factorials.gamma(0.5), 1e-15);
+        assertEquals(-2 * Math.sqrt(Math.PI), Factorials.gamma(-0.5), 1e-14);
+        assertEquals(-0.9453087204829417, Factorials.gamma(-2.5), 1e-14);
+        assertEquals(1, Factorials.gamma(171.5) / 9.483367566824801e307, 1e-12);
+        assertEquals(1, Factorials.gamma(7.3) * 7.3 / Factorials.gamma(8.3), 1e-14);
+        assertEquals(Double.POSITIVE_INFINITY, Factorials.gamma(172.5), 0);
+        assertEquals(Double.POSITIVE_INFINITY, Factorials.factorial(744.5), 0);
+        assertEquals(Double.POSITIVE_INFINITY, Factorials.factorial(1000.5), 0);
+        assertEquals(0, Factorials.factorial(-1000.5), 0);
+        assertEquals(0, Factorials.gamma(-200.5), 0);
+        assertTrue(Double.isNaN(Factorials.gamma(0)));
+        assertTrue(Double.isNaN(Factorials.gamma(-4)));
+        assertTrue(Double.isNaN(Factorials.factorial(Double.NaN)));
+    }
+}
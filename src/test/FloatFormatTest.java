@@ -0,0 +1,56 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import model.programmer.FloatFormat;
+
+/**
+ * Test class for the fields of the IEEE 754 formats.
+ */
+public class FloatFormatTest {
+
+    /**
+     * The fields are the ones of the raw bits of Java's floats and doubles.
+     */
+    @org.junit.Test
+    public void fieldsTest() {
+        final FloatFormat single = FloatFormat.SINGLE;
+        final FloatFormat dbl = FloatFormat.DOUBLE;
+        assertEquals(0x3F80_0000L, single.toBits(1.0));
+        assertEquals("0 01111111 00000000000000000000000", single.toFields(single.toBits(1.0)));
+        assertEquals(1, dbl.sign(dbl.toBits(-2.5)));
+        assertEquals(1024, dbl.exponent(dbl.toBits(-2.5)));
+        assertEquals(1L << 50, dbl.mantissa(dbl.toBits(-2.5)));
+        assertEquals(127, single.bias());
+        assertEquals(1023, dbl.bias());
+        assertEquals(23, single.mantissaBits());
+        assertEquals(dbl.toBits(-2.5), dbl.compose(1, 1024, 1L << 50));
+        assertEquals("Zero", dbl.classify(dbl.toBits(-0.0)));
+        assertEquals("Subnormal", dbl.classify(dbl.toBits(Double.MIN_VALUE)));
+        assertEquals("Normal", single.classify(single.toBits(3.0)));
+        assertEquals("Infinity", single.classify(single.toBits(1e300)));
+        assertEquals("NaN", dbl.classify(dbl.toBits(Double.NaN)));
+        final long nan = 0x7FF0_0000_0000_0001L;
+        assertEquals(nan, dbl.toBits(dbl.toValue(nan)));
+    }
+
+    /**
+     * Flipping bits edits the number, and lists of numbers are converted at once.
+     */
+    @org.junit.Test
+    public void editTest() {
+        final FloatFormat dbl = FloatFormat.DOUBLE;
+        assertEquals(-1.0, dbl.toValue(dbl.flipBit(dbl.toBits(1.0), 63)), 0.0);
+        assertEquals(4.0, dbl.toValue(dbl.flipBit(dbl.toBits(2.0), 52)), 0.0);
+        assertEquals(1.5f, (float) FloatFormat.SINGLE.toValue(FloatFormat.SINGLE.flipBit(0x3F80_0000L, 22)), 0.0f);
+        assertThrows(IllegalArgumentException.class, () -> FloatFormat.SINGLE.flipBit(0, 32));
+        final long[] patterns = dbl.parse("0.1, -2.5e3\n NaN,,Infinity");
+        assertArrayEquals(dbl.toBits(new double[] {0.1, -2.5e3, Double.NaN, Double.POSITIVE_INFINITY}), patterns);
+        assertEquals(4, dbl.toValues(patterns).length);
+        assertEquals(dbl.toFields(patterns[0]) + "\n" + dbl.toFields(patterns[1]),
+                dbl.toFields(new long[] {patterns[0], patterns[1]}));
+        assertThrows(NumberFormatException.class, () -> dbl.parse("1 x"));
+    }
+}
@@ -0,0 +1,88 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import model.combinatorics.IntegerPartitions;
+
+/**
+ * Test class for the counting and the enumeration of integer partitions.
+ */
+public class IntegerPartitionsTest {
+
+    /**
+     * The pentagonal recurrence and the count by number of parts agree with the known values and with each other.
+     */
+    @org.junit.Test
+    public void countTest() {
+        assertEquals(BigInteger.ONE, IntegerPartitions.count(0));
+        assertEquals(BigInteger.valueOf(42), IntegerPartitions.count(10));
+        assertEquals(BigInteger.valueOf(190_569_292), IntegerPartitions.count(100));
+        assertEquals(new BigInteger("24061467864032622473692149727991"), IntegerPartitions.count(1000));
+        for (final int n : new int[] {0, 1, 7, 60, 300}) {
+            BigInteger sum = BigInteger.ZERO;
+            for (int k = 0; k <= n; k++) {
+                sum = sum.add(IntegerPartitions.count(n, k));
+            }
+            assertEquals(IntegerPartitions.count(n), sum);
+        }
+        assertEquals(BigInteger.valueOf(8), IntegerPartitions.count(10, 3));
+        assertEquals(BigInteger.ZERO, IntegerPartitions.count(3, 10));
+        assertThrows(IllegalArgumentException.class, () -> IntegerPartitions.count(IntegerPartitions.MAX_EXACT + 1));
+    }
+
+    /**
+     * The series and the double counts stay within rounding of the exact values.
+     */
+    @org.junit.Test
+    public void approximateTest() {
+        for (final int n : new int[] {0, 10, 1000, 1001, 2500, 12_345}) {
+            final double exact = IntegerPartitions.count(n).doubleValue();
+            assertEquals(exact, IntegerPartitions.approximate(n), exact * 1e-12);
+        }
+        assertEquals(Double.POSITIVE_INFINITY, IntegerPartitions.approximate(1e6), 0);
+        assertTrue(Double.isNaN(IntegerPartitions.approximate(1.5)));
+        assertEquals(Math.rint(6000.0 * 6000 / 12), IntegerPartitions.approximate(6000, 3), 0);
+        assertEquals(IntegerPartitions.count(4000, 10).doubleValue(), IntegerPartitions.approximate(4000, 10), 0);
+        assertEquals(IntegerPartitions.approximate(5000), IntegerPartitions.approximate(10_000, 5000), 0);
+    }
+
+    /**
+     * The cursor yields every partition once, in reverse lexicographic order, rewriting the same array.
+     */
+    @org.junit.Test
+    public void cursorTest() {
+        assertEquals(List.of("5", "4 1", "3 2", "3 1 1", "2 2 1", "2 1 1 1", "1 1 1 1 1"), IntegerPartitions.stream(5)
+                .map(p -> Arrays.stream(p).mapToObj(Integer::toString).collect(Collectors.joining(" "))).collect(Collectors.toList()));
+        assertEquals(1, IntegerPartitions.stream(0).count());
+        for (int n = 1; n <= 40; n++) {
+            final IntegerPartitions.Cursor cursor = IntegerPartitions.cursor(n);
+            final int[] array = cursor.parts();
+            int[] previous = null;
+            long count = 0;
+            while (cursor.next()) {
+                final int[] current = Arrays.copyOf(cursor.parts(), cursor.length());
+                assertEquals(n, Arrays.stream(current).sum());
+                for (int i = 1; i < current.length; i++) {
+                    assertTrue(current[i - 1] >= current[i]);
+                }
+                if (previous != null) {
+                    assertTrue(Arrays.compare(previous, current) > 0);
+                }
+                previous = current;
+                count++;
+            }
+            assertSame(array, cursor.parts());
+            assertEquals(IntegerPartitions.count(n).longValue(), count);
+            assertFalse(cursor.next());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import controller.calculators.logics.CombinatoricsLogics;
+import controller.calculators.logics.CombinatoricsLogicsImpl;
+import controller.manager.CCManager;
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.LogCombinatorics;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+import utils.NumberFormatter;
+
+/**
+ * Test class for the logarithms of combinatorial numbers and their formatting.
+ */
+public class LogCombinatoricsTest {
+
+    private static double ln(final BigInteger value) {
+        final int shift = Math.max(0, value.bitLength() - 62);
+        return Math.log(value.shiftRight(shift).doubleValue()) + shift * Math.log(2);
+    }
+
+    /**
+     * Factorials, Gamma and binomials keep the precision of their logarithm, also with a tiny k next to a huge n.
+     */
+    @org.junit.Test
+    public void factorialsTest() {
+        for (final int n : new int[] {0, 1, 10, 170, 255, 256, 1000, 100_000}) {
+            final double exact = ln(ExactCombinatorics.factorial(n));
+            assertEquals(exact, LogCombinatorics.lnFactorial(n), 1e-15 * Math.max(1, exact));
+            assertEquals(exact, LogCombinatorics.lnGamma(n + 1), 1e-14 * Math.max(1, exact));
+        }
+        assertEquals(0.5 * Math.log(Math.PI), LogCombinatorics.lnGamma(0.5), 1e-15);
+        assertEquals(Math.log(11.631728396567448), LogCombinatorics.lnGamma(4.5), 1e-15);
+        assertTrue(Double.isNaN(LogCombinatorics.lnGamma(-1)));
+        for (final int[] nk : new int[][] {{300, 7}, {2000, 5}, {100_000, 3}, {100_000, 50_000}, {123_456, 789}}) {
+            final double exact = ln(ExactCombinatorics.binomial(nk[0], nk[1]));
+            assertEquals(exact, LogCombinatorics.lnBinomial(nk[0], nk[1]), 1e-15 * exact);
+        }
+        final double n = 1e12;
+        assertEquals(3 * Math.log(n) - 3 / n, LogCombinatorics.lnFallingFactorial(n, 3), 1e-13);
+        /* C(n, k) = C(n, k - 1) (n - k + 1) / k */
+        assertEquals(LogCombinatorics.lnBinomial(1e9, 1e6 - 1) + Math.log((1e9 - 1e6 + 1) / 1e6), LogCombinatorics.lnBinomial(1e9, 1e6), 1e-8);
+        assertEquals(Double.NEGATIVE_INFINITY, LogCombinatorics.lnBinomial(3, 5), 0);
+    }
+
+    /**
+     * Beyond the double tables the saddle point approximations of Bell and Stirling numbers are good to about
+     * a millionth, the other sequences to the precision of their logarithm.
+     */
+    @org.junit.Test
+    public void sequencesTest() {
+        for (final int n : new int[] {100, 219, 500, 2000}) {
+            assertEquals(ln(ExactCombinatorics.bell(n)), LogCombinatorics.lnBell(n), 2e-6);
+        }
+        for (final int[] nk : new int[][] {{1500, 3}, {1500, 700}, {1500, 1300}, {3000, 2800}, {2500, 20}, {2000, 2}}) {
+            assertEquals(ln(ExactCombinatorics.stirling(nk[0], nk[1])), LogCombinatorics.lnStirling(nk[0], nk[1]), 1e-6);
+        }
+        for (final String op : new String[] {"derangement", "fibonacci", "lucas", "tribonacci", "integerPartitions"}) {
+            for (final int n : new int[] {0, 25, 1000, 3000}) {
+                final double exact = ln(ExactCombinatorics.apply(op, n));
+                assertEquals(exact, LogCombinatorics.apply(op, n), 1e-14 * Math.max(1, exact));
+            }
+        }
+        assertEquals(ln(ExactCombinatorics.sequences(7, 500)), LogCombinatorics.apply("sequencesNumber", 7, 500), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> LogCombinatorics.apply("integerPartitionsParts", 5, 2));
+    }
+
+    /**
+     * Logarithms are shown as mantissa and exponent, with only the digits they determine.
+     */
+    @org.junit.Test
+    public void formatTest() throws CalcException {
+        assertEquals("120", NumberFormatter.formatLog(Math.log(120), 15));
+        assertEquals("0", NumberFormatter.formatLog(Double.NEGATIVE_INFINITY, 15));
+        assertEquals(NumberFormatter.format(ExactCombinatorics.factorial(1000), 20, 10),
+                NumberFormatter.formatLog(LogCombinatorics.lnFactorial(1000), 10));
+        assertEquals("1E100", NumberFormatter.formatLog(100 * Math.log(10), 15));
+        assertThrows(CalcException.class, () -> NumberFormatter.formatLog(Double.NaN, 15));
+        final String huge = NumberFormatter.formatLog(LogCombinatorics.lnBinomial(1e9, 1e6), 15);
+        assertTrue(huge, huge.matches("7\\.3008\\d*E3434073"));
+    }
+
+    /**
+     * The calculator answers in the log domain when the operands are beyond the exact results.
+     */
+    @org.junit.Test
+    public void modeTest() {
+        final CCManager manager = new CCManager();
+        manager.engine().mount(Calculator.COMBINATORICS);
+        final CombinatoricsLogics logics = new CombinatoricsLogicsImpl();
+        "1000000000".chars().forEach(c -> logics.numberAction(Character.toString(c)));
+        logics.operationAction("C", "binomialCoefficient");
+        "1000000".chars().forEach(c -> logics.numberAction(Character.toString(c)));
+        assertEquals("C(1000000000, 1000000) =", logics.calculateAction());
+        assertTrue(logics.getBufferToString().startsWith("7.3008"));
+        manager.memory().clear();
+        "1000000".chars().forEach(c -> logics.numberAction(Character.toString(c)));
+        logics.operationAction("B", "bellNumber");
+        logics.calculateAction();
+        assertTrue(logics.getBufferToString(), logics.getBufferToString().matches("\\d\\.\\d{1,4}E4\\d{6}"));
+    }
+}
@@ -1,12 +1,17 @@
 package test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.List;
 
 import controller.manager.CCEngine;
 import controller.manager.CCManager;
+import model.calculators.ScientificCalculatorModelFactory;
+import model.calculators.StandardCalculatorModelFactory;
 import model.manager.EngineModelInterface.Calculator;
 import utils.CalcException;
 
@@ -54,4 +59,16 @@ public class ManagerTest {
             fail("Parsing error");
         }
     }
+
+    /**
+     * Calculators with the same operators share a single model, which can't be modified.
+     */
+    @org.junit.Test
+    public void testSharedModels() {
+        assertSame(ScientificCalculatorModelFactory.get(), ScientificCalculatorModelFactory.get());
+        assertTrue(Calculator.GRAPHIC.getController().isUnaryOperator("sin"));
+        assertTrue(Calculator.ADVANCED.getController().isBinaryOperator("+"));
+        assertThrows(UnsupportedOperationException.class, () -> StandardCalculatorModelFactory.get().getBinaryOpMap().remove("+"));
+        assertTrue(Calculator.STANDARD.getController().isBinaryOperator("+"));
+    }
 }
@@ -0,0 +1,62 @@
+package test;
+
+import java.util.Random;
+
+import model.combinatorics.ModularCombinatorics;
+
+/**
+ * Benchmark harness for the modular combinatorics: after building the tables it runs random queries of binomial
+ * coefficients, derangements and Stirling numbers, and prints the throughput of each kind.
+ */
+public final class ModularCombinatoricsBenchmark {
+
+    private static final int DEFAULT_QUERIES = 10_000_000;
+    private static final int MAX_N = 1_000_000;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private ModularCombinatoricsBenchmark() { }
+
+    /**
+     * @param args optional number of queries of every kind and modulus
+     */
+    public static void main(final String... args) {
+        final int queries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_QUERIES;
+        final long modulus = args.length > 1 ? Long.parseLong(args[1]) : ModularCombinatorics.DEFAULT_MODULUS;
+        final ModularCombinatorics mod = ModularCombinatorics.of(modulus);
+        final long warmUp = System.nanoTime();
+        mod.binomial(MAX_N, 1);
+        mod.stirling(ModularCombinatorics.STIRLING_ROWS - 1, 1);
+        System.out.printf("tables: %.1f ms%n", (System.nanoTime() - warmUp) / 1e6);
+        final int[] n = new int[queries];
+        final int[] k = new int[queries];
+        final Random random = new Random(1);
+        for (int i = 0; i < queries; i++) {
+            n[i] = random.nextInt(MAX_N);
+            k[i] = random.nextInt(n[i] + 1);
+        }
+        long start = System.nanoTime();
+        long check = 0;
+        for (int i = 0; i < queries; i++) {
+            check += mod.binomial(n[i], k[i]);
+        }
+        report("binomial", queries, start, check);
+        start = System.nanoTime();
+        check = 0;
+        for (int i = 0; i < queries; i++) {
+            check += mod.derangement(n[i]);
+        }
+        report("derangement", queries, start, check);
+        start = System.nanoTime();
+        check = 0;
+        for (int i = 0; i < queries; i++) {
+            final int rows = n[i] % ModularCombinatorics.STIRLING_ROWS;
+            check += mod.stirling(rows, k[i] % (rows + 1));
+        }
+        report("stirling", queries, start, check);
+    }
+
+    private static void report(final String name, final int queries, final long start, final long check) {
+        final double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        System.out.printf("%-12s %,d queries in %.2f s: %,.0f queries/s (checksum %d)%n", name, queries, seconds, queries / seconds, check);
+    }
+}
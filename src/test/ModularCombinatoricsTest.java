@@ -0,0 +1,144 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import controller.calculators.logics.CombinatoricsLogics;
+import controller.calculators.logics.CombinatoricsLogicsImpl;
+import controller.manager.CCManager;
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.LinearRecurrence;
+import model.combinatorics.ModularCombinatorics;
+import model.manager.EngineModelInterface.Calculator;
+
+/**
+ * Test class for the combinatorics modulo a prime, checked against the exact values.
+ */
+public class ModularCombinatoricsTest {
+
+    private static final long[] MODULI = {2, 3, 7, 13, 998_244_353, ModularCombinatorics.DEFAULT_MODULUS, Integer.MAX_VALUE};
+
+    private static long mod(final BigInteger value, final long p) {
+        return value.mod(BigInteger.valueOf(p)).longValue();
+    }
+
+    /**
+     * Binomials, falling factorials and powers match the exact values, Lucas's theorem included.
+     */
+    @org.junit.Test
+    public void binomialsTest() {
+        for (final long p : MODULI) {
+            final ModularCombinatorics mod = ModularCombinatorics.of(p);
+            for (int n = 0; n <= 60; n++) {
+                for (int k = 0; k <= n + 1; k++) {
+                    assertEquals(mod(ExactCombinatorics.binomial(n, k), p), mod.binomial(n, k));
+                    assertEquals(mod(ExactCombinatorics.fallingFactorial(n, k), p), mod.fallingFactorial(n, k));
+                }
+                assertEquals(mod(ExactCombinatorics.sequences(n, 61 - n), p), mod.pow(n, 61 - n));
+            }
+            assertEquals(mod(ExactCombinatorics.binomial(5000, 1234), p), mod.binomial(5000, 1234));
+        }
+        final ModularCombinatorics mod = ModularCombinatorics.of(ModularCombinatorics.DEFAULT_MODULUS);
+        final BigInteger n = BigInteger.valueOf(1_000_000_000_000L);
+        final BigInteger exact = n.multiply(n.subtract(BigInteger.ONE)).multiply(n.subtract(BigInteger.TWO)).divide(BigInteger.valueOf(6));
+        assertEquals(mod(exact, ModularCombinatorics.DEFAULT_MODULUS), mod.binomial(n.longValue(), 3));
+        assertEquals(mod(exact, ModularCombinatorics.DEFAULT_MODULUS), mod.binomial(n.longValue(), n.longValue() - 3));
+        assertEquals(0, ModularCombinatorics.of(7).binomial(49, 1));
+        assertEquals(2, ModularCombinatorics.of(7).binomial(2 * 7 * 7 * 7 * 7, 7 * 7 * 7 * 7));
+    }
+
+    /**
+     * Derangements, Stirling numbers and Fibonacci numbers match the exact values, also beyond the tables and the period.
+     */
+    @org.junit.Test
+    public void sequencesTest() {
+        for (final long p : MODULI) {
+            final ModularCombinatorics mod = ModularCombinatorics.of(p);
+            for (int n = 0; n <= 200; n++) {
+                assertEquals(mod(ExactCombinatorics.derangement(n), p), mod.derangement(n));
+                assertEquals(mod(LinearRecurrence.fibonacci(n), p), mod.fibonacci(n));
+            }
+            for (final int[] nk : new int[][] {{10, 3}, {200, 100}, {1023, 500}, {1500, 1}, {1500, 6}, {2000, 1000}, {1100, 1100}, {5, 9}}) {
+                if (nk[0] >= ModularCombinatorics.STIRLING_ROWS && nk[1] >= p && nk[1] < nk[0]) {
+                    continue;
+                }
+                assertEquals(mod(ExactCombinatorics.stirling(nk[0], nk[1]), p), mod.stirling(nk[0], nk[1]));
+            }
+        }
+        assertEquals(mod(LinearRecurrence.fibonacci(5_000_000), 998_244_353), ModularCombinatorics.of(998_244_353).fibonacci(5_000_000));
+    }
+
+    /**
+     * Barrett products agree with the remainder, instances are shared and bad arguments are rejected.
+     */
+    @org.junit.Test
+    public void reductionTest() {
+        final Random random = new Random(1);
+        for (final long p : MODULI) {
+            final ModularCombinatorics mod = ModularCombinatorics.of(p);
+            for (int i = 0; i < 10_000; i++) {
+                final long a = Math.floorMod(random.nextLong(), p);
+                assertEquals(a * a % p * a % p, mod.pow(a, 3));
+            }
+            assertEquals(p - 1, mod.pow(p - 1, 1));
+        }
+        assertSame(ModularCombinatorics.of(13), ModularCombinatorics.of(13));
+        assertThrows(IllegalArgumentException.class, () -> ModularCombinatorics.of(1));
+        assertThrows(IllegalArgumentException.class, () -> ModularCombinatorics.of(1_000_000_008));
+        assertThrows(IllegalArgumentException.class, () -> ModularCombinatorics.of(2_147_483_659L));
+        assertThrows(IllegalArgumentException.class, () -> ModularCombinatorics.of(13).binomial(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> ModularCombinatorics.of(7).stirling(5000, 7));
+    }
+
+    /**
+     * Residues beyond the tables are computed, with Wilson's theorem for factorials close to p.
+     */
+    @org.junit.Test
+    public void beyondTablesTest() {
+        final ModularCombinatorics mod = ModularCombinatorics.of(ModularCombinatorics.DEFAULT_MODULUS);
+        final long p = mod.getModulus();
+        assertEquals(832_108_010, mod.derangement(ModularCombinatorics.MAX_TABLE + 1));
+        assertEquals(645_138_131, mod.derangement(5_000_000));
+        assertEquals(p - 645_138_131, mod.derangement(5_000_000 + p));
+        assertEquals(908_084_721, mod.binomial(10_000_000, 5_000_000));
+        assertEquals(881_825_523, mod.fallingFactorial(p - 3, 5_000_000));
+        assertEquals(1, mod.factorial(p - 2));
+        assertEquals(p - 1, mod.factorial(p - 1));
+        assertEquals((p - 1) / 2, mod.factorial(p - 3));
+    }
+
+    /**
+     * In the modular mode the calculator reduces every result, also of operations without a modular version.
+     */
+    @org.junit.Test
+    public void modeTest() {
+        final CCManager manager = new CCManager();
+        manager.engine().mount(Calculator.COMBINATORICS);
+        final CombinatoricsLogics logics = new CombinatoricsLogicsImpl();
+        assertFalse(logics.setModulus("12"));
+        assertTrue(logics.setModulus("1000000007"));
+        "100000000000".chars().forEach(c -> logics.numberAction(Character.toString(c)));
+        logics.operationAction("C", "binomialCoefficient");
+        logics.numberAction("3");
+        assertEquals("C(100000000000, 3) mod 1000000007 =", logics.calculateAction());
+        assertEquals(Long.toString(ModularCombinatorics.of(1_000_000_007).binomial(100_000_000_000L, 3)), logics.getBufferToString());
+        manager.memory().clear();
+        logics.numberAction("5");
+        logics.numberAction("0");
+        logics.operationAction("B", "bellNumber");
+        logics.calculateAction();
+        assertEquals(Long.toString(mod(ExactCombinatorics.bell(50), 1_000_000_007)), logics.getBufferToString());
+        assertTrue(logics.setModulus(" "));
+        manager.memory().clear();
+        logics.numberAction("9");
+        logics.operationAction("D", "derangement");
+        logics.calculateAction();
+        assertEquals("133496", logics.getBufferToString());
+    }
+}
@@ -0,0 +1,103 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import model.programmer.BitVector;
+import model.programmer.Operand;
+import model.programmer.WordSize;
+
+/**
+ * Test class for the number typed in the programmer calculator and its digits in every base.
+ */
+public class OperandTest {
+
+    private static Operand type(final WordSize size, final int base, final String digits) {
+        final Operand operand = new Operand(size, base);
+        for (final char c : digits.toCharArray()) {
+            if (c == '-') {
+                operand.negate();
+            } else {
+                assertTrue(operand.appendDigit(Character.digit(c, base)));
+            }
+        }
+        return operand;
+    }
+
+    /**
+     * Every digit updates the value, and the four bases of the displays come from it.
+     */
+    @org.junit.Test
+    public void digitsTest() {
+        final Operand operand = type(WordSize.QWORD, 16, "A2");
+        assertEquals(162, operand.value());
+        assertEquals("10100010", operand.toString(2));
+        assertEquals("242", operand.toString(8));
+        assertEquals("162", operand.toString(10));
+        assertEquals("A2", operand.toString(16));
+        assertEquals(2, operand.digits());
+        final Operand negative = type(WordSize.QWORD, 10, "-1");
+        assertEquals(-1, negative.value());
+        assertEquals("F".repeat(16), negative.toString(16));
+        assertEquals("-1", negative.toString());
+        final Operand byteOperand = type(WordSize.BYTE, 16, "FF");
+        assertEquals(-1, byteOperand.value());
+        assertEquals("-1", byteOperand.toString(10));
+        assertEquals("377", byteOperand.toString(8));
+        assertEquals(Long.MIN_VALUE, type(WordSize.QWORD, 10, "-9223372036854775808").value());
+    }
+
+    /**
+     * Digits beyond the bits of the word, or outside the base, are refused.
+     */
+    @org.junit.Test
+    public void overflowTest() {
+        final Operand byteOperand = type(WordSize.BYTE, 10, "255");
+        assertFalse(byteOperand.appendDigit(0));
+        assertEquals(3, byteOperand.digits());
+        final Operand qword = type(WordSize.QWORD, 16, "F".repeat(16));
+        assertFalse(qword.appendDigit(0));
+        assertEquals(-1, qword.value());
+        assertFalse(type(WordSize.QWORD, 10, "1844674407370955161").appendDigit(6));
+        assertTrue(type(WordSize.QWORD, 10, "1844674407370955161").appendDigit(5));
+        assertFalse(new Operand(WordSize.QWORD, 8).appendDigit(8));
+        final Operand wide = type(WordSize.DQWORD, 2, "1".repeat(128));
+        assertFalse(wide.appendDigit(1));
+        assertEquals(BitVector.valueOf(-1, 128), wide.bits());
+        assertEquals("-1", wide.toString(10));
+    }
+
+    /**
+     * Removing digits goes back through the same values, and results are loaded as they are shown.
+     */
+    @org.junit.Test
+    public void editTest() {
+        final Operand operand = type(WordSize.WORD, 10, "-123");
+        operand.removeDigit();
+        assertEquals(-12, operand.value());
+        operand.removeDigit();
+        operand.removeDigit();
+        assertTrue(operand.isNegative());
+        operand.removeDigit();
+        assertFalse(operand.isNegative());
+        assertEquals(0, operand.value());
+        operand.load(BitVector.valueOf(-300, 16));
+        assertEquals(3, operand.digits());
+        assertEquals("-300", operand.toString(10));
+        operand.removeDigit();
+        assertEquals(-30, operand.value());
+        final Operand hex = new Operand(WordSize.WORD, 16);
+        hex.load(BitVector.valueOf(-1, 16));
+        assertEquals(4, hex.digits());
+        assertFalse(hex.appendDigit(0));
+        final Operand wide = new Operand(WordSize.QQWORD, 10);
+        final BigInteger big = BigInteger.TEN.pow(70).negate();
+        wide.load(BitVector.valueOf(big, 256));
+        assertEquals(big.toString(), wide.toString());
+        wide.removeDigit();
+        assertEquals(big.divide(BigInteger.TEN), wide.bits().toBigInteger());
+    }
+}
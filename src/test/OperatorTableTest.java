@@ -0,0 +1,69 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import controller.manager.CCEngine;
+import model.calculators.CalculatorModelTemplate;
+import model.calculators.OperatorTable;
+import model.calculators.StandardCalculatorModelFactory;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CCBinaryOperator;
+import utils.CCUnaryOperator;
+import utils.CalcException;
+import utils.Type;
+
+/**
+ * Test class for the operator tables of the calculator models and the parser that uses them.
+ */
+public class OperatorTableTest {
+
+    /**
+     * Every operator of the model has an id with its precedence, associativity, arity and function.
+     */
+    @org.junit.Test
+    public void tableTest() {
+        final OperatorTable table = new CalculatorModelTemplate(
+                Map.of("+", new CCBinaryOperator((a, b) -> a + b, 1, Type.LEFT),
+                        "-", new CCBinaryOperator((a, b) -> a - b, 1, Type.LEFT),
+                        "^", new CCBinaryOperator(Math::pow, 3, Type.RIGHT)),
+                Map.of("-", new CCUnaryOperator((a) -> -a, 4, null),
+                        "√", new CCUnaryOperator(Math::sqrt, 4, null))).getOperatorTable();
+        assertEquals(4, table.size());
+        assertEquals(OperatorTable.NONE, table.id("2"));
+        final int pow = table.id("^");
+        assertEquals("^", table.symbol(pow));
+        assertEquals(3, table.precedence(pow));
+        assertEquals(Type.RIGHT, table.type(pow));
+        assertEquals(8.0, table.applyBinary(pow, 2, 3), 0.0);
+        final int minus = table.id("-");
+        assertTrue(table.isBinary(minus) && table.isUnary(minus));
+        assertEquals(1, table.precedence(minus));
+        assertEquals(-2.0, table.applyUnary(minus, 2), 0.0);
+        final int sqrt = table.id("√");
+        assertTrue(table.isUnary(sqrt));
+        assertFalse(table.isBinary(sqrt));
+        assertEquals(3.0, table.applyUnary(sqrt, 9), 0.0);
+        final var model = StandardCalculatorModelFactory.get();
+        assertTrue(model.getOperatorTable() == model.getOperatorTable());
+    }
+
+    /**
+     * The parser reads precedence and associativity from the table of the calculator.
+     */
+    @org.junit.Test
+    public void parseTest() throws CalcException {
+        final CCEngine engine = new CCEngine(Calculator.SCIENTIFIC.getController());
+        assertEquals(List.of("1", "2", "3", "×", "+"), engine.parseToRPN(List.of("1", "+", "2", "×", "3")));
+        assertEquals(List.of("1", "2", "-", "3", "+"), engine.parseToRPN(List.of("1", "-", "2", "+", "3")));
+        assertEquals(List.of("2", "3", "2", "^", "^"), engine.parseToRPN(List.of("2", "^", "3", "^", "2")));
+        assertEquals(List.of("4", "1", "+", "√", "2", "×"), engine.parseToRPN(List.of("√", "(", "4", "+", "1", ")", "×", "2")));
+        assertThrows(CalcException.class, () -> engine.parseToRPN(List.of("(", "1", "+", "2")));
+        assertThrows(CalcException.class, () -> engine.parseToRPN(List.of("1", ")")));
+    }
+}
@@ -0,0 +1,87 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import controller.manager.CCEngine;
+import model.calculators.OperatorTable;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+
+/**
+ * Benchmark harness for the shunting-yard parser: it builds long random expressions of numbers, binary operators,
+ * unary operators and parentheses for a few calculators, and prints how many tokens per second are parsed to reverse
+ * polish notation.
+ */
+public final class ParseBenchmark {
+
+    private static final int DEFAULT_TOKENS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 20;
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final Calculator[] CALCULATORS = {Calculator.STANDARD, Calculator.SCIENTIFIC, Calculator.PROGRAMMER};
+
+    private ParseBenchmark() { }
+
+    /**
+     * @param args optional number of tokens of every expression and of rounds
+     * @throws CalcException if an expression can't be parsed
+     */
+    public static void main(final String... args) throws CalcException {
+        final int tokens = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TOKENS;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        for (final Calculator calc : CALCULATORS) {
+            final CCEngine engine = new CCEngine(calc.getController());
+            final List<String> expression = expression(calc, tokens, new Random(1));
+            long check = 0;
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                check += engine.parseToRPN(expression).size();
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                check += engine.parseToRPN(expression).size();
+            }
+            final double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+            System.out.printf("%-12s %,d tokens x %d in %.2f s: %,.0f tokens/s (checksum %d)%n",
+                    calc, expression.size(), rounds, seconds, expression.size() * (double) rounds / seconds, check);
+        }
+    }
+
+    /**
+     * A valid expression: operands joined by binary operators, some of them wrapped in a unary operator or in
+     * parentheses.
+     */
+    private static List<String> expression(final Calculator calc, final int tokens, final Random random) {
+        final OperatorTable table = calc.getController().getOperatorTable();
+        final List<String> binary = new ArrayList<>();
+        final List<String> unary = new ArrayList<>();
+        for (int id = 0; id < table.size(); id++) {
+            if (table.isBinary(id)) {
+                binary.add(table.symbol(id));
+            } else if (table.isUnary(id)) {
+                unary.add(table.symbol(id));
+            }
+        }
+        final List<String> expression = new ArrayList<>(tokens + 4);
+        while (expression.size() < tokens) {
+            if (!expression.isEmpty()) {
+                expression.add(binary.get(random.nextInt(binary.size())));
+            }
+            final int kind = random.nextInt(4);
+            if (kind == 0 && !unary.isEmpty()) {
+                expression.add(unary.get(random.nextInt(unary.size())));
+            }
+            if (kind <= 1) {
+                expression.add("(");
+                expression.add(String.valueOf(random.nextInt(1000)));
+                expression.add(binary.get(random.nextInt(binary.size())));
+                expression.add(String.valueOf(random.nextInt(1000)));
+                expression.add(")");
+            } else {
+                expression.add(String.valueOf(random.nextInt(1000)));
+            }
+        }
+        return expression;
+    }
+}
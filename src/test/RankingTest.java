@@ -0,0 +1,135 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import model.combinatorics.CombinatorialCursor;
+import model.combinatorics.Enumerators;
+import model.combinatorics.ExactCombinatorics;
+import model.combinatorics.Ranking;
+
+/**
+ * Test class for ranking, unranking and sampling, and for cursors jumping to a rank.
+ */
+public class RankingTest {
+
+    /**
+     * Unranking inverts ranking and follows the order of the enumerators, colexicographic for combinations.
+     */
+    @org.junit.Test
+    public void roundTripTest() {
+        int[] previous = null;
+        for (int r = 0; r < 120; r++) {
+            final int[] subset = Ranking.unrankCombination(10, 3, BigInteger.valueOf(r));
+            assertEquals(BigInteger.valueOf(r), Ranking.rankCombination(subset));
+            if (previous != null) {
+                final int[] a = previous.clone();
+                final int[] b = subset.clone();
+                reverse(a);
+                reverse(b);
+                assertTrue(Arrays.compare(a, b) < 0);
+            }
+            previous = subset;
+        }
+        final CombinatorialCursor permutations = Enumerators.dispositions(6, 6);
+        for (int r = 0; permutations.next(); r++) {
+            assertEquals("[" + r + "]", Arrays.toString(Ranking.unrankPermutation(6, BigInteger.valueOf(r))),
+                    Arrays.toString(permutations.current()));
+            assertEquals(BigInteger.valueOf(r), Ranking.rankPermutation(permutations.current()));
+        }
+        for (int n = 0; n <= 8; n++) {
+            final CombinatorialCursor derangements = Enumerators.derangements(n);
+            for (int r = 0; derangements.next(); r++) {
+                assertEquals(Arrays.toString(derangements.current()), Arrays.toString(Ranking.unrankDerangement(n, BigInteger.valueOf(r))));
+                assertEquals(BigInteger.valueOf(r), Ranking.rankDerangement(derangements.current()));
+            }
+        }
+    }
+
+    private static void reverse(final int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            final int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /**
+     * Objects far beyond the range of a long are reached directly.
+     */
+    @org.junit.Test
+    public void largeTest() {
+        final BigInteger trillion = BigInteger.TEN.pow(12);
+        final int[] subset = Ranking.unrankCombination(60, 20, trillion);
+        assertEquals(20, subset.length);
+        assertEquals(trillion, Ranking.rankCombination(subset));
+        final Random random = new Random(1);
+        for (final int n : new int[] {30, 300, 1000}) {
+            final BigInteger permutationRank = new BigInteger(n, random).mod(ExactCombinatorics.factorial(n));
+            assertEquals(permutationRank, Ranking.rankPermutation(Ranking.unrankPermutation(n, permutationRank)));
+            final BigInteger derangementRank = new BigInteger(n, random).mod(ExactCombinatorics.derangement(n));
+            final int[] derangement = Ranking.unrankDerangement(n, derangementRank);
+            assertEquals(derangementRank, Ranking.rankDerangement(derangement));
+            final BigInteger last = ExactCombinatorics.derangement(n).subtract(BigInteger.ONE);
+            assertEquals(last, Ranking.rankDerangement(Ranking.unrankDerangement(n, last)));
+        }
+        assertEquals(ExactCombinatorics.binomial(1000, 500).subtract(BigInteger.ONE),
+                Ranking.rankCombination(Ranking.unrankCombination(1000, 500, ExactCombinatorics.binomial(1000, 500).subtract(BigInteger.ONE))));
+    }
+
+    /**
+     * Samples are valid objects, and every object of a small space comes up.
+     */
+    @org.junit.Test
+    public void samplingTest() {
+        final Random random = new Random(1);
+        final int[] hits = new int[ExactCombinatorics.derangement(5).intValue()];
+        for (int i = 0; i < 4000; i++) {
+            hits[Ranking.rankDerangement(Ranking.randomDerangement(5, random)).intValue()]++;
+            final int[] permutation = Ranking.randomPermutation(50, random);
+            assertEquals(50, Arrays.stream(permutation).distinct().count());
+            final int[] subset = Ranking.randomCombination(60, 20, random);
+            for (int j = 1; j < subset.length; j++) {
+                assertTrue(subset[j - 1] < subset[j]);
+            }
+        }
+        assertTrue(Arrays.stream(hits).allMatch(h -> h > 0));
+        assertThrows(IllegalArgumentException.class, () -> Ranking.randomDerangement(1, random));
+        assertThrows(IllegalArgumentException.class, () -> Ranking.unrankCombination(5, 2, BigInteger.TEN));
+        assertThrows(IllegalArgumentException.class, () -> Ranking.rankPermutation(new int[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> Ranking.rankDerangement(new int[] {1, 0, 2}));
+    }
+
+    /**
+     * A cursor that jumps to a rank continues with the objects after it, also in spaces too big to count in a long.
+     */
+    @org.junit.Test
+    public void seekTest() {
+        final long[] ranks = {0, 1, 999_999_999_999L, Long.MAX_VALUE / 3, Long.MAX_VALUE - 2};
+        for (final CombinatorialCursor cursor : new CombinatorialCursor[] {Enumerators.subsets(200, 100),
+            Enumerators.subsets(3_000_000, 4), Enumerators.dispositions(40, 30), Enumerators.derangements(45),
+            Enumerators.sequences(3, 60)}) {
+            for (final long rank : ranks) {
+                cursor.seek(rank);
+                assertTrue(cursor.next());
+                assertTrue(cursor.next());
+                final String second = Arrays.toString(Arrays.copyOf(cursor.current(), cursor.length()));
+                cursor.seek(rank + 1);
+                assertTrue(cursor.next());
+                assertEquals(second, Arrays.toString(Arrays.copyOf(cursor.current(), cursor.length())));
+            }
+        }
+        final CombinatorialCursor derangements = Enumerators.derangements(30);
+        derangements.seek(123_456_789_012L);
+        derangements.next();
+        assertEquals(Arrays.toString(Ranking.unrankDerangement(30, BigInteger.valueOf(123_456_789_012L))),
+                Arrays.toString(derangements.current()));
+        assertEquals(5000, Enumerators.subsets(100, 50).stream(1L << 40, (1L << 40) + 5000).parallel().count());
+        assertThrows(IllegalArgumentException.class, () -> derangements.seek(-1));
+    }
+}
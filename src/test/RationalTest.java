@@ -0,0 +1,104 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import controller.manager.CCEngine;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+import utils.Rational;
+
+/**
+ * Test class for the exact rational numbers and the exact evaluation of the engine.
+ */
+public class RationalTest {
+
+    /**
+     * Fractions are kept in lowest terms with a positive denominator, whether they fit longs or not.
+     */
+    @org.junit.Test
+    public void arithmeticTest() {
+        final Rational tenth = Rational.parse("0.1");
+        assertEquals(Rational.valueOf(3, 10), tenth.add(Rational.parse("0.2")));
+        assertEquals(Rational.ZERO, tenth.add(Rational.parse("0.2")).subtract(Rational.parse("0.3")));
+        assertEquals(Rational.valueOf(-1, 2), Rational.valueOf(3, -6));
+        assertEquals("-1/2", Rational.valueOf(3, -6).toString());
+        assertEquals(Rational.valueOf(2, 9), Rational.valueOf(2, 3).divide(Rational.valueOf(3)));
+        assertEquals(Rational.valueOf(1, 8), Rational.valueOf(2).pow(-3));
+        assertEquals(Rational.valueOf(12500), Rational.parse("12.5E3"));
+        assertEquals(new BigDecimal("0.3333333333"), Rational.valueOf(1, 3).toBigDecimal(new MathContext(10)));
+        assertEquals(0.1, tenth.doubleValue(), 0.0);
+        assertTrue(Rational.valueOf(1, 3).compareTo(Rational.valueOf(1, 2)) < 0);
+        assertThrows(ArithmeticException.class, () -> Rational.ONE.divide(Rational.ZERO));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(2).pow(Rational.valueOf(1, 2)));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(2).pow(Integer.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(2).pow(1_000_000));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(3, 2).pow(100_000));
+        assertThrows(ArithmeticException.class, () -> Rational.valueOf(3, 2).pow(-100_000));
+        assertEquals(Rational.valueOf(BigInteger.TWO.pow(1000), BigInteger.ONE), Rational.valueOf(2).pow(1000));
+        assertThrows(ArithmeticException.class, () -> Rational.parse("1E99999999"));
+        assertThrows(ArithmeticException.class, () -> Rational.parse("1E-99999999"));
+        Rational square = Rational.valueOf(3);
+        for (int i = 0; i < 9; i++) {
+            square = square.multiply(square);
+        }
+        assertEquals(Rational.valueOf(BigInteger.valueOf(3).pow(512), BigInteger.ONE), square);
+        final Rational last = square;
+        assertThrows(ArithmeticException.class, () -> last.multiply(last));
+        final Rational close = Rational.valueOf(1_000_001, 1_000_000);
+        assertThrows(ArithmeticException.class, () -> {
+            Rational power = close;
+            for (int i = 0; i < 30; i++) {
+                power = power.multiply(power);
+            }
+        });
+        assertThrows(ArithmeticException.class, () -> close.pow(1_000_000));
+    }
+
+    /**
+     * Overflowing longs moves to BigInteger, and results that fit again come back to longs.
+     */
+    @org.junit.Test
+    public void overflowTest() {
+        final Rational max = Rational.valueOf(Long.MAX_VALUE);
+        final Rational big = max.add(Rational.ONE);
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), big.getNumerator());
+        assertEquals(max, big.subtract(Rational.ONE));
+        assertEquals(Rational.valueOf(Long.MIN_VALUE), big.negate());
+        assertEquals(big, Rational.valueOf(Long.MIN_VALUE).negate());
+        assertEquals(Rational.valueOf(-1).divide(big), Rational.valueOf(Long.MIN_VALUE + 1, Long.MIN_VALUE)
+                .add(Rational.valueOf(-1)));
+        final Rational third = Rational.valueOf(1, 3);
+        assertEquals(BigInteger.valueOf(3).pow(100), third.pow(100).getDenominator());
+        assertEquals(third, third.pow(100).multiply(Rational.valueOf(3).pow(99)));
+        assertEquals(max.multiply(max).hashCode(), Rational.parse(BigInteger.valueOf(Long.MAX_VALUE).pow(2).toString()).hashCode());
+    }
+
+    /**
+     * The standard calculator evaluates exactly and falls back to floating point for the other operators.
+     */
+    @org.junit.Test
+    public void engineTest() throws CalcException {
+        final CCEngine engine = new CCEngine(Calculator.STANDARD.getController());
+        assertEquals("0", engine.calculateAndFormat(List.of("0", ".", "1", "+", "0", ".", "2", "-", "0", ".", "3")));
+        assertEquals(Rational.valueOf(1, 3), engine.calculateExact(List.of("1", "÷", "3")));
+        assertEquals("1.4142135624", engine.calculateAndFormat(List.of("√", "(", "2", ")")));
+        assertThrows(CalcException.class, () -> engine.calculateExact(List.of("√", "(", "2", ")")));
+        assertThrows(CalcException.class, () -> engine.calculateAndFormat(List.of("1", "÷", "0")));
+        assertThrows(CalcException.class, () -> engine.calculateAndFormat(List.of("1E99999999", "+", "1")));
+        final List<String> squares = new ArrayList<>(List.of("3"));
+        squares.addAll(Collections.nCopies(30, "x²"));
+        assertThrows(CalcException.class, () -> engine.calculateAndFormat(squares));
+        final CCEngine scientific = new CCEngine(Calculator.SCIENTIFIC.getController());
+        assertEquals(Rational.valueOf(1, 1024), scientific.calculateExact(List.of("2", "^", "(", "0", "-", "1", "0", ")")));
+        assertEquals("1.4142135624", scientific.calculateAndFormat(List.of("2", "^", "0", ".", "5")));
+    }
+}
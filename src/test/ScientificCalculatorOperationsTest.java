@@ -1,6 +1,7 @@
 package test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import model.calculators.CalculatorModel;
 import model.calculators.ScientificCalculatorModelFactory;
@@ -41,17 +42,21 @@ public class ScientificCalculatorOperationsTest {
     }
     /**
      * 
-     * Method that tests the factorial operator "!".
+     * Method that tests the factorial operator "!", which is Gamma(n + 1) for non-integers.
      * 
      */
     @org.junit.Test
     public void factorialTest() {
         final var fact = this.calc.getUnaryOpMap().get("factorial");
         assertEquals(120.0, fact.apply(5), 0);
-        assertEquals(120.0, fact.apply(4.56), 0);
-        assertEquals(24.0, fact.apply(4.499), 0);
+        assertEquals(57.67575850399091, fact.apply(4.56), 1e-12);
+        assertEquals(52.258521797444764, fact.apply(4.499), 1e-12);
         assertEquals(1.0, fact.apply(0.0), 0);
-        assertEquals(1.0, fact.apply(0.56), 0);
+        assertEquals(0.889639199009425, fact.apply(0.56), 1e-14);
+        assertEquals(2_432_902_008_176_640_000.0, fact.apply(20), 0);
+        assertEquals(7.257415615307999e306, fact.apply(170), 0);
+        assertEquals(Double.POSITIVE_INFINITY, fact.apply(171), 0);
+        assertTrue(Double.isNaN(fact.apply(-3)));
     }
     /**
      * Method that tests the "nthRoot" operator.
@@ -0,0 +1,85 @@
+package test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import view.server.CCEvaluationServer;
+
+/**
+ * Load test harness for the evaluation service: starts a server on a free localhost port
+ * and fires requests from several concurrent clients, then prints throughput and latency percentiles.
+ */
+public final class ServerLoadTest {
+
+    private static final int DEFAULT_REQUESTS = 10_000;
+    private static final int DEFAULT_CLIENTS = 32;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final List<String> BODIES = List.of(
+            "{\"calculator\":\"STANDARD\",\"expression\":\"12+3×4-5÷2\"}",
+            "{\"calculator\":\"SCIENTIFIC\",\"expression\":\"sin(1)^2+cos(1)^2\"}",
+            "{\"calculator\":\"PROGRAMMER\",\"expression\":\"255 and 15 or 64\"}",
+            "{\"calculator\":\"COMBINATORICS\",\"expression\":\"30 binomialCoefficient 15\"}",
+            "{\"calculator\":\"ADVANCED\",\"operation\":\"INTEGRATE\",\"expression\":\"x^2+sin(x)\",\"parameters\":[\"0\",\"3\"]}",
+            "{\"calculator\":\"ADVANCED\",\"operation\":\"DERIVATE\",\"expression\":\"x^3+cos(x)\"}");
+
+    private ServerLoadTest() { }
+
+    /**
+     * @param args optional number of requests and number of concurrent clients
+     * @throws IOException if the server can't start
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public static void main(final String... args) throws IOException, InterruptedException {
+        final int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+        final int clients = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CLIENTS;
+        final CCEvaluationServer server = new CCEvaluationServer(0);
+        server.start();
+        final URI uri = URI.create("http://localhost:" + server.getPort() + "/evaluate");
+        final HttpClient client = HttpClient.newHttpClient();
+        final long[] latencies = new long[requests];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(clients);
+        final long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            pool.execute(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    final HttpRequest request = HttpRequest.newBuilder(uri)
+                            .POST(HttpRequest.BodyPublishers.ofString(BODIES.get(i % BODIES.size()))).build();
+                    final long sent = System.nanoTime();
+                    try {
+                        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200 || response.body().contains("\"error\"")) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        final double seconds = (System.nanoTime() - start) / (NANOS_PER_MILLI * 1000);
+        server.stop();
+        Arrays.sort(latencies);
+        System.out.printf("%d requests, %d clients, %d failures%n", requests, clients, failures.get());
+        System.out.printf("throughput: %.0f req/s%n", requests / seconds);
+        for (final double p : new double[] {0.5, 0.9, 0.99, 1}) {
+            System.out.printf("p%s: %.2f ms%n", p * 100, latencies[(int) Math.min(requests - 1, p * requests)] / NANOS_PER_MILLI);
+        }
+    }
+}
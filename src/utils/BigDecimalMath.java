@@ -0,0 +1,429 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.function.Function;
+
+/**
+ * Elementary functions on BigDecimal, correct to the precision of the given MathContext apart from the last digit.
+ * Every function reduces its argument to a small interval, where a power series converges quickly, and works with a
+ * few guard digits more than asked. The constants pi, e, ln 2 and ln 10 are cached at the highest precision computed so far,
+ * growing at least twice at a time, so that evaluations at the same high precision don't compute them again.
+ */
+public final class BigDecimalMath {
+
+    private static final int GUARD_DIGITS = 10;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+    private static final BigDecimal THREE_HALVES = new BigDecimal("1.5");
+    private static final BigDecimal ATAN_LIMIT = new BigDecimal("0.1");
+    /* beyond this the result of exp doesn't fit the exponent of a BigDecimal */
+    private static final BigDecimal MAX_EXP = new BigDecimal("1E9");
+    private static final BigDecimal THREE = BigDecimal.valueOf(3);
+    private static final BigInteger FOUR_INT = BigInteger.valueOf(4);
+
+    private static final Constant PI = new Constant((mc) -> FOUR.multiply(
+            FOUR.multiply(atanInverse(5, mc)).subtract(atanInverse(239, mc)), mc));
+    private static final Constant E = new Constant(BigDecimalMath::computeE);
+    private static final Constant LN2 = new Constant((mc) -> TWO.multiply(atanhInverse(3, mc), mc));
+    /* ln 10 = 3 ln 2 + ln(5 / 4), and ln(5 / 4) = 2 atanh(1 / 9) */
+    private static final Constant LN10 = new Constant((mc) -> THREE.multiply(LN2.get(mc), mc)
+            .add(TWO.multiply(atanhInverse(9, mc), mc), mc));
+
+    private BigDecimalMath() {
+    }
+
+    /**
+     * A constant computed again only when a higher precision is asked.
+     */
+    private static final class Constant {
+        private final Function<MathContext, BigDecimal> compute;
+        private volatile BigDecimal value;
+        private volatile int digits;
+
+        Constant(final Function<MathContext, BigDecimal> compute) {
+            this.compute = compute;
+        }
+
+        BigDecimal get(final MathContext mc) {
+            if (this.digits < mc.getPrecision()) {
+                synchronized (this) {
+                    if (this.digits < mc.getPrecision()) {
+                        final int precision = Math.max(mc.getPrecision(), 2 * this.digits);
+                        this.value = this.compute.apply(new MathContext(precision + GUARD_DIGITS, RoundingMode.HALF_EVEN));
+                        this.digits = precision;
+                    }
+                }
+            }
+            return this.value.round(mc);
+        }
+    }
+
+    private static MathContext working(final MathContext mc, final int extraDigits) {
+        if (mc.getPrecision() == 0) {
+            throw new IllegalArgumentException("Precision must be positive");
+        }
+        return new MathContext(mc.getPrecision() + GUARD_DIGITS + extraDigits, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @return the smallest term of a series that still changes a sum of order one
+     */
+    private static BigDecimal epsilon(final MathContext mc) {
+        return BigDecimal.ONE.movePointLeft(mc.getPrecision() + 1);
+    }
+
+    /**
+     * @return the number of digits before the point, at least 0
+     */
+    private static int integerDigits(final BigDecimal x) {
+        return Math.max(0, x.precision() - x.scale());
+    }
+
+    /**
+     * @param mc the precision
+     * @return pi
+     */
+    public static BigDecimal pi(final MathContext mc) {
+        return PI.get(working(mc, 0)).round(mc);
+    }
+
+    /**
+     * @param mc the precision
+     * @return Euler's number
+     */
+    public static BigDecimal e(final MathContext mc) {
+        return E.get(working(mc, 0)).round(mc);
+    }
+
+    /**
+     * @param mc the precision
+     * @return the natural logarithm of 2
+     */
+    public static BigDecimal ln2(final MathContext mc) {
+        return LN2.get(working(mc, 0)).round(mc);
+    }
+
+    /**
+     * @param x a non negative number
+     * @param mc the precision
+     * @return the square root
+     * @throws ArithmeticException if the number is negative
+     */
+    public static BigDecimal sqrt(final BigDecimal x, final MathContext mc) {
+        if (x.signum() < 0) {
+            throw new ArithmeticException("Square root of a negative number");
+        }
+        return x.sqrt(working(mc, 0)).round(mc);
+    }
+
+    /**
+     * Reduces the argument to r = x - k ln 2, with |r| at most ln 2 / 2, divides it by 2^s to speed up the series and
+     * squares the result back s times: e^x = (e^(r / 2^s))^(2^s) 2^k.
+     * @param x a number
+     * @param mc the precision
+     * @return e raised to the number
+     * @throws ArithmeticException if the result is too big or small for a BigDecimal
+     */
+    public static BigDecimal exp(final BigDecimal x, final MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ONE.round(mc);
+        }
+        if (x.abs().compareTo(MAX_EXP) > 0) {
+            throw new ArithmeticException("Overflow");
+        }
+        final int squarings = (int) Math.sqrt(mc.getPrecision());
+        final MathContext wp = working(mc, squarings + integerDigits(x));
+        final BigDecimal ln2 = LN2.get(wp);
+        final BigInteger k = x.divide(ln2, wp).setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+        final BigDecimal r = x.subtract(ln2.multiply(new BigDecimal(k), wp), wp);
+        BigDecimal result = expSeries(r.divide(TWO.pow(squarings), wp), wp);
+        for (int i = 0; i < squarings; i++) {
+            result = result.multiply(result, wp);
+        }
+        return result.multiply(TWO.pow(k.intValueExact(), wp), wp).round(mc);
+    }
+
+    private static BigDecimal expSeries(final BigDecimal x, final MathContext wp) {
+        final BigDecimal epsilon = epsilon(wp);
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        for (int n = 1; term.abs().compareTo(epsilon) >= 0; n++) {
+            term = term.multiply(x, wp).divide(BigDecimal.valueOf(n), wp);
+            sum = sum.add(term, wp);
+        }
+        return sum;
+    }
+
+    private static BigDecimal computeE(final MathContext wp) {
+        return expSeries(BigDecimal.ONE, wp);
+    }
+
+    /**
+     * Splits off the power of ten, which only moves the point: x = d 10^e with d between 1 and 10. Then reduces d to
+     * m = d / 2^k, with m between 3/4 and 3/2 after at most three halvings, and sums the series of
+     * ln m = 2 atanh((m - 1) / (m + 1)): ln x = e ln 10 + k ln 2 + ln m. Numbers close to 1 skip the reduction, whose terms
+     * would cancel, and sum the series of x itself.
+     * @param x a positive number
+     * @param mc the precision
+     * @return the natural logarithm
+     * @throws ArithmeticException if the number isn't positive
+     */
+    public static BigDecimal ln(final BigDecimal x, final MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Logarithm of a non positive number");
+        }
+        final long exponent = (long) x.precision() - x.scale() - 1;
+        /* the exponent first, x - 1 would have every digit of a huge or tiny power of ten */
+        if (exponent >= -1 && exponent <= 0 && x.subtract(BigDecimal.ONE).abs().compareTo(HALF) < 0) {
+            final MathContext wp = working(mc, 0);
+            final BigDecimal z = x.subtract(BigDecimal.ONE).divide(x.add(BigDecimal.ONE), wp);
+            return TWO.multiply(atanhSeries(z, wp), wp).round(mc);
+        }
+        /* the digits of the exponent are lost to the integer part of e ln 10 */
+        final MathContext wp = working(mc, String.valueOf(Math.abs(exponent)).length());
+        BigDecimal m = new BigDecimal(x.unscaledValue(), x.precision() - 1).round(wp);
+        int k = 0;
+        while (m.compareTo(THREE_HALVES) > 0) {
+            m = m.multiply(HALF);
+            k++;
+        }
+        final BigDecimal z = m.subtract(BigDecimal.ONE).divide(m.add(BigDecimal.ONE), wp);
+        final BigDecimal lnM = TWO.multiply(atanhSeries(z, wp), wp);
+        return LN10.get(wp).multiply(BigDecimal.valueOf(exponent), wp)
+                .add(LN2.get(wp).multiply(BigDecimal.valueOf(k), wp), wp).add(lnM, wp).round(mc);
+    }
+
+    /**
+     * @param x a positive number
+     * @param base a positive base other than 1
+     * @param mc the precision
+     * @return the logarithm of the number in the base
+     * @throws ArithmeticException if the number or the base isn't positive, or the base is 1
+     */
+    public static BigDecimal log(final BigDecimal x, final BigDecimal base, final MathContext mc) {
+        final MathContext wp = working(mc, 0);
+        return ln(x, wp).divide(ln(base, wp), wp).round(mc);
+    }
+
+    private static BigDecimal atanhSeries(final BigDecimal z, final MathContext wp) {
+        final BigDecimal epsilon = epsilon(wp);
+        final BigDecimal square = z.multiply(z, wp);
+        BigDecimal power = z;
+        BigDecimal sum = z;
+        for (int n = 3; power.abs().compareTo(epsilon) >= 0; n += 2) {
+            power = power.multiply(square, wp);
+            sum = sum.add(power.divide(BigDecimal.valueOf(n), wp), wp);
+        }
+        return sum;
+    }
+
+    /**
+     * @return atanh(1 / n), with the powers of n exact
+     */
+    private static BigDecimal atanhInverse(final int n, final MathContext wp) {
+        return inverseSeries(n, false, wp);
+    }
+
+    /**
+     * @return atan(1 / n), with the powers of n exact
+     */
+    private static BigDecimal atanInverse(final int n, final MathContext wp) {
+        return inverseSeries(n, true, wp);
+    }
+
+    private static BigDecimal inverseSeries(final int n, final boolean alternating, final MathContext wp) {
+        final BigDecimal epsilon = epsilon(wp);
+        final BigInteger square = BigInteger.valueOf((long) n * n);
+        BigInteger power = BigInteger.valueOf(n);
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal term = BigDecimal.ONE;
+        for (int k = 1; term.compareTo(epsilon) >= 0; k += 2) {
+            term = BigDecimal.ONE.divide(new BigDecimal(power.multiply(BigInteger.valueOf(k))), wp);
+            sum = alternating && k % 4 == 3 ? sum.subtract(term, wp) : sum.add(term, wp);
+            power = power.multiply(square);
+        }
+        return sum;
+    }
+
+    /**
+     * @param x an angle in radians
+     * @param mc the precision
+     * @return the sine
+     */
+    public static BigDecimal sin(final BigDecimal x, final MathContext mc) {
+        return sinCos(x, mc, 0);
+    }
+
+    /**
+     * @param x an angle in radians
+     * @param mc the precision
+     * @return the cosine
+     */
+    public static BigDecimal cos(final BigDecimal x, final MathContext mc) {
+        return sinCos(x, mc, 1);
+    }
+
+    /**
+     * @param x an angle in radians
+     * @param mc the precision
+     * @return the tangent
+     * @throws ArithmeticException if the cosine is zero at this precision
+     */
+    public static BigDecimal tan(final BigDecimal x, final MathContext mc) {
+        final MathContext wp = working(mc, 0);
+        return sin(x, wp).divide(cos(x, wp), wp).round(mc);
+    }
+
+    /**
+     * Reduces the argument to r = x - n pi / 2, with |r| at most pi / 4, and sums the series of the sine or the cosine
+     * of r, as the quadrant n asks: sin x = cos(x - pi / 2). When x is close to a multiple of pi / 2 the subtraction
+     * cancels the leading digits of r, so the reduction is done again with as many digits more.
+     * @param quarters 0 for the sine, 1 for the cosine
+     */
+    private static BigDecimal sinCos(final BigDecimal x, final MathContext mc, final int quarters) {
+        final int digits = integerDigits(x);
+        MathContext wp = working(mc, digits);
+        BigInteger n;
+        BigDecimal r;
+        while (true) {
+            final BigDecimal halfPi = PI.get(wp).divide(TWO, wp);
+            n = x.divide(halfPi, wp).setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+            r = x.subtract(halfPi.multiply(new BigDecimal(n), wp), wp);
+            final int cancelled = n.signum() == 0 ? 0
+                    : r.signum() == 0 ? wp.getPrecision() : Math.max(0, r.scale() - r.precision() + 1);
+            final MathContext needed = working(mc, digits + cancelled);
+            if (needed.getPrecision() <= wp.getPrecision()) {
+                break;
+            }
+            wp = needed;
+        }
+        final int quadrant = n.add(BigInteger.valueOf(quarters)).mod(FOUR_INT).intValue();
+        final BigDecimal result;
+        switch (quadrant) {
+        case 0:
+            result = trigSeries(r, 1, wp);
+            break;
+        case 1:
+            result = trigSeries(r, 0, wp);
+            break;
+        case 2:
+            result = trigSeries(r, 1, wp).negate();
+            break;
+        default:
+            result = trigSeries(r, 0, wp).negate();
+            break;
+        }
+        return result.round(mc);
+    }
+
+    /**
+     * @param first 1 for the series of the sine, x - x^3 / 3! + ..., 0 for the one of the cosine, 1 - x^2 / 2! + ...
+     */
+    private static BigDecimal trigSeries(final BigDecimal x, final int first, final MathContext wp) {
+        final BigDecimal epsilon = epsilon(wp);
+        final BigDecimal square = x.multiply(x, wp).negate();
+        BigDecimal term = first == 1 ? x : BigDecimal.ONE;
+        BigDecimal sum = term;
+        for (int n = first + 1; term.abs().compareTo(epsilon) >= 0; n += 2) {
+            term = term.multiply(square, wp).divide(BigDecimal.valueOf((long) n * (n + 1)), wp);
+            sum = sum.add(term, wp);
+        }
+        return sum;
+    }
+
+    /**
+     * Reduces the argument below 1 with atan x = pi / 2 - atan(1 / x), then below 1/10 halving the angle with
+     * atan x = 2 atan(x / (1 + sqrt(1 + x^2))), and sums the series.
+     * @param x a number
+     * @param mc the precision
+     * @return the arc tangent, between -pi / 2 and pi / 2
+     */
+    public static BigDecimal atan(final BigDecimal x, final MathContext mc) {
+        if (x.signum() < 0) {
+            return atan(x.negate(), mc).negate();
+        }
+        final MathContext wp = working(mc, 0);
+        if (x.compareTo(BigDecimal.ONE) > 0) {
+            return PI.get(wp).divide(TWO, wp).subtract(atan(BigDecimal.ONE.divide(x, wp), wp), wp).round(mc);
+        }
+        BigDecimal y = x;
+        int halvings = 0;
+        while (y.compareTo(ATAN_LIMIT) > 0) {
+            y = y.divide(BigDecimal.ONE.add(BigDecimal.ONE.add(y.multiply(y, wp)).sqrt(wp)), wp);
+            halvings++;
+        }
+        final BigDecimal epsilon = epsilon(wp);
+        final BigDecimal square = y.multiply(y, wp).negate();
+        BigDecimal power = y;
+        BigDecimal sum = y;
+        for (int n = 3; power.abs().compareTo(epsilon) >= 0; n += 2) {
+            power = power.multiply(square, wp);
+            sum = sum.add(power.divide(BigDecimal.valueOf(n), wp), wp);
+        }
+        return sum.multiply(TWO.pow(halvings)).round(mc);
+    }
+
+    /**
+     * Computed as asin x = 2 atan(x / (1 + sqrt(1 - x^2))), defined at the ends of the interval too.
+     * @param x a number between -1 and 1
+     * @param mc the precision
+     * @return the arc sine, between -pi / 2 and pi / 2
+     * @throws ArithmeticException if the number is outside the interval
+     */
+    public static BigDecimal asin(final BigDecimal x, final MathContext mc) {
+        if (x.abs().compareTo(BigDecimal.ONE) > 0) {
+            throw new ArithmeticException("Arc sine outside of [-1, 1]");
+        }
+        final MathContext wp = working(mc, 0);
+        final BigDecimal root = BigDecimal.ONE.subtract(x.multiply(x, wp), wp).sqrt(wp);
+        return TWO.multiply(atan(x.divide(BigDecimal.ONE.add(root), wp), wp)).round(mc);
+    }
+
+    /**
+     * @param x a number between -1 and 1
+     * @param mc the precision
+     * @return the arc cosine, between 0 and pi
+     * @throws ArithmeticException if the number is outside the interval
+     */
+    public static BigDecimal acos(final BigDecimal x, final MathContext mc) {
+        final MathContext wp = working(mc, 0);
+        return PI.get(wp).divide(TWO, wp).subtract(asin(x, wp), wp).round(mc);
+    }
+
+    /**
+     * Integer exponents are computed by repeated squaring, the others as e^(y ln x).
+     * @param x the base
+     * @param y the exponent
+     * @param mc the precision
+     * @return x raised to y
+     * @throws ArithmeticException if the base is negative and the exponent isn't an integer, or zero is raised to a
+     * non positive exponent
+     */
+    public static BigDecimal pow(final BigDecimal x, final BigDecimal y, final MathContext mc) {
+        if (isInteger(y) && y.abs().compareTo(MAX_EXP) < 0) {
+            if (x.signum() == 0 && y.signum() <= 0) {
+                throw new ArithmeticException("Zero raised to a non positive power");
+            }
+            return x.pow(y.intValueExact(), working(mc, 0)).round(mc);
+        }
+        if (x.signum() < 0) {
+            throw new ArithmeticException("Power of a negative number");
+        }
+        if (x.signum() == 0) {
+            if (y.signum() <= 0) {
+                throw new ArithmeticException("Zero raised to a non positive power");
+            }
+            return BigDecimal.ZERO;
+        }
+        final MathContext wp = working(mc, integerDigits(y) + 2);
+        return exp(y.multiply(ln(x, wp), wp), wp).round(mc);
+    }
+
+    private static boolean isInteger(final BigDecimal x) {
+        return x.signum() == 0 || x.scale() <= 0 || x.stripTrailingZeros().scale() <= 0;
+    }
+}
@@ -1,4 +1,6 @@
 package utils;
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.function.BinaryOperator;
 /**
  * 
@@ -7,8 +9,24 @@ import java.util.function.BinaryOperator;
  */
 public class CCBinaryOperator {
     private final BinaryOperator<Double> operator;
+    private final BigDecimalFunction bigDecimalOperator;
+    private final BinaryOperator<Rational> rationalOperator;
     private final int precedence;
     private final Type type;
+    /**
+     * The operation computed on BigDecimal, rounded to a MathContext.
+     */
+    @FunctionalInterface
+    public interface BigDecimalFunction {
+        /**
+         * @param a the first operand
+         * @param b the second operand
+         * @param mc the precision of the result
+         * @return the result of the operation
+         * @throws ArithmeticException if the result isn't defined
+         */
+        BigDecimal apply(BigDecimal a, BigDecimal b, MathContext mc);
+    }
     /**
      * 
      * @param operator a BinaryOperator that contains the right BiFunction for this operator
@@ -16,7 +34,32 @@ public class CCBinaryOperator {
      * @param type the type of association of the operator
      */
     public CCBinaryOperator(final BinaryOperator<Double> operator, final int precedence, final Type type) {
+        this(operator, null, null, precedence, type);
+    }
+    /**
+     * 
+     * @param operator a BinaryOperator that contains the right BiFunction for this operator
+     * @param bigDecimalOperator the same operation in arbitrary precision, null if it has none
+     * @param precedence the level of precedence of the operator
+     * @param type the type of association of the operator
+     */
+    public CCBinaryOperator(final BinaryOperator<Double> operator, final BigDecimalFunction bigDecimalOperator,
+            final int precedence, final Type type) {
+        this(operator, bigDecimalOperator, null, precedence, type);
+    }
+    /**
+     * 
+     * @param operator a BinaryOperator that contains the right BiFunction for this operator
+     * @param bigDecimalOperator the same operation in arbitrary precision, null if it has none
+     * @param rationalOperator the same operation on exact rationals, null if it has none
+     * @param precedence the level of precedence of the operator
+     * @param type the type of association of the operator
+     */
+    public CCBinaryOperator(final BinaryOperator<Double> operator, final BigDecimalFunction bigDecimalOperator,
+            final BinaryOperator<Rational> rationalOperator, final int precedence, final Type type) {
         this.operator = operator;
+        this.bigDecimalOperator = bigDecimalOperator;
+        this.rationalOperator = rationalOperator;
         this.precedence = precedence;
         this.type = type;
     }
@@ -29,6 +72,47 @@ public class CCBinaryOperator {
     public double apply(final double a, final double b) {
         return this.operator.apply(a, b);
     }
+    /**
+     * 
+     * @param a the first operand
+     * @param b the second operand
+     * @param mc the precision of the result
+     * @return the result of the operation
+     * @throws ArithmeticException if the operator has no arbitrary precision or the result isn't defined
+     */
+    public BigDecimal apply(final BigDecimal a, final BigDecimal b, final MathContext mc) {
+        if (this.bigDecimalOperator == null) {
+            throw new ArithmeticException("No arbitrary precision for this operator");
+        }
+        return this.bigDecimalOperator.apply(a, b, mc);
+    }
+    /**
+     * 
+     * @return whether the operator can be computed in arbitrary precision
+     */
+    public boolean hasBigDecimal() {
+        return this.bigDecimalOperator != null;
+    }
+    /**
+     * 
+     * @param a the first operand
+     * @param b the second operand
+     * @return the exact result of the operation
+     * @throws ArithmeticException if the operator has no exact result or the result isn't a rational
+     */
+    public Rational apply(final Rational a, final Rational b) {
+        if (this.rationalOperator == null) {
+            throw new ArithmeticException("No exact result for this operator");
+        }
+        return this.rationalOperator.apply(a, b);
+    }
+    /**
+     * 
+     * @return whether the operator can be computed on exact rationals
+     */
+    public boolean hasRational() {
+        return this.rationalOperator != null;
+    }
     /**
      * 
      * @return the level of precedence of the operator
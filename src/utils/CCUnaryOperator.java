@@ -1,5 +1,7 @@
 package utils;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.function.UnaryOperator;
 
 /**
@@ -9,8 +11,23 @@ import java.util.function.UnaryOperator;
  */
 public class CCUnaryOperator {
     private final UnaryOperator<Double> operator;
+    private final BigDecimalFunction bigDecimalOperator;
+    private final UnaryOperator<Rational> rationalOperator;
     private final int precedence;
     private final Type type;
+    /**
+     * The operation computed on BigDecimal, rounded to a MathContext.
+     */
+    @FunctionalInterface
+    public interface BigDecimalFunction {
+        /**
+         * @param a the operand
+         * @param mc the precision of the result
+         * @return the result of the operation
+         * @throws ArithmeticException if the result isn't defined
+         */
+        BigDecimal apply(BigDecimal a, MathContext mc);
+    }
     /**
      * 
      * @param operator a UnaryOperator that contains the right Function for this operator
@@ -18,7 +35,32 @@ public class CCUnaryOperator {
      * @param type the type of association of the operator
      */
     public CCUnaryOperator(final UnaryOperator<Double> operator, final int precedence, final Type type) {
+        this(operator, null, null, precedence, type);
+    }
+    /**
+     * 
+     * @param operator a UnaryOperator that contains the right Function for this operator
+     * @param bigDecimalOperator the same operation in arbitrary precision, null if it has none
+     * @param precedence the level of precedence of the operator
+     * @param type the type of association of the operator
+     */
+    public CCUnaryOperator(final UnaryOperator<Double> operator, final BigDecimalFunction bigDecimalOperator,
+            final int precedence, final Type type) {
+        this(operator, bigDecimalOperator, null, precedence, type);
+    }
+    /**
+     * 
+     * @param operator a UnaryOperator that contains the right Function for this operator
+     * @param bigDecimalOperator the same operation in arbitrary precision, null if it has none
+     * @param rationalOperator the same operation on exact rationals, null if it has none
+     * @param precedence the level of precedence of the operator
+     * @param type the type of association of the operator
+     */
+    public CCUnaryOperator(final UnaryOperator<Double> operator, final BigDecimalFunction bigDecimalOperator,
+            final UnaryOperator<Rational> rationalOperator, final int precedence, final Type type) {
         this.operator = operator;
+        this.bigDecimalOperator = bigDecimalOperator;
+        this.rationalOperator = rationalOperator;
         this.precedence = precedence;
         this.type = type;
     }
@@ -30,6 +72,45 @@ public class CCUnaryOperator {
     public double apply(final double a) {
         return this.operator.apply(a);
     }
+    /**
+     * 
+     * @param a the operand
+     * @param mc the precision of the result
+     * @return the result of the operation
+     * @throws ArithmeticException if the operator has no arbitrary precision or the result isn't defined
+     */
+    public BigDecimal apply(final BigDecimal a, final MathContext mc) {
+        if (this.bigDecimalOperator == null) {
+            throw new ArithmeticException("No arbitrary precision for this operator");
+        }
+        return this.bigDecimalOperator.apply(a, mc);
+    }
+    /**
+     * 
+     * @return whether the operator can be computed in arbitrary precision
+     */
+    public boolean hasBigDecimal() {
+        return this.bigDecimalOperator != null;
+    }
+    /**
+     * 
+     * @param a the operand
+     * @return the exact result of the operation
+     * @throws ArithmeticException if the operator has no exact result or the result isn't a rational
+     */
+    public Rational apply(final Rational a) {
+        if (this.rationalOperator == null) {
+            throw new ArithmeticException("No exact result for this operator");
+        }
+        return this.rationalOperator.apply(a);
+    }
+    /**
+     * 
+     * @return whether the operator can be computed on exact rationals
+     */
+    public boolean hasRational() {
+        return this.rationalOperator != null;
+    }
     /**
      * 
      * @return the level of precedence of the operator
@@ -5,6 +5,7 @@ import java.util.function.Supplier;
 
 import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
 import controller.calculators.logics.AdvancedLogics;
+import utils.calculate.Budget;
 /**
  * Command Factory produces commands that in this case have they have logic
  * integrated in it.
@@ -66,6 +67,22 @@ public class CommandFactory {
         };
     }
 
+    /**
+     * Calculates the expression within a budget.
+     * @param params
+     * @param budget the limits of the calculation
+     * @return the result of the expression
+     */
+    public Command calculate(final List<String> params, final Budget budget) {
+        return new Command() {
+
+            @Override
+            public String execute() {
+               return receiver.calculate(params, budget);
+            }
+        };
+    }
+
     /**
      * @return is used for retrieving the previous state
      */
@@ -1,124 +1,217 @@
 package utils;
 
+import java.util.Arrays;
+
 /**
- * This class contains methods for conversions, such as:
- * -Decimal to Binary
- * -Binary to Octal, Hexadecimal.
- * -Utility for negative numbers.
+ * This class contains methods for conversions between longs and their digits in any base from 2 to 36, such as:
+ * -Decimal to Binary, Octal, Hexadecimal, with the sign first.
+ * -Binary, Octal, Hexadecimal to Decimal, signed or as the unsigned bits of a long.
+ * -Bulk conversions of many values at a time.
+ * Digits are read and written through lookup tables, and numbers are built with Horner's scheme on longs, so every
+ * value of 64 bits is converted exactly.
  */
 public final class ConversionAlgorithms {
+
+    private static final int MIN_BASE = 2;
+    private static final int MAX_BASE = 36;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    /* the value of every ASCII digit or letter, upper or lower case, -1 for the other characters */
+    private static final byte[] DIGIT_VALUES = new byte[128];
+    /* the biggest unsigned values that can take one more digit of each base, and their last digit */
+    private static final long[] LIMITS = new long[MAX_BASE + 1];
+    private static final int[] LIMIT_DIGITS = new int[MAX_BASE + 1];
+
+    static {
+        Arrays.fill(DIGIT_VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            DIGIT_VALUES[DIGITS[i]] = (byte) i;
+            DIGIT_VALUES[Character.toLowerCase(DIGITS[i])] = (byte) i;
+        }
+        for (int base = MIN_BASE; base <= MAX_BASE; base++) {
+            LIMITS[base] = Long.divideUnsigned(-1L, base);
+            LIMIT_DIGITS[base] = (int) Long.remainderUnsigned(-1L, base);
+        }
+    }
+
     private ConversionAlgorithms() {
     }
+
+    private static void checkBase(final int base) {
+        if (base < MIN_BASE || base > MAX_BASE) {
+            throw new IllegalArgumentException("Base out of range: " + base);
+        }
+    }
+
+    /**
+     * Writes the digits of the unsigned value at the end of the buffer.
+     * @return the index of the first digit
+     */
+    private static int writeUnsigned(final long value, final int base, final char[] buffer, final int end) {
+        int pos = end;
+        if (Integer.bitCount(base) == 1) {
+            final int shift = Integer.numberOfTrailingZeros(base);
+            final int mask = base - 1;
+            long v = value;
+            do {
+                buffer[--pos] = DIGITS[(int) v & mask];
+                v >>>= shift;
+            } while (v != 0);
+            return pos;
+        }
+        long v = value;
+        if (v < 0) {
+            /* one unsigned step brings the value in the range of the signed division */
+            final long quotient = Long.divideUnsigned(v, base);
+            buffer[--pos] = DIGITS[(int) (v - quotient * base)];
+            v = quotient;
+        }
+        do {
+            final long quotient = v / base;
+            buffer[--pos] = DIGITS[(int) (v - quotient * base)];
+            v = quotient;
+        } while (v != 0);
+        return pos;
+    }
+
     /**
-     * 
-     * @param number
-     * @return the string correspoding to the binary conversion of the number.
-     *         Whereas: 
-     *         "10" would become "+1010"
-     *         "-10" would become "-1010"
-     *         "0" is converted to "+0" 
+     * Generic conversion algorithms that accepts any base from 2 to 36, e.g. base2, base8 and base16.
+     * @param l the number to be converted
+     * @param base in which the number will be converted
+     * @return the string form of the converted number, with its sign first.
+     *         Whereas:
+     *         "10" would become "+1010" in base 2
+     *         "-10" would become "-A" in base 16
+     *         "0" is converted to "+0"
      */
-    private static String conversionToStringBinary(final long number) {
-        final String value = Long.toBinaryString(Math.abs(number));
-        return number >= 0 ? "+".concat(value) : "-".concat(value);
+    public static String conversionToStringBase(final int base, final long l) {
+        checkBase(base);
+        final char[] buffer = new char[Long.SIZE + 1];
+        /* the magnitude of Long.MIN_VALUE is its own unsigned bits */
+        final int start = writeUnsigned(l < 0 ? -l : l, base, buffer, buffer.length) - 1;
+        buffer[start] = l < 0 ? '-' : '+';
+        return new String(buffer, start, buffer.length - start);
     }
+
     /**
-     * 
-     * @param number
-     * @return the string correspoding to the hexadecimal conversion of the number.
-     *         Whereas: 
-     *         "10" would become "0A"
-     *         "-10" would become "-A"
+     * @param base in which the number will be converted, from 2 to 36
+     * @param l the number to be converted
+     * @return the digits of the bits of the number as an unsigned value, e.g. "FF" for -1 in base 16 on a byte
+     * would be "FFFFFFFFFFFFFFFF" for the 64 bits of a long.
      */
-    private static String conversionToStringHexadecimal(final long number) {
-        final String value = Long.toHexString(Math.abs(number));
-        return number >= 0 ? "+".concat(value).toUpperCase() : "-".concat(value).toUpperCase();
+    public static String unsignedConversionToStringBase(final int base, final long l) {
+        checkBase(base);
+        final char[] buffer = new char[Long.SIZE];
+        final int start = writeUnsigned(l, base, buffer, buffer.length);
+        return new String(buffer, start, buffer.length - start);
     }
-    private static double hexadecimalLetters(final String bit) {
-        switch (bit) {
-            case "A":
-                return 10.0;
-            case "B":
-                return 11.0;
-            case "C":
-                return 12.0;
-            case "D":
-                return 13.0;
-            case "E":
-                return 14.0;
-            case "F":
-                return 15.0;
-            default:
-                return bit.equals("0") ? 0.0 : Long.parseLong(bit);
-        } 
+
+    /**
+     *
+     * @param base the starting base of conversion, from 2 to 36
+     * @param number to be converted, with its sign first, e.g. "-1010" in base 2
+     * @return the decimal value of the number
+     * @throws NumberFormatException if the number has no digits, a character that isn't a digit of the base, or it
+     * doesn't fit in a long
+     */
+    public static long conversionToDecimal(final int base, final String number) {
+        final boolean negative = !number.isEmpty() && number.charAt(0) == '-';
+        final int from = !number.isEmpty() && (negative || number.charAt(0) == '+') ? 1 : 0;
+        final long magnitude = parseUnsigned(base, number, from, number.length());
+        if (magnitude < 0 && !(negative && magnitude == Long.MIN_VALUE)) {
+            throw new NumberFormatException("Out of range: " + number);
+        }
+        return negative ? -magnitude : magnitude;
     }
+
     /**
-     * 
-     * @param number
-     * @return the string correspoding to the octal conversion of the number.
-     *         Whereas: 
-     *         "10" would become "012"
-     *         "-10" would become "112"
+     *
+     * @param base the starting base of conversion, from 2 to 36
+     * @param number to be converted, made only of digits
+     * @return the long with the bits of the number, up to 2^64 - 1, e.g. -1 for "FFFFFFFFFFFFFFFF" in base 16
+     * @throws NumberFormatException if the number has no digits, a character that isn't a digit of the base, or it
+     * doesn't fit in 64 bits
      */
-    private static String conversionToStringOctal(final long number) {
-        final String value = Long.toOctalString(Math.abs(number));
-        return number >= 0 ? "+".concat(value) : "-".concat(value);
+    public static long unsignedConversionToDecimal(final int base, final String number) {
+        return parseUnsigned(base, number, 0, number.length());
     }
+
     /**
-     * Generic conversion algorithms that accepts base2, base8 and base10.
-     * @param l the number to be converted
-     * @param base in which the number will be converted
-     * @return the string form of the converted number.
-     * 
+     * Horner's scheme on the unsigned long, checking each step against the biggest value that can take one more digit.
      */
-    public static String conversionToStringBase(final int base, final long l) {
-        switch (base) {
-        case 2:
-            return conversionToStringBinary(l);
-        case 8:
-            return conversionToStringOctal(l);
-        case 16:
-            return conversionToStringHexadecimal(l);
-        default:
-            return null;
+    private static long parseUnsigned(final int base, final CharSequence number, final int from, final int to) {
+        checkBase(base);
+        if (from >= to) {
+            throw new NumberFormatException("No digits: " + number);
         }
+        final long limit = LIMITS[base];
+        final int limitDigit = LIMIT_DIGITS[base];
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final char c = number.charAt(i);
+            final int digit = c < DIGIT_VALUES.length ? DIGIT_VALUES[c] : -1;
+            if (digit < 0 || digit >= base) {
+                throw new NumberFormatException("Not a digit of base " + base + ": " + c);
+            }
+            final int compare = Long.compareUnsigned(value, limit);
+            if (compare > 0 || compare == 0 && digit > limitDigit) {
+                throw new NumberFormatException("Out of range: " + number.subSequence(from, to));
+            }
+            value = value * base + digit;
+        }
+        return value;
     }
+
     /**
-     * 
-     * @param base the starting base of conversion
-     * @param number to be converted
-     * @return an Integer containing the decimal conversion of the number
+     * Converts many numbers with a single call, without a string for each of them.
+     * @param base the starting base of conversion, from 2 to 36
+     * @param numbers the numbers to be converted, made only of digits and separated by whitespace or commas
+     * @return the longs with the bits of the numbers, like {@link #unsignedConversionToDecimal(int, String)}
+     * @throws NumberFormatException if a number isn't made of digits of the base, or it doesn't fit in 64 bits
      */
-    public static long conversionToDecimal(final int base, final String number) {
-        long ret = 0;
-        final var bits = number.toCharArray();
-        for (int i = 1; i < bits.length; i++) {
-            if (base == 16) {
-                // "0FF" 255 = (+)FF
-                ret += hexadecimalLetters(String.valueOf(bits[i])) * Math.pow(base, bits.length - 1 - i);
-            } else {
-             // "11010" -10 = (-)1010
-                ret += Integer.parseInt(String.valueOf(bits[i])) * Math.pow(base, bits.length - 1 - i);
+    public static long[] bulkConversionToDecimal(final int base, final CharSequence numbers) {
+        long[] values = new long[16];
+        int count = 0;
+        int i = 0;
+        final int length = numbers.length();
+        while (i < length) {
+            while (i < length && isSeparator(numbers.charAt(i))) {
+                i++;
+            }
+            final int start = i;
+            while (i < length && !isSeparator(numbers.charAt(i))) {
+                i++;
+            }
+            if (start < i) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, 2 * count);
+                }
+                values[count++] = parseUnsigned(base, numbers, start, i);
             }
         }
-        return !String.valueOf(bits[0]).equals("-") ? ret : (-1) * ret;
+        return Arrays.copyOf(values, count);
+    }
+
+    private static boolean isSeparator(final char c) {
+        return c == ',' || Character.isWhitespace(c);
     }
+
     /**
-     * 
-     * @param base
-     * @param number
-     * @return a.
+     * Converts many numbers with a single call, writing all the digits in one buffer.
+     * @param base in which the numbers will be converted, from 2 to 36
+     * @param values the numbers to be converted
+     * @return the digits of the bits of the numbers as unsigned values, separated by spaces
      */
-    public static long unsignedConversionToDecimal(final int base, final String number) {
-        long ret = 0;
-        final var bits = number.toCharArray();
-        for (int i = 0; i < bits.length; i++) {
-            if (base == 16) {
-                ret += hexadecimalLetters(String.valueOf(bits[i])) * Math.pow(base, bits.length - 1 - i);
-            } else {
-                ret += Integer.parseInt(String.valueOf(bits[i])) * Math.pow(base, bits.length - 1 - i);
+    public static String bulkConversionToStringBase(final int base, final long[] values) {
+        checkBase(base);
+        final char[] digits = new char[Long.SIZE];
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
             }
+            final int start = writeUnsigned(values[i], base, digits, digits.length);
+            sb.append(digits, start, digits.length - start);
         }
-        return ret;
+        return sb.toString();
     }
 }
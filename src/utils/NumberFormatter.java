@@ -1,5 +1,9 @@
 package utils;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
@@ -12,6 +16,9 @@ import java.util.stream.IntStream;
  */
 public final class NumberFormatter {
 
+    private static final double LOG10_2 = Math.log10(2);
+    private static final double LOG_ERROR_ULPS = 16;
+
     private NumberFormatter() { };
 
     /**
@@ -88,6 +95,68 @@ public final class NumberFormatter {
         return trimZeros(df.format(Double.valueOf(value)));
     }
 
+    /**
+     * Formats an exact integer: all of its digits when they are at most maxDigits, otherwise the given number of significant
+     * digits in exponential notation, like {@link #format(double, int, int, int)} does (e.g. 9.33262154E157).
+     * Only the leading digits are converted to decimal, so the cost doesn't grow with the digits that aren't shown.
+     *
+     * @param number the value to format.
+     * @param maxDigits maximum number of digits shown without exponential notation.
+     * @param significantDigits number of significant digits in exponential notation.
+     * @return formatted string representation of the number.
+     */
+    public static String format(final BigInteger number, final int maxDigits, final int significantDigits) {
+        final BigInteger abs = number.abs();
+        /* lower bound of the number of digits minus one, exact or one less */
+        final long estimate = (long) ((abs.bitLength() - 1) * LOG10_2);
+        if (estimate < maxDigits) {
+            final String digits = number.toString();
+            if (digits.length() - (number.signum() < 0 ? 1 : 0) <= maxDigits) {
+                return digits;
+            }
+        }
+        final int shift = (int) Math.max(0, estimate - significantDigits - 2);
+        final BigDecimal leading = new BigDecimal(abs.divide(BigInteger.TEN.pow(shift)))
+                .round(new MathContext(significantDigits, RoundingMode.HALF_EVEN));
+        final long exponent = shift + leading.precision() - leading.scale() - 1;
+        final String mantissa = trimZeros(leading.movePointLeft(leading.precision() - leading.scale() - 1).toPlainString());
+        return (number.signum() < 0 ? "-" : "") + mantissa + "E" + exponent;
+    }
+
+    /**
+     * Formats a positive number given by its natural logarithm, like {@link #format(BigInteger, int, int)} does, so that
+     * numbers far beyond the range of a double can be shown (e.g. 1.02521E5520). The error of the logarithm grows with
+     * its magnitude, so only the digits it determines are shown, up to the given number.
+     *
+     * @param logarithm natural logarithm of the value to format.
+     * @param significantDigits maximum number of significant digits.
+     * @return formatted string representation of the number.
+     * @throws CalcException if the logarithm is NaN or infinite, "0" if it is negative infinity.
+     */
+    public static String formatLog(final double logarithm, final int significantDigits) throws CalcException {
+        if (logarithm == Double.NEGATIVE_INFINITY) {
+            return "0";
+        }
+        if (Double.isNaN(logarithm) || Double.isInfinite(logarithm)) {
+            throw new CalcException("Out of range");
+        }
+        final double log10 = logarithm / Math.log(10);
+        /* a few units in the last place of the logarithm are its relative error */
+        final double relativeError = LOG_ERROR_ULPS * Math.ulp(logarithm);
+        final int digits = (int) Math.max(1, Math.min(significantDigits, Math.floor(-Math.log10(relativeError))));
+        final double floor = Math.floor(log10);
+        BigDecimal mantissa = new BigDecimal(Math.pow(10, log10 - floor)).round(new MathContext(digits, RoundingMode.HALF_EVEN));
+        long exponent = (long) floor;
+        if (mantissa.compareTo(BigDecimal.TEN) >= 0) {
+            mantissa = mantissa.movePointLeft(1).round(new MathContext(digits, RoundingMode.HALF_EVEN));
+            exponent++;
+        }
+        if (exponent >= 0 && exponent < digits) {
+            return trimZeros(mantissa.movePointRight((int) exponent).toPlainString());
+        }
+        return trimZeros(mantissa.toPlainString()) + "E" + exponent;
+    }
+
     private static int decimalDigits(final String value) {
         if (!value.contains(".")) {
             return 0; 
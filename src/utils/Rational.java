@@ -0,0 +1,436 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * An exact rational number, numerator over a positive denominator with no common factors.
+ * Numbers whose numerator and denominator fit a long are computed with long arithmetic, and the operations overflowing
+ * it are detected with the exact methods of {@link Math} and done again with BigInteger, so that the common cases cost
+ * about as much as doubles. The value is converted to decimal only when asked.
+ */
+public final class Rational implements Comparable<Rational> {
+
+    /**
+     * Zero.
+     */
+    public static final Rational ZERO = new Rational(0, 1);
+    /**
+     * One.
+     */
+    public static final Rational ONE = new Rational(1, 1);
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    /* the largest numerator or denominator computed, in bits */
+    private static final long MAX_BITS = 1L << 16;
+    /* the decimal exponents of the doubles, the digits after the point of the smallest one included */
+    private static final int MAX_DECIMAL_EXPONENT = 308;
+    private static final int MIN_DECIMAL_EXPONENT = -324;
+    private static final int MAX_DECIMAL_SCALE = 342;
+    /* beyond these binary exponents a power is out of the range of the doubles, subnormals included */
+    private static final int MAX_BINARY_EXPONENT = 1024;
+    private static final int MIN_BINARY_EXPONENT = -1075;
+    private static final int DOUBLE_BITS = 53;
+
+    /* the value when it fits longs, bigNumerator is null then */
+    private final long numerator;
+    private final long denominator;
+    private final BigInteger bigNumerator;
+    private final BigInteger bigDenominator;
+
+    private Rational(final long numerator, final long denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    private Rational(final BigInteger numerator, final BigInteger denominator) {
+        this.numerator = 0;
+        this.denominator = 1;
+        this.bigNumerator = numerator;
+        this.bigDenominator = denominator;
+    }
+
+    /**
+     * @param n an integer
+     * @return the integer as a rational
+     */
+    public static Rational valueOf(final long n) {
+        return new Rational(n, 1);
+    }
+
+    /**
+     * @param numerator the numerator
+     * @param denominator the denominator
+     * @return the fraction in lowest terms
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static Rational valueOf(final long numerator, final long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return valueOf(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        final long gcd = gcd(numerator, denominator);
+        final long n = numerator / gcd;
+        final long d = denominator / gcd;
+        return d > 0 ? new Rational(n, d) : new Rational(-n, -d);
+    }
+
+    /**
+     * @param numerator the numerator
+     * @param denominator the denominator
+     * @return the fraction in lowest terms
+     * @throws ArithmeticException if the denominator is zero
+     */
+    public static Rational valueOf(final BigInteger numerator, final BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        final BigInteger gcd = numerator.gcd(denominator);
+        BigInteger n = numerator.divide(gcd);
+        BigInteger d = denominator.divide(gcd);
+        if (d.signum() < 0) {
+            n = n.negate();
+            d = d.negate();
+        }
+        return of(n, d);
+    }
+
+    /**
+     * Numbers out of the range of the doubles are refused before their digits are expanded, so that a literal like
+     * 1E99999999 costs nothing, and the caller can fall back to floating point.
+     * @param value a decimal number
+     * @return the number as a rational, exactly
+     * @throws ArithmeticException if the exponent or the number of decimal digits is out of the range of the doubles
+     */
+    public static Rational valueOf(final BigDecimal value) {
+        final long exponent = (long) value.precision() - value.scale() - 1;
+        if (value.signum() != 0 && (exponent > MAX_DECIMAL_EXPONENT || exponent < MIN_DECIMAL_EXPONENT
+                || value.scale() > MAX_DECIMAL_SCALE || -value.scale() > MAX_DECIMAL_EXPONENT)) {
+            throw new ArithmeticException("Out of range");
+        }
+        final BigInteger unscaled = value.unscaledValue();
+        return value.scale() <= 0 ? valueOf(unscaled.multiply(BigInteger.TEN.pow(-value.scale())), BigInteger.ONE)
+                : valueOf(unscaled, BigInteger.TEN.pow(value.scale()));
+    }
+
+    /**
+     * @param value a decimal number such as 0.1 or 12.5E3
+     * @return the number as a rational, exactly
+     * @throws NumberFormatException if the string isn't a decimal number
+     * @throws ArithmeticException if the number is out of the range of the doubles
+     */
+    public static Rational parse(final String value) {
+        return valueOf(new BigDecimal(value));
+    }
+
+    /**
+     * @return an already reduced fraction, with longs when they fit
+     */
+    private static Rational of(final BigInteger n, final BigInteger d) {
+        if (d.bitLength() < Long.SIZE && n.compareTo(LONG_MIN) >= 0 && n.compareTo(LONG_MAX) <= 0) {
+            return new Rational(n.longValue(), d.longValue());
+        }
+        return new Rational(n, d);
+    }
+
+    /**
+     * Binary gcd, which shifts and subtracts instead of dividing.
+     * @return the greatest common divisor, 1 if both are zero
+     * @throws ArithmeticException if an argument is Long.MIN_VALUE, whose absolute value doesn't fit a long
+     */
+    private static long gcd(final long a, final long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        long x = Math.abs(a);
+        long y = Math.abs(b);
+        if (x == 0 || y == 0) {
+            return x + y == 0 ? 1 : x + y;
+        }
+        if (x == 1 || y == 1) {
+            return 1;
+        }
+        final int shift = Long.numberOfTrailingZeros(x | y);
+        x >>= Long.numberOfTrailingZeros(x);
+        while (y != 0) {
+            y >>= Long.numberOfTrailingZeros(y);
+            if (x > y) {
+                final long t = x;
+                x = y;
+                y = t;
+            }
+            y -= x;
+        }
+        return x << shift;
+    }
+
+    /**
+     * @return the binary logarithm of a positive integer, from its leading bits
+     */
+    private static double log2(final BigInteger n) {
+        final int shift = Math.max(0, n.bitLength() - DOUBLE_BITS);
+        return shift + Math.log(n.shiftRight(shift).doubleValue()) / Math.log(2);
+    }
+
+    /**
+     * Checks the size of a sum or a product before computing it, so that repeated operations can't grow without bound.
+     * @throws ArithmeticException if the numerator or the denominator could have more than 2^16 bits
+     */
+    private static void checkBits(final long numeratorBits, final long denominatorBits) {
+        if (numeratorBits > MAX_BITS || denominatorBits > MAX_BITS) {
+            throw new ArithmeticException("Overflow");
+        }
+    }
+
+    /**
+     * @return the number
+     * @throws ArithmeticException if the number is out of the range of the doubles
+     */
+    private static Rational checkRange(final Rational r) {
+        if (r.signum() != 0) {
+            final double magnitude = log2(r.getNumerator().abs()) - log2(r.getDenominator());
+            if (magnitude > MAX_BINARY_EXPONENT || magnitude < MIN_BINARY_EXPONENT) {
+                throw new ArithmeticException("Out of range");
+            }
+        }
+        return r;
+    }
+
+    private boolean isSmall() {
+        return this.bigNumerator == null;
+    }
+
+    /**
+     * @return the numerator
+     */
+    public BigInteger getNumerator() {
+        return isSmall() ? BigInteger.valueOf(this.numerator) : this.bigNumerator;
+    }
+
+    /**
+     * @return the denominator, always positive
+     */
+    public BigInteger getDenominator() {
+        return isSmall() ? BigInteger.valueOf(this.denominator) : this.bigDenominator;
+    }
+
+    /**
+     * @return -1, 0 or 1 as the number is negative, zero or positive
+     */
+    public int signum() {
+        return isSmall() ? Long.signum(this.numerator) : this.bigNumerator.signum();
+    }
+
+    /**
+     * @return whether the denominator is one
+     */
+    public boolean isInteger() {
+        return isSmall() ? this.denominator == 1 : this.bigDenominator.equals(BigInteger.ONE);
+    }
+
+    /**
+     * Only the common factors of the sum with the gcd of the denominators can be left (Knuth, TAOCP 4.5.1), so the
+     * result is reduced with a gcd of small numbers, and not at all when the denominators are coprime.
+     * @param other a rational
+     * @return the sum
+     * @throws ArithmeticException if the sum is out of the range of the doubles or too large to compute
+     */
+    public Rational add(final Rational other) {
+        if (isSmall() && other.isSmall()) {
+            try {
+                final long gcd = gcd(this.denominator, other.denominator);
+                final long thisFactor = other.denominator / gcd;
+                final long sum = Math.addExact(Math.multiplyExact(this.numerator, thisFactor),
+                        Math.multiplyExact(other.numerator, this.denominator / gcd));
+                if (sum == 0) {
+                    return ZERO;
+                }
+                if (gcd == 1) {
+                    return new Rational(sum, Math.multiplyExact(this.denominator, thisFactor));
+                }
+                final long common = gcd(sum, gcd);
+                return new Rational(sum / common, Math.multiplyExact(this.denominator / common, thisFactor));
+            } catch (ArithmeticException e) {
+                /* overflow, done again below */
+            }
+        }
+        final long denominatorBits = (long) getDenominator().bitLength() + other.getDenominator().bitLength();
+        checkBits(Math.max((long) getNumerator().bitLength() + other.getDenominator().bitLength(),
+                (long) other.getNumerator().bitLength() + getDenominator().bitLength()) + 1, denominatorBits);
+        return checkRange(valueOf(getNumerator().multiply(other.getDenominator())
+                .add(other.getNumerator().multiply(getDenominator())), getDenominator().multiply(other.getDenominator())));
+    }
+
+    /**
+     * @return the opposite
+     */
+    public Rational negate() {
+        if (isSmall() && this.numerator != Long.MIN_VALUE) {
+            return new Rational(-this.numerator, this.denominator);
+        }
+        return of(getNumerator().negate(), getDenominator());
+    }
+
+    /**
+     * @param other a rational
+     * @return the difference
+     */
+    public Rational subtract(final Rational other) {
+        return add(other.negate());
+    }
+
+    /**
+     * Cross reduces the factors first, so that the product of small fractions is computed with longs as long as the
+     * result fits.
+     * @param other a rational
+     * @return the product
+     * @throws ArithmeticException if the product is out of the range of the doubles or too large to compute
+     */
+    public Rational multiply(final Rational other) {
+        if (isSmall() && other.isSmall()) {
+            try {
+                final long first = gcd(this.numerator, other.denominator);
+                final long second = gcd(other.numerator, this.denominator);
+                final long n = Math.multiplyExact(this.numerator / first, other.numerator / second);
+                /* zero has gcd one with the other denominator and keeps it: make it 0/1 */
+                return n == 0 ? ZERO : new Rational(n, Math.multiplyExact(this.denominator / second, other.denominator / first));
+            } catch (ArithmeticException e) {
+                /* overflow, done again below */
+            }
+        }
+        checkBits((long) getNumerator().bitLength() + other.getNumerator().bitLength(),
+                (long) getDenominator().bitLength() + other.getDenominator().bitLength());
+        return checkRange(valueOf(getNumerator().multiply(other.getNumerator()),
+                getDenominator().multiply(other.getDenominator())));
+    }
+
+    /**
+     * @return one over the number
+     * @throws ArithmeticException if the number is zero
+     */
+    public Rational reciprocal() {
+        if (isSmall()) {
+            return valueOf(this.denominator, this.numerator);
+        }
+        return valueOf(this.bigDenominator, this.bigNumerator);
+    }
+
+    /**
+     * @param other a rational
+     * @return the quotient
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public Rational divide(final Rational other) {
+        return multiply(other.reciprocal());
+    }
+
+    /**
+     * Raises by repeated squaring.
+     * @param exponent an integer exponent, negative for the powers of the reciprocal
+     * @return the power
+     * @throws ArithmeticException if zero is raised to a negative exponent, or the power would be out of the range of
+     * the doubles or have more than 2^16 bits
+     */
+    public Rational pow(final int exponent) {
+        if (signum() != 0) {
+            final double magnitude = exponent * (log2(getNumerator().abs()) - log2(getDenominator()));
+            if (magnitude > MAX_BINARY_EXPONENT || magnitude < MIN_BINARY_EXPONENT) {
+                throw new ArithmeticException("Out of range");
+            }
+        }
+        final int bits = Math.max(getNumerator().bitLength(), getDenominator().bitLength());
+        if (bits > 1 && (long) bits * Math.abs((long) exponent) > MAX_BITS) {
+            throw new ArithmeticException("Overflow");
+        }
+        Rational result = ONE;
+        Rational square = exponent < 0 ? reciprocal() : this;
+        for (long e = Math.abs((long) exponent); e != 0; e >>>= 1) {
+            if ((e & 1) != 0) {
+                result = result.multiply(square);
+            }
+            if (e > 1) {
+                square = square.multiply(square);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param exponent an integer exponent
+     * @return the power
+     * @throws ArithmeticException if the exponent isn't an integer that fits an int, or zero is raised to a negative
+     * exponent
+     */
+    public Rational pow(final Rational exponent) {
+        if (!exponent.isInteger()) {
+            throw new ArithmeticException("Exponent isn't an integer");
+        }
+        return pow(exponent.getNumerator().intValueExact());
+    }
+
+    /**
+     * @param mc the precision
+     * @return the number in decimal, rounded to the precision
+     */
+    public BigDecimal toBigDecimal(final MathContext mc) {
+        return new BigDecimal(getNumerator()).divide(new BigDecimal(getDenominator()), mc);
+    }
+
+    /**
+     * @return the nearest double
+     */
+    public double doubleValue() {
+        return isSmall() && Math.abs(this.numerator) < 1L << 53 && this.denominator < 1L << 53
+                ? (double) this.numerator / this.denominator : toBigDecimal(MathContext.DECIMAL128).doubleValue();
+    }
+
+    @Override
+    public int compareTo(final Rational other) {
+        if (isSmall() && other.isSmall()) {
+            try {
+                return Long.compare(Math.multiplyExact(this.numerator, other.denominator),
+                        Math.multiplyExact(other.numerator, this.denominator));
+            } catch (ArithmeticException e) {
+                /* overflow, done again below */
+            }
+        }
+        return getNumerator().multiply(other.getDenominator()).compareTo(other.getNumerator().multiply(getDenominator()));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Rational)) {
+            return false;
+        }
+        final Rational other = (Rational) obj;
+        if (isSmall() && other.isSmall()) {
+            return this.numerator == other.numerator && this.denominator == other.denominator;
+        }
+        /* both are in lowest terms, and longs are used whenever they fit */
+        return isSmall() == other.isSmall() && this.bigNumerator.equals(other.bigNumerator)
+                && this.bigDenominator.equals(other.bigDenominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return isSmall() ? Long.hashCode(this.numerator) * 31 + Long.hashCode(this.denominator)
+                : getNumerator().hashCode() * 31 + getDenominator().hashCode();
+    }
+
+    /**
+     * @return the fraction, as 1/3, or the integer
+     */
+    @Override
+    public String toString() {
+        return isInteger() ? getNumerator().toString() : getNumerator() + "/" + getDenominator();
+    }
+}
@@ -1,5 +1,8 @@
 package utils.ast;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+
 /**
  *Operaion inteface used for calculating derivateves and geneal results.
  *
@@ -11,6 +14,15 @@ public interface Operation {
 	 * @return the numerical result of he expression given the value
 	 */
 	Double getNumericResult(Double val);
+
+	/**
+	 * @param val
+	 * @param mc the precision of the operations
+	 * @return the numerical result of the expression given the value, in arbitrary precision
+	 */
+	default BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+		return new BigDecimal(getNumericResult(val.doubleValue()), mc);
+	}
 	
 	/**
 	 * @return he derivative
@@ -1,5 +1,11 @@
 package utils.ast;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.Function;
+
+import utils.BigDecimalMath;
+
 /**
  * Factory of Operations .
  *
@@ -22,6 +28,11 @@ public final class OperationsFactory {
                 return Math.sin(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.sin(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return OperationsFactory.product(OperationsFactory.cos(op), op.getDerivative());
@@ -46,6 +57,11 @@ public final class OperationsFactory {
                 return Math.cos(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.cos(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return subtraction(constant("0.0"), product(sin(op), op.getDerivative()));
@@ -71,6 +87,11 @@ public final class OperationsFactory {
                 return Math.cos(op.getNumericResult(val)) / Math.sin(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimal.ONE.divide(BigDecimalMath.tan(op.getNumericResult(val, mc), mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return product(subtraction(constant("0"), division(constant("1"), pow(sin(op), constant("2")))),
@@ -96,6 +117,11 @@ public final class OperationsFactory {
                 return 1.0 / Math.sin(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimal.ONE.divide(BigDecimalMath.sin(op.getNumericResult(val, mc), mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return subtraction(constant("0"), product(product(cot(op), csc(op)), op.getDerivative()));
@@ -120,6 +146,11 @@ public final class OperationsFactory {
                 return 1.0 / Math.cos(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimal.ONE.divide(BigDecimalMath.cos(op.getNumericResult(val, mc), mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return product(product(tan(op), sec(op)), op.getDerivative());
@@ -143,6 +174,11 @@ public final class OperationsFactory {
                 return -op.getNumericResult(val);
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return op.getNumericResult(val, mc).negate();
+            }
+
             @Override
             public Operation getDerivative() {
                 return subtraction(constant("0.0"), op.getDerivative());
@@ -168,6 +204,11 @@ public final class OperationsFactory {
                 return left.getNumericResult(val) + right.getNumericResult(val);
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return left.getNumericResult(val, mc).add(right.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return OperationsFactory.addition(left.getDerivative(), right.getDerivative());
@@ -193,6 +234,11 @@ public final class OperationsFactory {
                 return left.getNumericResult(val) - right.getNumericResult(val);
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return left.getNumericResult(val, mc).subtract(right.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return OperationsFactory.subtraction(left.getDerivative(), right.getDerivative());
@@ -219,6 +265,11 @@ public final class OperationsFactory {
                 return left.getNumericResult(val) * right.getNumericResult(val);
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return left.getNumericResult(val, mc).multiply(right.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return addition(product(left.getDerivative(), right), product(left, right.getDerivative()));
@@ -245,6 +296,11 @@ public final class OperationsFactory {
                 return left.getNumericResult(val) / right.getNumericResult(val);
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return left.getNumericResult(val, mc).divide(right.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(subtraction(product(left.getDerivative(), right), product(left, right.getDerivative())),
@@ -270,6 +326,11 @@ public final class OperationsFactory {
                 return Double.parseDouble(c);
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return new BigDecimal(c, mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return constant("0");
@@ -282,6 +343,45 @@ public final class OperationsFactory {
         };
     }
 
+    /**
+     * @return pi, with all the digits asked in arbitrary precision
+     */
+    public static Operation pi() {
+        return namedConstant(Math.PI, BigDecimalMath::pi);
+    }
+
+    /**
+     * @return Euler's number, with all the digits asked in arbitrary precision
+     */
+    public static Operation e() {
+        return namedConstant(Math.E, BigDecimalMath::e);
+    }
+
+    private static Operation namedConstant(final double value, final Function<MathContext, BigDecimal> digits) {
+        return new Operation() {
+
+            @Override
+            public Double getNumericResult(final Double val) {
+                return value;
+            }
+
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return digits.apply(mc);
+            }
+
+            @Override
+            public Operation getDerivative() {
+                return constant("0");
+            }
+
+            public String toString() {
+                return String.valueOf(value);
+            }
+
+        };
+    }
+
     /**
      * @param left
      * @param right
@@ -295,6 +395,11 @@ public final class OperationsFactory {
                 return Math.pow(left.getNumericResult(val), right.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.pow(left.getNumericResult(val, mc), right.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 final var firstTerm = pow(left, right);
@@ -323,6 +428,11 @@ public final class OperationsFactory {
                 return Math.log(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.ln(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(op.getDerivative(), op);
@@ -346,6 +456,11 @@ public final class OperationsFactory {
                 return Math.abs(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return op.getNumericResult(val, mc).abs(mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(product(op, op.getDerivative()), abs(op));
@@ -370,6 +485,11 @@ public final class OperationsFactory {
                 return Math.acos(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.acos(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return subtraction(constant("0.0"),
@@ -394,6 +514,11 @@ public final class OperationsFactory {
                 return Math.asin(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.asin(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(op.getDerivative(), sqrt(subtraction(constant("1"), pow(op, constant("2")))));
@@ -418,6 +543,11 @@ public final class OperationsFactory {
                 return Math.atan(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.atan(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(op.getDerivative(), addition(constant("1"), pow(op, constant("2"))));
@@ -442,6 +572,11 @@ public final class OperationsFactory {
                 return Math.exp(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.exp(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return product(exp(op), op.getDerivative());
@@ -465,6 +600,11 @@ public final class OperationsFactory {
                 return val;
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return val.round(mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return constant("1");
@@ -489,6 +629,11 @@ public final class OperationsFactory {
                 return Math.sqrt(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.sqrt(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(op.getDerivative(), product(constant("2"), sqrt(op)));
@@ -513,6 +658,11 @@ public final class OperationsFactory {
                 return Math.tan(op.getNumericResult(val));
             }
 
+            @Override
+            public BigDecimal getNumericResult(final BigDecimal val, final MathContext mc) {
+                return BigDecimalMath.tan(op.getNumericResult(val, mc), mc);
+            }
+
             @Override
             public Operation getDerivative() {
                 return division(op.getDerivative(), pow(cos(op), constant("2")));
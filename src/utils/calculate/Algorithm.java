@@ -40,7 +40,18 @@ public interface Algorithm {
      * @return s
      * @throws CalcException 
      */
-    String calculate(Expression expr) throws CalcException;
+    default String calculate(Expression expr) throws CalcException {
+        return this.calculate(expr, Budget.unlimited());
+    }
+
+    /**
+     * Calculate the final result of the expression, checking the budget at every evaluation.
+     * @param expr
+     * @param budget the limits of the calculation
+     * @return s
+     * @throws CalcException if the calculation fails, or a {@link BudgetExceededException} if it runs out of budget
+     */
+    String calculate(Expression expr, Budget budget) throws CalcException;
 
     /**
      * @param param
@@ -0,0 +1,100 @@
+package utils.calculate;
+
+import java.time.Duration;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Limits a single calculation: a deadline, a maximum number of function evaluations and a {@link CancellationToken}.
+ * The algorithms call {@link #evaluation()} once per evaluation in their loops, which is where the calculation stops
+ * with a {@link BudgetExceededException}, and report how far they got through {@link #progress(double)}.
+ * A budget counts the evaluations of one calculation at a time, so it shouldn't be shared between concurrent ones.
+ */
+public final class Budget {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadline;
+    private final long maxEvaluations;
+    private final CancellationToken token;
+    private final DoubleConsumer listener;
+    private long evaluations;
+
+    /**
+     * @param timeout maximum time the calculation can take from now
+     * @param maxEvaluations maximum number of function evaluations
+     * @param token token to cancel the calculation with
+     */
+    public Budget(final Duration timeout, final long maxEvaluations, final CancellationToken token) {
+        this(System.nanoTime() + timeout.toNanos(), maxEvaluations, token, p -> { });
+    }
+
+    private Budget(final long deadline, final long maxEvaluations, final CancellationToken token, final DoubleConsumer listener) {
+        if (maxEvaluations < 0) {
+            throw new IllegalArgumentException("The maximum number of evaluations can't be negative");
+        }
+        this.deadline = deadline;
+        this.maxEvaluations = maxEvaluations;
+        this.token = token;
+        this.listener = listener;
+    }
+
+    /**
+     * @return a budget that only stops when its thread is interrupted
+     */
+    public static Budget unlimited() {
+        return new Budget(NO_DEADLINE, Long.MAX_VALUE, new CancellationToken(), p -> { });
+    }
+
+    /**
+     * @param progressListener receives the completed fraction of the calculation, between 0 and 1
+     * @return a budget with the same limits and token which reports the progress to the listener
+     */
+    public Budget withProgress(final DoubleConsumer progressListener) {
+        return new Budget(this.deadline, this.maxEvaluations, this.token, progressListener);
+    }
+
+    /**
+     * @return the token that cancels the calculation
+     */
+    public CancellationToken getToken() {
+        return this.token;
+    }
+
+    /**
+     * @return number of evaluations counted so far
+     */
+    public long getEvaluations() {
+        return this.evaluations;
+    }
+
+    /**
+     * Checks the cancellation, the interruption of the current thread and the deadline.
+     * @throws BudgetExceededException if the calculation has to stop
+     */
+    public void check() throws BudgetExceededException {
+        if (this.token.isCancelled() || Thread.currentThread().isInterrupted()) {
+            throw new BudgetExceededException(BudgetExceededException.CANCELLED);
+        }
+        if (this.deadline != NO_DEADLINE && System.nanoTime() - this.deadline > 0) {
+            throw new BudgetExceededException(BudgetExceededException.TIMEOUT);
+        }
+    }
+
+    /**
+     * Counts one function evaluation, then {@link #check()}s.
+     * @throws BudgetExceededException if the calculation has to stop
+     */
+    public void evaluation() throws BudgetExceededException {
+        if (++this.evaluations > this.maxEvaluations) {
+            throw new BudgetExceededException(BudgetExceededException.TOO_MANY_EVALUATIONS);
+        }
+        this.check();
+    }
+
+    /**
+     * @param fraction completed fraction of the calculation, between 0 and 1
+     */
+    public void progress(final double fraction) {
+        this.listener.accept(fraction);
+    }
+}
@@ -0,0 +1,32 @@
+package utils.calculate;
+
+import utils.CalcException;
+
+/**
+ * Thrown when a calculation stops because its {@link Budget} ran out or was cancelled.
+ * The message is one of the constants below, so the views can show it as it is.
+ */
+public class BudgetExceededException extends CalcException {
+
+    /**
+     * The deadline passed.
+     */
+    public static final String TIMEOUT = "Timeout";
+    /**
+     * The calculation was cancelled or its thread interrupted.
+     */
+    public static final String CANCELLED = "Cancelled";
+    /**
+     * The maximum number of evaluations was reached.
+     */
+    public static final String TOO_MANY_EVALUATIONS = "Too many evaluations";
+
+    private static final long serialVersionUID = 4112695227412408143L;
+
+    /**
+     * @param msg one of the reasons above
+     */
+    public BudgetExceededException(final String msg) {
+        super(msg);
+    }
+}
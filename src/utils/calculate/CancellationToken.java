@@ -0,0 +1,24 @@
+package utils.calculate;
+
+/**
+ * Flag shared between whoever starts a calculation and the calculation itself, which checks it through its {@link Budget}.
+ * Once cancelled a token stays cancelled.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Asks the calculations using this token to stop at their next check.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return whether {@link #cancel()} has been called
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
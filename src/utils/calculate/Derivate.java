@@ -16,9 +16,12 @@ public class Derivate implements Algorithm {
     }
 
     @Override
-    public String calculate(final Expression expr) throws CalcException {
+    public String calculate(final Expression expr, final Budget budget) throws CalcException {
         final Expression expression = expr;
+        budget.check();
         final var result = expression.getDerivative().toString();
+        budget.progress(0.5);
+        budget.check();
         expression.setExpr(result);
         return expression.getResult().toString();
     }
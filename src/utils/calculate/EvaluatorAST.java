@@ -44,9 +44,9 @@ public class EvaluatorAST implements TreeEvaluator<Operation> {
         final Token token = node.getToken();
         switch (token.getSymbol()) {
         case "pi":
-            return OperationsFactory.constant(String.valueOf(Math.PI));
+            return OperationsFactory.pi();
         case "e":
-            return OperationsFactory.constant(String.valueOf(Math.E));
+            return OperationsFactory.e();
         default:
             throw new IllegalArgumentException("The constant doesn't exist");
         }
@@ -0,0 +1,65 @@
+package utils.calculate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import controller.manager.CCEngine;
+import utils.CalcException;
+
+/**
+ * Bounded, least recently used cache of parsed expressions.
+ * Cached expressions are parsed before being stored, so they can be shared between threads by algorithms that only read their result
+ * (integrals, limits, plain evaluation). Derivatives rewrite the expression and must not use the cache.
+ */
+public class ExpressionCache {
+
+    private final CCEngine engine;
+    private final Map<String, Expression> cache;
+
+    /**
+     * @param engine engine used to parse the expressions
+     * @param capacity maximum number of expressions kept
+     */
+    public ExpressionCache(final CCEngine engine, final int capacity) {
+        this.engine = engine;
+        this.cache = new LinkedHashMap<>(capacity, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Expression> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param expr the expression to parse
+     * @param areVariablesAllowed whether the expression may contain the variable
+     * @return the parsed expression, shared with the other callers asking for the same string
+     * @throws CalcException if the expression can't be parsed
+     */
+    public Expression get(final String expr, final boolean areVariablesAllowed) throws CalcException {
+        final String key = areVariablesAllowed + expr;
+        synchronized (this.cache) {
+            final Expression cached = this.cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final Expression parsed = new Expression(expr, this.engine, areVariablesAllowed);
+        parsed.getResult();
+        synchronized (this.cache) {
+            this.cache.putIfAbsent(key, parsed);
+            return this.cache.get(key);
+        }
+    }
+
+    /**
+     * @return the number of expressions currently cached
+     */
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 //https://github.com/fasseg/exp4j/tree/master/src/main/java/net/objecthunter/exp4j/function
 package utils.calculate;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -40,14 +41,22 @@ public class Function {
 	
 	
 	/**
-	 * @return All functions
+	 * @return All functions, the set can't be modified
 	 */
 	public static Set<String> getFunctions() {
-	   final var set = new HashSet<>(ScientificCalculatorModelFactory.create()
-	           .getUnaryOpMap().keySet());
-	           set.addAll(Set.of("abs", "acos", "asin", "atan", "cos",
-	                   "exp", "log", "negate", "pow", "sin", "√", "sqrt", "tan", "csc", "cot", "sec", "root"));
-	   return set;
+	   return Names.FUNCTIONS;
+	}
+
+	private static final class Names {
+	    private static final Set<String> FUNCTIONS;
+
+	    static {
+	        final var set = new HashSet<>(ScientificCalculatorModelFactory.get()
+	                .getUnaryOpMap().keySet());
+	        set.addAll(Set.of("abs", "acos", "asin", "atan", "cos",
+	                "exp", "log", "negate", "pow", "sin", "√", "sqrt", "tan", "csc", "cot", "sec", "root"));
+	        FUNCTIONS = Collections.unmodifiableSet(set);
+	    }
 	}
 	
 	/**
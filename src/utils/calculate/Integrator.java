@@ -1,7 +1,6 @@
 package utils.calculate;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 import controller.manager.CCEngine;
 import utils.CalcException;
@@ -25,14 +24,19 @@ public class Integrator implements Algorithm {
 	}
 	
 	/** It uses the Trapezoidal algorithm for calculating single definite integrals https://en.wikipedia.org/wiki/Trapezoidal_rule.
+	 * @param budget checked at every evaluation
 	 * @return the result of the integral
 	 * @throws CalcException
 	 */
-	private double trapezoidalAlgorithm() throws CalcException {
+	private double trapezoidalAlgorithm(final Budget budget) throws CalcException {
         final double h = (upperBound - lowBound) / STEPS;
         final Operation func = expression.getResult();
         double result = 0.5 * func.getNumericResult(lowBound) + 0.5 * func.getNumericResult(upperBound);
-        result = IntStream.range(1, STEPS).mapToDouble(i -> i).reduce(result, (acc, o2) -> acc + func.getNumericResult(lowBound + o2 * h));
+        for (int i = 1; i < STEPS; i++) {
+            budget.evaluation();
+            result += func.getNumericResult(lowBound + i * h);
+            budget.progress((double) i / STEPS);
+        }
         result = result * h;
         return result;
     }
@@ -54,18 +58,19 @@ public class Integrator implements Algorithm {
 
     /**
      * @param expr
+     * @param budget
      * @return the result of the integral
      * @throws CalcException
      */
-    private Double calc(final Expression expr) throws CalcException {
+    private Double calc(final Expression expr, final Budget budget) throws CalcException {
         expression = expr;
-        return trapezoidalAlgorithm();
+        return trapezoidalAlgorithm(budget);
     }
 
     @Override
-    public String calculate(final Expression expr) throws CalcException {
+    public String calculate(final Expression expr, final Budget budget) throws CalcException {
         parameterDefined();
-        return calc(expr).toString();
+        return calc(expr, budget).toString();
     }
 
     @Override
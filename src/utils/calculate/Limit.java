@@ -30,11 +30,13 @@ public class Limit implements Algorithm {
 	 * Calculates the limit numerically, i doens't work with all types of limits.
 	 * @param cond : the condition for continuing evaluating the limit
 	 * @param initValue : the value we start to evaluate the limit
+	 * @param budget : checked at every step
 	 * @return the result of the limit from above or below
 	 * @throws CalcException
 	 */
-	private Double calculateLimit(final Predicate<Double> cond, final Double initValue) throws CalcException {
+	private Double calculateLimit(final Predicate<Double> cond, final Double initValue, final Budget budget) throws CalcException {
 	    for (Double x = initValue; cond.test(x); x = x0 - ((x0 - x) / DISTANCE)) {
+	        budget.evaluation();
             if (expression.getResult().getNumericResult(x) == Double.POSITIVE_INFINITY) {
                 return Double.POSITIVE_INFINITY;
             } else if (expression.getResult().getNumericResult(x) == Double.NEGATIVE_INFINITY) {
@@ -66,17 +68,18 @@ public class Limit implements Algorithm {
         }
     }
 
-    private Double calc(final Expression expr) throws CalcException {
+    private Double calc(final Expression expr, final Budget budget) throws CalcException {
         expression = expr;
-        final double aroundBelow = calculateLimit((num) -> num <= x0, x0 - DISTANCE);
-        final double aroundAbove = calculateLimit((num) -> num >= x0, x0 + DISTANCE);
+        final double aroundBelow = calculateLimit((num) -> num <= x0, x0 - DISTANCE, budget);
+        budget.progress(0.5);
+        final double aroundAbove = calculateLimit((num) -> num >= x0, x0 + DISTANCE, budget);
         return aroundBelow == aroundAbove ? Math.abs(aroundAbove) <= DELTA ? 0.0 : aroundAbove : Double.NaN;
     }
 
     @Override
-    public String calculate(final Expression expr) throws CalcException {
+    public String calculate(final Expression expr, final Budget budget) throws CalcException {
         parameterDefined();
-        return calc(expr).toString();
+        return calc(expr, budget).toString();
     }
 
     @Override
@@ -4,7 +4,10 @@ import java.awt.BorderLayout;
 import java.awt.GridLayout;
 import java.awt.event.ActionListener;
 import java.awt.GridBagConstraints;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 import java.awt.GridBagLayout;
 import javax.swing.JButton;
@@ -12,12 +15,16 @@ import javax.swing.JComboBox;
 import javax.swing.JFormattedTextField;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingWorker;
 
 import controller.calculators.CalculatorAdvancedController;
 import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
 import model.manager.EngineModelInterface.Calculator;
 import utils.CCColors;
 import utils.CommandFactory;
+import utils.calculate.Budget;
+import utils.calculate.BudgetExceededException;
+import utils.calculate.CancellationToken;
 import view.components.CCDisplay;
 import view.components.CCNumPad;
 import controller.calculators.logics.AdvancedLogicsImpl;
@@ -33,11 +40,16 @@ import controller.calculators.logics.AdvancedLogics;
          * 
          */
         private static final long serialVersionUID = 1L;
+        private static final String CALCULATING = "Calculating";
+        private static final Duration TIMEOUT = Duration.ofSeconds(30);
+        private static final int PERCENT = 100;
         private final CalculatorAdvancedController advancedController = new CalculatorAdvancedController(Calculator.ADVANCED.getController());
         private final OperationsPanel operationsPanel;
         private final CommandFactory commands;
+        private transient Optional<CancellationToken> running = Optional.empty();
         /**
-         *
+         * Calculations run off the EDT: while one is running the display shows its progress,
+         * pressing "=" again cancels it and the other buttons are ignored.
          */
         public AdvancedCalculatorPanel() {
 
@@ -50,6 +62,9 @@ import controller.calculators.logics.AdvancedLogics;
             this.operationsPanel = new OperationsPanel(commands, display);
 
             final ActionListener numAndOpBtn = (e) -> {
+                if (this.running.isPresent()) {
+                    return;
+                }
                 final List<String> buttons = List.of("sin", "cos", "log", "tan", "√", "abs", "csc", "sec", "cot", "^");
                 final var btn = (JButton) e.getSource();
                 final var command = commands.insert(btn.getText(), buttons, () -> "(");
@@ -57,26 +72,47 @@ import controller.calculators.logics.AdvancedLogics;
             };
 
             final ActionListener deleteBtn = e -> {
+                if (this.running.isPresent()) {
+                    return;
+                }
                 commands.deleteLast().execute();
                 display.updateText(this.advancedController.getCurrentDisplay());
             };
             final ActionListener equalsBtn = e -> {
-                final var command  = commands.calculate(operationsPanel.getParameters());
-                final var command1 = commands.previousState();
-                final var result = command.execute();
-                final var expression = command1.execute();
-                display.updateUpperText(expression + "=");
-                if ("Syntax Error".equals(result)) {
-                    advancedController.reset();
-                    display.updateText(result);
-                } else if ("Infinity".equals(result) || "-Infinity".equals(result)) {
-                    advancedController.reset();
-                    display.updateText(result);
-                    commands.addToHistory(expression + "=" + result).execute();
-                } else {
-                    display.updateText(advancedController.getCurrentDisplay());
-                    commands.addToHistory(expression + "=" + result).execute();
+                if (this.running.isPresent()) {
+                    this.running.get().cancel();
+                    return;
                 }
+                final CancellationToken token = new CancellationToken();
+                final var params = operationsPanel.getParameters();
+                this.running = Optional.of(token);
+                display.updateUpperText(CALCULATING);
+                final SwingWorker<String, Void> worker = new SwingWorker<>() {
+                    @Override
+                    protected String doInBackground() {
+                        final Budget budget = new Budget(TIMEOUT, Long.MAX_VALUE, token).withProgress(p -> this.setProgress((int) (p * PERCENT)));
+                        return commands.calculate(params, budget).execute();
+                    }
+
+                    @Override
+                    protected void done() {
+                        running = Optional.empty();
+                        try {
+                            showResult(display, this.get());
+                        } catch (ExecutionException ex) {
+                            advancedController.reset();
+                            display.updateText("Syntax Error");
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+                worker.addPropertyChangeListener(evt -> {
+                    if ("progress".equals(evt.getPropertyName()) && this.running.isPresent()) {
+                        display.updateUpperText(CALCULATING + " " + evt.getNewValue() + "%");
+                    }
+                });
+                worker.execute();
             };
 
             final var numpad = new CCNumPad(numAndOpBtn, equalsBtn, deleteBtn);
@@ -85,6 +121,23 @@ import controller.calculators.logics.AdvancedLogics;
             this.add(this.operationsPanel, BorderLayout.EAST);
         }
 
+        private void showResult(final CCDisplay display, final String result) {
+            final var expression = commands.previousState().execute();
+            display.updateUpperText(expression + "=");
+            if ("Syntax Error".equals(result) || BudgetExceededException.TIMEOUT.equals(result)
+                    || BudgetExceededException.CANCELLED.equals(result) || BudgetExceededException.TOO_MANY_EVALUATIONS.equals(result)) {
+                advancedController.reset();
+                display.updateText(result);
+            } else if ("Infinity".equals(result) || "-Infinity".equals(result)) {
+                advancedController.reset();
+                display.updateText(result);
+                commands.addToHistory(expression + "=" + result).execute();
+            } else {
+                display.updateText(advancedController.getCurrentDisplay());
+                commands.addToHistory(expression + "=" + result).execute();
+            }
+        }
+
         private JPanel getOperatorsPanel(final ActionListener al) {
             final JPanel operators = new JPanel();
             final int rows = 5;
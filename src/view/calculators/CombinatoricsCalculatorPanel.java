@@ -12,6 +12,7 @@ import java.io.IOException;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
 import javax.swing.JToolTip;
 import javax.swing.ToolTipManager;
 
@@ -77,11 +78,29 @@ public class CombinatoricsCalculatorPanel extends JPanel {
         private final String directory = System.getProperty("user.dir") + this.sep + "resources" + this.sep;
 
         OperationsPanel(final CombinatoricsLogics logics, final CCDisplay display, final JLabel explLabel) {
-            this.setLayout(new GridLayout(8, 2));
+            this.setLayout(new GridLayout(CombinatoricsLogics.Operations.values().length + 1, 2));
             for (final CombinatoricsLogics.Operations op : CombinatoricsLogics.Operations.values()) {
                 this.createOpButton(op.getOpBtnName(), op.getOpModelName(), logics, display);
                 this.createExplButton(op.getOpBtnName(), explLabel);
             }
+            this.createModulusField(logics, display);
+        }
+
+        private void createModulusField(final CombinatoricsLogics logics, final CCDisplay display) {
+            final var field = new JTextField();
+            field.setToolTipText("Prime modulus of the results (press enter), empty for exact results");
+            final String[] accepted = {""};
+            field.addActionListener(e -> {
+                if (logics.setModulus(field.getText())) {
+                    accepted[0] = field.getText().strip();
+                    display.updateUpperText(accepted[0].isEmpty() ? "" : "mod " + accepted[0]);
+                } else {
+                    field.setText(accepted[0]);
+                    display.updateUpperText("Invalid modulus");
+                }
+            });
+            this.add(new JLabel("mod", JLabel.CENTER));
+            this.add(field);
         }
 
         private void createOpButton(final String btnName, final String opName, final CombinatoricsLogics logics, final CCDisplay display) {
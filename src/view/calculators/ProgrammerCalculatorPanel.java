@@ -16,13 +16,20 @@ import utils.CCColors;
 import view.components.CCDisplay;
 import view.components.CCNumPad;
 import view.components.ConversionPanel;
+import view.components.FloatInspectorPanel;
 import view.components.HexadecimalLettersPanel;
 /**
  * This is ProgrammerCalculatorPanel which holds the following operators:
  * (Bitwise)
  * -Not, Nor, Nand, Or, Xor, And, RoR, RoL, ShiftL, ShiftR.
+ * (Bit fields)
+ * -Popcnt, Clz, Ctz, Parity, BitRev, ByteSwap, Pext, Pdep.
  * (Conversions)
  * -Hexadecimal, Octal, Binary.
+ * (IEEE 754)
+ * -The bits of the number as a float or a double.
+ * (Word size)
+ * -BYTE, WORD, DWORD, QWORD, DQWORD, QQWORD.
 */
 public class ProgrammerCalculatorPanel extends JPanel {
     /**
@@ -32,12 +39,14 @@ public class ProgrammerCalculatorPanel extends JPanel {
     private final CCDisplay display = new CCDisplay();
     private HexadecimalLettersPanel hexaLetters;
     private ConversionPanel convPanel;
+    private final FloatInspectorPanel floatPanel = new FloatInspectorPanel();
     private final CCNumPad numpad;
     private transient ActionListener opAl;
     private final transient ProgrammerFormatter formatter = new ProgrammerFormatter(this.display);
     private final List<String> topOperators = List.of("roR", "roL", "shiftR", "shiftL", "nand", "nor");
     private final List<String> middleOperators = List.of("not", "xor", "and", "or");
     private final List<String> rightOperators = List.of("+", "-", "×", "÷");
+    private final List<String> bitFieldOperators = List.of("popcnt", "clz", "ctz", "parity", "bitRev", "byteSwap", "pext", "pdep");
     {
         final ActionListener btnAl = new ActionListener() {
             @Override
@@ -135,7 +144,7 @@ public class ProgrammerCalculatorPanel extends JPanel {
                 }
                 convPanel.changeToActive(btn.getText());
                 formatter.updateDisplay();
-                convPanel.updateConvDisplays(0);
+                convPanel.updateConvDisplays(formatter::getLastValue);
             }
         };
         this.convPanel = new ConversionPanel(conv);
@@ -184,13 +193,53 @@ public class ProgrammerCalculatorPanel extends JPanel {
         numpadAndOperators.setLayout(new BorderLayout());
         numpadAndOperators.add(numpad, BorderLayout.CENTER);
         final JPanel oper = new JPanel();
-        oper.setLayout(new GridLayout(1, 5));
+        oper.setLayout(new GridLayout(2, 5));
+        oper.add(this.getWordSizeButton());
+        this.bitFieldOperators.forEach((op) -> {
+            final JButton btn = new JButton(op);
+            btn.addActionListener(opAl);
+            btn.setBackground(CCColors.OPERATION_BUTTON);
+            oper.add(btn);
+        });
+        oper.add(this.getFloatButton());
         final JPanel mid = new JPanel();
         mid.setLayout(new BorderLayout());
         mid.add(oper, BorderLayout.NORTH);
         mid.add(numpadAndOperators, BorderLayout.CENTER);
         this.add(mid, BorderLayout.SOUTH);
     }
+    private JButton getWordSizeButton() {
+        final JButton btn = new JButton(formatter.getWordSize().name());
+        btn.addActionListener((e) -> {
+            formatter.setWordSize(formatter.getWordSize().next());
+            btn.setText(formatter.getWordSize().name());
+            updateDisplays();
+        });
+        btn.setBackground(CCColors.CONVERSION_BUTTON);
+        return btn;
+    }
+    /**
+     * The IEEE button shows the bits of the number as a floating point one in place of the conversions, and back.
+     */
+    private JButton getFloatButton() {
+        final JButton btn = new JButton("IEEE");
+        btn.addActionListener((e) -> {
+            if (this.floatPanel.getParent() == this) {
+                this.remove(this.floatPanel);
+                this.add(this.convPanel, BorderLayout.CENTER);
+                btn.setBackground(CCColors.CONVERSION_BUTTON);
+            } else {
+                this.floatPanel.load(formatter.getLastValue());
+                this.remove(this.convPanel);
+                this.add(this.floatPanel, BorderLayout.CENTER);
+                btn.setBackground(CCColors.ACTIVE_CONVERSION_BUTTON);
+            }
+            this.revalidate();
+            this.repaint();
+        });
+        btn.setBackground(CCColors.CONVERSION_BUTTON);
+        return btn;
+    }
     private JPanel getRightNumpad() {
         final int rows = 7;
         final int cols = 2;
@@ -218,6 +267,6 @@ public class ProgrammerCalculatorPanel extends JPanel {
     }
     private void updateDisplays() {
         formatter.updateDisplay();
-        convPanel.updateConvDisplays(formatter.getLastValue());
+        convPanel.updateConvDisplays(formatter::getLastValue);
     }
 }
@@ -0,0 +1,81 @@
+package view.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controller.batch.BatchEvaluator;
+import controller.batch.CCBatchEvaluator;
+
+/**
+ * Command line entry point for batch evaluation.
+ * It reads tab separated records (see {@link controller.batch.BatchRecord#parse(long, String)}) from a file or from the standard input,
+ * one per line, and writes one result per line to the standard output, in input order.
+ * Lines are read lazily, so memory usage doesn't depend on the size of the input.
+ * The output is flushed after every window of results, or after every result when it is a console,
+ * so results show up while the rest of the input is being evaluated.
+ *
+ * Usage: BatchCLI [-t threads] [-w window] [file]
+ */
+public final class BatchCLI {
+
+    private BatchCLI() {
+    }
+
+    /**
+     * @param args optional number of threads, window size and input file
+     */
+    public static void main(final String... args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int window = 0;
+        String file = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("-t".equals(args[i]) && i + 1 < args.length) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if ("-w".equals(args[i]) && i + 1 < args.length) {
+                    window = Integer.parseInt(args[++i]);
+                } else if (file == null && !args[i].startsWith("-")) {
+                    file = args[i];
+                } else {
+                    usage();
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            usage();
+            return;
+        }
+        final BatchEvaluator evaluator = window > 0 ? new CCBatchEvaluator(threads, window) : new CCBatchEvaluator(threads);
+        final PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        final long flushEvery = System.console() != null ? 1 : window > 0 ? window : threads;
+        final AtomicLong written = new AtomicLong();
+        try (BufferedReader in = file == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            evaluator.evaluateLines(in.lines(), result -> {
+                out.println(result);
+                if (written.incrementAndGet() % flushEvery == 0) {
+                    out.flush();
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("I/O ERROR: " + e.getMessage());
+        } finally {
+            out.flush();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: BatchCLI [-t threads] [-w window] [file]");
+        System.err.println("Each line: CALCULATOR<TAB>expression[<TAB>parameter...], e.g. \"ADVANCED.INTEGRATE<TAB>x^2<TAB>0<TAB>1\"");
+    }
+}
@@ -0,0 +1,78 @@
+package view.cli;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import controller.batch.ColumnEvaluator;
+import model.programmer.ProgrammerEngine;
+import model.programmer.WordSize;
+
+/**
+ * Command line entry point for the bitwise operators over columns of values.
+ * It applies an operator of the programmer calculator to every value of a column file (see {@link ColumnEvaluator}),
+ * together with the values of a second column or with a constant, and writes the results to another column.
+ *
+ * Usage: ColumnCLI [-s size] [-c constant] operator input [second] output
+ */
+public final class ColumnCLI {
+
+    private ColumnCLI() {
+    }
+
+    /**
+     * @param args optional word size and constant, the operator and the files
+     */
+    public static void main(final String... args) {
+        WordSize size = WordSize.QWORD;
+        Long constant = null;
+        int i = 0;
+        try {
+            for (; i < args.length && args[i].startsWith("-") && i + 1 < args.length; i += 2) {
+                if ("-s".equals(args[i])) {
+                    size = WordSize.valueOf(args[i + 1]);
+                } else if ("-c".equals(args[i])) {
+                    constant = Long.decode(args[i + 1]);
+                } else {
+                    usage();
+                    return;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            usage();
+            return;
+        }
+        final int files = args.length - i - 1;
+        if (files < 2 || files > 3 || args[i].startsWith("-")) {
+            usage();
+            return;
+        }
+        final String op = args[i];
+        final Path input = Paths.get(args[i + 1]);
+        final Path output = Paths.get(args[args.length - 1]);
+        try {
+            final ColumnEvaluator evaluator = new ColumnEvaluator(size);
+            final long count;
+            if (files == 3) {
+                count = evaluator.apply(op, input, Paths.get(args[i + 2]), output);
+            } else if (constant != null) {
+                count = evaluator.apply(op, input, constant, output);
+            } else if (ProgrammerEngine.isUnaryOperator(op)) {
+                count = evaluator.apply(op, input, output);
+            } else {
+                usage();
+                return;
+            }
+            System.out.println(count + " values written to " + output);
+        } catch (IOException e) {
+            System.err.println("I/O ERROR: " + e.getMessage());
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            System.err.println("ERROR: " + e.getMessage());
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ColumnCLI [-s BYTE|WORD|DWORD|QWORD] [-c constant] operator input [second] output");
+        System.err.println("Columns are files of 64-bit little-endian values, e.g. \"ColumnCLI -c 3 shiftL in.bin out.bin\"");
+    }
+}
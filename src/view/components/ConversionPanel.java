@@ -4,8 +4,10 @@ import java.awt.GridLayout;
 import java.awt.event.ActionListener;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntFunction;
 import javax.swing.JButton;
 import javax.swing.JPanel;
+
 import utils.CCColors;
 import utils.ConversionAlgorithms;
 
@@ -39,6 +41,27 @@ public class ConversionPanel extends JPanel {
     public void updateConvDisplays(final long l) {
         this.displayMap.entrySet().stream().forEach((entry) -> entry.getValue().updateText(textToBase(entry.getKey(), l)));
     }
+    /**
+     * @param digits the digits of the number in a base, signed in decimal and as its bits in the other bases
+     */
+    public void updateConvDisplays(final IntFunction<String> digits) {
+        this.displayMap.forEach((text, display) -> display.updateText(textToBase(text, digits)));
+    }
+    private String textToBase(final String text, final IntFunction<String> digits) {
+        switch (text) {
+        case "HEX":
+            return digits.apply(16);
+        case "DEC":
+            final String decimal = digits.apply(10);
+            return decimal.startsWith("-") ? decimal : "+".concat(decimal);
+        case "OCT":
+            return digits.apply(8);
+        case "BIN":
+            return digits.apply(2);
+        default:
+            return null;
+        }
+    }
     /**
      * Updated the buttons' color to indicate it is active.
      * @param text the button's text.
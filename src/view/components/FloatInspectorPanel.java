@@ -0,0 +1,128 @@
+package view.components;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.GridLayout;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.border.LineBorder;
+
+import model.programmer.FloatFormat;
+import utils.CCColors;
+import utils.ConversionAlgorithms;
+
+/**
+ * This component shows the bits of a float or a double, split in sign, exponent and mantissa.
+ * Every bit is a button that flips it, and the number is shown again after every change.
+ * The text field reads a number, or a list of them whose fields are all shown at once.
+ */
+public class FloatInspectorPanel extends JPanel {
+    /**
+     *
+     */
+    private static final long serialVersionUID = 2650924468012413475L;
+    private static final int BITS_PER_ROW = 16;
+    private static final Color SIGN = CCColors.EQUAL_BUTTON;
+    private static final Color EXPONENT = CCColors.ACTIVE_CONVERSION_BUTTON;
+    private static final Color MANTISSA = CCColors.NUMBER_BUTTON;
+
+    private FloatFormat format = FloatFormat.DOUBLE;
+    private long bits;
+    private final JButton[] bitButtons = new JButton[Double.SIZE];
+    private final JPanel bitsPanel = new JPanel();
+    private final JTextField input = new JTextField("0");
+    private final JTextArea fields = new JTextArea();
+
+    /**
+     * Creates the inspector, showing the bits of zero as a double.
+     */
+    public FloatInspectorPanel() {
+        this.setLayout(new BorderLayout());
+        final JButton formatButton = new JButton(this.format.name());
+        formatButton.setBackground(CCColors.CONVERSION_BUTTON);
+        formatButton.addActionListener((e) -> {
+            final double value = this.format.toValue(this.bits);
+            this.format = this.format == FloatFormat.DOUBLE ? FloatFormat.SINGLE : FloatFormat.DOUBLE;
+            formatButton.setText(this.format.name());
+            this.createBitButtons();
+            this.load(value);
+        });
+        this.input.setBorder(new LineBorder(CCColors.GRAPHIC_BORDERS, 1));
+        this.input.addActionListener((e) -> this.read(this.input.getText()));
+        final JPanel top = new JPanel(new BorderLayout());
+        top.add(formatButton, BorderLayout.WEST);
+        top.add(this.input, BorderLayout.CENTER);
+        this.add(top, BorderLayout.NORTH);
+        this.add(this.bitsPanel, BorderLayout.CENTER);
+        this.fields.setEditable(false);
+        this.fields.setBackground(CCColors.DISPLAY);
+        this.add(this.fields, BorderLayout.SOUTH);
+        this.createBitButtons();
+        this.load(0);
+    }
+
+    /**
+     * Shows the bits of a number.
+     * @param value the number, rounded to the nearest float in the single format
+     */
+    public void load(final double value) {
+        this.bits = this.format.toBits(value);
+        this.updateBits();
+    }
+
+    /**
+     * @return the number with the bits shown
+     */
+    public double getValue() {
+        return this.format.toValue(this.bits);
+    }
+
+    private void read(final String text) {
+        try {
+            final long[] patterns = this.format.parse(text);
+            if (patterns.length == 1) {
+                this.bits = patterns[0];
+                this.updateBits();
+            } else {
+                this.fields.setText(this.format.toFields(patterns));
+            }
+        } catch (NumberFormatException e) {
+            this.fields.setText("Syntax error");
+        }
+    }
+
+    private void createBitButtons() {
+        this.bitsPanel.removeAll();
+        this.bitsPanel.setLayout(new GridLayout(this.format.bits() / BITS_PER_ROW, BITS_PER_ROW));
+        for (int index = this.format.bits() - 1; index >= 0; index--) {
+            final int bit = index;
+            final JButton btn = new JButton();
+            btn.setBackground(bit == this.format.bits() - 1 ? SIGN : bit >= this.format.mantissaBits() ? EXPONENT : MANTISSA);
+            btn.setToolTipText("bit " + bit);
+            btn.addActionListener((e) -> {
+                this.bits = this.format.flipBit(this.bits, bit);
+                this.updateBits();
+            });
+            this.bitButtons[bit] = btn;
+            this.bitsPanel.add(btn);
+        }
+        this.bitsPanel.revalidate();
+        this.bitsPanel.repaint();
+    }
+
+    private void updateBits() {
+        for (int bit = 0; bit < this.format.bits(); bit++) {
+            this.bitButtons[bit].setText((this.bits >>> bit & 1) == 0 ? "0" : "1");
+        }
+        final double value = this.format.toValue(this.bits);
+        this.input.setText(this.format == FloatFormat.SINGLE ? Float.toString((float) value) : Double.toString(value));
+        final int exponent = this.format.exponent(this.bits);
+        this.fields.setText(this.format.classify(this.bits)
+                + "\nsign: " + this.format.sign(this.bits)
+                + "\nexponent: " + exponent + " (" + (Math.max(exponent, 1) - this.format.bias()) + ")"
+                + "\nmantissa: " + ConversionAlgorithms.unsignedConversionToStringBase(16, this.format.mantissa(this.bits))
+                + "\nbits: " + this.format.toFields(this.bits));
+    }
+}
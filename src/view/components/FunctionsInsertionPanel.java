@@ -2,24 +2,38 @@ package view.components;
 
 import java.awt.Font;
 import java.awt.GridLayout;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
 import javax.swing.border.LineBorder;
 
 import controller.calculators.logics.FunctionCalculator;
 import controller.calculators.logics.FunctionCalculatorImpl;
 import utils.CCColors;
+import utils.CalcException;
+import utils.calculate.Budget;
+import utils.calculate.CancellationToken;
 /**
  * 
  * This component gives the user a JTextField which can be used to write the function he wants and draw them on the FunctionGrapher panel or delete them using two JButtons.
  * This component communicates with both the FunctionGrapher and the FunctionCalculator in order to give the FunctionGrapher the data he needs to paint the functions.
+ * The function is sampled off the EDT; while it runs the ADD button shows the progress and cancels the sampling when pressed.
  * 
  */
 public class FunctionsInsertionPanel extends JPanel {
     private static final long serialVersionUID = -7104626977730130720L;
+    private static final String ADD = "ADD";
+    private static final String CANCEL = "CANCEL";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int PERCENT = 100;
+    private transient Optional<CancellationToken> running = Optional.empty();
     /**
      *
      *@param f is the component where the function will be visualized.
@@ -37,19 +51,52 @@ public class FunctionsInsertionPanel extends JPanel {
         final JTextField t = new JTextField("");
         t.setBorder(new LineBorder(CCColors.GRAPHIC_BORDERS, 1));
 
-        final JButton draw = new JButton("ADD");
+        final JButton draw = new JButton(ADD);
         draw.setBackground(CCColors.EQUAL_BUTTON);
 
         final JButton delete = new JButton("DELETE LAST");
         delete.setBackground(CCColors.NUMBER_BUTTON);
 
         draw.addActionListener(e -> {
-            calc.calculate(t.getText());
-            if (calc.getResults().isEmpty()) {
-                t.setText(" SyntaxError");
-            } else {
-                f.addFunction(calc.getResults());
+            if (this.running.isPresent()) {
+                this.running.get().cancel();
+                return;
             }
+            final CancellationToken token = new CancellationToken();
+            final String eq = t.getText();
+            this.running = Optional.of(token);
+            draw.setText(CANCEL + " 0%");
+            final SwingWorker<List<Double>, Void> worker = new SwingWorker<>() {
+                @Override
+                protected List<Double> doInBackground() throws CalcException {
+                    calc.calculate(eq, new Budget(TIMEOUT, Long.MAX_VALUE, token).withProgress(p -> this.setProgress((int) (p * PERCENT))));
+                    return calc.getResults();
+                }
+
+                @Override
+                protected void done() {
+                    running = Optional.empty();
+                    draw.setText(ADD);
+                    try {
+                        final List<Double> results = this.get();
+                        if (results.isEmpty()) {
+                            t.setText(" SyntaxError");
+                        } else {
+                            f.addFunction(results);
+                        }
+                    } catch (ExecutionException ex) {
+                        t.setText(" " + ex.getCause().getMessage());
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            worker.addPropertyChangeListener(evt -> {
+                if ("progress".equals(evt.getPropertyName()) && this.running.isPresent()) {
+                    draw.setText(CANCEL + " " + evt.getNewValue() + "%");
+                }
+            });
+            worker.execute();
         });
 
         delete.addActionListener(e -> {
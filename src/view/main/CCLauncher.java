@@ -0,0 +1,185 @@
+package view.main;
+
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import controller.manager.CCEngine;
+import model.manager.EngineModelInterface.Calculator;
+import utils.CalcException;
+import utils.calculate.Expression;
+import view.calculators.AdvancedCalculatorPanel;
+import view.calculators.CombinatoricsCalculatorPanel;
+import view.calculators.GraphicCalculatorPanel;
+import view.calculators.ProgrammerCalculatorPanel;
+import view.calculators.ScientificCalculatorPanel;
+import view.calculators.StandardCalculatorPanel;
+
+/**
+ * Entry point of the application, with the modes used to measure and cut its cold start.
+ *
+ * <ul>
+ * <li>no arguments: starts the GUI.</li>
+ * <li>--profile: starts the GUI and prints the startup timeline to the standard error after the first paint.</li>
+ * <li>--train: starts the GUI, exercises every calculator and exits after the first paint, so that the classes loaded
+ * by a normal startup can be recorded. Without a display the same work is done headless.</li>
+ * <li>--class-list file: runs the training in a new JVM and writes the list of the loaded classes to the file.</li>
+ * <li>--dump-archive file: runs the training in a new JVM and writes an application class-data-sharing archive,
+ * to be used with java -XX:SharedArchiveFile=file. The JVM only archives classes loaded from JAR files, so the
+ * application has to be packaged in one.</li>
+ * </ul>
+ */
+public final class CCLauncher {
+
+    /**
+     * Dynamic archives, dumped at the exit of the training run, are only supported from Java 13.
+     */
+    private static final int DYNAMIC_ARCHIVE_VERSION = 13;
+    private static final int USAGE_ERROR = 2;
+
+    private CCLauncher() { }
+
+    /**
+     * @param args the mode, see the class documentation
+     * @throws IOException if the training JVM can't be started
+     * @throws InterruptedException if interrupted while waiting for the training JVM
+     */
+    public static void main(final String... args) throws IOException, InterruptedException {
+        final String mode = args.length > 0 ? args[0] : "";
+        switch (mode) {
+        case "":
+            start(false, false);
+            break;
+        case "--profile":
+            StartupTimeline.enable();
+            start(true, false);
+            break;
+        case "--train":
+            start(false, true);
+            break;
+        case "--class-list":
+            exit(args.length == 2 ? train(List.of("-XX:DumpLoadedClassList=" + args[1])) : USAGE_ERROR);
+            break;
+        case "--dump-archive":
+            exit(args.length == 2 ? dumpArchive(args[1]) : USAGE_ERROR);
+            break;
+        default:
+            exit(USAGE_ERROR);
+        }
+    }
+
+    private static void start(final boolean profile, final boolean train) {
+        final long modelStart = StartupTimeline.begin();
+        Calculator.STANDARD.getController().isBinaryOperator("+");
+        StartupTimeline.end("model init", modelStart);
+        if (GraphicsEnvironment.isHeadless()) {
+            if (!train && !profile) {
+                System.err.println("No display available");
+                System.exit(1);
+            }
+            final long warmUpStart = StartupTimeline.begin();
+            warmUp();
+            StartupTimeline.end("headless warm-up", warmUpStart);
+            if (profile) {
+                System.err.print(StartupTimeline.report());
+            }
+            return;
+        }
+        StartupTimeline.onFirstPaint(() -> {
+            if (profile) {
+                System.err.print(StartupTimeline.report());
+            }
+            if (train) {
+                warmUp();
+                System.exit(0);
+            }
+        });
+        SwingUtilities.invokeLater(CCMainGUI::new);
+    }
+
+    /**
+     * Builds every model, runs a calculation on the engines and initialises the panels that aren't shown at startup.
+     * The panels are also built off-screen when there is a display, since Swing can't create them headless.
+     */
+    private static void warmUp() {
+        for (final Calculator calc : Calculator.values()) {
+            calc.getController().isBinaryOperator("+");
+        }
+        try {
+            new CCEngine(Calculator.STANDARD.getController()).calculateAndFormat(List.of("1", "+", "2", "×", "3"));
+            new Expression("sin(x)^2+3x", new CCEngine(Calculator.ADVANCED.getController()), true).getResult().getNumericResult(1.0);
+        } catch (CalcException e) {
+            throw new IllegalStateException(e);
+        }
+        final List<Class<?>> panels = List.of(StandardCalculatorPanel.class, ScientificCalculatorPanel.class,
+                ProgrammerCalculatorPanel.class, GraphicCalculatorPanel.class, CombinatoricsCalculatorPanel.class,
+                AdvancedCalculatorPanel.class);
+        for (final Class<?> panel : panels) {
+            try {
+                Class.forName(panel.getName(), true, CCLauncher.class.getClassLoader());
+                if (!GraphicsEnvironment.isHeadless()) {
+                    panel.getConstructor().newInstance();
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static int dumpArchive(final String archive) throws IOException, InterruptedException {
+        for (final String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (Files.isDirectory(Path.of(entry))) {
+                System.err.println("Class-data archives need a class path made of JAR files, " + entry + " is a directory");
+                return 1;
+            }
+        }
+        final int result;
+        if (Runtime.version().feature() >= DYNAMIC_ARCHIVE_VERSION) {
+            result = train(List.of("-XX:ArchiveClassesAtExit=" + archive));
+        } else {
+            final String classList = archive + ".classlist";
+            final int listed = train(List.of("-XX:DumpLoadedClassList=" + classList));
+            result = listed != 0 ? listed
+                    : run(List.of("-Xshare:dump", "-XX:SharedClassListFile=" + classList, "-XX:SharedArchiveFile=" + archive));
+        }
+        if (result == 0) {
+            System.out.println("Start with: java -XX:SharedArchiveFile=" + archive + " -cp " + System.getProperty("java.class.path")
+                    + " " + CCLauncher.class.getName());
+        }
+        return result;
+    }
+
+    private static int train(final List<String> options) throws IOException, InterruptedException {
+        final List<String> args = new ArrayList<>(options);
+        args.add(CCLauncher.class.getName());
+        args.add("--train");
+        return run(args);
+    }
+
+    /**
+     * Runs a JVM like this one, with the same class path and the given options and arguments.
+     */
+    private static int run(final List<String> args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.addAll(args);
+        return new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+
+    private static void exit(final int status) {
+        if (status == USAGE_ERROR) {
+            System.err.println("Usage: " + CCLauncher.class.getName()
+                    + " [--profile | --train | --class-list file | --dump-archive file]");
+        }
+        System.exit(status);
+    }
+}
@@ -12,6 +12,7 @@ import javax.swing.JPanel;
 import java.util.Map;
 import java.util.Optional;
 import java.awt.Dimension;
+import java.awt.Graphics;
 import java.lang.reflect.InvocationTargetException;
 
 import model.manager.EngineModelInterface.Calculator;
@@ -80,6 +81,12 @@ public class CCMainGUI extends JFrame implements View {
         this.setVisible(true);
     }
 
+    @Override
+    public void paint(final Graphics g) {
+        super.paint(g);
+        StartupTimeline.painted();
+    }
+
     private void toggleHistory() {
 
         this.mountedPanel.ifPresent((mounted) -> {
@@ -112,6 +119,7 @@ public class CCMainGUI extends JFrame implements View {
         this.historyOn = false;
 
         this.mountedPanel.ifPresent((mounted) -> this.getContentPane().remove(mounted));
+        final long start = StartupTimeline.begin();
         try {
             final JPanel newPanel = this.viewClasses.get(calc).getDeclaredConstructor().newInstance();
             this.getContentPane().add(newPanel);
@@ -120,6 +128,7 @@ public class CCMainGUI extends JFrame implements View {
             this.setMinimumSize(this.getSize());
             this.current = Optional.of(calc);
             this.mountedPanel = Optional.of(newPanel);
+            StartupTimeline.end("panel construction " + calc, start);
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             this.getContentPane().add(mountedPanel.get());
         }
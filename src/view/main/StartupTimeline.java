@@ -0,0 +1,88 @@
+package view.main;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the phases of the startup of the application (model init, panel construction, first paint) when enabled by
+ * {@link CCLauncher}. Phases are measured with {@link System#nanoTime()} and reported in milliseconds since the start
+ * of the JVM, which is only looked up for the report; when it's disabled every call does nothing.
+ */
+final class StartupTimeline {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final long ORIGIN = System.nanoTime();
+    private static final List<String> PHASES = new ArrayList<>();
+    private static final List<long[]> SPANS = new ArrayList<>();
+    private static final List<Runnable> FIRST_PAINT_HOOKS = new ArrayList<>();
+    private static volatile boolean enabled;
+    private static boolean painted;
+
+    private StartupTimeline() { }
+
+    /**
+     * Starts recording.
+     */
+    static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * @return the current time, to pass to {@link #end(String, long)}
+     */
+    static long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * @param phase name of the phase
+     * @param begin the value returned by {@link #begin()} when the phase started
+     */
+    static synchronized void end(final String phase, final long begin) {
+        if (enabled) {
+            PHASES.add(phase);
+            SPANS.add(new long[] {begin, System.nanoTime()});
+        }
+    }
+
+    /**
+     * @param hook run on the EDT after the first paint of the main frame, whether recording or not
+     */
+    static synchronized void onFirstPaint(final Runnable hook) {
+        FIRST_PAINT_HOOKS.add(hook);
+    }
+
+    /**
+     * Called by the main frame every time it paints; only the first call counts.
+     */
+    static void painted() {
+        final List<Runnable> hooks;
+        synchronized (StartupTimeline.class) {
+            if (painted) {
+                return;
+            }
+            painted = true;
+            end("first paint", ORIGIN);
+            hooks = List.copyOf(FIRST_PAINT_HOOKS);
+        }
+        hooks.forEach(Runnable::run);
+    }
+
+    /**
+     * @return one line per recorded phase, with its start, end and duration
+     */
+    static synchronized String report() {
+        final double boot = ManagementFactory.getRuntimeMXBean().getUptime() - (System.nanoTime() - ORIGIN) / NANOS_PER_MILLI;
+        final StringBuilder sb = new StringBuilder("startup timeline (ms since JVM start)\n");
+        sb.append(String.format("  %-32s %9s %9s %9s%n", "phase", "start", "end", "duration"));
+        sb.append(String.format("  %-32s %9.1f %9.1f %9.1f%n", "jvm boot", 0.0, boot, boot));
+        for (int i = 0; i < PHASES.size(); i++) {
+            final long[] span = SPANS.get(i);
+            final double start = boot + (span[0] - ORIGIN) / NANOS_PER_MILLI;
+            final double end = boot + (span[1] - ORIGIN) / NANOS_PER_MILLI;
+            sb.append(String.format("  %-32s %9.1f %9.1f %9.1f%n", PHASES.get(i), start, end, end - start));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,373 @@
+package view.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.MathContext;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import controller.batch.BatchEvaluator;
+import controller.batch.BatchRecord;
+import controller.batch.BatchResult;
+import controller.batch.CCBatchEvaluator;
+import controller.calculators.CalculatorAdvancedController.TypeAlgorithm;
+import controller.manager.CCEngine;
+import model.manager.EngineModelInterface.Calculator;
+import utils.calculate.Budget;
+import utils.calculate.BudgetExceededException;
+import utils.calculate.CancellationToken;
+import utils.calculate.ExpressionCache;
+
+/**
+ * Embedded HTTP/JSON service exposing the calculator engines to local tools, bound to the loopback interface only.
+ *
+ * <ul>
+ * <li>POST /evaluate {"calculator": "STANDARD", "expression": "2+2"} evaluates an expression; ADVANCED requests can add
+ * "operation" (DERIVATE, INTEGRATE, LIMIT) and "parameters". Optional fields: "timeout" in milliseconds, "id", used to cancel the request,
+ * and "precision", a number of significant digits up to {@link #MAX_PRECISION} that evaluates in arbitrary precision
+ * instead of floating point, on every calculator but ADVANCED.
+ * A request whose id is already running is refused with 409.
+ * Both go through the {@link Budget} of the evaluation, which the algorithms check at every step.</li>
+ * <li>POST /cancel {"id": "..."} cancels a running evaluation.</li>
+ * <li>GET /history returns the history of the session.</li>
+ * </ul>
+ * Sessions are identified by the X-Session header, which is returned by every response, and keep the last
+ * {@link EvaluationSession#MAX_HISTORY} calculations. At most {@link #MAX_SESSIONS} are kept, the least recently used
+ * is dropped first.
+ * Each request runs on its own thread: a virtual thread when the runtime supports them, a pooled platform thread otherwise.
+ */
+public class CCEvaluationServer {
+
+    /**
+     * Header carrying the session identifier.
+     */
+    public static final String SESSION_HEADER = "X-Session";
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 128;
+    private static final int CACHE_CAPACITY = 1024;
+    private static final int MAX_BODY = 64 * 1024;
+    private static final int READ_BUFFER = 4096;
+    private static final long DEFAULT_TIMEOUT_MS = 5_000;
+    private static final long MAX_TIMEOUT_MS = 60_000;
+    private static final long TIMEOUT_GRACE_MS = 1_000;
+    private static final long MAX_EVALUATIONS = 10_000_000;
+    /* largest number of significant digits of an arbitrary precision evaluation */
+    private static final int MAX_PRECISION = 1000;
+    private static final long SESSION_IDLE_NANOS = TimeUnit.MINUTES.toNanos(30);
+    /* number of sessions kept, the least recently used is dropped first */
+    private static final int MAX_SESSIONS = 1024;
+    /* number of requests between two sweeps of the expired sessions */
+    private static final long SWEEP_INTERVAL = 1024;
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int BAD_METHOD = 405;
+    private static final int TIMEOUT = 408;
+    private static final int CONFLICT = 409;
+    private static final int TOO_LARGE = 413;
+    private static final int INTERNAL_ERROR = 500;
+    private static final int UNAVAILABLE = 503;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BatchEvaluator evaluator;
+    private final Map<String, EvaluationSession> sessions = new LinkedHashMap<>(MAX_SESSIONS, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, EvaluationSession> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+    private final Map<String, Running> running = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * An evaluation that can be cancelled by id.
+     */
+    private static final class Running {
+        private final Future<BatchResult> future;
+        private final CancellationToken token;
+
+        Running(final Future<BatchResult> future, final CancellationToken token) {
+            this.future = future;
+            this.token = token;
+        }
+    }
+
+    /**
+     * @param port port to listen on, 0 picks a free one
+     * @throws IOException if the port can't be bound
+     */
+    public CCEvaluationServer(final int port) throws IOException {
+        this.executor = newRequestExecutor();
+        this.evaluator = new CCBatchEvaluator(1, 1,
+                Optional.of(new ExpressionCache(new CCEngine(Calculator.ADVANCED.getController()), CACHE_CAPACITY)));
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/evaluate", this::handleEvaluate);
+        this.server.createContext("/cancel", this::handleCancel);
+        this.server.createContext("/history", this::handleHistory);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops the server, cancelling the running evaluations.
+     */
+    public void stop() {
+        this.server.stop(0);
+        this.running.values().forEach(r -> r.future.cancel(true));
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * @return the port the server is listening on
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Starts the service.
+     * @param args optional port, 8080 by default
+     * @throws IOException if the port can't be bound
+     */
+    public static void main(final String... args) throws IOException {
+        final CCEvaluationServer server = new CCEvaluationServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.getPort());
+    }
+
+    /**
+     * Virtual threads only exist from Java 21; look the factory up so the service still runs, with one platform thread per request, on older runtimes.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handleEvaluate(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                this.respond(exchange, BAD_METHOD, Map.of("error", "Use POST"));
+                return;
+            }
+            final EvaluationSession session = this.session(exchange);
+            final Map<String, Object> request;
+            final BatchRecord record;
+            final long timeout;
+            try {
+                request = Json.parseObject(this.readBody(exchange));
+                record = this.toRecord(session.touch(), request);
+                timeout = Math.min(MAX_TIMEOUT_MS, request.get("timeout") instanceof Double
+                        ? ((Double) request.get("timeout")).longValue() : DEFAULT_TIMEOUT_MS);
+                if (timeout <= 0) {
+                    throw new IllegalArgumentException("Timeout must be positive");
+                }
+            } catch (IllegalArgumentException e) {
+                this.respond(exchange, BAD_REQUEST, Map.of("error", String.valueOf(e.getMessage())));
+                return;
+            } catch (IllegalStateException e) {
+                this.respond(exchange, TOO_LARGE, Map.of("error", e.getMessage()));
+                return;
+            }
+            final Optional<String> id = Optional.ofNullable(request.get("id")).map(String::valueOf);
+            final CancellationToken token = new CancellationToken();
+            final Budget budget = new Budget(Duration.ofMillis(timeout), MAX_EVALUATIONS, token);
+            final FutureTask<BatchResult> future = new FutureTask<>(() -> this.evaluator.evaluate(record, budget));
+            final Running evaluation = new Running(future, token);
+            final Map<String, Object> response = new LinkedHashMap<>();
+            id.ifPresent(i -> response.put("id", i));
+            /* the id is reserved before the evaluation starts, so that a running one is never replaced */
+            if (id.isPresent() && this.running.putIfAbsent(id.get(), evaluation) != null) {
+                response.put("error", "An evaluation with this id is already running");
+                this.respond(exchange, CONFLICT, response);
+                return;
+            }
+            try {
+                this.executor.execute(future);
+                final BatchResult result = future.get(timeout + TIMEOUT_GRACE_MS, TimeUnit.MILLISECONDS);
+                response.put(result.isError() ? "error" : "result", result.getValue());
+                if (!result.isError()) {
+                    session.addToHistory(record.getExpression() + " = " + result.getValue());
+                }
+                this.respond(exchange, this.status(result), response);
+            } catch (TimeoutException e) {
+                token.cancel();
+                future.cancel(true);
+                response.put("error", "Timeout");
+                this.respond(exchange, TIMEOUT, response);
+            } catch (CancellationException e) {
+                response.put("error", "Cancelled");
+                this.respond(exchange, CONFLICT, response);
+            } catch (InterruptedException e) {
+                token.cancel();
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                response.put("error", "Server shutting down");
+                this.respond(exchange, UNAVAILABLE, response);
+            } catch (ExecutionException e) {
+                response.put("error", String.valueOf(e.getCause()));
+                this.respond(exchange, INTERNAL_ERROR, response);
+            } finally {
+                id.ifPresent(i -> this.running.remove(i, evaluation));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleCancel(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                this.respond(exchange, BAD_METHOD, Map.of("error", "Use POST"));
+                return;
+            }
+            final Object id;
+            try {
+                id = Json.parseObject(this.readBody(exchange)).get("id");
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                this.respond(exchange, BAD_REQUEST, Map.of("error", String.valueOf(e.getMessage())));
+                return;
+            }
+            final Running evaluation = id == null ? null : this.running.get(String.valueOf(id));
+            if (evaluation == null) {
+                this.respond(exchange, NOT_FOUND, Map.of("error", "No running evaluation with this id"));
+            } else {
+                evaluation.token.cancel();
+                this.respond(exchange, OK, Map.of("cancelled", !evaluation.future.isDone()));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleHistory(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                this.respond(exchange, BAD_METHOD, Map.of("error", "Use GET"));
+                return;
+            }
+            this.respond(exchange, OK, Map.of("history", this.session(exchange).getHistory()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Evaluations stopped by their budget are reported with the same status codes as the ones the server times out itself.
+     */
+    private int status(final BatchResult result) {
+        if (result.isError() && BudgetExceededException.TIMEOUT.equals(result.getValue())) {
+            return TIMEOUT;
+        }
+        if (result.isError() && BudgetExceededException.CANCELLED.equals(result.getValue())) {
+            return CONFLICT;
+        }
+        return OK;
+    }
+
+    private BatchRecord toRecord(final long index, final Map<String, Object> request) {
+        final Object calculator = request.get("calculator");
+        final Object expression = request.get("expression");
+        if (calculator == null || expression == null) {
+            throw new IllegalArgumentException("Both calculator and expression are required");
+        }
+        final Optional<TypeAlgorithm> operation = Optional.ofNullable(request.get("operation"))
+                .map(op -> TypeAlgorithm.valueOf(String.valueOf(op)));
+        final Object parameters = request.getOrDefault("parameters", List.of());
+        if (!(parameters instanceof List)) {
+            throw new IllegalArgumentException("Parameters must be an array");
+        }
+        final BatchRecord record = new BatchRecord(index, Calculator.valueOf(String.valueOf(calculator)), operation,
+                String.valueOf(expression), ((List<?>) parameters).stream().map(String::valueOf).collect(Collectors.toList()));
+        final Object precision = request.get("precision");
+        if (precision == null) {
+            return record;
+        }
+        if (!(precision instanceof Double) || (Double) precision != Math.rint((Double) precision)
+                || (Double) precision < 1 || (Double) precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be a number of digits from 1 to " + MAX_PRECISION);
+        }
+        return record.withPrecision(new MathContext(((Double) precision).intValue()));
+    }
+
+    /**
+     * Every request without a known session creates one, so the sessions are bounded by {@link #MAX_SESSIONS}, dropping
+     * the least recently used. The expired ones are also swept every {@link #SWEEP_INTERVAL} requests, so that a request
+     * doesn't pay for all the sessions.
+     */
+    private EvaluationSession session(final HttpExchange exchange) {
+        final String id = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+        EvaluationSession session;
+        synchronized (this.sessions) {
+            if (this.requests.incrementAndGet() % SWEEP_INTERVAL == 0) {
+                this.sessions.values().removeIf(s -> s.isExpired(SESSION_IDLE_NANOS));
+            }
+            session = id == null ? null : this.sessions.get(id);
+            if (session == null) {
+                session = new EvaluationSession();
+                this.sessions.put(session.getId(), session);
+            }
+        }
+        exchange.getResponseHeaders().set(SESSION_HEADER, session.getId());
+        return session;
+    }
+
+    private String readBody(final HttpExchange exchange) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[READ_BUFFER];
+            int read = in.read(buffer);
+            while (read >= 0) {
+                body.write(buffer, 0, read);
+                if (body.size() > MAX_BODY) {
+                    throw new IllegalStateException("Request body too large");
+                }
+                read = in.read(buffer);
+            }
+        }
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private void respond(final HttpExchange exchange, final int status, final Map<String, ?> body) throws IOException {
+        final byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package view.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State the evaluation service keeps for a client between requests: the history of its calculations.
+ * Evaluations themselves never share state, every request gets its own engine input.
+ */
+final class EvaluationSession {
+
+    /**
+     * Number of calculations kept in the history; the oldest one is dropped to make room for a new one.
+     */
+    static final int MAX_HISTORY = 256;
+
+    private final String id = UUID.randomUUID().toString();
+    private final AtomicLong requests = new AtomicLong();
+    private final Deque<String> history = new ArrayDeque<>();
+    private volatile long lastAccess = System.nanoTime();
+
+    /**
+     * @return the identifier clients send back to resume the session
+     */
+    String getId() {
+        return this.id;
+    }
+
+    /**
+     * Marks the session as used.
+     * @return the sequence number of the request in this session
+     */
+    long touch() {
+        this.lastAccess = System.nanoTime();
+        return this.requests.incrementAndGet();
+    }
+
+    /**
+     * @param idleNanos maximum idle time
+     * @return whether the session hasn't been used for longer than the given time
+     */
+    boolean isExpired(final long idleNanos) {
+        return System.nanoTime() - this.lastAccess > idleNanos;
+    }
+
+    /**
+     * @param entry expression and result to record, replacing the oldest one when the history is full
+     */
+    synchronized void addToHistory(final String entry) {
+        if (this.history.size() == MAX_HISTORY) {
+            this.history.removeFirst();
+        }
+        this.history.addLast(entry);
+    }
+
+    /**
+     * @return a copy of the history of this session
+     */
+    synchronized List<String> getHistory() {
+        return List.copyOf(this.history);
+    }
+}
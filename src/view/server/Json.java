@@ -0,0 +1,239 @@
+package view.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader and writer for the evaluation service.
+ * Objects become maps, arrays lists, numbers doubles; strings, booleans and null map to themselves.
+ */
+final class Json {
+
+    private static final int UNICODE_DIGITS = 4;
+    private static final int HEX = 16;
+    private static final char LAST_CONTROL_CHAR = 0x1f;
+
+    private final String text;
+    private int index;
+
+    private Json(final String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param text the JSON text, whose top level value must be an object
+     * @return the parsed object
+     * @throws IllegalArgumentException if the text is not a valid JSON object
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> parseObject(final String text) {
+        final Json parser = new Json(text);
+        final Object value = parser.value();
+        parser.skipWhitespace();
+        if (!(value instanceof Map) || parser.index != text.length()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * @param object the object to write; values can be maps, iterables, numbers, booleans, null or anything else written as a string
+     * @return the JSON text
+     */
+    static String write(final Map<String, ?> object) {
+        final StringBuilder sb = new StringBuilder();
+        writeValue(sb, object);
+        return sb.toString();
+    }
+
+    private Object value() {
+        this.skipWhitespace();
+        if (this.index >= this.text.length()) {
+            throw new IllegalArgumentException("Unexpected end of input");
+        }
+        final char c = this.text.charAt(this.index);
+        switch (c) {
+        case '{':
+            return this.object();
+        case '[':
+            return this.array();
+        case '"':
+            return this.string();
+        case 't':
+            return this.literal("true", Boolean.TRUE);
+        case 'f':
+            return this.literal("false", Boolean.FALSE);
+        case 'n':
+            return this.literal("null", null);
+        default:
+            return this.number();
+        }
+    }
+
+    private Map<String, Object> object() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        this.index++;
+        this.skipWhitespace();
+        if (this.peek('}')) {
+            return map;
+        }
+        do {
+            this.skipWhitespace();
+            final String key = this.string();
+            this.skipWhitespace();
+            this.expect(':');
+            map.put(key, this.value());
+            this.skipWhitespace();
+        } while (this.peek(','));
+        this.expect('}');
+        return map;
+    }
+
+    private List<Object> array() {
+        final List<Object> list = new ArrayList<>();
+        this.index++;
+        this.skipWhitespace();
+        if (this.peek(']')) {
+            return list;
+        }
+        do {
+            list.add(this.value());
+            this.skipWhitespace();
+        } while (this.peek(','));
+        this.expect(']');
+        return list;
+    }
+
+    private String string() {
+        this.expect('"');
+        final StringBuilder sb = new StringBuilder();
+        while (this.index < this.text.length()) {
+            final char c = this.text.charAt(this.index++);
+            if (c == '"') {
+                return sb.toString();
+            } else if (c == '\\') {
+                sb.append(this.escape());
+            } else {
+                sb.append(c);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string");
+    }
+
+    private char escape() {
+        if (this.index >= this.text.length()) {
+            throw new IllegalArgumentException("Unterminated string");
+        }
+        final char c = this.text.charAt(this.index++);
+        switch (c) {
+        case 'n':
+            return '\n';
+        case 't':
+            return '\t';
+        case 'r':
+            return '\r';
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'u':
+            if (this.index + UNICODE_DIGITS > this.text.length()) {
+                throw new IllegalArgumentException("Bad unicode escape");
+            }
+            final char unicode = (char) Integer.parseInt(this.text.substring(this.index, this.index + UNICODE_DIGITS), HEX);
+            this.index += UNICODE_DIGITS;
+            return unicode;
+        default:
+            return c;
+        }
+    }
+
+    private Object literal(final String word, final Object value) {
+        if (!this.text.startsWith(word, this.index)) {
+            throw new IllegalArgumentException("Unexpected token at " + this.index);
+        }
+        this.index += word.length();
+        return value;
+    }
+
+    private Double number() {
+        final int start = this.index;
+        while (this.index < this.text.length() && "+-0123456789.eE".indexOf(this.text.charAt(this.index)) >= 0) {
+            this.index++;
+        }
+        try {
+            return Double.valueOf(this.text.substring(start, this.index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unexpected token at " + start, e);
+        }
+    }
+
+    private boolean peek(final char c) {
+        if (this.index < this.text.length() && this.text.charAt(this.index) == c) {
+            this.index++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final char c) {
+        if (!this.peek(c)) {
+            throw new IllegalArgumentException("Expected '" + c + "' at " + this.index);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (this.index < this.text.length() && Character.isWhitespace(this.text.charAt(this.index))) {
+            this.index++;
+        }
+    }
+
+    private static void writeValue(final StringBuilder sb, final Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Number) {
+            sb.append(value);
+        } else if (value instanceof Map) {
+            sb.append('{');
+            boolean first = true;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sb.append(first ? "" : ",");
+                writeString(sb, String.valueOf(entry.getKey()));
+                sb.append(':');
+                writeValue(sb, entry.getValue());
+                first = false;
+            }
+            sb.append('}');
+        } else if (value instanceof Iterable) {
+            sb.append('[');
+            boolean first = true;
+            for (final Object element : (Iterable<?>) value) {
+                sb.append(first ? "" : ",");
+                writeValue(sb, element);
+                first = false;
+            }
+            sb.append(']');
+        } else {
+            writeString(sb, value.toString());
+        }
+    }
+
+    private static void writeString(final StringBuilder sb, final String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '\t') {
+                sb.append("\\t");
+            } else if (c <= LAST_CONTROL_CHAR) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}